@@ -0,0 +1,186 @@
+package com.joe.utils.area;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import com.joe.utils.common.Assert;
+import com.joe.utils.common.IOUtils;
+import com.joe.utils.serialize.json.JsonParser;
+
+import lombok.Data;
+import lombok.Value;
+
+/**
+ * 构建时使用的行政区划编译工具，将json格式的行政区划快照目录（文件名为截止日期，参照README）编译为{@link AreaStore}读取的二进制
+ * 快照库，只在构建时使用，不会打包到jar中；执行mvn process-test-classes -P area会重新生成src/main/resources/area/area.dat
+ * <p>
+ * 用法：AreaStoreCompiler &lt;json快照目录&gt; &lt;输出文件&gt;...
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:00 JoeKerouac Exp $
+ */
+public final class AreaStoreCompiler {
+
+    private static final JsonParser JSON_PARSER = JsonParser.getInstance();
+
+    private AreaStoreCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        Assert.isTrue(args.length >= 2, "用法：AreaStoreCompiler <json快照目录> <输出文件>...");
+        byte[] data = compile(new File(args[0]));
+        for (int i = 1; i < args.length; i++) {
+            File dest = new File(args[i]);
+            if (dest.getParentFile() != null) {
+                dest.getParentFile().mkdirs();
+            }
+            Files.write(dest.toPath(), data);
+            System.out.println("行政区划快照库已生成：" + dest.getAbsolutePath() + "，大小：" + data.length + "byte");
+        }
+    }
+
+    /**
+     * 编译json快照目录
+     *
+     * @param dir
+     *            json快照目录，目录下的每个文件都是一个快照，文件名为截止日期
+     * @return 二进制快照库
+     * @throws IOException
+     *             IO异常
+     */
+    public static byte[] compile(File dir) throws IOException {
+        File[] files = dir.listFiles(File::isFile);
+        if (files == null) {
+            throw new FileNotFoundException("目录[" + dir + "]不存在");
+        }
+
+        // 截止日期 -> 区域代码 -> 区域（父区域代码、地区名）
+        TreeMap<String, TreeMap<Integer, Entry>> snapshots = new TreeMap<>();
+        for (File file : files) {
+            String date = file.getName();
+            Assert.isTrue(date.matches("[0-9]{4}\\.[0-9]{2}\\.[0-9]{2}"), "文件名不是日期：" + file);
+            TreeMap<Integer, Entry> snapshot = new TreeMap<>();
+            Map<String, AreaData> map =
+                JSON_PARSER.readAsMap(IOUtils.read(file, "UTF8"), Map.class, String.class, AreaData.class);
+            map.values().forEach(area -> flatten(area, snapshot));
+            snapshots.put(date, snapshot);
+        }
+
+        // 字符串表，按首次出现的顺序编号
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        snapshots.values().forEach(snapshot -> snapshot.values()
+            .forEach(entry -> strings.computeIfAbsent(entry.name, k -> strings.size())));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(AreaStore.MAGIC >>> 24);
+        out.write(AreaStore.MAGIC >>> 16);
+        out.write(AreaStore.MAGIC >>> 8);
+        out.write(AreaStore.MAGIC);
+        out.write(AreaStore.VERSION);
+        writeVarint(out, strings.size());
+        for (String str : strings.keySet()) {
+            writeString(out, str);
+        }
+
+        writeVarint(out, snapshots.size());
+        TreeMap<Integer, Entry> prev = new TreeMap<>();
+        for (Map.Entry<String, TreeMap<Integer, Entry>> snapshot : snapshots.entrySet()) {
+            ByteArrayOutputStream delta = new ByteArrayOutputStream();
+            TreeMap<Integer, Entry> previous = prev;
+            TreeMap<Integer, Entry> current = snapshot.getValue();
+
+            List<Integer> removed = new ArrayList<>();
+            previous.keySet().stream().filter(code -> !current.containsKey(code)).forEach(removed::add);
+            writeVarint(delta, removed.size());
+            int last = 0;
+            for (Integer code : removed) {
+                writeVarint(delta, code - last);
+                last = code;
+            }
+
+            List<Map.Entry<Integer, Entry>> updated = new ArrayList<>();
+            current.entrySet().stream().filter(entry -> !entry.getValue().equals(previous.get(entry.getKey())))
+                .forEach(updated::add);
+            writeVarint(delta, updated.size());
+            last = 0;
+            for (Map.Entry<Integer, Entry> entry : updated) {
+                writeVarint(delta, entry.getKey() - last);
+                writeVarint(delta, entry.getValue().parent);
+                writeVarint(delta, strings.get(entry.getValue().name));
+                last = entry.getKey();
+            }
+
+            writeString(out, snapshot.getKey());
+            writeVarint(out, delta.size());
+            delta.writeTo(out);
+            prev = current;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 将区域及其子区域展开到快照中
+     */
+    private static void flatten(AreaData area, Map<Integer, Entry> snapshot) {
+        Entry entry = new Entry(code(area.getCode()), code(area.getParent()), area.getName());
+        Assert.isTrue(snapshot.put(entry.code, entry) == null, "区域代码重复：" + area.getCode());
+        if (area.getChildList() != null) {
+            area.getChildList().forEach(child -> {
+                Assert.isTrue(area.getCode().equals(child.getParent()), "区域[" + child.getCode() + "]的父区域不正确");
+                flatten(child, snapshot);
+            });
+        }
+    }
+
+    private static int code(String code) {
+        Assert.isTrue(code != null && code.matches("[0-9]{6}"), "区域代码必须是6位数字：" + code);
+        return Integer.parseInt(code);
+    }
+
+    private static void writeString(OutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * 快照中的区域
+     */
+    @Value
+    private static class Entry {
+
+        private int code;
+
+        private int parent;
+
+        private String name;
+    }
+
+    /**
+     * json快照中的区域数据
+     */
+    @Data
+    static class AreaData {
+
+        private String code;
+
+        private String parent;
+
+        private String name;
+
+        private List<AreaData> childList;
+    }
+}
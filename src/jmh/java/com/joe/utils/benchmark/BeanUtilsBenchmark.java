@@ -0,0 +1,76 @@
+package com.joe.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.reflect.BeanUtils;
+
+import lombok.Data;
+
+/**
+ * BeanUtils复制、获取字段说明的性能测试
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 21:10 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanUtilsBenchmark {
+
+    private Source source;
+
+    @Setup
+    public void setup() {
+        source = new Source();
+        source.setName("joe");
+        source.setAge(18);
+        source.setAddress("address");
+        source.setScore(99.5);
+    }
+
+    @Benchmark
+    public Target copyToClass() {
+        return BeanUtils.copy(source, Target.class);
+    }
+
+    @Benchmark
+    public Target copyToInstance() {
+        return BeanUtils.copy(new Target(), source);
+    }
+
+    @Benchmark
+    public Target manualCopy() {
+        Target target = new Target();
+        target.setName(source.getName());
+        target.setAge(source.getAge());
+        target.setAddress(source.getAddress());
+        target.setScore(source.getScore());
+        return target;
+    }
+
+    @Benchmark
+    public BeanUtils.CustomPropertyDescriptor[] getPropertyDescriptors() {
+        return BeanUtils.getPropertyDescriptors(Source.class);
+    }
+
+    @Data
+    public static class Source {
+        private String name;
+        private int age;
+        private String address;
+        private double score;
+    }
+
+    @Data
+    public static class Target {
+        private String name;
+        private int age;
+        private String address;
+        private double score;
+    }
+}
@@ -0,0 +1,90 @@
+package com.joe.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.protocol.ByteBufDatagram;
+import com.joe.utils.protocol.Datagram;
+import com.joe.utils.protocol.DatagramUtil;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+/**
+ * 数据报构建、解析的性能测试
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 21:10 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatagramBenchmark {
+
+    @Param({"64", "4096"})
+    private int bodySize;
+
+    private byte[] body;
+
+    private byte[] data;
+
+    private ByteBuf dataBuf;
+
+    private ByteBuf out;
+
+    @Setup
+    public void setup() throws Exception {
+        body = new byte[bodySize];
+        for (int i = 0; i < bodySize; i++) {
+            body[i] = (byte)i;
+        }
+        data = DatagramUtil.build(body, (byte)1, (byte)1).getData();
+        dataBuf = Unpooled.wrappedBuffer(data);
+        out = PooledByteBufAllocator.DEFAULT.buffer(data.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        out.release();
+    }
+
+    @Benchmark
+    public Datagram build() throws Exception {
+        return DatagramUtil.build(body, (byte)1, (byte)1);
+    }
+
+    @Benchmark
+    public Datagram decode() throws Exception {
+        return DatagramUtil.decode(data);
+    }
+
+    @Benchmark
+    public int encodeComposite() throws Exception {
+        ByteBufDatagram datagram =
+            DatagramUtil.encode(PooledByteBufAllocator.DEFAULT, Unpooled.wrappedBuffer(body), (byte)1, (byte)1);
+        int size = datagram.content().readableBytes();
+        datagram.release();
+        return size;
+    }
+
+    @Benchmark
+    public int encodeTo() throws Exception {
+        out.clear();
+        DatagramUtil.encode(out, Unpooled.wrappedBuffer(body), (byte)1, (byte)1);
+        return out.readableBytes();
+    }
+
+    @Benchmark
+    public int decodeByteBuf() throws Exception {
+        dataBuf.readerIndex(0);
+        ByteBufDatagram datagram = DatagramUtil.decode(dataBuf);
+        int size = datagram.getSize();
+        datagram.release();
+        return size;
+    }
+}
@@ -0,0 +1,84 @@
+package com.joe.utils.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.poi.ExcelColumn;
+import com.joe.utils.poi.ExcelExecutor;
+
+import lombok.Data;
+
+/**
+ * excel写入性能测试，每次将10000个pojo写入SXSSFWorkbook（不输出到文件）
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:40 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcelBenchmark {
+
+    private List<Row> rows;
+
+    @Setup
+    public void setup() {
+        rows = new ArrayList<>(10000);
+        for (int i = 0; i < 10000; i++) {
+            Row row = new Row();
+            row.setName("row" + i);
+            row.setCount(i);
+            row.setAmount(i * 1.5);
+            row.setEnable(i % 2 == 0);
+            row.setCreateTime(new Date());
+            rows.add(row);
+        }
+    }
+
+    @Benchmark
+    public int writeList() throws IOException {
+        SXSSFWorkbook wb = new SXSSFWorkbook(100);
+        try {
+            ExcelExecutor.getInstance().writeToExcel(rows, true, wb);
+            return wb.getNumberOfSheets();
+        } finally {
+            wb.dispose();
+            wb.close();
+        }
+    }
+
+    @Benchmark
+    public int writeTransverse() throws IOException {
+        SXSSFWorkbook wb = new SXSSFWorkbook(100);
+        try {
+            ExcelExecutor.getInstance().writeToExcel(rows.stream(), true, wb, true);
+            return wb.getNumberOfSheets();
+        } finally {
+            wb.dispose();
+            wb.close();
+        }
+    }
+
+    @Data
+    public static class Row {
+        @ExcelColumn("名称")
+        private String name;
+        @ExcelColumn("数量")
+        private int count;
+        @ExcelColumn("金额")
+        private double amount;
+        @ExcelColumn("是否启用")
+        private boolean enable;
+        @ExcelColumn("创建时间")
+        private Date createTime;
+    }
+}
@@ -0,0 +1,77 @@
+package com.joe.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.common.IDCard;
+import com.joe.utils.common.IDCardInfo;
+
+/**
+ * 身份证校验、所属地区查询的性能测试，批量测试使用10000个不同生日的身份证号
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:45 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IDCardBenchmark {
+
+    private static final String ID_CARD = "362528199002168308";
+
+    /**
+     * 批量处理的身份证号
+     */
+    private String[] idCards;
+
+    @Setup
+    public void setup() {
+        idCards = new String[10000];
+        for (int i = 0; i < idCards.length; i++) {
+            idCards[i] = IDCard.create(String.valueOf(19800101 + i % 28 + i % 30 * 10000));
+        }
+    }
+
+    @Benchmark
+    public boolean check() {
+        return IDCard.check(ID_CARD);
+    }
+
+    @Benchmark
+    public String getProvince() {
+        return IDCard.getProvince(ID_CARD);
+    }
+
+    @Benchmark
+    public String getArea() {
+        return IDCard.getArea(ID_CARD);
+    }
+
+    /**
+     * 使用单个值的方法逐个校验并获取省份
+     */
+    @Benchmark
+    public int singleAll() {
+        int count = 0;
+        for (String idCard : idCards) {
+            if (IDCard.check(idCard) && IDCard.getProvince(idCard) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public IDCardInfo[] decodeAll() {
+        return IDCard.decodeAll(idCards, false);
+    }
+
+    @Benchmark
+    public IDCardInfo[] decodeAllParallel() {
+        return IDCard.decodeAll(idCards, true);
+    }
+}
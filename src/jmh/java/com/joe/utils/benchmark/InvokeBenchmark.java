@@ -0,0 +1,82 @@
+package com.joe.utils.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.reflect.ByteCodeUtils;
+import com.joe.utils.reflect.InvokeDistribute;
+import com.joe.utils.reflect.ReflectUtil;
+import com.joe.utils.reflect.asm.AsmInvokeDistributeFactory;
+
+/**
+ * 反射调用与ASM生成的{@link InvokeDistribute}调用的性能对比
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 21:10 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvokeBenchmark {
+
+    private static final String OWNER = ByteCodeUtils.convert(Counter.class);
+
+    private static final String DESC = ByteCodeUtils.getDesc(int.class, int.class);
+
+    private Counter counter;
+
+    private Method method;
+
+    private InvokeDistribute distribute;
+
+    private int methodId;
+
+    @Setup
+    public void setup() {
+        counter = new Counter();
+        method = ReflectUtil.getMethod(Counter.class, "add", int.class);
+        distribute = new AsmInvokeDistributeFactory().build(counter);
+        methodId = distribute.methodId(OWNER, "add", DESC);
+    }
+
+    @Benchmark
+    public int direct() {
+        return counter.add(1);
+    }
+
+    @Benchmark
+    public Object reflectUtilInvoke() {
+        return ReflectUtil.invoke(counter, method, 1);
+    }
+
+    @Benchmark
+    public Object invokeDistributeByName() throws NoSuchMethodException {
+        return distribute.invoke(OWNER, "add", DESC, 1);
+    }
+
+    @Benchmark
+    public Object invokeDistributeById() throws NoSuchMethodException {
+        return distribute.invoke(methodId, 1);
+    }
+
+    public static class Counter {
+        private int count;
+
+        public int add(int delta) {
+            return count += delta;
+        }
+
+        public int get() {
+            return count;
+        }
+
+        public void reset() {
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.joe.utils.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.proxy.Interception;
+import com.joe.utils.proxy.ProxyClient;
+
+/**
+ * 各个{@link ProxyClient.ClientType ClientType}创建代理、代理方法调用的性能测试
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 21:10 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyBenchmark {
+
+    private static final Interception INTERCEPTION = (target, params, method, invoker) -> invoker.call();
+
+    @Param({"CGLIB", "JAVA", "BYTE_BUDDY"})
+    private ProxyClient.ClientType clientType;
+
+    private ProxyClient client;
+
+    private Hello proxy;
+
+    @Setup
+    public void setup() {
+        client = ProxyClient.getInstance(clientType);
+        proxy = client.create(Hello.class, new HelloImpl(), INTERCEPTION);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Hello create() {
+        return client.create(Hello.class, new HelloImpl(), INTERCEPTION);
+    }
+
+    @Benchmark
+    public String invoke() {
+        return proxy.hello("joe");
+    }
+
+    public interface Hello {
+        String hello(String name);
+    }
+
+    public static class HelloImpl implements Hello {
+        @Override
+        public String hello(String name) {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.joe.utils.benchmark;
+
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.secure.CacheStrategy;
+import com.joe.utils.secure.CipherUtil;
+import com.joe.utils.secure.KeyTools;
+import com.joe.utils.secure.MessageDigestUtil;
+import com.joe.utils.secure.SignatureUtil;
+import com.joe.utils.secure.impl.AsymmetricCipher;
+import com.joe.utils.secure.impl.MessageDigestUtilImpl;
+import com.joe.utils.secure.impl.SignatureUtilImpl;
+import com.joe.utils.secure.impl.SymmetryCipher;
+
+/**
+ * secure包中加解密、签名、摘要的性能测试
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 21:10 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SecureBenchmark {
+
+    @Param({"32", "1024"})
+    private int dataSize;
+
+    @Param({"THREAD_LOCAL", "POOLED", "HYBRID"})
+    private CacheStrategy strategy;
+
+    private byte[] data;
+
+    private List<byte[]> batch;
+
+    private CipherUtil aes;
+
+    private byte[] aesEncrypted;
+
+    private CipherUtil rsa;
+
+    private byte[] rsaEncrypted;
+
+    private SignatureUtil signature;
+
+    private byte[] sign;
+
+    private MessageDigestUtil md5;
+
+    private MessageDigestUtil sha256;
+
+    @Setup
+    public void setup() {
+        data = new byte[dataSize];
+        for (int i = 0; i < dataSize; i++) {
+            data[i] = (byte)i;
+        }
+        batch = Collections.nCopies(16, data);
+
+        aes = SymmetryCipher.buildInstance(CipherUtil.Algorithms.AES,
+            KeyTools.buildKey(CipherUtil.Algorithms.AES, "benchmark", 128).getEncoded(), strategy);
+        aesEncrypted = aes.encrypt(data);
+
+        KeyTools.KeyHolder holder = KeyTools.buildRSAKey(2048);
+        rsa = AsymmetricCipher.buildInstance(holder.getPrivateKey(), holder.getPublicKey(), strategy);
+        // RSA单次加密的数据长度有限制，这里只加密一小段
+        rsaEncrypted = rsa.encrypt(new byte[64]);
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        signature = SignatureUtilImpl.buildInstance(encoder.encodeToString(holder.getPrivateKey().getEncoded()),
+            encoder.encodeToString(holder.getPublicKey().getEncoded()), SignatureUtil.Algorithms.SHA256withRSA,
+            strategy);
+        sign = signature.sign(data);
+
+        md5 = MessageDigestUtilImpl.buildInstance(MessageDigestUtil.Algorithms.MD5, strategy);
+        sha256 = MessageDigestUtilImpl.buildInstance(MessageDigestUtil.Algorithms.SHA256, strategy);
+    }
+
+    @Benchmark
+    public byte[] aesEncrypt() {
+        return aes.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] aesDecrypt() {
+        return aes.decrypt(aesEncrypted);
+    }
+
+    @Benchmark
+    public byte[] rsaEncrypt() {
+        return rsa.encrypt(new byte[64]);
+    }
+
+    @Benchmark
+    public byte[] rsaDecrypt() {
+        return rsa.decrypt(rsaEncrypted);
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return signature.sign(data);
+    }
+
+    @Benchmark
+    public boolean checkSign() {
+        return signature.checkSign(data, sign);
+    }
+
+    @Benchmark
+    public byte[] md5() {
+        return md5.digest(data);
+    }
+
+    @Benchmark
+    public byte[] sha256() {
+        return sha256.digest(data);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public List<byte[]> sha256Batch() {
+        return sha256.digest(batch);
+    }
+}
@@ -0,0 +1,210 @@
+package com.joe.utils.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.serialize.binary.BinaryParser;
+import com.joe.utils.serialize.json.JsonHandle;
+import com.joe.utils.serialize.json.JsonParser;
+import com.joe.utils.serialize.xml.XmlParser;
+
+import lombok.Data;
+
+/**
+ * JsonParser、XmlParser与BinaryParser序列化、反序列化的性能测试，Order是包含嵌套对象、集合、Map的较大DTO
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 21:10 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializeBenchmark {
+
+    private static final JsonParser JSON_PARSER = JsonParser.getInstance();
+
+    private static final XmlParser XML_PARSER = XmlParser.getInstance();
+
+    private static final BinaryParser BINARY_PARSER = BinaryParser.getInstance();
+
+    private static final JsonHandle<User> JSON_HANDLE = JSON_PARSER.getHandle(User.class, false);
+
+    private static final JsonHandle<Order> ORDER_HANDLE = JSON_PARSER.getHandle(Order.class, false);
+
+    private User user;
+
+    private String json;
+
+    private byte[] jsonBytes;
+
+    private String xml;
+
+    private byte[] binary;
+
+    private Order order;
+
+    private byte[] orderJson;
+
+    private byte[] orderBinary;
+
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() {
+        user = new User();
+        user.setName("joe");
+        user.setAge(18);
+        user.setAddress("北京市朝阳区");
+        user.setEmail("joe@example.com");
+        user.setScore(99.5);
+        user.setMarried(false);
+
+        json = JSON_PARSER.toJson(user);
+        jsonBytes = JSON_PARSER.toJsonBytes(user, false);
+        xml = XML_PARSER.toXml(user);
+        binary = BINARY_PARSER.write(user);
+        out = new ByteArrayOutputStream(1024);
+
+        order = new Order();
+        order.setId(1234567890123L);
+        order.setBuyer(user);
+        order.setRemark("请尽快发货");
+        order.setItems(new ArrayList<>());
+        for (int i = 0; i < 10; i++) {
+            Item item = new Item();
+            item.setSku("SKU-" + i);
+            item.setCount(i + 1);
+            item.setPrice(9.9 * i);
+            order.getItems().add(item);
+        }
+        order.setAttributes(new LinkedHashMap<>());
+        order.getAttributes().put("channel", "app");
+        order.getAttributes().put("coupon", "NEW_USER");
+        orderJson = ORDER_HANDLE.write(order);
+        orderBinary = BINARY_PARSER.write(order);
+    }
+
+    @Benchmark
+    public String jsonWrite() {
+        return JSON_PARSER.toJson(user);
+    }
+
+    @Benchmark
+    public User jsonRead() {
+        return JSON_PARSER.readAsObject(json, User.class);
+    }
+
+    @Benchmark
+    public byte[] jsonWriteBytes() {
+        return JSON_PARSER.toJsonBytes(user, false);
+    }
+
+    @Benchmark
+    public User jsonReadBytes() {
+        return JSON_PARSER.readAsObject(jsonBytes, User.class);
+    }
+
+    @Benchmark
+    public byte[] jsonHandleWrite() {
+        return JSON_HANDLE.write(user);
+    }
+
+    @Benchmark
+    public User jsonHandleRead() {
+        return JSON_HANDLE.read(jsonBytes);
+    }
+
+    @Benchmark
+    public User jsonRoundTrip() {
+        return JSON_PARSER.readAsObject(JSON_PARSER.toJson(user), User.class);
+    }
+
+    @Benchmark
+    public byte[] binaryWrite() {
+        return BINARY_PARSER.write(user);
+    }
+
+    @Benchmark
+    public User binaryRead() {
+        return BINARY_PARSER.read(binary, User.class);
+    }
+
+    @Benchmark
+    public byte[] jsonWriteOrder() {
+        return ORDER_HANDLE.write(order);
+    }
+
+    @Benchmark
+    public Order jsonReadOrder() {
+        return ORDER_HANDLE.read(orderJson);
+    }
+
+    @Benchmark
+    public byte[] binaryWriteOrder() {
+        return BINARY_PARSER.write(order);
+    }
+
+    @Benchmark
+    public Order binaryReadOrder() {
+        return BINARY_PARSER.read(orderBinary, Order.class);
+    }
+
+    @Benchmark
+    public String xmlWrite() {
+        return XML_PARSER.toXml(user);
+    }
+
+    @Benchmark
+    public int xmlWriteStream() throws IOException {
+        out.reset();
+        XML_PARSER.toXml(user, null, false, out, StandardCharsets.UTF_8);
+        return out.size();
+    }
+
+    @Benchmark
+    public User xmlRead() {
+        return XML_PARSER.parse(xml, User.class);
+    }
+
+    @Benchmark
+    public User xmlRoundTrip() {
+        return XML_PARSER.parse(XML_PARSER.toXml(user), User.class);
+    }
+
+    @Data
+    public static class User {
+        private String name;
+        private int age;
+        private String address;
+        private String email;
+        private double score;
+        private boolean married;
+    }
+
+    @Data
+    public static class Order {
+        private long id;
+        private User buyer;
+        private String remark;
+        private List<Item> items;
+        private Map<String, String> attributes;
+    }
+
+    @Data
+    public static class Item {
+        private String sku;
+        private int count;
+        private double price;
+    }
+}
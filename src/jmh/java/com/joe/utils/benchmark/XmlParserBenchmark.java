@@ -0,0 +1,76 @@
+package com.joe.utils.benchmark;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.joe.utils.serialize.xml.XmlParser;
+
+import lombok.Data;
+
+/**
+ * XmlParser并发解析的吞吐量测试，对比单线程与所有CPU核同时解析的吞吐量，用于验证共享的XmlParser实例不会串行化调用方；同时对比
+ * DOM解析与StAX流式解析
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 23:30 JoeKerouac Exp $
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlParserBenchmark {
+
+    private static final XmlParser XML_PARSER = XmlParser.getInstance();
+
+    private String xml;
+
+    @Setup
+    public void setup() {
+        User user = new User();
+        user.setName("joe");
+        user.setAge(18);
+        user.setAddress("北京市朝阳区");
+        user.setEmail("joe@example.com");
+        user.setScore(99.5);
+        user.setMarried(false);
+        xml = XML_PARSER.toXml(user);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public User parseSingleThread() {
+        return XML_PARSER.parse(xml, User.class);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public User parseAllThreads() {
+        return XML_PARSER.parse(xml, User.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public User parseStreamSingleThread() {
+        return XML_PARSER.parse(new StringReader(xml), User.class);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public User parseStreamAllThreads() {
+        return XML_PARSER.parse(new StringReader(xml), User.class);
+    }
+
+    @Data
+    public static class User {
+        private String name;
+        private int age;
+        private String address;
+        private String email;
+        private double score;
+        private boolean married;
+    }
+}
@@ -1,16 +1,19 @@
 package com.joe.utils.area;
 
-import lombok.Data;
-
+import java.beans.ConstructorProperties;
+import java.util.Collections;
 import java.util.List;
 
+import lombok.Value;
+
 /**
- * 地区类
+ * 地区类，不可变对象，可以在线程间安全的共享；构造器带有{@link ConstructorProperties}，可以直接使用jackson（例如
+ * {@link com.joe.utils.serialize.json.JsonParser}）反序列化
  *
  * @author JoeKerouac
  * @version 2019年10月10日 15:31
  */
-@Data
+@Value
 public class Area {
 
     /**
@@ -34,8 +37,27 @@ public class Area {
     private String name;
 
     /**
-     * 子地区
+     * 子地区，不可修改，没有子地区时为空集合
      */
     private List<Area> childList;
 
+    /**
+     * 构造器
+     *
+     * @param code
+     *            当前地区代码
+     * @param parent
+     *            父地区代码
+     * @param name
+     *            地区名
+     * @param childList
+     *            子地区，为null时使用空集合
+     */
+    @ConstructorProperties({"code", "parent", "name", "childList"})
+    public Area(String code, String parent, String name, List<Area> childList) {
+        this.code = code;
+        this.parent = parent;
+        this.name = name;
+        this.childList = childList == null ? Collections.emptyList() : Collections.unmodifiableList(childList);
+    }
 }
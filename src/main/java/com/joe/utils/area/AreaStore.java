@@ -0,0 +1,241 @@
+package com.joe.utils.area;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.joe.utils.common.IOUtils;
+import com.joe.utils.exception.IOExceptionWrapper;
+
+/**
+ * 二进制格式的行政区划快照库，由构建工具AreaStoreCompiler（src/build/java）在构建时从json快照生成
+ * <p>
+ * 数据格式（整数均为varint）：
+ * <ul>
+ * <li>4byte魔数{@link #MAGIC}、1byte版本号{@link #VERSION}</li>
+ * <li>字符串表：数量、每个字符串的UTF-8长度和数据；所有快照中的地区名都只保存一次</li>
+ * <li>快照：数量，每个快照的截止日期（ASCII长度和数据）、增量数据长度和增量数据；第一个快照的增量基于空快照，之后每个快照的增量
+ * 都基于前一个快照</li>
+ * <li>增量数据：删除的数量、按升序排列的删除的区域代码（与前一个代码的差值）；新增或修改的数量、每个区域的代码（与前一个代码的差
+ * 值）、父区域代码（{@link Area#DEFAULT}为0）、地区名在字符串表中的下标</li>
+ * </ul>
+ * 加载时只读取原始数据并建立快照索引，查询某个快照时才会按顺序应用增量并构建该快照的{@link Area}，构建后的快照会被缓存；线程安全
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:00 JoeKerouac Exp $
+ */
+final class AreaStore {
+
+    /**
+     * 魔数，ASCII的AREA
+     */
+    static final int MAGIC = 0x41524541;
+
+    /**
+     * 数据格式版本
+     */
+    static final byte VERSION = 1;
+
+    /**
+     * 快照库在classpath中的位置
+     */
+    static final String RESOURCE = "area/area.dat";
+
+    /**
+     * 原始数据
+     */
+    private final byte[] data;
+
+    /**
+     * 字符串表
+     */
+    private final String[] strings;
+
+    /**
+     * 快照截止日期到快照下标的映射
+     */
+    private final NavigableMap<String, Integer> dateIndex;
+
+    /**
+     * 每个快照增量数据的起始位置
+     */
+    private final int[] deltaOffsets;
+
+    /**
+     * 已经构建的快照
+     */
+    private final AtomicReferenceArray<Map<String, Area>> snapshots;
+
+    /**
+     * 区域代码的字符串缓存，不同快照中相同的代码共享同一个String，只在构建快照时访问
+     */
+    private final Map<Integer, String> codes = new HashMap<>();
+
+    private AreaStore(byte[] data) {
+        this.data = data;
+        if (data.length < 5 || readInt(data) != MAGIC || data[4] != VERSION) {
+            throw new IOExceptionWrapper("行政区划数据格式不正确");
+        }
+        int[] pos = {5};
+
+        this.strings = new String[readVarint(data, pos)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(data, pos);
+        }
+
+        int count = readVarint(data, pos);
+        TreeMap<String, Integer> dateIndex = new TreeMap<>();
+        this.deltaOffsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            dateIndex.put(readString(data, pos), i);
+            int len = readVarint(data, pos);
+            deltaOffsets[i] = pos[0];
+            pos[0] += len;
+        }
+        this.dateIndex = Collections.unmodifiableNavigableMap(dateIndex);
+        this.snapshots = new AtomicReferenceArray<>(count);
+    }
+
+    /**
+     * 从classpath加载快照库
+     *
+     * @return 快照库
+     */
+    static AreaStore load() {
+        try (InputStream in = AreaStore.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IOExceptionWrapper("没有找到区域文件：" + RESOURCE);
+            }
+            return new AreaStore(IOUtils.read(in));
+        } catch (IOException e) {
+            throw new IOExceptionWrapper("读取区域文件失败", e);
+        }
+    }
+
+    /**
+     * 获取截止日期早于指定日期的最后一个快照，日期早于所有快照时返回第一个快照
+     *
+     * @param date
+     *            日期，格式yyyy.MM.dd
+     * @return 快照，key为区域代码，包含所有层级的区域，不可修改
+     */
+    Map<String, Area> get(String date) {
+        if (dateIndex.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map.Entry<String, Integer> entry = dateIndex.lowerEntry(date);
+        int index = entry == null ? 0 : entry.getValue();
+        Map<String, Area> snapshot = snapshots.get(index);
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = snapshots.get(index);
+                if (snapshot == null) {
+                    snapshot = build(index);
+                    snapshots.set(index, snapshot);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 依次应用增量，构建指定快照
+     *
+     * @param index
+     *            快照下标
+     * @return 快照
+     */
+    private Map<String, Area> build(int index) {
+        // 区域代码 -> 父区域代码（高32位）和地区名下标（低32位）
+        TreeMap<Integer, Long> state = new TreeMap<>();
+        int[] pos = new int[1];
+        for (int i = 0; i <= index; i++) {
+            pos[0] = deltaOffsets[i];
+            int removed = readVarint(data, pos);
+            for (int j = 0, code = 0; j < removed; j++) {
+                code += readVarint(data, pos);
+                state.remove(code);
+            }
+            int updated = readVarint(data, pos);
+            for (int j = 0, code = 0; j < updated; j++) {
+                code += readVarint(data, pos);
+                long parent = readVarint(data, pos);
+                long name = readVarint(data, pos);
+                state.put(code, (parent << 32) | name);
+            }
+        }
+
+        // 父区域代码 -> 按代码升序排列的子区域代码
+        Map<Integer, List<Integer>> children = new HashMap<>();
+        state.forEach((code, value) -> children.computeIfAbsent((int)(value >>> 32), k -> new ArrayList<>()).add(code));
+
+        Map<String, Area> areaMap = new HashMap<>(state.size() * 4 / 3 + 1);
+        for (Integer code : state.keySet()) {
+            if (!areaMap.containsKey(code(code))) {
+                build(code, state, children, areaMap);
+            }
+        }
+        return Collections.unmodifiableMap(areaMap);
+    }
+
+    /**
+     * 构建区域及其所有子区域
+     */
+    private Area build(int code, Map<Integer, Long> state, Map<Integer, List<Integer>> children,
+        Map<String, Area> areaMap) {
+        List<Integer> childCodes = children.get(code);
+        List<Area> childList;
+        if (childCodes == null) {
+            childList = Collections.emptyList();
+        } else {
+            List<Area> list = new ArrayList<>(childCodes.size());
+            for (Integer childCode : childCodes) {
+                list.add(build(childCode, state, children, areaMap));
+            }
+            childList = list;
+        }
+
+        long value = state.get(code);
+        Area area = new Area(code(code), code((int)(value >>> 32)), strings[(int)value], childList);
+        areaMap.put(area.getCode(), area);
+        return area;
+    }
+
+    /**
+     * 将区域代码转换为6位字符串
+     */
+    private String code(int code) {
+        return codes.computeIfAbsent(code, k -> {
+            char[] chars = new char[6];
+            for (int i = 5, c = k; i >= 0; i--, c /= 10) {
+                chars[i] = (char)('0' + c % 10);
+            }
+            return new String(chars);
+        });
+    }
+
+    private static int readInt(byte[] data) {
+        return ((data[0] & 0xFF) << 24) | ((data[1] & 0xFF) << 16) | ((data[2] & 0xFF) << 8) | (data[3] & 0xFF);
+    }
+
+    private static String readString(byte[] data, int[] pos) {
+        int len = readVarint(data, pos);
+        String str = new String(data, pos[0], len, StandardCharsets.UTF_8);
+        pos[0] += len;
+        return str;
+    }
+
+    private static int readVarint(byte[] data, int[] pos) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = data[pos[0]++];
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IOExceptionWrapper("行政区划数据格式不正确");
+    }
+}
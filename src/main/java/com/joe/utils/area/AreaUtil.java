@@ -1,21 +1,15 @@
 package com.joe.utils.area;
 
-import java.io.File;
-import java.io.IOException;
-import java.net.URL;
-import java.util.*;
-import java.util.regex.Pattern;
+import java.util.Map;
 
-import com.joe.utils.collection.CollectionUtil;
 import com.joe.utils.common.Assert;
-import com.joe.utils.common.FileUtils;
 import com.joe.utils.common.IDCard;
-import com.joe.utils.common.IOUtils;
-import com.joe.utils.common.string.StringUtils;
-import com.joe.utils.serialize.json.JsonParser;
 
 /**
  * 地区工具
+ * <p>
+ * 行政区划数据来自构建时生成的二进制快照库（参照src/build/java中的AreaStoreCompiler），首次使用时加载；每个快照在第一次查询时才会构建为不可变的
+ * {@link Area}和以区域代码为key的不可修改索引，之后直接返回共享的不可变对象
  *
  * @author JoeKerouac
  * @version 2019年10月10日 15:36
@@ -23,24 +17,16 @@ import com.joe.utils.serialize.json.JsonParser;
 public class AreaUtil {
 
     /**
-     * 所有年份的区域集合，key是年份，value是当年最新区域集合
+     * 行政区划快照库，未加载时为null
      */
-    private static TreeMap<String, Map<String, Area>> ALL_AREA_MAP = new TreeMap<>();
+    private static volatile AreaStore STORE;
 
     /**
-     * json解析
-     */
-    private static final JsonParser JSON_PARSER = JsonParser.getInstance();
-
-    static {
-        init();
-    }
-
-    /**
-     * 清除缓存
+     * 清除缓存，同时清除{@link IDCard}中基于旧快照构建的区域索引
      */
     public static void clearCache() {
-        ALL_AREA_MAP.clear();
+        STORE = null;
+        IDCard.clearCache();
     }
 
     /**
@@ -50,49 +36,26 @@ public class AreaUtil {
      *            区域代码
      * @param date
      *            日期，因为同一个代码在不同时期可能对应的区域名不同，所以需要传入日期
-     * @return 区域说明
+     * @return 区域说明，不可变对象
      */
     public static Area getArea(String code, String date) {
         Assert.notBlank(code);
-        Area area = getArea(date).get(code);
-        if (area == null) {
-            return null;
-        }
-        // deep copy
-        return JSON_PARSER.read(JSON_PARSER.toJson(area), Area.class);
+        return getArea(date).get(code);
     }
 
     /**
      * 获取指定时间最新的区域说明
      * 
      * @param date
-     *            日期，因为同一个代码在不同时期可能对应的区域名不同，所以需要传入日期
-     * @return 区域说明
+     *            日期，格式为yyyy.MM.dd，因为同一个代码在不同时期可能对应的区域名不同，所以需要传入日期
+     * @return 区域说明，key为区域代码，包含所有层级的区域；返回的集合不可修改
      */
     public static Map<String, Area> getArea(String date) {
-        if (ALL_AREA_MAP.isEmpty()) {
-            init();
-        }
         Assert.notBlank(date);
-        Assert.isTrue(Pattern.matches("[0-9]{4}\\.[0-9]{2}\\.[0-9]{2}", date), "日期格式不对");
-
-        String descDate = ALL_AREA_MAP.firstKey();
-
-        // 计算当前时间下最新的区划代码
-        for (String arg : ALL_AREA_MAP.keySet()) {
-            if (arg.compareTo(date) >= 0) {
-                break;
-            }
-            descDate = arg;
-        }
-
-        if (StringUtils.isEmpty(descDate)) {
-            return Collections.emptyMap();
-        }
+        Assert.isTrue(isDate(date), "日期格式不对");
 
-        // deep copy
-        return JSON_PARSER.readAsMap(JSON_PARSER.toJson(ALL_AREA_MAP.get(descDate)), Map.class, String.class,
-            Area.class);
+        // 当前时间下最新的区划代码（截止日期早于date的最后一个快照），date早于所有快照时使用第一个快照
+        return store().get(date);
     }
 
     /**
@@ -134,55 +97,40 @@ public class AreaUtil {
     }
 
     /**
-     * 初始化
+     * 获取快照库，未加载时加载
+     *
+     * @return 快照库
      */
-    private static void init() {
-        try {
-            URL areaDir = IDCard.class.getClassLoader().getResource("area");
-            if (areaDir == null) {
-                throw new NullPointerException("没有找到区域文件");
+    private static AreaStore store() {
+        AreaStore store = STORE;
+        if (store == null) {
+            synchronized (AreaUtil.class) {
+                store = STORE;
+                if (store == null) {
+                    STORE = store = AreaStore.load();
+                }
             }
-            File file = new File(areaDir.getFile());
-            List<File> areaFiles = FileUtils.findAllFile(file);
-
-            for (File areaFile : areaFiles) {
-                Map<String, Area> map = read(areaFile);
-                ALL_AREA_MAP.put(areaFile.getName(), map);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
+        return store;
     }
 
     /**
-     * 从文件中读取区域信息
-     * 
-     * @param areaFile
-     *            文件
-     * @return 文件中的区域信息
-     * @throws IOException
-     *             IO异常
-     */
-    private static Map<String, Area> read(File areaFile) throws IOException {
-        String json = IOUtils.read(areaFile, "UTF8");
-        Map<String, Area> map = JSON_PARSER.readAsMap(json, Map.class, String.class, Area.class);
-        Map<String, Area> allMap = new HashMap<>();
-        map.values().forEach(area -> putArea(allMap, area));
-        return allMap;
-    }
-
-    /**
-     * 将区域放入所有区域map，同时递归将该区域的子区域也放入
-     * 
-     * @param areaMap
-     *            区域map
-     * @param area
-     *            区域
+     * 校验日期格式是否为yyyy.MM.dd
+     *
+     * @param date
+     *            日期
+     * @return 格式正确返回true
      */
-    private static void putArea(Map<String, Area> areaMap, Area area) {
-        areaMap.put(area.getCode(), area);
-        if (!CollectionUtil.safeIsEmpty(area.getChildList())) {
-            area.getChildList().forEach(childArea -> putArea(areaMap, childArea));
+    private static boolean isDate(String date) {
+        if (date.length() != 10) {
+            return false;
+        }
+        for (int i = 0; i < 10; i++) {
+            char c = date.charAt(i);
+            if (i == 4 || i == 7 ? c != '.' : c < '0' || c > '9') {
+                return false;
+            }
         }
+        return true;
     }
 }
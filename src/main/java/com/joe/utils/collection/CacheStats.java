@@ -0,0 +1,56 @@
+package com.joe.utils.collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 缓存统计信息快照（不可变），由{@link ConcurrentLRUCache#stats()}和{@link ClassValueCache#stats()}生成
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 18:30 JoeKerouac Exp $
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class CacheStats {
+
+    /**
+     * 命中次数
+     */
+    private final long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private final long missCount;
+
+    /**
+     * 淘汰次数
+     */
+    private final long evictionCount;
+
+    /**
+     * 快照时缓存中的元素数量，对于无法统计数量的缓存该值为-1
+     */
+    private final long size;
+
+    /**
+     * 获取请求总次数
+     *
+     * @return 请求总次数（命中次数 + 未命中次数）
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率，没有请求时返回1.0
+     */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double)hitCount / requestCount;
+    }
+}
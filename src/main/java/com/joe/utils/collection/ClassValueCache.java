@@ -0,0 +1,79 @@
+package com.joe.utils.collection;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import com.joe.utils.common.Assert;
+
+/**
+ * 基于{@link ClassValue}的按Class缓存，适用于每个Class对应一份数据的场景（例如反射元数据），读操作无锁，数据存放在Class上，
+ * 所以不需要淘汰策略
+ * <p>
+ * 注意：缓存值由Class强引用，如果缓存值又引用了该Class（例如反射元数据中的Field、Method、PropertyDescriptor等），会导致该
+ * Class及其ClassLoader无法被回收；使用动态ClassLoader（例如热部署、插件、动态生成类）的场景中，需要在卸载前对相应的Class
+ * 调用{@link #remove(Class)}，否则会造成ClassLoader泄漏
+ *
+ * @param <V>
+ *            缓存值的类型
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 18:30 JoeKerouac Exp $
+ */
+public class ClassValueCache<V> {
+
+    private final ClassValue<V> classValue;
+
+    private final LongAdder requestCount;
+
+    private final LongAdder missCount;
+
+    /**
+     * 构造器
+     *
+     * @param loader
+     *            值加载器，每个Class首次访问时调用（并发情况下可能会被调用多次，但是只会有一个结果生效），返回值允许为null
+     */
+    public ClassValueCache(Function<Class<?>, ? extends V> loader) {
+        Assert.notNull(loader, "loader不能为null");
+        this.requestCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.classValue = new ClassValue<V>() {
+            @Override
+            protected V computeValue(Class<?> type) {
+                missCount.increment();
+                return loader.apply(type);
+            }
+        };
+    }
+
+    /**
+     * 获取指定Class对应的值，不存在时加载
+     *
+     * @param clazz
+     *            Class，不能为null
+     * @return 对应的值
+     */
+    public V get(Class<?> clazz) {
+        requestCount.increment();
+        return classValue.get(clazz);
+    }
+
+    /**
+     * 删除指定Class对应的值，下次访问时会重新加载
+     *
+     * @param clazz
+     *            Class
+     */
+    public void remove(Class<?> clazz) {
+        classValue.remove(clazz);
+    }
+
+    /**
+     * 获取当前统计信息快照，因为ClassValue无法统计数量，所以size为-1
+     *
+     * @return 统计信息
+     */
+    public CacheStats stats() {
+        long miss = missCount.sum();
+        return new CacheStats(Math.max(requestCount.sum() - miss, 0), miss, 0, -1);
+    }
+}
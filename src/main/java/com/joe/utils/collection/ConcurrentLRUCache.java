@@ -0,0 +1,267 @@
+package com.joe.utils.collection;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import com.joe.utils.common.Assert;
+
+/**
+ * 线程安全的有界缓存，读操作无锁，淘汰策略为近似LRU的CLOCK（second chance）算法：元素被访问时仅设置访问标记，不会像
+ * {@link LRUCacheMap}那样在get时修改链表结构；当元素数量超过上限时由写入线程按照放入顺序扫描，清除访问标记或者淘汰未被访问过的元素。
+ * <p>
+ * 注意：缓存不允许null作为key或者value，loader返回null时不会缓存
+ *
+ * @param <K>
+ *            key的类型
+ * @param <V>
+ *            value的类型
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 18:30 JoeKerouac Exp $
+ */
+public class ConcurrentLRUCache<K, V> {
+
+    /**
+     * 实际存储
+     */
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+
+    /**
+     * 按照放入顺序排列的节点，用于淘汰
+     */
+    private final Queue<Node<K, V>> queue;
+
+    /**
+     * 淘汰锁，同一时间只允许一个线程执行淘汰，其他线程不等待
+     */
+    private final ReentrantLock evictionLock;
+
+    /**
+     * 缓存最大元素数量
+     */
+    private final int maxSize;
+
+    private final LongAdder hitCount;
+
+    private final LongAdder missCount;
+
+    private final LongAdder evictionCount;
+
+    /**
+     * 默认构造器，最大元素数量为1000
+     */
+    public ConcurrentLRUCache() {
+        this(1000);
+    }
+
+    /**
+     * 指定最大元素数量的构造器
+     *
+     * @param maxSize
+     *            最大元素数量，必须大于0
+     */
+    public ConcurrentLRUCache(int maxSize) {
+        Assert.isTrue(maxSize > 0, "maxSize必须大于0");
+        this.maxSize = maxSize;
+        this.map = new ConcurrentHashMap<>(Math.min(maxSize, 1 << 16));
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.evictionLock = new ReentrantLock();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+    }
+
+    /**
+     * 从缓存中获取指定key对应的值
+     *
+     * @param key
+     *            key，不能为null
+     * @return 缓存的值，不存在时返回null
+     */
+    public V get(K key) {
+        Node<K, V> node = map.get(key);
+        if (node == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        node.accessed = true;
+        return node.value;
+    }
+
+    /**
+     * 从缓存中获取指定key对应的值，不存在时使用loader加载并放入缓存；loader在锁外执行（允许loader中递归访问本缓存），所以并发
+     * 情况下同一个key可能被加载多次，但是最终只会有一个值被缓存并返回
+     *
+     * @param key
+     *            key，不能为null
+     * @param loader
+     *            值加载器，返回null时不缓存
+     * @return 缓存的值或者新加载的值
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        Node<K, V> node = map.get(key);
+        if (node != null) {
+            hitCount.increment();
+            node.accessed = true;
+            return node.value;
+        }
+
+        missCount.increment();
+        V value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+
+        Node<K, V> newNode = new Node<>(key, value);
+        Node<K, V> old = map.putIfAbsent(key, newNode);
+        if (old != null) {
+            old.accessed = true;
+            return old.value;
+        }
+        queue.offer(newNode);
+        evictIfNecessary();
+        return value;
+    }
+
+    /**
+     * 放入缓存
+     *
+     * @param key
+     *            key，不能为null
+     * @param value
+     *            value，不能为null
+     * @return 原来的值，不存在时返回null
+     */
+    public V put(K key, V value) {
+        Node<K, V> newNode = new Node<>(key, value);
+        Node<K, V> old = map.put(key, newNode);
+        if (old != null) {
+            queue.remove(old);
+        }
+        queue.offer(newNode);
+        evictIfNecessary();
+        return old == null ? null : old.value;
+    }
+
+    /**
+     * 删除指定key
+     *
+     * @param key
+     *            key
+     * @return 删除的值，不存在时返回null
+     */
+    public V remove(K key) {
+        Node<K, V> old = map.remove(key);
+        if (old == null) {
+            return null;
+        }
+        queue.remove(old);
+        return old.value;
+    }
+
+    /**
+     * 清空缓存（统计信息不会清空）
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            map.clear();
+            queue.clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 当前缓存元素数量
+     *
+     * @return 元素数量
+     */
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * 缓存最大元素数量
+     *
+     * @return 缓存最大元素数量
+     */
+    public int maxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 获取当前统计信息快照
+     *
+     * @return 统计信息
+     */
+    public CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), map.size());
+    }
+
+    /**
+     * 如果元素数量超过上限则执行淘汰，如果已经有其他线程在淘汰那么直接返回（释放锁后会重新检查，所以不会遗漏）
+     */
+    private void evictIfNecessary() {
+        while (map.size() > maxSize && evictionLock.tryLock()) {
+            try {
+                evict();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 执行淘汰，调用前必须持有淘汰锁
+     */
+    private void evict() {
+        // 限制second chance的扫描次数，防止高并发访问下不停设置访问标记导致淘汰无法结束
+        int chance = maxSize;
+        while (map.size() > maxSize) {
+            Node<K, V> node = queue.poll();
+            if (node == null) {
+                return;
+            }
+
+            // 节点已经被删除或者被替换
+            if (map.get(node.key) != node) {
+                continue;
+            }
+
+            if (node.accessed && chance-- > 0) {
+                node.accessed = false;
+                queue.offer(node);
+            } else if (map.remove(node.key, node)) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 缓存节点，equals使用默认的对象同一性比较
+     *
+     * @param <K>
+     *            key的类型
+     * @param <V>
+     *            value的类型
+     */
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+
+        /**
+         * 访问标记，淘汰扫描时为true的会获得一次保留的机会
+         */
+        private volatile boolean accessed;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
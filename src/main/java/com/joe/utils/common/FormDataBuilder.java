@@ -1,30 +1,32 @@
 package com.joe.utils.common;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.TreeMap;
+
+import com.joe.utils.common.string.FormCodec;
 
 /**
- * form数据构建器（非线程安全）
+ * form数据构建器（非线程安全），输出时才排序、编码（参见{@link FormCodec}），不会维护TreeMap
  *
  * @author joe
  * @version 2018.05.14 11:15
  */
 public class FormDataBuilder {
-    private Map<String, Object> datas;
+    private final Map<String, Object> datas;
+
+    /**
+     * 输出时是否按照key的字典序排序
+     */
+    private final boolean sort;
 
     private FormDataBuilder(boolean sort) {
         this(sort, null);
     }
 
     private FormDataBuilder(boolean sort, Map<String, ?> data) {
-        if (sort) {
-            this.datas = new TreeMap<>();
-        } else {
-            this.datas = new HashMap<>();
-        }
+        this.sort = sort;
+        this.datas = new HashMap<>();
         if (data != null && !data.isEmpty()) {
             this.datas.putAll(data);
         }
@@ -62,9 +64,7 @@ public class FormDataBuilder {
      * @return form数据
      */
     public String data() {
-        StringBuilder sb = new StringBuilder();
-        datas.forEach((k, v) -> sb.append("&").append(k).append("=").append(String.valueOf(v)));
-        return sb.toString().substring(1);
+        return FormCodec.write(datas, sort, false, null);
     }
 
     /**
@@ -77,30 +77,7 @@ public class FormDataBuilder {
      * @return form数据
      */
     public String data(boolean useUrlencode, String charset) {
-        StringBuilder sb = new StringBuilder();
-        if (useUrlencode) {
-            datas.forEach((k, v) -> sb.append("&").append(k).append("=").append(urlencode(String.valueOf(v), charset)));
-        } else {
-            datas.forEach((k, v) -> sb.append("&").append(k).append("=").append(String.valueOf(v)));
-        }
-        return sb.toString().substring(1);
-    }
-
-    /**
-     * 对数据进行URLEncode编码
-     *
-     * @param data
-     *            数据
-     * @param charset
-     *            字符集
-     * @return 编码后的数据
-     */
-    private String urlencode(String data, String charset) {
-        try {
-            return URLEncoder.encode(String.valueOf(data), charset);
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
-        }
+        return FormCodec.write(datas, sort, useUrlencode, useUrlencode ? Charset.forName(charset) : null);
     }
 
     /**
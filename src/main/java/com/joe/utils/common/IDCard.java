@@ -1,9 +1,11 @@
 package com.joe.utils.common;
 
-import java.util.Calendar;
-import java.util.Map;
-import java.util.regex.Matcher;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +17,8 @@ import com.joe.utils.common.string.StringFormater;
 
 /**
  * 身份证工具，只适用于18位身份证
+ * <p>
+ * 批量处理时使用{@link #decodeAll(String[], boolean)}等方法，一次扫描完成校验和解析，区域查询使用按生日缓存的共享索引
  *
  * @author JoeKerouac
  * @version 2019年10月10日 15:36
@@ -33,9 +37,50 @@ public class IDCard {
     private static char[] DIVISOR = new char[] {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
 
     /**
-     * 身份证正则
+     * 校验结果：合法
      */
-    private static final Pattern ID_CARD_PATTERN = Pattern.compile("[0-9]{17}[0-9xX]");
+    private static final int VALID = 0;
+
+    /**
+     * 校验结果：格式不对
+     */
+    private static final int FORMAT_ERROR = 1;
+
+    /**
+     * 校验结果：校验码错误
+     */
+    private static final int CHECKSUM_ERROR = 2;
+
+    /**
+     * 缓存区域解析器的生日年份范围
+     */
+    private static final int MIN_YEAR = 1900;
+
+    private static final int MAX_YEAR = 2099;
+
+    /**
+     * 按生日缓存的区域解析器，下标为(年 - MIN_YEAR) * 372 + (月 - 1) * 31 + 日 - 1
+     */
+    private static final AtomicReferenceArray<AreaResolver> RESOLVERS =
+        new AtomicReferenceArray<>((MAX_YEAR - MIN_YEAR + 1) * 372);
+
+    /**
+     * 区域集合到区域索引的映射，区域集合是{@link AreaUtil}缓存的共享对象，按照引用区分；{@link AreaUtil#clearCache()}时通过
+     * {@link #clearCache()}清空
+     */
+    private static final Map<Map<String, Area>, AreaLookup> LOOKUPS = new IdentityHashMap<>();
+
+    /**
+     * 清除区域解析器和区域索引的缓存，{@link AreaUtil#clearCache()}时会调用，清除后旧的区域快照不会再被引用
+     */
+    public static void clearCache() {
+        synchronized (LOOKUPS) {
+            LOOKUPS.clear();
+        }
+        for (int i = 0; i < RESOLVERS.length(); i++) {
+            RESOLVERS.set(i, null);
+        }
+    }
 
     /**
      * 根据出生日期随机生成一个身份证号
@@ -88,30 +133,17 @@ public class IDCard {
      * 检查身份证号是否符合格式
      *
      * @param idCard
-     *            身份证号
+     *            身份证号，不能为null
      * @return 如果身份证号符合身份证格式则返回<code>true</code>
      */
     public static boolean check(String idCard) {
-        // 验证身份证格式
-
-        Matcher matcher = ID_CARD_PATTERN.matcher(idCard);
-        if (!matcher.matches()) {
+        Objects.requireNonNull(idCard);
+        int result = validate(idCard);
+        if (result == FORMAT_ERROR) {
             // 格式不对
             logger.error("身份证格式不对{}", idCard);
             return false;
-        }
-
-        // 验证最后一位加权码
-        byte[] idCardByte = idCard.getBytes();
-        int mod = calcMod(idCard);
-        int calcLast = DIVISOR[mod];
-        char last;
-        if (idCardByte[17] == 'x' || idCardByte[17] == 'X') {
-            last = 'X';
-        } else {
-            last = (char)idCardByte[17];
-        }
-        if (last != calcLast) {
+        } else if (result == CHECKSUM_ERROR) {
             // 格式不对
             logger.error("加权码错误{}", idCard);
             return false;
@@ -119,6 +151,73 @@ public class IDCard {
         return true;
     }
 
+    /**
+     * 校验并解析身份证号，一次扫描完成格式、校验码的校验和生日、性别、区域的解析
+     *
+     * @param idCard
+     *            身份证号，可以为null
+     * @return 解析结果，身份证号不合法时{@link IDCardInfo#isValid()}为false
+     */
+    public static IDCardInfo decode(String idCard) {
+        if (validate(idCard) != VALID) {
+            return new IDCardInfo(idCard, false, 0, -1, 0, 0);
+        }
+        int areaCode = parseInt(idCard, 0, 6);
+        int birthday = parseInt(idCard, 6, 14);
+        int sex = (idCard.charAt(16) - '0') % 2;
+        AreaResolver resolver = resolver(birthday);
+        return new IDCardInfo(idCard, true, birthday, sex, areaCode,
+            resolver == null ? 0 : resolver.provinceCode(areaCode));
+    }
+
+    /**
+     * 批量校验并解析身份证号
+     *
+     * @param idCards
+     *            身份证号
+     * @param parallel
+     *            是否并行处理（使用公共ForkJoinPool）
+     * @return 解析结果，与idCards一一对应
+     */
+    public static IDCardInfo[] decodeAll(String[] idCards, boolean parallel) {
+        Assert.notNull((Object)idCards, "idCards不能为null");
+        IDCardInfo[] result = new IDCardInfo[idCards.length];
+        if (parallel) {
+            Arrays.parallelSetAll(result, i -> decode(idCards[i]));
+        } else {
+            for (int i = 0; i < idCards.length; i++) {
+                result[i] = decode(idCards[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 批量校验并解析身份证号
+     *
+     * @param idCards
+     *            身份证号
+     * @param parallel
+     *            是否并行处理（使用公共ForkJoinPool）
+     * @return 解析结果，顺序与idCards一致
+     */
+    public static List<IDCardInfo> decodeAll(Iterable<String> idCards, boolean parallel) {
+        Assert.notNull(idCards, "idCards不能为null");
+        return StreamSupport.stream(idCards.spliterator(), parallel).map(IDCard::decode).collect(Collectors.toList());
+    }
+
+    /**
+     * 批量校验并解析身份证号，惰性处理，是否并行由idCards决定
+     *
+     * @param idCards
+     *            身份证号
+     * @return 解析结果
+     */
+    public static Stream<IDCardInfo> decodeAll(Stream<String> idCards) {
+        Assert.notNull(idCards, "idCards不能为null");
+        return idCards.map(IDCard::decode);
+    }
+
     /**
      * 获取用户所属省份，可能不准（因为有些人出生后很久才上户口，此时可能行政区划代码已经更改了）
      *
@@ -230,16 +329,94 @@ public class IDCard {
      *            身份证号，长度不得低于17位，使用前17位计算校验和
      * @return 校验和
      */
-    private static int calcMod(String card) {
+    private static int calcMod(CharSequence card) {
         // 生成最后一位校验码
-        byte[] idCardByte = card.getBytes();
         int sum = 0;
         for (int j = 0; j < 17; j++) {
-            sum += (((int)idCardByte[j]) - 48) * POWER[j];
+            sum += (card.charAt(j) - '0') * POWER[j];
         }
         return sum % 11;
     }
 
+    /**
+     * 校验身份证号的格式和校验码，不会创建任何对象
+     *
+     * @param idCard
+     *            身份证号
+     * @return {@link #VALID}、{@link #FORMAT_ERROR}或{@link #CHECKSUM_ERROR}
+     */
+    private static int validate(CharSequence idCard) {
+        if (idCard == null || idCard.length() != 18) {
+            return FORMAT_ERROR;
+        }
+        int sum = 0;
+        for (int i = 0; i < 17; i++) {
+            char c = idCard.charAt(i);
+            if (c < '0' || c > '9') {
+                return FORMAT_ERROR;
+            }
+            sum += (c - '0') * POWER[i];
+        }
+        char last = idCard.charAt(17);
+        if (last == 'x') {
+            last = 'X';
+        } else if (last != 'X' && (last < '0' || last > '9')) {
+            return FORMAT_ERROR;
+        }
+        return DIVISOR[sum % 11] == last ? VALID : CHECKSUM_ERROR;
+    }
+
+    /**
+     * 将指定区间内的数字字符解析为int
+     */
+    private static int parseInt(CharSequence str, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            result = result * 10 + (str.charAt(i) - '0');
+        }
+        return result;
+    }
+
+    /**
+     * 获取指定生日对应的区域解析器
+     *
+     * @param birthday
+     *            生日，格式yyyyMMdd
+     * @return 区域解析器，生日中的月、日不合法时返回null
+     */
+    private static AreaResolver resolver(int birthday) {
+        int year = birthday / 10000;
+        int month = birthday / 100 % 100;
+        int day = birthday % 100;
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return new AreaResolver(birthday);
+        }
+
+        int index = (year - MIN_YEAR) * 372 + (month - 1) * 31 + day - 1;
+        AreaResolver resolver = RESOLVERS.get(index);
+        if (resolver == null) {
+            resolver = new AreaResolver(birthday);
+            RESOLVERS.set(index, resolver);
+        }
+        return resolver;
+    }
+
+    /**
+     * 获取区域集合对应的区域索引，同一个区域集合只会构建一次
+     *
+     * @param areaMap
+     *            区域集合
+     * @return 区域索引
+     */
+    private static AreaLookup lookup(Map<String, Area> areaMap) {
+        synchronized (LOOKUPS) {
+            return LOOKUPS.computeIfAbsent(areaMap, AreaLookup::new);
+        }
+    }
+
     /**
      * 获取指定年份指定code对应的区域集合
      *
@@ -288,4 +465,83 @@ public class IDCard {
         return AreaUtil
             .getArea(birthday.substring(0, 4) + "." + birthday.substring(4, 6) + "." + birthday.substring(6, 8));
     }
+
+    /**
+     * 某个生日对应的区域解析器，与{@link #getAreaMap(String, String)}的决策逻辑一致：区域同时存在于生日当天和一年后的区域集合中
+     * 时，名字相同使用前者，否则使用后者
+     */
+    private static final class AreaResolver {
+
+        /**
+         * 生日当天的区域索引
+         */
+        private final AreaLookup oldLookup;
+
+        /**
+         * 一年后的区域索引
+         */
+        private final AreaLookup newLookup;
+
+        private AreaResolver(int birthday) {
+            this.oldLookup = lookup(getAreaMap(String.format("%08d", birthday)));
+            this.newLookup = lookup(getAreaMap(String.format("%08d", birthday + 10000)));
+        }
+
+        /**
+         * 获取区域所属省份的区域代码
+         *
+         * @param areaCode
+         *            区域代码
+         * @return 省份的区域代码，区域不存在时返回0
+         */
+        private int provinceCode(int areaCode) {
+            int oldIndex = Arrays.binarySearch(oldLookup.codes, areaCode);
+            int newIndex = Arrays.binarySearch(newLookup.codes, areaCode);
+            if (oldIndex < 0 && newIndex < 0) {
+                return 0;
+            } else if (oldIndex < 0) {
+                return newLookup.provinceCodes[newIndex];
+            } else if (newIndex < 0 || oldLookup.names[oldIndex].equals(newLookup.names[newIndex])) {
+                return oldLookup.provinceCodes[oldIndex];
+            } else {
+                return newLookup.provinceCodes[newIndex];
+            }
+        }
+    }
+
+    /**
+     * 区域集合的紧凑索引，按区域代码排序，通过二分查找获取区域名和所属省份
+     */
+    private static final class AreaLookup {
+
+        /**
+         * 升序排列的区域代码
+         */
+        private final int[] codes;
+
+        /**
+         * 区域名
+         */
+        private final String[] names;
+
+        /**
+         * 所属省份的区域代码，省份不存在时为0
+         */
+        private final int[] provinceCodes;
+
+        private AreaLookup(Map<String, Area> areaMap) {
+            List<Area> areas = new ArrayList<>(areaMap.values());
+            areas.sort(Comparator.comparing(Area::getCode));
+            this.codes = new int[areas.size()];
+            this.names = new String[areas.size()];
+            this.provinceCodes = new int[areas.size()];
+            for (int i = 0; i < areas.size(); i++) {
+                Area area = areas.get(i);
+                Area province = AreaUtil.getProvince(area, areaMap);
+                codes[i] = Integer.parseInt(area.getCode());
+                names[i] = area.getName();
+                provinceCodes[i] = province == null ? 0 : Integer.parseInt(province.getCode());
+            }
+        }
+    }
 }
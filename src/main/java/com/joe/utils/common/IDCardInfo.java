@@ -0,0 +1,46 @@
+package com.joe.utils.common;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * 身份证校验、解析结果，由{@link IDCard#decode(String)}及其批量方法生成
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:20 JoeKerouac Exp $
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class IDCardInfo {
+
+    /**
+     * 身份证号
+     */
+    private String idCard;
+
+    /**
+     * 身份证号格式、校验码是否正确，为false时其他字段都没有意义
+     */
+    private boolean valid;
+
+    /**
+     * 生日，格式yyyyMMdd，例如19900216；身份证号不合法时为0
+     */
+    private int birthday;
+
+    /**
+     * 性别，0是女，1是男；身份证号不合法时为-1
+     */
+    private int sex;
+
+    /**
+     * 区域代码，例如362528；身份证号不合法时为0
+     */
+    private int areaCode;
+
+    /**
+     * 所属省份的区域代码，例如360000；身份证号不合法、生日中的月日不合法或者区域不存在时为0
+     */
+    private int provinceCode;
+}
@@ -0,0 +1,504 @@
+package com.joe.utils.common.string;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+import com.joe.utils.common.Assert;
+
+/**
+ * application/x-www-form-urlencoded格式数据的编解码
+ * <p>
+ * 解析时单次扫描CharSequence或者byte[]，不使用正则、不生成中间数组，百分号转义直接解码到每个线程复用的缓冲中，没有转义的key、value
+ * 直接截取，因此每个键值对只会分配最终的key、value字符串；不合法的百分号转义（例如%zz、末尾的%4）原样保留。没有'='的键值对value为
+ * 空字符串，空的键值对（例如a=1&amp;&amp;b=2中间的）被忽略
+ * <p>
+ * 编码规则与{@link java.net.URLEncoder}完全一致（a-z、A-Z、0-9、'.'、'-'、'*'、'_'原样输出，空格输出为'+'，其他字符按照字符集
+ * 编码后输出为大写的%XY），可以直接替换URLEncoder用于签名等对输出要求严格的场景
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:00 JoeKerouac Exp $
+ */
+public final class FormCodec {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * 复用的缓冲超过该大小时不再缓存
+     */
+    private static final int MAX_CACHED_BUFFER = 8 * 1024;
+
+    /**
+     * 每个线程复用的解码缓冲
+     */
+    private static final ThreadLocal<DecodeBuffer> BUFFER = ThreadLocal.withInitial(DecodeBuffer::new);
+
+    private FormCodec() {}
+
+    /**
+     * 解析form数据，对key、value进行URL解码
+     *
+     * @param data
+     *            form数据，为null时不做任何处理
+     * @param charset
+     *            URL解码使用的字符集
+     * @param consumer
+     *            键值对处理器，按照数据中的顺序调用，同一个key可能出现多次
+     */
+    public static void parse(CharSequence data, Charset charset, BiConsumer<String, String> consumer) {
+        parse(data, true, charset, consumer);
+    }
+
+    /**
+     * 解析form数据
+     *
+     * @param data
+     *            form数据，为null时不做任何处理
+     * @param decode
+     *            是否对key、value进行URL解码（'+'解码为空格，%XY解码为字节后按照字符集解码）
+     * @param charset
+     *            URL解码使用的字符集，decode为false时可以为null
+     * @param consumer
+     *            键值对处理器，按照数据中的顺序调用，同一个key可能出现多次
+     */
+    public static void parse(CharSequence data, boolean decode, Charset charset, BiConsumer<String, String> consumer) {
+        Assert.notNull(consumer, "consumer不能为null");
+        if (data == null) {
+            return;
+        }
+        Assert.isTrue(!decode || charset != null, "charset不能为null");
+
+        int len = data.length();
+        int start = 0;
+        while (start < len) {
+            int end = start;
+            int eq = -1;
+            for (char c; end < len && (c = data.charAt(end)) != '&'; end++) {
+                if (c == '=' && eq < 0) {
+                    eq = end;
+                }
+            }
+            if (end > start) {
+                if (eq < 0) {
+                    consumer.accept(decode(data, start, end, decode, charset), "");
+                } else {
+                    consumer.accept(decode(data, start, eq, decode, charset),
+                        decode(data, eq + 1, end, decode, charset));
+                }
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * 解析form数据，字节数据中的'&amp;'、'='、'%'、'+'按照ASCII处理，所以字符集必须兼容ASCII（UTF-8、GBK等）
+     *
+     * @param data
+     *            form数据
+     * @param offset
+     *            数据起始位置
+     * @param len
+     *            数据长度
+     * @param decode
+     *            是否对key、value进行URL解码
+     * @param charset
+     *            数据的字符集，同时也是URL解码使用的字符集
+     * @param consumer
+     *            键值对处理器，按照数据中的顺序调用，同一个key可能出现多次
+     */
+    public static void parse(byte[] data, int offset, int len, boolean decode, Charset charset,
+        BiConsumer<String, String> consumer) {
+        Assert.notNull(data, "data不能为null");
+        Assert.notNull(charset, "charset不能为null");
+        Assert.notNull(consumer, "consumer不能为null");
+
+        int limit = offset + len;
+        int start = offset;
+        while (start < limit) {
+            int end = start;
+            int eq = -1;
+            for (byte b; end < limit && (b = data[end]) != '&'; end++) {
+                if (b == '=' && eq < 0) {
+                    eq = end;
+                }
+            }
+            if (end > start) {
+                if (eq < 0) {
+                    consumer.accept(decode(data, start, end, decode, charset), "");
+                } else {
+                    consumer.accept(decode(data, start, eq, decode, charset),
+                        decode(data, eq + 1, end, decode, charset));
+                }
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * 解析form数据为Map，同一个key出现多次时保留最后一个值
+     *
+     * @param data
+     *            form数据，为null时返回空Map
+     * @param decode
+     *            是否对key、value进行URL解码
+     * @param charset
+     *            URL解码使用的字符集，decode为false时可以为null
+     * @return 按照数据中的顺序排列的Map
+     */
+    public static Map<String, String> parseToMap(CharSequence data, boolean decode, Charset charset) {
+        Map<String, String> map = new LinkedHashMap<>();
+        parse(data, decode, charset, map::put);
+        return map;
+    }
+
+    /**
+     * URL解码（'+'解码为空格，%XY解码为字节后按照字符集解码）
+     *
+     * @param data
+     *            数据
+     * @param charset
+     *            字符集
+     * @return 解码后的数据，不包含转义时不会复制
+     */
+    public static String decode(CharSequence data, Charset charset) {
+        Assert.notNull(data, "data不能为null");
+        Assert.notNull(charset, "charset不能为null");
+        return decode(data, 0, data.length(), true, charset);
+    }
+
+    /**
+     * 将form数据写出为字符串，key原样输出，value为null时与{@link String#valueOf(Object)}一致输出null
+     *
+     * @param data
+     *            form数据
+     * @param sort
+     *            是否按照key的字典序输出（与TreeMap的顺序一致），常用于签名
+     * @param urlencode
+     *            是否对value进行URL编码
+     * @param charset
+     *            URL编码使用的字符集，urlencode为false时可以为null
+     * @return form数据字符串
+     */
+    public static String write(Map<String, ?> data, boolean sort, boolean urlencode, Charset charset) {
+        return write(data, sort, urlencode, charset, false);
+    }
+
+    /**
+     * 将form数据写出为字符串，key原样输出
+     *
+     * @param data
+     *            form数据
+     * @param sort
+     *            是否按照key的字典序输出（与TreeMap的顺序一致），常用于签名
+     * @param urlencode
+     *            是否对value进行URL编码
+     * @param charset
+     *            URL编码使用的字符集，urlencode为false时可以为null
+     * @param nullAsEmpty
+     *            value为null时是否输出空字符串，为false时输出null
+     * @return form数据字符串
+     */
+    @SuppressWarnings("unchecked")
+    public static String write(Map<String, ?> data, boolean sort, boolean urlencode, Charset charset,
+        boolean nullAsEmpty) {
+        Assert.notNull(data, "data不能为null");
+        StringBuilder sb = new StringBuilder(data.size() * 16);
+        if (sort && !(data instanceof SortedMap && ((SortedMap<String, ?>)data).comparator() == null)) {
+            Map.Entry<String, ?>[] entries = data.entrySet().toArray(new Map.Entry[0]);
+            Arrays.sort(entries, (e1, e2) -> e1.getKey().compareTo(e2.getKey()));
+            for (Map.Entry<String, ?> entry : entries) {
+                append(sb, entry.getKey(), entry.getValue(), urlencode, charset, nullAsEmpty);
+            }
+        } else {
+            for (Map.Entry<String, ?> entry : data.entrySet()) {
+                append(sb, entry.getKey(), entry.getValue(), urlencode, charset, nullAsEmpty);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 追加一个键值对，sb不为空时先追加'&amp;'
+     *
+     * @param sb
+     *            输出
+     * @param key
+     *            key，原样输出
+     * @param value
+     *            value，为null时与{@link String#valueOf(Object)}一致输出null
+     * @param urlencode
+     *            是否对value进行URL编码
+     * @param charset
+     *            URL编码使用的字符集，urlencode为false时可以为null
+     * @return sb
+     */
+    public static StringBuilder append(StringBuilder sb, String key, Object value, boolean urlencode,
+        Charset charset) {
+        return append(sb, key, value, urlencode, charset, false);
+    }
+
+    /**
+     * 追加一个键值对，sb不为空时先追加'&amp;'
+     *
+     * @param sb
+     *            输出
+     * @param key
+     *            key，原样输出
+     * @param value
+     *            value
+     * @param urlencode
+     *            是否对value进行URL编码
+     * @param charset
+     *            URL编码使用的字符集，urlencode为false时可以为null
+     * @param nullAsEmpty
+     *            value为null时是否输出空字符串，为false时输出null
+     * @return sb
+     */
+    public static StringBuilder append(StringBuilder sb, String key, Object value, boolean urlencode,
+        Charset charset, boolean nullAsEmpty) {
+        if (sb.length() > 0) {
+            sb.append('&');
+        }
+        sb.append(key).append('=');
+        if (value == null && nullAsEmpty) {
+            return sb;
+        }
+        CharSequence str = value instanceof CharSequence ? (CharSequence)value : String.valueOf(value);
+        return urlencode ? encode(sb, str, charset) : sb.append(str);
+    }
+
+    /**
+     * URL编码，结果与{@link java.net.URLEncoder#encode(String, String)}一致
+     *
+     * @param sb
+     *            输出
+     * @param value
+     *            要编码的数据
+     * @param charset
+     *            字符集
+     * @return sb
+     */
+    public static StringBuilder encode(StringBuilder sb, CharSequence value, Charset charset) {
+        Assert.notNull(charset, "charset不能为null");
+        int len = value.length();
+        int i = 0;
+        while (i < len) {
+            char c = value.charAt(i);
+            if (isSafe(c)) {
+                sb.append(c);
+                i++;
+            } else if (c == ' ') {
+                sb.append('+');
+                i++;
+            } else if (charset == StandardCharsets.UTF_8) {
+                i = encodeUtf8(sb, value, i, len);
+            } else {
+                // 与URLEncoder一致，连续需要编码的字符一起编码
+                int end = i + 1;
+                while (end < len && !isSafe(value.charAt(end)) && value.charAt(end) != ' ') {
+                    end++;
+                }
+                for (byte b : value.subSequence(i, end).toString().getBytes(charset)) {
+                    appendHex(sb, b);
+                }
+                i = end;
+            }
+        }
+        return sb;
+    }
+
+    /**
+     * 对value中i处的字符进行UTF-8编码，不成对的代理字符按照{@link String#getBytes}的处理方式编码为'?'
+     *
+     * @return 下一个字符的位置
+     */
+    private static int encodeUtf8(StringBuilder sb, CharSequence value, int i, int len) {
+        char c = value.charAt(i);
+        if (c < 0x80) {
+            appendHex(sb, c);
+        } else if (c < 0x800) {
+            appendHex(sb, 0xC0 | (c >> 6));
+            appendHex(sb, 0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+            appendHex(sb, 0xF0 | (codePoint >> 18));
+            appendHex(sb, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendHex(sb, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendHex(sb, 0x80 | (codePoint & 0x3F));
+            return i + 2;
+        } else if (Character.isSurrogate(c)) {
+            appendHex(sb, '?');
+        } else {
+            appendHex(sb, 0xE0 | (c >> 12));
+            appendHex(sb, 0x80 | ((c >> 6) & 0x3F));
+            appendHex(sb, 0x80 | (c & 0x3F));
+        }
+        return i + 1;
+    }
+
+    private static void appendHex(StringBuilder sb, int b) {
+        sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+
+    private static boolean isSafe(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '-'
+            || c == '*' || c == '_';
+    }
+
+    private static String decode(CharSequence data, int start, int end, boolean decode, Charset charset) {
+        if (decode) {
+            for (int i = start; i < end; i++) {
+                char c = data.charAt(i);
+                if (c == '%' || c == '+') {
+                    return BUFFER.get().decode(data, start, end, charset);
+                }
+            }
+        }
+        return data.subSequence(start, end).toString();
+    }
+
+    private static String decode(byte[] data, int start, int end, boolean decode, Charset charset) {
+        if (decode) {
+            for (int i = start; i < end; i++) {
+                byte b = data[i];
+                if (b == '%' || b == '+') {
+                    return BUFFER.get().decode(data, start, end, charset);
+                }
+            }
+        }
+        return new String(data, start, end - start, charset);
+    }
+
+    /**
+     * 十六进制字符的值
+     *
+     * @return 不是十六进制字符时返回-1
+     */
+    private static int hex(int c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * 解码缓冲，每个线程一个
+     */
+    private static final class DecodeBuffer {
+
+        private char[] chars = new char[256];
+
+        private byte[] bytes = new byte[256];
+
+        private CharsetDecoder decoder;
+
+        String decode(CharSequence data, int start, int end, Charset charset) {
+            char[] chars = ensureChars(end - start);
+            int n = 0;
+            int i = start;
+            while (i < end) {
+                char c = data.charAt(i);
+                if (c == '+') {
+                    chars[n++] = ' ';
+                    i++;
+                } else if (c == '%' && isEscape(data, i, end)) {
+                    // 连续的转义作为一个整体解码，多字节字符的各个字节都是转义
+                    byte[] bytes = ensureBytes((end - i) / 3);
+                    int len = 0;
+                    do {
+                        bytes[len++] = (byte)((hex(data.charAt(i + 1)) << 4) | hex(data.charAt(i + 2)));
+                        i += 3;
+                    } while (i < end && data.charAt(i) == '%' && isEscape(data, i, end));
+                    n = decodeBytes(len, n, charset);
+                    chars = this.chars;
+                } else {
+                    chars[n++] = c;
+                    i++;
+                }
+            }
+            return result(n);
+        }
+
+        String decode(byte[] data, int start, int end, Charset charset) {
+            byte[] bytes = ensureBytes(end - start);
+            int n = 0;
+            int i = start;
+            while (i < end) {
+                byte b = data[i];
+                if (b == '+') {
+                    bytes[n++] = ' ';
+                    i++;
+                } else if (b == '%' && i + 2 < end && hex(data[i + 1]) >= 0 && hex(data[i + 2]) >= 0) {
+                    bytes[n++] = (byte)((hex(data[i + 1]) << 4) | hex(data[i + 2]));
+                    i += 3;
+                } else {
+                    bytes[n++] = b;
+                    i++;
+                }
+            }
+            String result = new String(bytes, 0, n, charset);
+            if (bytes.length > MAX_CACHED_BUFFER) {
+                this.bytes = new byte[256];
+            }
+            return result;
+        }
+
+        private static boolean isEscape(CharSequence data, int i, int end) {
+            return i + 2 < end && hex(data.charAt(i + 1)) >= 0 && hex(data.charAt(i + 2)) >= 0;
+        }
+
+        /**
+         * 将bytes中前len个字节按照字符集解码后写入chars的pos处
+         *
+         * @return 写入后chars中的数据长度
+         */
+        private int decodeBytes(int len, int pos, Charset charset) {
+            CharsetDecoder decoder = this.decoder;
+            if (decoder == null || decoder.charset() != charset) {
+                decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                this.decoder = decoder;
+            }
+            int maxChars = (int)Math.ceil(len * (double)decoder.maxCharsPerByte());
+            if (chars.length - pos < maxChars) {
+                chars = Arrays.copyOf(chars, pos + Math.max(maxChars, chars.length));
+            }
+            CharBuffer out = CharBuffer.wrap(chars, pos, chars.length - pos);
+            decoder.reset();
+            decoder.decode(ByteBuffer.wrap(bytes, 0, len), out, true);
+            decoder.flush(out);
+            return out.position();
+        }
+
+        private String result(int n) {
+            String result = new String(chars, 0, n);
+            if (chars.length > MAX_CACHED_BUFFER) {
+                chars = new char[256];
+            }
+            return result;
+        }
+
+        private char[] ensureChars(int len) {
+            if (chars.length < len) {
+                chars = new char[len];
+            }
+            return chars;
+        }
+
+        private byte[] ensureBytes(int len) {
+            if (bytes.length < len) {
+                bytes = new byte[len];
+            }
+            return bytes;
+        }
+    }
+}
@@ -261,28 +261,20 @@ public class StringUtils {
     }
 
     /**
-     * 解析form格式的参数，例如abc=123&amp;sdjk=234n这种格式的数据
+     * 解析form格式的参数，例如abc=123&amp;sdjk=234n这种格式的数据（不进行URL解码，需要解码时使用{@link FormCodec}）
      *
      * @param data
      *            要解析的数据
-     * @return 解析出来的数据
+     * @return 解析出来的数据，没有值的key对应的value为null
      */
     public static Map<String, String> parseForm(String data) {
         log.info("解析URL参数:[{}]", data);
         if (isEmpty(data)) {
             return Collections.emptyMap();
         }
-        String[] params = data.split("&");
-
-        HashMap<String, String> map = new HashMap<>((params.length / 3 + 1) * 4);
-        for (String str : params) {
-            String[] datas = str.split("=");
-            if (datas.length > 1) {
-                map.put(datas[0], datas[1]);
-            } else {
-                map.put(datas[0], null);
-            }
-        }
+
+        HashMap<String, String> map = new HashMap<>();
+        FormCodec.parse(data, false, null, (key, value) -> map.put(key, value.isEmpty() ? null : value));
         log.info("URL参数[{}]解析为[{}]", data, map);
         return map;
     }
@@ -1,46 +1,101 @@
 package com.joe.utils.concurrent;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import com.joe.utils.collection.LRUCacheMap;
+import com.joe.utils.common.Assert;
 
 /**
- * 锁服务，为全局业务提供锁服务，该类所有方法都是线程安全的（大量获取锁时性能会下降）
- * 
+ * 锁服务，为全局业务提供锁服务，该类所有方法都是线程安全的
+ * <p>
+ * 锁表使用引用计数管理：加锁（包括等待中的）时引用计数加一，解锁或者加锁失败时减一，只有在没有任何线程持有或者等待时才会删除，所以
+ * 不会出现锁被持有期间被删除、同一个key对应多个锁的情况；锁表按照key的hash分为多个分段，每个分段单独统计锁竞争信息。
+ * <p>
+ * 注意：加锁、解锁必须通过本类或者{@link #getLock(String)}、{@link #getReadWriteLock(String)}返回的锁对象成对调用
+ *
  * @author joe
  *
  */
 public class LockService {
-    private static final Map<String, Lock> container = new LRUCacheMap<>();
 
     /**
-     * 根据锁名字获取指定锁，如果不存在则创建
-     * 
+     * 分段数量，必须是2的幂
+     */
+    private static final int STRIPES = 64;
+
+    private static final Stripe[] STRIPE_ARRAY = new Stripe[STRIPES];
+
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            STRIPE_ARRAY[i] = new Stripe();
+        }
+    }
+
+    /**
+     * 根据锁名字获取指定锁（写锁），返回的锁对象只是一个视图，加锁、解锁时才会真正获取对应的锁
+     *
      * @param key
      *            锁的名字
-     * @return 对应的锁，如果没有则创建
+     * @return 对应的锁，{@link Lock#newCondition()}返回的Condition只能在当前线程持有该锁时使用
      */
     public static Lock getLock(String key) {
-        Lock lock = container.get(key);
-        if (lock == null) {
-            synchronized (container) {
-                lock = container.computeIfAbsent(key, k -> new ReentrantLock());
+        Assert.notNull(key, "key不能为null");
+        return new KeyLock(key, false);
+    }
+
+    /**
+     * 根据锁名字获取指定读写锁，返回的锁对象只是一个视图，加锁、解锁时才会真正获取对应的锁
+     *
+     * @param key
+     *            锁的名字
+     * @return 对应的读写锁，与{@link ReentrantReadWriteLock}一致，只有写锁支持{@link Lock#newCondition()}
+     */
+    public static ReadWriteLock getReadWriteLock(String key) {
+        Assert.notNull(key, "key不能为null");
+        Lock readLock = new KeyLock(key, true);
+        Lock writeLock = new KeyLock(key, false);
+        return new ReadWriteLock() {
+            @Override
+            public Lock readLock() {
+                return readLock;
             }
-        }
-        return lock;
+
+            @Override
+            public Lock writeLock() {
+                return writeLock;
+            }
+        };
     }
 
     /**
      * 获取指定的锁并锁上（该锁根据传入的key值确定，同一时间使用相同的key值调用该方法将会有一个被阻塞直至锁被释放）
-     * 
+     *
      * @param key
      *            锁的名字
      */
     public static void lock(String key) {
-        getLock(key).lock();
+        acquire(key, false);
+    }
+
+    /**
+     * 获取指定的锁并尝试锁上，不等待
+     *
+     * @param key
+     *            锁的名字
+     * @return 返回true表示加锁成功
+     */
+    public static boolean tryLock(String key) {
+        return tryAcquire(key, false);
     }
 
     /**
@@ -50,18 +105,503 @@ public class LockService {
      *            锁的名字
      * @param wait
      *            等待时长，单位为毫秒
+     * @return 返回true表示加锁成功
+     * @throws InterruptedException
+     *             等待过程中被中断时抛出
      */
     public static boolean tryLock(String key, int wait) throws InterruptedException {
-        return getLock(key).tryLock(wait, TimeUnit.MILLISECONDS);
+        return tryLock(key, wait, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 获取指定的锁并尝试锁上
+     *
+     * @param key
+     *            锁的名字
+     * @param time
+     *            等待时长
+     * @param unit
+     *            等待时长的单位
+     * @return 返回true表示加锁成功
+     * @throws InterruptedException
+     *             等待过程中被中断时抛出
+     */
+    public static boolean tryLock(String key, long time, TimeUnit unit) throws InterruptedException {
+        return tryAcquire(key, false, time, unit);
     }
 
     /**
      * 根据锁名字解锁
-     * 
+     *
      * @param key
      *            锁名
+     * @throws IllegalMonitorStateException
+     *             当前线程没有持有该锁时抛出
      */
     public static void unlock(String key) {
-        container.get(key).unlock();
+        release(key, false);
+    }
+
+    /**
+     * 获取指定的读锁并锁上，相同key的读锁之间不会互斥，读锁与写锁（{@link #lock(String)}）互斥
+     *
+     * @param key
+     *            锁的名字
+     */
+    public static void readLock(String key) {
+        acquire(key, true);
+    }
+
+    /**
+     * 获取指定的读锁并尝试锁上，不等待
+     *
+     * @param key
+     *            锁的名字
+     * @return 返回true表示加锁成功
+     */
+    public static boolean tryReadLock(String key) {
+        return tryAcquire(key, true);
+    }
+
+    /**
+     * 获取指定的读锁并尝试锁上
+     *
+     * @param key
+     *            锁的名字
+     * @param time
+     *            等待时长
+     * @param unit
+     *            等待时长的单位
+     * @return 返回true表示加锁成功
+     * @throws InterruptedException
+     *             等待过程中被中断时抛出
+     */
+    public static boolean tryReadLock(String key, long time, TimeUnit unit) throws InterruptedException {
+        return tryAcquire(key, true, time, unit);
+    }
+
+    /**
+     * 根据锁名字释放读锁
+     *
+     * @param key
+     *            锁名
+     * @throws IllegalMonitorStateException
+     *             当前线程没有持有该读锁时抛出
+     */
+    public static void readUnlock(String key) {
+        release(key, true);
+    }
+
+    /**
+     * 获取各个分段的锁竞争统计信息
+     *
+     * @return 各个分段的统计信息快照，下标与分段下标一致
+     */
+    public static List<LockStats> getStats() {
+        List<LockStats> stats = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            Stripe stripe = STRIPE_ARRAY[i];
+            stats.add(new LockStats(i, stripe.acquireCount.sum(), stripe.contendedCount.sum(),
+                stripe.timeoutCount.sum(), stripe.waitTimeNanos.sum(), stripe.locks.size()));
+        }
+        return stats;
+    }
+
+    /**
+     * 加锁，阻塞直到成功
+     *
+     * @param key
+     *            锁名
+     * @param read
+     *            是否是读锁
+     */
+    private static void acquire(String key, boolean read) {
+        Stripe stripe = stripe(key);
+        Lock lock = stripe.retain(key).get(read);
+        boolean success = false;
+        try {
+            if (!lock.tryLock()) {
+                stripe.contendedCount.increment();
+                long start = System.nanoTime();
+                try {
+                    lock.lock();
+                } finally {
+                    stripe.waitTimeNanos.add(System.nanoTime() - start);
+                }
+            }
+            success = true;
+            stripe.acquireCount.increment();
+        } finally {
+            if (!success) {
+                stripe.release(key);
+            }
+        }
+    }
+
+    /**
+     * 加锁，阻塞直到成功或者被中断
+     *
+     * @param key
+     *            锁名
+     * @param read
+     *            是否是读锁
+     * @throws InterruptedException
+     *             等待过程中被中断时抛出
+     */
+    private static void acquireInterruptibly(String key, boolean read) throws InterruptedException {
+        Stripe stripe = stripe(key);
+        Lock lock = stripe.retain(key).get(read);
+        boolean success = false;
+        try {
+            if (!lock.tryLock()) {
+                stripe.contendedCount.increment();
+                long start = System.nanoTime();
+                try {
+                    lock.lockInterruptibly();
+                } finally {
+                    stripe.waitTimeNanos.add(System.nanoTime() - start);
+                }
+            }
+            success = true;
+            stripe.acquireCount.increment();
+        } finally {
+            if (!success) {
+                stripe.release(key);
+            }
+        }
+    }
+
+    /**
+     * 尝试加锁，不等待
+     *
+     * @param key
+     *            锁名
+     * @param read
+     *            是否是读锁
+     * @return 返回true表示加锁成功
+     */
+    private static boolean tryAcquire(String key, boolean read) {
+        Stripe stripe = stripe(key);
+        Lock lock = stripe.retain(key).get(read);
+        if (lock.tryLock()) {
+            stripe.acquireCount.increment();
+            return true;
+        }
+        stripe.contendedCount.increment();
+        stripe.timeoutCount.increment();
+        stripe.release(key);
+        return false;
+    }
+
+    /**
+     * 尝试加锁，最多等待指定时长
+     *
+     * @param key
+     *            锁名
+     * @param read
+     *            是否是读锁
+     * @param time
+     *            等待时长
+     * @param unit
+     *            等待时长的单位
+     * @return 返回true表示加锁成功
+     * @throws InterruptedException
+     *             等待过程中被中断时抛出
+     */
+    private static boolean tryAcquire(String key, boolean read, long time, TimeUnit unit)
+        throws InterruptedException {
+        Stripe stripe = stripe(key);
+        Lock lock = stripe.retain(key).get(read);
+        boolean success = false;
+        try {
+            if (lock.tryLock()) {
+                success = true;
+            } else {
+                stripe.contendedCount.increment();
+                long start = System.nanoTime();
+                try {
+                    success = lock.tryLock(time, unit);
+                } finally {
+                    stripe.waitTimeNanos.add(System.nanoTime() - start);
+                }
+            }
+        } finally {
+            if (success) {
+                stripe.acquireCount.increment();
+            } else {
+                stripe.timeoutCount.increment();
+                stripe.release(key);
+            }
+        }
+        return success;
+    }
+
+    /**
+     * 解锁并减少引用计数
+     *
+     * @param key
+     *            锁名
+     * @param read
+     *            是否是读锁
+     */
+    private static void release(String key, boolean read) {
+        Stripe stripe = stripe(key);
+        LockEntry entry = stripe.locks.get(key);
+        if (entry == null) {
+            throw new IllegalMonitorStateException("当前线程没有持有锁[" + key + "]");
+        }
+        // 解锁失败（当前线程没有持有锁）时会抛出异常，不会减少引用计数
+        entry.get(read).unlock();
+        stripe.release(key);
+    }
+
+    /**
+     * 获取key对应的分段
+     *
+     * @param key
+     *            锁名
+     * @return 分段
+     */
+    private static Stripe stripe(String key) {
+        int h = key.hashCode();
+        return STRIPE_ARRAY[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * 锁表的一个分段
+     */
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+        private final LongAdder acquireCount = new LongAdder();
+        private final LongAdder contendedCount = new LongAdder();
+        private final LongAdder timeoutCount = new LongAdder();
+        private final LongAdder waitTimeNanos = new LongAdder();
+
+        /**
+         * 获取key对应的锁并增加引用计数，不存在时创建
+         *
+         * @param key
+         *            锁名
+         * @return 锁
+         */
+        private LockEntry retain(String key) {
+            return locks.compute(key, (k, entry) -> {
+                if (entry == null) {
+                    entry = new LockEntry();
+                }
+                entry.refCount++;
+                return entry;
+            });
+        }
+
+        /**
+         * 减少引用计数，计数为0时删除
+         *
+         * @param key
+         *            锁名
+         */
+        private void release(String key) {
+            locks.computeIfPresent(key, (k, entry) -> --entry.refCount == 0 ? null : entry);
+        }
+    }
+
+    /**
+     * 锁表中的锁，引用计数只在ConcurrentHashMap的compute中修改
+     */
+    private static final class LockEntry {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        /**
+         * {@link KeyCondition}对应的实际Condition，只在持有写锁时访问；只保存有线程等待的Condition，没有线程等待时删除
+         */
+        private final Map<KeyCondition, Condition> conditions = new HashMap<>();
+
+        /**
+         * 持有以及等待该锁的次数
+         */
+        private int refCount;
+
+        private Lock get(boolean read) {
+            return read ? lock.readLock() : lock.writeLock();
+        }
+    }
+
+    /**
+     * key对应的锁视图
+     */
+    private static final class KeyLock implements Lock {
+        private final String key;
+        private final boolean read;
+
+        private KeyLock(String key, boolean read) {
+            this.key = key;
+            this.read = read;
+        }
+
+        @Override
+        public void lock() {
+            acquire(key, read);
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            acquireInterruptibly(key, read);
+        }
+
+        @Override
+        public boolean tryLock() {
+            return tryAcquire(key, read);
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return tryAcquire(key, read, time, unit);
+        }
+
+        @Override
+        public void unlock() {
+            release(key, read);
+        }
+
+        @Override
+        public Condition newCondition() {
+            if (read) {
+                throw new UnsupportedOperationException("读锁不支持Condition");
+            }
+            return new KeyCondition(key);
+        }
+    }
+
+    /**
+     * key对应写锁的Condition视图，只能在持有写锁时使用
+     * <p>
+     * 持有写锁（包括在Condition上等待）期间锁表中的锁不会被删除，所以有线程等待时同一个视图总是对应同一个实际的Condition；
+     * 实际的Condition只在等待时创建，没有线程在上边等待时就从锁表中删除（signal时不存在说明没有线程等待，直接忽略），之后
+     * 重新创建的Condition也不会丢失通知
+     */
+    private static final class KeyCondition implements Condition {
+        private final String key;
+
+        private KeyCondition(String key) {
+            this.key = key;
+        }
+
+        /**
+         * 获取当前线程持有写锁的锁
+         *
+         * @return 锁表中的锁
+         * @throws IllegalMonitorStateException
+         *             当前线程没有持有写锁时抛出
+         */
+        private LockEntry entry() {
+            LockEntry entry = stripe(key).locks.get(key);
+            if (entry == null || !entry.lock.isWriteLockedByCurrentThread()) {
+                throw new IllegalMonitorStateException("当前线程没有持有锁[" + key + "]");
+            }
+            return entry;
+        }
+
+        /**
+         * 获取实际的Condition，不存在时创建
+         *
+         * @param entry
+         *            当前线程持有写锁的锁
+         * @return 当前锁上该视图对应的Condition
+         */
+        private Condition get(LockEntry entry) {
+            return entry.conditions.computeIfAbsent(this, k -> entry.lock.writeLock().newCondition());
+        }
+
+        /**
+         * 没有线程在实际的Condition上等待时将其从锁中删除，调用时必须持有写锁
+         *
+         * @param entry
+         *            当前线程持有写锁的锁
+         * @param condition
+         *            实际的Condition
+         */
+        private void clean(LockEntry entry, Condition condition) {
+            if (!entry.lock.hasWaiters(condition)) {
+                entry.conditions.remove(this, condition);
+            }
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            LockEntry entry = entry();
+            Condition condition = get(entry);
+            try {
+                condition.await();
+            } finally {
+                clean(entry, condition);
+            }
+        }
+
+        @Override
+        public void awaitUninterruptibly() {
+            LockEntry entry = entry();
+            Condition condition = get(entry);
+            try {
+                condition.awaitUninterruptibly();
+            } finally {
+                clean(entry, condition);
+            }
+        }
+
+        @Override
+        public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            LockEntry entry = entry();
+            Condition condition = get(entry);
+            try {
+                return condition.awaitNanos(nanosTimeout);
+            } finally {
+                clean(entry, condition);
+            }
+        }
+
+        @Override
+        public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            LockEntry entry = entry();
+            Condition condition = get(entry);
+            try {
+                return condition.await(time, unit);
+            } finally {
+                clean(entry, condition);
+            }
+        }
+
+        @Override
+        public boolean awaitUntil(Date deadline) throws InterruptedException {
+            LockEntry entry = entry();
+            Condition condition = get(entry);
+            try {
+                return condition.awaitUntil(deadline);
+            } finally {
+                clean(entry, condition);
+            }
+        }
+
+        @Override
+        public void signal() {
+            LockEntry entry = entry();
+            Condition condition = entry.conditions.get(this);
+            if (condition != null) {
+                condition.signal();
+                clean(entry, condition);
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            LockEntry entry = entry();
+            Condition condition = entry.conditions.get(this);
+            if (condition != null) {
+                condition.signalAll();
+                clean(entry, condition);
+            }
+        }
     }
 }
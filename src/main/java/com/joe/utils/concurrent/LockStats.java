@@ -0,0 +1,57 @@
+package com.joe.utils.concurrent;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * {@link LockService}单个分段的锁竞争统计信息快照（不可变），由{@link LockService#getStats()}生成
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 21:40 JoeKerouac Exp $
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class LockStats {
+
+    /**
+     * 分段下标
+     */
+    private final int stripe;
+
+    /**
+     * 成功加锁次数（包括读锁和写锁）
+     */
+    private final long acquireCount;
+
+    /**
+     * 加锁时锁已经被其他线程持有、需要等待的次数
+     */
+    private final long contendedCount;
+
+    /**
+     * tryLock超时（或者不等待时加锁失败）的次数
+     */
+    private final long timeoutCount;
+
+    /**
+     * 等待锁的总时长，单位纳秒
+     */
+    private final long waitTimeNanos;
+
+    /**
+     * 快照时该分段中被持有或者等待中的key的数量
+     */
+    private final int activeCount;
+
+    /**
+     * 获取竞争率
+     *
+     * @return 需要等待的次数占加锁尝试次数的比例，没有加锁时返回0
+     */
+    public double contentionRate() {
+        long total = acquireCount + timeoutCount;
+        return total == 0 ? 0 : (double)contendedCount / total;
+    }
+}
@@ -0,0 +1,28 @@
+package com.joe.utils.exception;
+
+/**
+ * 对象池耗尽（达到最大数量并且等待超时）时抛出该异常
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:00 JoeKerouac Exp $
+ */
+public class PoolExhaustedException extends UtilsException {
+
+    private static final long serialVersionUID = 3618829105742213085L;
+
+    public PoolExhaustedException() {
+        super();
+    }
+
+    public PoolExhaustedException(String message) {
+        super(message);
+    }
+
+    public PoolExhaustedException(String message, Throwable cause) {
+        super(cause, message);
+    }
+
+    public PoolExhaustedException(Throwable cause) {
+        super(cause);
+    }
+}
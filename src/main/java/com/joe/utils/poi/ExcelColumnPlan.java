@@ -0,0 +1,162 @@
+package com.joe.utils.poi;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.joe.utils.common.string.StringUtils;
+import com.joe.utils.reflect.BeanUtils;
+import com.joe.utils.reflect.LambdaUtil;
+import com.joe.utils.reflect.BeanUtils.CustomPropertyDescriptor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * pojo写入excel的列计划，预先确定可以写入的字段（包括父类的）、列顺序、每列的标题以及每列按字段类型确定的
+ * {@link ExcelDataWriter}，写入时按下标直接读取字段值（直接读取字段，不经过getter）并调用对应的DataWriter
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:30 JoeKerouac Exp $
+ */
+@Slf4j
+final class ExcelColumnPlan {
+
+    /**
+     * 排序器，有{@link ExcelColumn}注解的字段按sort排在前边，没有注解的按字段名排在后边
+     */
+    private static final Comparator<CustomPropertyDescriptor> COMPARATOR = (f1, f2) -> {
+        ExcelColumn c1 = f1.getAnnotation(ExcelColumn.class);
+        ExcelColumn c2 = f2.getAnnotation(ExcelColumn.class);
+        if (c1 == null && c2 == null) {
+            return f1.getName().compareTo(f2.getName());
+        }
+
+        if (c1 == null) {
+            return 1;
+        }
+
+        if (c2 == null) {
+            return -1;
+        }
+        return c1.sort() - c2.sort();
+    };
+
+    /**
+     * 要写入的字段，按列顺序排列
+     */
+    private final CustomPropertyDescriptor[] fields;
+
+    /**
+     * 每列的标题
+     */
+    private final String[] titles;
+
+    /**
+     * 每列字段的读取器
+     */
+    private final Function<Object, Object>[] getters;
+
+    /**
+     * 每列的DataWriter
+     */
+    private final ExcelDataWriter<Object>[] writers;
+
+    /**
+     * 构造器
+     *
+     * @param clazz
+     *            pojo的Class
+     * @param resolver
+     *            查找字段类型对应的ExcelDataWriter，没有时返回null
+     */
+    @SuppressWarnings("unchecked")
+    ExcelColumnPlan(Class<?> clazz, Function<Class<?>, ExcelDataWriter<?>> resolver) {
+        // 获取所有字段（包括父类的）的说明，每个字段的DataWriter只查找一次
+        List<CustomPropertyDescriptor> writeFields = new ArrayList<>();
+        Map<CustomPropertyDescriptor, ExcelDataWriter<?>> fieldWriters = new HashMap<>();
+        for (CustomPropertyDescriptor field : BeanUtils.getAllPropertyDescriptors(clazz)) {
+            ExcelColumn column = field.getAnnotation(ExcelColumn.class);
+            if (column != null && column.ignore()) {
+                continue;
+            }
+            ExcelDataWriter<?> writer = resolver.apply(field.getRealType());
+            if (writer == null) {
+                log.info("字段[{}]不能写入", field.getName());
+                continue;
+            }
+            writeFields.add(field);
+            fieldWriters.put(field, writer);
+        }
+        writeFields.sort(COMPARATOR);
+        log.debug("类[{}]可写入excel的字段集合为：[{}]", clazz, writeFields);
+
+        this.fields = writeFields.toArray(new CustomPropertyDescriptor[0]);
+        this.titles = new String[fields.length];
+        this.writers = new ExcelDataWriter[fields.length];
+        this.getters = new Function[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            getters[i] = LambdaUtil.createGetter(fields[i].getField());
+            writers[i] = (ExcelDataWriter<Object>)fieldWriters.get(fields[i]);
+            ExcelColumn column = fields[i].getAnnotation(ExcelColumn.class);
+            titles[i] = column == null || StringUtils.isEmpty(column.value()) ? fields[i].getName() : column.value();
+        }
+    }
+
+    /**
+     * 列数
+     *
+     * @return 列数
+     */
+    int size() {
+        return fields.length;
+    }
+
+    /**
+     * 获取指定列的标题
+     *
+     * @param index
+     *            列下标
+     * @return 标题，没有{@link ExcelColumn}注解时为字段名
+     */
+    String getTitle(int index) {
+        return titles[index];
+    }
+
+    /**
+     * 获取指定列的字段
+     *
+     * @param index
+     *            列下标
+     * @return 字段
+     */
+    CustomPropertyDescriptor getField(int index) {
+        return fields[index];
+    }
+
+    /**
+     * 读取pojo中指定列的字段值
+     *
+     * @param index
+     *            列下标
+     * @param data
+     *            pojo
+     * @return 字段值
+     */
+    Object getValue(int index, Object data) {
+        return getters[index].apply(data);
+    }
+
+    /**
+     * 获取指定列的DataWriter
+     *
+     * @param index
+     *            列下标
+     * @return DataWriter
+     */
+    ExcelDataWriter<Object> getWriter(int index) {
+        return writers[index];
+    }
+}
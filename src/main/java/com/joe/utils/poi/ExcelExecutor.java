@@ -3,23 +3,25 @@ package com.joe.utils.poi;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
+import com.joe.utils.collection.ClassValueCache;
 import com.joe.utils.collection.CollectionUtil;
-import com.joe.utils.common.string.StringUtils;
+import com.joe.utils.common.Assert;
+import com.joe.utils.exception.IOExceptionWrapper;
 import com.joe.utils.exception.UtilsException;
 import com.joe.utils.poi.data.*;
-import com.joe.utils.reflect.ReflectUtil;
+import com.joe.utils.reflect.type.JavaTypeUtil;
 
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -37,39 +39,30 @@ public class ExcelExecutor {
      */
     private static final int IN_MEMORY = 100;
 
-    /**
-     * 排序器
-     */
-    private static final Comparator<Field> COMPARATOR;
-
     /**
      * 默认实例
      */
     private static final ExcelExecutor UTILS = new ExcelExecutor();
 
-    static {
-        COMPARATOR = (f1, f2) -> {
-            ExcelColumn c1 = f1.getAnnotation(ExcelColumn.class);
-            ExcelColumn c2 = f2.getAnnotation(ExcelColumn.class);
-            if (c1 == null && c2 == null) {
-                return f1.getName().compareTo(f2.getName());
-            }
+    /**
+     * 所有的Excel单元格数据类型，按注册顺序排列
+     */
+    private final Map<Class<?>, ExcelDataWriter<?>> writers = new LinkedHashMap<>();
 
-            if (c1 == null) {
-                return 1;
-            }
+    /**
+     * 每个pojo类型的列计划，注册DataWriter后重建
+     */
+    private volatile ClassValueCache<ExcelColumnPlan> plans;
 
-            if (c2 == null) {
-                return -1;
-            }
-            return c1.sort() - c2.sort();
-        };
-    }
+    /**
+     * 写入标题使用的DataWriter，注册DataWriter后重新查找
+     */
+    private volatile ExcelDataWriter<Object> titleWriter;
 
     /**
-     * 所有的Excel单元格数据类型
+     * 写入null值使用的DataWriter，没有时不写入（单元格为空），注册DataWriter后重新查找
      */
-    private final Map<Class<?>, ExcelDataWriter<?>> writers = new HashMap<>();
+    private volatile ExcelDataWriter<Object> nullWriter;
 
     private ExcelExecutor() {
         init();
@@ -85,6 +78,55 @@ public class ExcelExecutor {
         writers.put(Enum.class, new EnumDataWriter());
         writers.put(Number.class, new NumberDataWriter());
         writers.put(String.class, new StringDataWriter());
+        refresh();
+    }
+
+    /**
+     * DataWriter变更后重新查找标题和null值的DataWriter并清空列计划
+     */
+    @SuppressWarnings("unchecked")
+    private void refresh() {
+        titleWriter = (ExcelDataWriter<Object>)resolve(String.class);
+        nullWriter = (ExcelDataWriter<Object>)writers.values().stream().filter(writer -> writer.writeable((Object)null))
+            .findFirst().orElse(null);
+        plans = new ClassValueCache<>(clazz -> new ExcelColumnPlan(clazz, this::resolve));
+    }
+
+    /**
+     * 查找指定类型的DataWriter（基本类型使用对应的封装类型），查找顺序如下，找到第一个可以写入该类型的DataWriter即返回：
+     * <ol>
+     * <li>该类型及其父类上注册的DataWriter，由子类到父类</li>
+     * <li>该类型及其父类实现的接口上注册的DataWriter，由子类到父类、按声明顺序广度优先（包括父接口）</li>
+     * <li>按注册顺序遍历所有DataWriter</li>
+     * </ol>
+     *
+     * @param type
+     *            数据类型
+     * @return DataWriter，没有可以写入该类型的DataWriter时返回null
+     */
+    private ExcelDataWriter<?> resolve(Class<?> type) {
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> clazz = JavaTypeUtil.boxed(type); clazz != null; clazz = clazz.getSuperclass()) {
+            ExcelDataWriter<?> writer = writers.get(clazz);
+            if (writer != null && writer.writeable(type)) {
+                return writer;
+            }
+            Collections.addAll(interfaces, clazz.getInterfaces());
+        }
+
+        Set<Class<?>> visited = new HashSet<>();
+        while (!interfaces.isEmpty()) {
+            Class<?> clazz = interfaces.poll();
+            if (!visited.add(clazz)) {
+                continue;
+            }
+            ExcelDataWriter<?> writer = writers.get(clazz);
+            if (writer != null && writer.writeable(type)) {
+                return writer;
+            }
+            Collections.addAll(interfaces, clazz.getInterfaces());
+        }
+        return writers.values().stream().filter(writer -> writer.writeable(type)).findFirst().orElse(null);
     }
 
     /**
@@ -118,7 +160,9 @@ public class ExcelExecutor {
      */
     public <T> ExcelDataWriter<?> registerDataWriter(Class<T> type, ExcelDataWriter<T> writer) {
         if (writer != null) {
-            return writers.put(type, writer);
+            ExcelDataWriter<?> old = writers.put(type, writer);
+            refresh();
+            return old;
         } else {
             return null;
         }
@@ -284,17 +328,65 @@ public class ExcelExecutor {
      *             IO异常
      */
     public void writeToExcel(List<? extends Object> datas, boolean hasTitle, OutputStream outputStream, int inMemory,
+        boolean transverse) throws IOException {
+        writeToExcel(datas == null ? Collections.emptyIterator() : datas.iterator(), hasTitle, outputStream, inMemory,
+            transverse);
+    }
+
+    /**
+     * 将流中的数据逐行写入excel，数据不会一次性加载到内存中，内存中最多保留inMemory行，超出单个sheet的行数（横向写入时为列
+     * 数）上限时自动创建新的sheet继续写入
+     *
+     * @param datas
+     *            要写入excel的pojo数据流，空元素将被忽略，流中必须都是同种对象；该流不会关闭，需要用户手动关闭
+     * @param hasTitle
+     *            是否需要标题，需要时每个sheet都会写入标题
+     * @param outputStream
+     *            输出流（该流不会关闭，需要用户手动关闭）
+     * @param inMemory
+     *            最多保留在内存中多少行
+     * @param transverse
+     *            是否横向写入（一列对应一个pojo，标题在第一列），默认false（一行一个pojo，标题在第一行）
+     * @throws IOException
+     *             IO异常
+     */
+    public void writeToExcel(Stream<?> datas, boolean hasTitle, OutputStream outputStream, int inMemory,
+        boolean transverse) throws IOException {
+        writeToExcel(datas.iterator(), hasTitle, outputStream, inMemory, transverse);
+    }
+
+    /**
+     * 将迭代器中的数据逐行写入excel，数据不会一次性加载到内存中，内存中最多保留inMemory行，超出单个sheet的行数（横向写入时为
+     * 列数）上限时自动创建新的sheet继续写入
+     *
+     * @param datas
+     *            要写入excel的pojo数据迭代器，空元素将被忽略，迭代器中必须都是同种对象
+     * @param hasTitle
+     *            是否需要标题，需要时每个sheet都会写入标题
+     * @param outputStream
+     *            输出流（该流不会关闭，需要用户手动关闭）
+     * @param inMemory
+     *            最多保留在内存中多少行
+     * @param transverse
+     *            是否横向写入（一列对应一个pojo，标题在第一列），默认false（一行一个pojo，标题在第一行）
+     * @throws IOException
+     *             IO异常
+     */
+    public void writeToExcel(Iterator<?> datas, boolean hasTitle, OutputStream outputStream, int inMemory,
         boolean transverse) throws IOException {
         log.info("准备将数据写入excel");
         // 这里使用SXSSFWorkbook而不是XSSFWorkbook，这样将会节省内存，但是内存中仅仅存在inMemory行数据，如果超出那么会将
         // index最小的刷新到本地，后续不能通过getRow方法获取到该行
         SXSSFWorkbook wb = new SXSSFWorkbook(inMemory);
-        writeToExcel(datas, hasTitle, wb, transverse);
-        log.info("数据写入excel完毕，准备写入本地文件");
-        wb.write(outputStream);
-        log.debug("删除临时文件，关闭Workbook");
-        wb.dispose();
-        wb.close();
+        try {
+            writeToExcel(datas, hasTitle, wb, transverse);
+            log.info("数据写入excel完毕，准备写入本地文件");
+            wb.write(outputStream);
+        } finally {
+            log.debug("删除临时文件，关闭Workbook");
+            wb.dispose();
+            wb.close();
+        }
     }
 
     /**
@@ -331,153 +423,195 @@ public class ExcelExecutor {
             log.warn("给定数据集合为空");
             return workbook;
         }
-        datas = datas.parallelStream().filter(Objects::nonNull).collect(Collectors.toList());
-        if (datas.isEmpty()) {
-            log.warn("给定数据集合里的数据全是空");
-            return workbook;
-        }
-        // 获取所有字段（包括父类的）
-        Field[] fields = ReflectUtil.getAllFields(datas.get(0).getClass());
-
-        // 过滤可以写入的字段
-        List<Field> writeFields = new ArrayList<>();
-        for (Field field : fields) {
-            String name = field.getName();
-            Class<?> type = field.getType();
-
-            // 查找该字段类型的数据处理器
-            List<ExcelDataWriter<?>> data =
-                writers.values().stream().filter(excelData -> excelData.writeable(type)).collect(Collectors.toList());
-            if (data.isEmpty()) {
-                log.info("字段[{}]不能写入", name);
-            } else {
-                ExcelColumn column = field.getAnnotation(ExcelColumn.class);
-
-                if (column == null || !column.ignore()) {
-                    writeFields.add(field);
-                }
-            }
-        }
-
-        log.debug("可写入excel的字段集合为：[{}]，对可写入excel的字段集合排序", writeFields);
-        writeFields.sort(COMPARATOR);
-
-        List<Writer<?>> titles = null;
-        if (hasTitle) {
-            log.info("当前需要标题列表，构建...");
-            titles = new ArrayList<>(writeFields.size());
-            for (Field field : writeFields) {
-                ExcelColumn column = field.getAnnotation(ExcelColumn.class);
-                if (column == null || StringUtils.isEmpty(column.value())) {
-                    titles.add(build(field.getName()));
-                } else {
-                    titles.add(build(column.value()));
-                }
-            }
-        }
+        return writeToExcel(datas.iterator(), hasTitle, workbook, transverse);
+    }
 
-        List<List<Writer<?>>> writeDatas = new ArrayList<>(datas.size());
-        for (Object dataValue : datas) {
-            // 构建一行数据
-            List<Writer<?>> columnDatas = new ArrayList<>(writeFields.size());
-            // 加入
-            writeDatas.add(columnDatas);
-            for (Field field : writeFields) {
-                try {
-                    Object value = field.get(dataValue);
-                    columnDatas.add(build(value));
-                } catch (IllegalAccessException e) {
-                    log.warn("[{}]中字段[{}]不能读取", dataValue, field.getName(), e);
-                    columnDatas.add(null);
-                }
-            }
-        }
+    /**
+     * 将流中的数据逐行写入excel（处理数据，不写入），超出单个sheet的行数（横向写入时为列数）上限时自动创建新的sheet继续写入
+     *
+     * @param datas
+     *            pojo数据流，空元素将被忽略，流中必须都是同种对象；该流不会关闭，需要用户手动关闭
+     * @param hasTitle
+     *            是否需要title，需要时每个sheet都会写入标题
+     * @param workbook
+     *            工作簿
+     * @param transverse
+     *            是否横向写入（一列对应一个pojo，标题在第一列），默认false（一行一个pojo，标题在第一行）
+     * @return 写入后的工作簿
+     */
+    public Workbook writeToExcel(Stream<?> datas, boolean hasTitle, Workbook workbook, boolean transverse) {
+        return writeToExcel(datas.iterator(), hasTitle, workbook, transverse);
+    }
 
-        log.debug("要写入的数据为：[{}]", writeDatas);
-        writeToExcel(titles, writeDatas, hasTitle, workbook, transverse);
-        return workbook;
+    /**
+     * 将迭代器中的数据逐行写入excel（处理数据，不写入），每个pojo读取后直接写入sheet，不会在内存中缓存；超出单个sheet的行数
+     * （横向写入时为列数）上限时自动创建新的sheet继续写入
+     *
+     * @param datas
+     *            pojo迭代器，空元素将被忽略，迭代器中必须都是同种对象
+     * @param hasTitle
+     *            是否需要title，需要时每个sheet都会写入标题
+     * @param workbook
+     *            工作簿
+     * @param transverse
+     *            是否横向写入（一列对应一个pojo，标题在第一列），默认false（一行一个pojo，标题在第一行）
+     * @return 写入后的工作簿
+     */
+    public Workbook writeToExcel(Iterator<?> datas, boolean hasTitle, Workbook workbook, boolean transverse) {
+        SpreadsheetVersion version = workbook.getSpreadsheetVersion();
+        return writeToExcel(datas, hasTitle, workbook, transverse,
+            transverse ? version.getMaxColumns() : version.getMaxRows());
     }
 
     /**
-     * 写入excel（实际处理方法，在该方法中数据将会被写入excel）
+     * 将迭代器中的数据逐行写入excel（实际处理方法，在该方法中数据将会被写入excel）
      *
-     * @param titles
-     *            标题列表
      * @param datas
-     *            数据列表
+     *            pojo迭代器，空元素将被忽略，迭代器中必须都是同种对象
      * @param hasTitle
-     *            是否需要标题
+     *            是否需要title
      * @param workbook
      *            工作簿
      * @param transverse
      *            是否横向写入（一列对应一个pojo，标题在第一列），默认false（一行一个pojo，标题在第一行）
-     * @return 写入数据后的工作簿
+     * @param limit
+     *            单个sheet最多写入多少行（横向写入时为列），包括标题
+     * @return 写入后的工作簿
      */
-    private Workbook writeToExcel(List<Writer<?>> titles, List<List<Writer<?>>> datas, boolean hasTitle,
-        Workbook workbook, boolean transverse) {
-        if (CollectionUtil.safeIsEmpty(datas)) {
-            log.warn("数据为空，不写入直接返回");
+    Workbook writeToExcel(Iterator<?> datas, boolean hasTitle, Workbook workbook, boolean transverse, int limit) {
+        Assert.isTrue(limit > (hasTitle ? 1 : 0), "单个sheet的行数上限必须大于标题行数");
+        Object first = next(datas);
+        if (first == null) {
+            log.warn("给定数据集合里的数据全是空");
             return workbook;
         }
 
+        ExcelColumnPlan plan = plans.get(first.getClass());
         log.debug("写入excel，{}标题", hasTitle ? "需要" : "不需要");
-        Sheet sheet = workbook.createSheet();
-        int rowNum = 0;
-
-        if (hasTitle && !CollectionUtil.safeIsEmpty(titles)) {
-            log.debug("需要标题，标题为：{}", titles);
-            List<List<Writer<?>>> lists = new ArrayList<>(datas.size() + 1);
-            lists.add(titles);
-            lists.addAll(datas);
-            datas = lists;
+
+        Sheet sheet = null;
+        // 横向写入时每个字段对应一行，这些行在当前sheet写完前都要保留在内存中
+        Row[] rows = transverse ? new Row[plan.size()] : null;
+        // 当前sheet中下一个要写入的行（横向写入时为列）
+        int index = limit;
+        for (Object data = first; data != null; data = next(datas)) {
+            if (index == limit) {
+                sheet = createSheet(workbook, sheet, rows);
+                index = 0;
+                if (hasTitle) {
+                    writeLine(plan, null, sheet, rows, index++);
+                }
+            }
+            writeLine(plan, data, sheet, rows, index++);
         }
+        return workbook;
+    }
 
-        if (transverse) {
-            datas = CollectionUtil.matrixTransform(datas);
+    /**
+     * 创建新的sheet，横向写入时同时创建所有行
+     *
+     * @param workbook
+     *            工作簿
+     * @param prev
+     *            上一个sheet，没有时为null
+     * @param rows
+     *            横向写入时每个字段对应的行，非横向写入时为null
+     * @return 新的sheet
+     */
+    private Sheet createSheet(Workbook workbook, Sheet prev, Row[] rows) {
+        Sheet sheet = workbook.createSheet();
+        if (rows == null) {
+            return sheet;
         }
 
-        for (int i = rowNum; i < (rowNum + datas.size()); i++) {
-            Row row = sheet.createRow(i);
-            List<? extends Writer> columnDatas = datas.get(i - rowNum);
-            if (CollectionUtil.safeIsEmpty(columnDatas)) {
-                continue;
-            }
-            for (int j = 0; j < columnDatas.size(); j++) {
-                Writer<?> data = columnDatas.get(j);
-                if (data == null) {
-                    continue;
-                }
-                log.debug("写入第[{}]行第[{}]列数据[{}]", i, j, data.data);
-                data.write(row.createCell(j));
+        if (prev instanceof SXSSFSheet) {
+            try {
+                ((SXSSFSheet)prev).flushRows();
+            } catch (IOException e) {
+                throw new IOExceptionWrapper(e);
             }
         }
-        return workbook;
+        if (sheet instanceof SXSSFSheet) {
+            // 横向写入时行数等于字段数，所有行都要保留在内存中直到sheet写完
+            ((SXSSFSheet)sheet).setRandomAccessWindowSize(Math.max(rows.length, 1));
+        }
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = sheet.createRow(i);
+        }
+        return sheet;
     }
 
     /**
-     * 构建单元格数据
+     * 写入一个pojo或者标题
      *
+     * @param plan
+     *            列计划
      * @param data
-     *            要写入单元格的数据
-     * @return 返回不为空表示能写入，并返回单元格数据，返回空表示无法写入
+     *            pojo，为null时写入标题
+     * @param sheet
+     *            当前sheet
+     * @param rows
+     *            横向写入时每个字段对应的行，非横向写入时为null
+     * @param index
+     *            要写入的行（横向写入时为列）
      */
-    @SuppressWarnings("unchecked")
-    private Writer<?> build(Object data) {
-        Optional<ExcelDataWriter<?>> dataBuilder =
-            writers.values().parallelStream().filter(excelData -> excelData.writeable(data)).limit(1).findFirst();
+    private void writeLine(ExcelColumnPlan plan, Object data, Sheet sheet, Row[] rows, int index) {
+        Row row = rows == null ? sheet.createRow(index) : null;
+        for (int i = 0; i < plan.size(); i++) {
+            if (data == null) {
+                write(rows == null ? row.createCell(i) : rows[i].createCell(index), titleWriter, plan.getTitle(i));
+                continue;
+            }
 
-        ExcelDataWriter<?> writer =
-            dataBuilder.orElseThrow(() -> new UtilsException("数据[" + data + "]没有对应的ExcelDataWriter"));
-        return new Writer(writer, data);
+            Object value;
+            try {
+                value = plan.getValue(i, data);
+            } catch (RuntimeException e) {
+                // 读取失败时不创建单元格
+                log.warn("[{}]中字段[{}]不能读取", data, plan.getField(i).getName(), e);
+                continue;
+            }
+            write(rows == null ? row.createCell(i) : rows[i].createCell(index), plan.getWriter(i), value);
+        }
     }
 
-    @AllArgsConstructor
-    private class Writer<T> {
-        private final ExcelDataWriter<T> writer;
-        private final T data;
+    /**
+     * 获取迭代器中下一个非空元素
+     *
+     * @param datas
+     *            迭代器
+     * @return 下一个非空元素，没有时返回null
+     */
+    private static Object next(Iterator<?> datas) {
+        while (datas.hasNext()) {
+            Object data = datas.next();
+            if (data != null) {
+                return data;
+            }
+        }
+        return null;
+    }
 
-        public void write(Cell cell) {
-            writer.write(cell, data);
+    /**
+     * 将数据写入单元格
+     *
+     * @param cell
+     *            单元格
+     * @param writer
+     *            数据对应的DataWriter
+     * @param data
+     *            要写入单元格的数据，为null时使用{@link #nullWriter}，没有时单元格为空
+     */
+    private void write(Cell cell, ExcelDataWriter<Object> writer, Object data) {
+        if (data == null) {
+            writer = nullWriter;
+            if (writer == null) {
+                return;
+            }
+        }
+        if (writer == null) {
+            throw new UtilsException("数据[" + data + "]没有对应的ExcelDataWriter");
         }
+        writer.write(cell, data);
     }
 }
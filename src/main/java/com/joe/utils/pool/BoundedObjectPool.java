@@ -0,0 +1,539 @@
+package com.joe.utils.pool;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.joe.utils.common.Assert;
+import com.joe.utils.exception.PoolExhaustedException;
+import com.joe.utils.exception.PoolObjectHolderClosedException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 有界对象池，从池中获取到的对象使用完后必须调用{@link PooledObject#close()}归还（建议使用try-with-resources），池中不会通过
+ * finalize回收未归还的对象，未归还的对象将会一直占用池的容量
+ * <p>
+ * 特性：
+ * <ul>
+ * <li>池中对象总数不超过{@link PoolConfig#getMaxTotal() maxTotal}，达到上限后获取对象会阻塞，超过
+ * {@link PoolConfig#getMaxWaitMillis() maxWaitMillis}抛出{@link PoolExhaustedException}</li>
+ * <li>空闲对象不超过{@link PoolConfig#getMaxIdle() maxIdle}，后台线程定时清理空闲超过
+ * {@link PoolConfig#getIdleTimeoutMillis() idleTimeoutMillis}的对象</li>
+ * <li>空闲对象后进先出，保证频繁使用的对象常驻</li>
+ * </ul>
+ *
+ * @param <T>
+ *            池中对象类型
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:00 JoeKerouac Exp $
+ */
+@Slf4j
+public class BoundedObjectPool<T> implements ObjectPool<T>, AutoCloseable {
+
+    /**
+     * 所有对象池共用的空闲清理线程
+     */
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "object-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 对象工厂
+     */
+    private final Supplier<T> factory;
+
+    /**
+     * 对象销毁回调
+     */
+    private final Consumer<T> destroyer;
+
+    private final int maxTotal;
+
+    private final int maxIdle;
+
+    private final int minIdle;
+
+    private final long maxWaitNanos;
+
+    private final long idleTimeoutNanos;
+
+    /**
+     * 空闲对象，尾部是最近归还的
+     */
+    private final LinkedBlockingDeque<IdleObject<T>> idle;
+
+    /**
+     * 当前对象总数（借出的和空闲的）
+     */
+    private final AtomicInteger total;
+
+    /**
+     * 等待中的线程数
+     */
+    private final AtomicInteger waiting;
+
+    /**
+     * 等待者使用的锁，只有存在等待者时归还、销毁对象才会获取该锁
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * 有对象归还、销毁（可以创建新对象）或者对象池关闭时通知等待者
+     */
+    private final Condition available;
+
+    private final LongAdder borrowCount;
+
+    private final LongAdder waitCount;
+
+    private final LongAdder timeoutCount;
+
+    private final LongAdder borrowTimeNanos;
+
+    private final LongAccumulator maxBorrowTimeNanos;
+
+    private final LongAdder createdCount;
+
+    private final LongAdder destroyedCount;
+
+    /**
+     * 空闲清理任务
+     */
+    private final ScheduledFuture<?> evictionTask;
+
+    private volatile boolean closed;
+
+    /**
+     * 使用默认配置构建对象池
+     *
+     * @param factory
+     *            对象工厂
+     */
+    public BoundedObjectPool(Supplier<T> factory) {
+        this(factory, new PoolConfig());
+    }
+
+    /**
+     * 使用指定配置构建对象池
+     *
+     * @param factory
+     *            对象工厂
+     * @param config
+     *            配置
+     */
+    public BoundedObjectPool(Supplier<T> factory, PoolConfig config) {
+        this(factory, null, config);
+    }
+
+    /**
+     * 使用指定配置构建对象池
+     *
+     * @param factory
+     *            对象工厂
+     * @param destroyer
+     *            对象销毁时的回调，可以为null
+     * @param config
+     *            配置
+     */
+    public BoundedObjectPool(Supplier<T> factory, Consumer<T> destroyer, PoolConfig config) {
+        Assert.notNull(factory, "factory不能为null");
+        Assert.notNull(config, "config不能为null");
+        Assert.isTrue(config.getMaxTotal() > 0, "maxTotal必须大于0");
+        Assert.isTrue(config.getMaxIdle() >= 0, "maxIdle不能小于0");
+
+        this.factory = factory;
+        this.destroyer = destroyer;
+        this.maxTotal = config.getMaxTotal();
+        this.maxIdle = Math.min(config.getMaxIdle(), config.getMaxTotal());
+        this.minIdle = Math.max(0, Math.min(config.getMinIdle(), maxIdle));
+        this.maxWaitNanos =
+            config.getMaxWaitMillis() < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitMillis());
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+        this.idle = new LinkedBlockingDeque<>();
+        this.total = new AtomicInteger();
+        this.waiting = new AtomicInteger();
+        this.lock = new ReentrantLock();
+        this.available = lock.newCondition();
+        this.borrowCount = new LongAdder();
+        this.waitCount = new LongAdder();
+        this.timeoutCount = new LongAdder();
+        this.borrowTimeNanos = new LongAdder();
+        this.maxBorrowTimeNanos = new LongAccumulator(Math::max, 0);
+        this.createdCount = new LongAdder();
+        this.destroyedCount = new LongAdder();
+
+        if (config.getIdleTimeoutMillis() > 0 && config.getEvictionIntervalMillis() > 0) {
+            // 清理任务只持有对象池的弱引用，对象池被回收后任务自动取消
+            this.evictionTask = EVICTOR.scheduleWithFixedDelay(new EvictionTask(this),
+                config.getEvictionIntervalMillis(), config.getEvictionIntervalMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.evictionTask = null;
+        }
+    }
+
+    /**
+     * 获取池中的对象，池耗尽时最多等待{@link PoolConfig#getMaxWaitMillis() maxWaitMillis}
+     *
+     * @return 池中的对象
+     * @throws PoolExhaustedException
+     *             等待超时或者等待过程中被中断时抛出
+     */
+    @Override
+    public PooledObject<T> get() throws PoolExhaustedException {
+        return borrow(maxWaitNanos);
+    }
+
+    /**
+     * 获取池中的对象，池耗尽时最多等待指定时长
+     *
+     * @param timeout
+     *            最大等待时长，小于0表示一直等待
+     * @param unit
+     *            时长单位
+     * @return 池中的对象
+     * @throws PoolExhaustedException
+     *             等待超时或者等待过程中被中断时抛出
+     */
+    public PooledObject<T> get(long timeout, TimeUnit unit) throws PoolExhaustedException {
+        return borrow(timeout < 0 ? -1 : unit.toNanos(timeout));
+    }
+
+    /**
+     * 获取统计信息
+     *
+     * @return 统计信息快照
+     */
+    public PoolStats getStats() {
+        int idleCount = idle.size();
+        return new PoolStats(borrowCount.sum(), waitCount.sum(), timeoutCount.sum(), borrowTimeNanos.sum(),
+            maxBorrowTimeNanos.get(), createdCount.sum(), destroyedCount.sum(), Math.max(0, total.get() - idleCount),
+            idleCount);
+    }
+
+    /**
+     * 当前空闲对象数量
+     *
+     * @return 空闲对象数量
+     */
+    public int idleSize() {
+        return idle.size();
+    }
+
+    /**
+     * 当前借出的对象数量
+     *
+     * @return 借出的对象数量
+     */
+    public int activeSize() {
+        return Math.max(0, total.get() - idle.size());
+    }
+
+    /**
+     * 销毁当前所有空闲对象
+     */
+    public void clear() {
+        IdleObject<T> idleObject;
+        while ((idleObject = idle.pollFirst()) != null) {
+            destroy(idleObject.data);
+        }
+    }
+
+    /**
+     * 关闭对象池，销毁所有空闲对象，之后归还的对象将会直接销毁，获取对象将会抛出异常
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+        }
+        clear();
+        signalWaiters();
+    }
+
+    /**
+     * 清理空闲超时的对象
+     */
+    void evict() {
+        long now = System.nanoTime();
+        IdleObject<T> oldest;
+        while (idle.size() > minIdle && (oldest = idle.peekFirst()) != null
+            && now - oldest.returnTime > idleTimeoutNanos) {
+            // 可能已经被借出，借出的不能销毁
+            if (idle.removeFirstOccurrence(oldest)) {
+                log.debug("对象[{}]空闲超时，销毁", oldest.data);
+                destroy(oldest.data);
+            }
+        }
+    }
+
+    /**
+     * 借出对象
+     *
+     * @param timeoutNanos
+     *            最大等待时长，小于0表示一直等待
+     * @return 池中的对象
+     */
+    private PooledObject<T> borrow(long timeoutNanos) {
+        if (closed) {
+            throw new PoolExhaustedException("对象池已经关闭");
+        }
+
+        long start = System.nanoTime();
+        T data = poll();
+
+        if (data == null) {
+            waitCount.increment();
+            waiting.incrementAndGet();
+            try {
+                data = await(start, timeoutNanos);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        long cost = System.nanoTime() - start;
+        borrowCount.increment();
+        borrowTimeNanos.add(cost);
+        maxBorrowTimeNanos.accumulate(cost);
+        return new Holder<>(this, data);
+    }
+
+    /**
+     * 不等待获取对象：优先使用空闲对象，没有空闲对象并且没有达到上限时创建新对象
+     *
+     * @return 对象，没有可用对象时返回null
+     */
+    private T poll() {
+        IdleObject<T> idleObject = idle.pollLast();
+        if (idleObject != null) {
+            return idleObject.data;
+        }
+        return reserve() ? create() : null;
+    }
+
+    /**
+     * 等待其他线程归还或者销毁对象，调用前必须已经增加{@link #waiting}，保证之后归还、销毁对象时会通知当前线程；锁中只获取空闲
+     * 对象或者预留创建新对象的名额，新对象在锁外创建，防止创建较慢时阻塞其他等待者以及归还对象的线程
+     *
+     * @param start
+     *            开始借出的时间
+     * @param timeoutNanos
+     *            最大等待时长，小于0表示一直等待
+     * @return 对象
+     */
+    private T await(long start, long timeoutNanos) {
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new PoolExhaustedException("对象池已经关闭");
+                }
+
+                IdleObject<T> idleObject = idle.pollLast();
+                if (idleObject != null) {
+                    return idleObject.data;
+                }
+
+                if (reserve()) {
+                    break;
+                }
+
+                if (timeoutNanos < 0) {
+                    available.await();
+                } else {
+                    long remaining = timeoutNanos - (System.nanoTime() - start);
+                    if (remaining <= 0) {
+                        timeoutCount.increment();
+                        throw new PoolExhaustedException(
+                            "对象池已经耗尽，等待" + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms超时，最大对象数量：" + maxTotal);
+                    }
+                    available.awaitNanos(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PoolExhaustedException("等待对象池中的对象时被中断", e);
+        } finally {
+            lock.unlock();
+        }
+        return create();
+    }
+
+    /**
+     * 存在等待者时通知所有等待者重新尝试获取对象
+     */
+    private void signalWaiters() {
+        if (waiting.get() > 0) {
+            lock.lock();
+            try {
+                available.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 没有达到上限时预留一个创建新对象的名额，预留成功后必须调用{@link #create()}
+     *
+     * @return 返回true表示预留成功，达到上限时返回false
+     */
+    private boolean reserve() {
+        while (true) {
+            int current = total.get();
+            if (current >= maxTotal) {
+                return false;
+            }
+            if (total.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 使用预留的名额创建新对象，不能在持有{@link #lock}时调用，创建失败时释放名额
+     *
+     * @return 新对象
+     */
+    private T create() {
+        try {
+            T data = factory.get();
+            Assert.notNull(data, "对象工厂不能返回null");
+            createdCount.increment();
+            return data;
+        } catch (RuntimeException | Error e) {
+            total.decrementAndGet();
+            signalWaiters();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还对象
+     *
+     * @param data
+     *            对象
+     */
+    private void giveBack(T data) {
+        // 有线程等待时总是放回池中，保证等待者可以被唤醒
+        if (closed || (idle.size() >= maxIdle && waiting.get() == 0)) {
+            destroy(data);
+        } else {
+            idle.offerLast(new IdleObject<>(data, System.nanoTime()));
+            signalWaiters();
+        }
+    }
+
+    /**
+     * 销毁对象
+     *
+     * @param data
+     *            对象
+     */
+    private void destroy(T data) {
+        total.decrementAndGet();
+        destroyedCount.increment();
+        // 销毁后可以创建新对象
+        signalWaiters();
+        if (destroyer != null) {
+            try {
+                destroyer.accept(data);
+            } catch (Throwable e) {
+                log.warn("销毁对象[{}]失败", data, e);
+            }
+        }
+    }
+
+    /**
+     * 空闲对象
+     *
+     * @param <T>
+     *            对象类型
+     */
+    private static final class IdleObject<T> {
+        private final T data;
+
+        /**
+         * 归还时间（{@link System#nanoTime()}）
+         */
+        private final long returnTime;
+
+        private IdleObject(T data, long returnTime) {
+            this.data = data;
+            this.returnTime = returnTime;
+        }
+    }
+
+    /**
+     * 池对象持有者，不使用锁，通过CAS保证只会归还一次
+     *
+     * @param <T>
+     *            对象类型
+     */
+    private static final class Holder<T> implements PooledObject<T> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<Holder> CLOSED =
+            AtomicIntegerFieldUpdater.newUpdater(Holder.class, "closed");
+
+        private final BoundedObjectPool<T> pool;
+        private final T data;
+        private volatile int closed;
+
+        private Holder(BoundedObjectPool<T> pool, T data) {
+            this.pool = pool;
+            this.data = data;
+        }
+
+        @Override
+        public T get() {
+            if (closed != 0) {
+                throw new PoolObjectHolderClosedException("PooledObject has bean closed");
+            }
+            return data;
+        }
+
+        @Override
+        public void close() {
+            if (CLOSED.compareAndSet(this, 0, 1)) {
+                pool.giveBack(data);
+            }
+        }
+    }
+
+    /**
+     * 空闲清理任务，只持有对象池的弱引用
+     */
+    private static final class EvictionTask implements Runnable {
+        private final WeakReference<BoundedObjectPool<?>> reference;
+
+        private EvictionTask(BoundedObjectPool<?> pool) {
+            this.reference = new WeakReference<>(pool);
+        }
+
+        @Override
+        public void run() {
+            BoundedObjectPool<?> pool = reference.get();
+            if (pool == null) {
+                // 对象池已经被回收，抛出异常取消后续调度
+                throw new CancellationException("对象池已经被回收");
+            }
+
+            try {
+                pool.evict();
+            } catch (Throwable e) {
+                log.warn("清理对象池空闲对象失败", e);
+            }
+        }
+    }
+}
@@ -6,17 +6,18 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import com.joe.utils.exception.PoolObjectHolderClosedException;
-import com.joe.utils.secure.impl.SignatureUtilImpl;
 
 /**
  * Object池，从Object池中获取到的数据使用完后应该调用close关闭归还池，对象池大小上限为{@link Integer#MAX_VALUE}
  * <p>
- * 主要用于缓存一些有状态、同一时间只能一个客户端使用但是可以多次使用的对象，例如{@link SignatureUtilImpl SignatureUtilImpl}类
+ * 主要用于缓存一些有状态、同一时间只能一个客户端使用但是可以多次使用的对象
  *
  * @author joe
  * @version 2018.06.28 16:32
+ * @deprecated 该实现没有容量上限并且依赖finalize归还对象，请使用{@link BoundedObjectPool}
  */
-public class ObjectPoolImpl<T> {
+@Deprecated
+public class ObjectPoolImpl<T> implements ObjectPool<T> {
     /**
      * 池的最大大小
      */
@@ -49,6 +50,7 @@ public class ObjectPoolImpl<T> {
      *
      * @return 池元素
      */
+    @Override
     public PooledObject<T> get() {
         T data = pool.pollLast();
         if (data == null) {
@@ -0,0 +1,43 @@
+package com.joe.utils.pool;
+
+import lombok.Data;
+
+/**
+ * {@link BoundedObjectPool}配置
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:00 JoeKerouac Exp $
+ */
+@Data
+public class PoolConfig {
+
+    /**
+     * 池中对象的最大数量（包括借出的和空闲的）
+     */
+    private int maxTotal = 8;
+
+    /**
+     * 最大空闲对象数量，归还时空闲对象超过该数量并且没有线程等待时将会销毁归还的对象
+     */
+    private int maxIdle = 8;
+
+    /**
+     * 最小空闲对象数量，空闲清理时至少保留该数量的空闲对象
+     */
+    private int minIdle = 0;
+
+    /**
+     * 池耗尽时获取对象的最大等待时长，单位毫秒，小于0表示一直等待
+     */
+    private long maxWaitMillis = -1;
+
+    /**
+     * 对象空闲超过该时长后会被清理，单位毫秒，小于等于0表示不清理
+     */
+    private long idleTimeoutMillis = 30 * 60 * 1000;
+
+    /**
+     * 空闲清理的执行间隔，单位毫秒，小于等于0表示不启动空闲清理
+     */
+    private long evictionIntervalMillis = 30 * 1000;
+}
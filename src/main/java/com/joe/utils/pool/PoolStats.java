@@ -0,0 +1,71 @@
+package com.joe.utils.pool;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 对象池统计信息快照（不可变），由{@link BoundedObjectPool#getStats()}生成
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:00 JoeKerouac Exp $
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class PoolStats {
+
+    /**
+     * 成功借出的次数
+     */
+    private final long borrowCount;
+
+    /**
+     * 借出时需要等待（池中没有空闲对象并且达到最大数量）的次数
+     */
+    private final long waitCount;
+
+    /**
+     * 等待超时的次数
+     */
+    private final long timeoutCount;
+
+    /**
+     * 借出总耗时（包括等待以及创建对象的时间），单位纳秒
+     */
+    private final long borrowTimeNanos;
+
+    /**
+     * 单次借出的最大耗时，单位纳秒
+     */
+    private final long maxBorrowTimeNanos;
+
+    /**
+     * 创建对象的次数
+     */
+    private final long createdCount;
+
+    /**
+     * 销毁对象的次数
+     */
+    private final long destroyedCount;
+
+    /**
+     * 快照时借出中的对象数量
+     */
+    private final int activeCount;
+
+    /**
+     * 快照时空闲的对象数量
+     */
+    private final int idleCount;
+
+    /**
+     * 获取借出的平均耗时
+     *
+     * @return 平均耗时，单位纳秒，没有借出时返回0
+     */
+    public double averageBorrowTimeNanos() {
+        return borrowCount == 0 ? 0 : (double)borrowTimeNanos / borrowCount;
+    }
+}
@@ -0,0 +1,159 @@
+package com.joe.utils.protocol;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+import lombok.Getter;
+
+/**
+ * 基于{@link ByteBuf}的数据报视图，数据报格式与{@link Datagram}一致，报头字段在解析时读取，数据不会被复制
+ * <p>
+ * 该对象是引用计数的，持有的{@link #content()}为包含报头的完整数据报（可能是报头与body组成的
+ * {@link io.netty.buffer.CompositeByteBuf}），使用完毕后必须调用{@link #release()}释放；可以通过{@link DatagramUtil#encode}或者
+ * {@link DatagramUtil#decode(ByteBuf)}构建
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:15 JoeKerouac Exp $
+ */
+public class ByteBufDatagram extends DefaultByteBufHolder {
+
+    /**
+     * 该长度不包含头信息的长度，只有body的长度
+     */
+    @Getter
+    private final int size;
+
+    /**
+     * 数据报版本
+     */
+    @Getter
+    private final byte version;
+
+    /**
+     * 数据报body的编码
+     */
+    @Getter
+    private final String charset;
+
+    /**
+     * 数据报数据类型，参照{@link DatagramConst.Type}
+     */
+    @Getter
+    private final byte type;
+
+    /**
+     * 初始化数据报，不会对入参进行校验，默认认为入参是正确的
+     *
+     * @param content
+     *            包含头信息的数据，所有权转移给该数据报
+     * @param size
+     *            该长度不包含头信息的长度，只有body的长度
+     * @param version
+     *            数据报版本号
+     * @param charset
+     *            字符集
+     * @param type
+     *            数据报数据类型
+     */
+    ByteBufDatagram(ByteBuf content, int size, byte version, String charset, byte type) {
+        super(content);
+        this.size = size;
+        this.version = version;
+        this.charset = charset;
+        this.type = type;
+    }
+
+    /**
+     * 获取数据报body，返回的ByteBuf与数据报共享数据和引用计数，数据报释放后不能再使用
+     *
+     * @return 数据报body
+     */
+    public ByteBuf body() {
+        ByteBuf content = content();
+        return content.slice(content.readerIndex() + DatagramConst.Position.HEADER_LEN, size);
+    }
+
+    /**
+     * 获取数据报的ID（包含补齐的0），每次调用都会复制一份
+     *
+     * @return 数据报的ID
+     */
+    public byte[] getId() {
+        ByteBuf content = content();
+        byte[] id = new byte[DatagramConst.Position.ID_LEN];
+        content.getBytes(content.readerIndex() + DatagramConst.Position.ID_OFFSET, id);
+        return id;
+    }
+
+    /**
+     * 是否需要ACK
+     *
+     * @return 返回true表示需要ACK
+     */
+    public boolean ack() {
+        return Datagram.shouldAck(type);
+    }
+
+    /**
+     * 将数据报复制为byte数组形式的{@link Datagram}，不会改变当前数据报的引用计数
+     *
+     * @return byte数组形式的数据报
+     */
+    public Datagram toDatagram() {
+        ByteBuf content = content();
+        byte[] data = new byte[DatagramConst.Position.HEADER_LEN + size];
+        content.getBytes(content.readerIndex(), data);
+        byte[] id = new byte[DatagramConst.Position.ID_LEN];
+        System.arraycopy(data, DatagramConst.Position.ID_OFFSET, id, 0, id.length);
+        return new Datagram(data, size, version, charset, type, id);
+    }
+
+    @Override
+    public ByteBufDatagram copy() {
+        return replace(content().copy());
+    }
+
+    @Override
+    public ByteBufDatagram duplicate() {
+        return replace(content().duplicate());
+    }
+
+    @Override
+    public ByteBufDatagram retainedDuplicate() {
+        return replace(content().retainedDuplicate());
+    }
+
+    @Override
+    public ByteBufDatagram replace(ByteBuf content) {
+        return new ByteBufDatagram(content, size, version, charset, type);
+    }
+
+    @Override
+    public ByteBufDatagram retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public ByteBufDatagram retain(int increment) {
+        super.retain(increment);
+        return this;
+    }
+
+    @Override
+    public ByteBufDatagram touch() {
+        super.touch();
+        return this;
+    }
+
+    @Override
+    public ByteBufDatagram touch(Object hint) {
+        super.touch(hint);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufDatagram(size=" + size + ", version=" + version + ", charset=" + charset + ", type=" + type
+               + ", content=" + contentToString() + ")";
+    }
+}
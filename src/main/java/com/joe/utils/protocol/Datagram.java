@@ -1,5 +1,8 @@
 package com.joe.utils.protocol;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * 数据报，用户不能直接构建，可以通过DatagramUtil构建 socket通讯发送的数据，该数据为最小数据，不能再分
  * <p>
@@ -79,12 +82,8 @@ public class Datagram {
      *            数据报的ID
      */
     Datagram(byte[] data, int size, byte version, String charset, byte type, byte[] id) {
-        if (data == null) {
-            this.data = EMPTY_DATA;
-        } else {
-            this.data = new byte[data.length];
-            System.arraycopy(data, 0, this.data, 0, data.length);
-        }
+        // data由DatagramUtil创建，之后不会再被修改，直接持有不再复制
+        this.data = data == null ? EMPTY_DATA : data;
 
         this.size = size;
         this.version = version;
@@ -111,6 +110,27 @@ public class Datagram {
         return body;
     }
 
+    /**
+     * 获取包含头信息的数据报数据的只读视图，不会复制数据
+     *
+     * @return 只读的数据报数据
+     */
+    public ByteBuf content() {
+        return Unpooled.wrappedBuffer(data).asReadOnly();
+    }
+
+    /**
+     * 获取数据报body的只读视图，不会复制数据
+     *
+     * @return 只读的数据报body
+     */
+    public ByteBuf body() {
+        if (this.size <= 0) {
+            return Unpooled.EMPTY_BUFFER;
+        }
+        return Unpooled.wrappedBuffer(data, DatagramConst.Position.HEADER_LEN, size).asReadOnly();
+    }
+
     /**
      * 是否需要ACK
      *
@@ -91,5 +91,15 @@ public class DatagramConst {
          * 字符集最大长度
          */
         public static final int CHARSET_MAX = 10;
+
+        /**
+         * ID起始位置
+         */
+        public static final int ID_OFFSET = 16;
+
+        /**
+         * ID字段的长度，不足的后边补零
+         */
+        public static final int ID_LEN = 40;
     }
 }
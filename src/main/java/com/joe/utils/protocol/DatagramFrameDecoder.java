@@ -0,0 +1,43 @@
+package com.joe.utils.protocol;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * 数据报的netty解码器，将任意分片的入站数据解析为{@link ByteBufDatagram}，数据报直接引用累积缓冲中的数据，下游使用完毕后需要释放
+ * <p>
+ * 数据报body长度超过限制时会丢弃该数据报并通过exceptionCaught传递{@link io.netty.handler.codec.DecoderException}，之后的数据报
+ * 可以正常解析；关闭autoRead时只有在下游消费后才会继续读取，可以用于背压控制；非共享handler，每个channel需要单独创建
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:30 JoeKerouac Exp $
+ */
+public class DatagramFrameDecoder extends ByteToMessageDecoder {
+
+    private final DatagramFrameParser parser;
+
+    public DatagramFrameDecoder() {
+        this(DatagramUtil.BODY_MAX_LENGTH);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param maxBodyLength
+     *            允许的最大body长度
+     */
+    public DatagramFrameDecoder(int maxBodyLength) {
+        this.parser = new DatagramFrameParser(maxBodyLength);
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+        ByteBufDatagram datagram = parser.parse(in);
+        if (datagram != null) {
+            out.add(datagram);
+        }
+    }
+}
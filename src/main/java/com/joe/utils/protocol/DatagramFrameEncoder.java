@@ -0,0 +1,36 @@
+package com.joe.utils.protocol;
+
+import java.util.List;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+/**
+ * 数据报的netty编码器，支持{@link ByteBufDatagram}和{@link Datagram}
+ * <p>
+ * 编码时不会复制数据：ByteBufDatagram直接写出其content（{@link DatagramUtil#encode(io.netty.buffer.ByteBufAllocator,
+ * io.netty.buffer.ByteBuf, byte, byte)}构建的数据报报头与body是分开的两个缓冲，NIO传输时通过gathering write一次写出），Datagram
+ * 写出其数据的只读视图
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:30 JoeKerouac Exp $
+ */
+@ChannelHandler.Sharable
+public class DatagramFrameEncoder extends MessageToMessageEncoder<Object> {
+
+    @Override
+    public boolean acceptOutboundMessage(Object msg) throws Exception {
+        return msg instanceof ByteBufDatagram || msg instanceof Datagram;
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Object msg, List<Object> out) throws Exception {
+        if (msg instanceof ByteBufDatagram) {
+            // 编码完成后msg会被释放，所以这里需要retain
+            out.add(((ByteBufDatagram)msg).content().retain());
+        } else {
+            out.add(((Datagram)msg).content());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.joe.utils.protocol;
+
+import com.joe.utils.common.Assert;
+import com.joe.utils.protocol.exception.DataOutOfMemory;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * 增量的数据报分帧解析，从累积的数据中依次切出完整的数据报，{@link DatagramFrameDecoder}与{@link DatagramFrameReader}共用
+ * <p>
+ * body长度超过限制时会跳过该数据报的全部数据（包括之后才到达的部分）并抛出{@link DataOutOfMemory}，之后可以继续解析后续的数据报；
+ * 非线程安全
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:30 JoeKerouac Exp $
+ */
+final class DatagramFrameParser {
+
+    /**
+     * 允许的最大body长度
+     */
+    private final int maxBodyLength;
+
+    /**
+     * 超长数据报还需要丢弃的字节数
+     */
+    private long bytesToDiscard;
+
+    DatagramFrameParser(int maxBodyLength) {
+        Assert.isTrue(maxBodyLength >= 0 && maxBodyLength <= DatagramUtil.BODY_MAX_LENGTH,
+            "maxBodyLength必须在0到" + DatagramUtil.BODY_MAX_LENGTH + "之间");
+        this.maxBodyLength = maxBodyLength;
+    }
+
+    /**
+     * 从in中解析一个完整的数据报
+     *
+     * @param in
+     *            累积的数据，解析成功时readerIndex移动到该数据报之后
+     * @return 数据报，数据不完整时返回null
+     * @throws DataOutOfMemory
+     *             数据报body长度超过限制时抛出
+     */
+    ByteBufDatagram parse(ByteBuf in) throws DataOutOfMemory {
+        if (!discard(in)) {
+            return null;
+        }
+
+        int readable = in.readableBytes();
+        if (readable < DatagramConst.Position.HEADER_LEN) {
+            return null;
+        }
+
+        int len = in.getInt(in.readerIndex() + DatagramConst.Position.LEN_OFFSET);
+        if (len < 0 || len > maxBodyLength) {
+            // 先进入丢弃状态再抛出异常，保证后续数据可以继续解析
+            bytesToDiscard = DatagramConst.Position.HEADER_LEN + Integer.toUnsignedLong(len);
+            discard(in);
+            throw new DataOutOfMemory(
+                "数据报body长度为：" + Integer.toUnsignedLong(len) + "，超过最大值：" + maxBodyLength + "，该数据报将被丢弃");
+        }
+
+        if (readable - DatagramConst.Position.HEADER_LEN < len) {
+            return null;
+        }
+        return DatagramUtil.decode(in);
+    }
+
+    /**
+     * 当前数据报还需要多少字节才能解析（丢弃状态下为还需要丢弃的字节数），最大为Integer.MAX_VALUE；报头中的body长度超过限制时
+     * 不再需要后续数据，返回0，调用{@link #parse(ByteBuf)}会进入丢弃状态并抛出异常
+     *
+     * @param in
+     *            累积的数据
+     * @return 还需要的字节数，为0表示已经可以调用{@link #parse(ByteBuf)}解析出一个数据报（或者抛出超长异常）
+     */
+    int needed(ByteBuf in) {
+        int readable = in.readableBytes();
+        if (bytesToDiscard > 0) {
+            return (int)Math.min(Integer.MAX_VALUE, Math.max(0, bytesToDiscard - readable));
+        } else if (readable < DatagramConst.Position.HEADER_LEN) {
+            return DatagramConst.Position.HEADER_LEN - readable;
+        }
+        long len = Integer.toUnsignedLong(in.getInt(in.readerIndex() + DatagramConst.Position.LEN_OFFSET));
+        if (len > maxBodyLength) {
+            return 0;
+        }
+        return (int)Math.min(Integer.MAX_VALUE, Math.max(0, DatagramConst.Position.HEADER_LEN + len - readable));
+    }
+
+    /**
+     * 丢弃超长数据报的数据，可以在数据到达时调用，避免缓存超长数据报的数据
+     *
+     * @param in
+     *            累积的数据
+     * @return 返回true表示已经没有需要丢弃的数据
+     */
+    boolean discard(ByteBuf in) {
+        if (bytesToDiscard > 0) {
+            int skip = (int)Math.min(bytesToDiscard, in.readableBytes());
+            in.skipBytes(skip);
+            bytesToDiscard -= skip;
+        }
+        return bytesToDiscard == 0;
+    }
+}
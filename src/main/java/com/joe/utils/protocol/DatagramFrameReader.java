@@ -0,0 +1,199 @@
+package com.joe.utils.protocol;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import com.joe.utils.common.Assert;
+import com.joe.utils.protocol.exception.DataOutOfMemory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
+/**
+ * 不依赖netty传输层的增量数据报解析器，适用于直接使用NIO channel的场景：通过{@link #feed(ByteBuffer)}或者
+ * {@link #readFrom(ReadableByteChannel)}输入任意分片的数据，通过{@link #poll()}依次取出完整的{@link ByteBufDatagram}
+ * <p>
+ * 背压：已经缓存了一个完整的数据报（或者报头中的body长度超过限制）时{@link #readFrom(ReadableByteChannel)}不会再从channel
+ * 读取，调用方通过{@link #poll()}消费（或者得到超长异常）之后才会继续读取，因此缓存的数据最多为一个数据报加上一次读取的数据；超长
+ * 数据报剩余的数据在到达时直接丢弃，不会缓存；取出的数据报直接引用缓存中的数据，使用完毕后需要释放
+ * <p>
+ * 非线程安全，使用完毕后需要调用{@link #close()}释放缓存的数据
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:30 JoeKerouac Exp $
+ */
+public class DatagramFrameReader implements Closeable {
+
+    /**
+     * 每次从channel读取的最小字节数
+     */
+    private static final int READ_CHUNK = 8 * 1024;
+
+    /**
+     * 每次从channel读取的最大字节数
+     */
+    private static final int MAX_READ_CHUNK = 64 * 1024;
+
+    private final DatagramFrameParser parser;
+
+    private final ByteBufAllocator alloc;
+
+    /**
+     * 累积的数据，没有缓存数据时为null
+     */
+    private ByteBuf cumulation;
+
+    public DatagramFrameReader() {
+        this(DatagramUtil.BODY_MAX_LENGTH, PooledByteBufAllocator.DEFAULT);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param maxBodyLength
+     *            允许的最大body长度
+     * @param alloc
+     *            缓存分配器
+     */
+    public DatagramFrameReader(int maxBodyLength, ByteBufAllocator alloc) {
+        Assert.notNull(alloc, "alloc不能为null");
+        this.parser = new DatagramFrameParser(maxBodyLength);
+        this.alloc = alloc;
+    }
+
+    /**
+     * 输入数据，src中的剩余数据会被全部读取
+     *
+     * @param src
+     *            数据
+     */
+    public void feed(ByteBuffer src) {
+        Assert.notNull(src, "src不能为null");
+        writable(src.remaining()).writeBytes(src);
+        discard();
+    }
+
+    /**
+     * 输入数据，src中的可读数据会被全部读取，src的所有权不转移
+     *
+     * @param src
+     *            数据
+     */
+    public void feed(ByteBuf src) {
+        Assert.notNull(src, "src不能为null");
+        writable(src.readableBytes()).writeBytes(src);
+        discard();
+    }
+
+    /**
+     * 从channel读取数据，已经缓存了一个完整的数据报或者报头中的body长度超过限制时不会读取，需要先调用{@link #poll()}
+     *
+     * @param channel
+     *            channel
+     * @return 读取的字节数，channel已经到达末尾时返回-1
+     * @throws IOException
+     *             IO异常
+     */
+    public int readFrom(ReadableByteChannel channel) throws IOException {
+        Assert.notNull(channel, "channel不能为null");
+        int needed = parser.needed(cumulation == null ? Unpooled.EMPTY_BUFFER : cumulation);
+        if (needed == 0) {
+            return 0;
+        }
+
+        int size = Math.max(READ_CHUNK, Math.min(needed, MAX_READ_CHUNK));
+        ByteBuf buf = writable(size);
+        int writerIndex = buf.writerIndex();
+        int read = channel.read(buf.internalNioBuffer(writerIndex, size));
+        if (read > 0) {
+            buf.writerIndex(writerIndex + read);
+        }
+        discard();
+        return read;
+    }
+
+    /**
+     * 取出下一个完整的数据报
+     *
+     * @return 数据报，使用完毕后需要释放；数据不完整时返回null
+     * @throws DataOutOfMemory
+     *             数据报body长度超过限制时抛出，该数据报会被丢弃，之后可以继续调用该方法解析后续的数据报
+     */
+    public ByteBufDatagram poll() throws DataOutOfMemory {
+        if (cumulation == null) {
+            return null;
+        }
+        try {
+            return parser.parse(cumulation);
+        } finally {
+            releaseIfEmpty();
+        }
+    }
+
+    /**
+     * 当前缓存的尚未解析的字节数
+     *
+     * @return 缓存的字节数
+     */
+    public int bufferedBytes() {
+        return cumulation == null ? 0 : cumulation.readableBytes();
+    }
+
+    /**
+     * 释放缓存的数据，已经取出的数据报不受影响
+     */
+    @Override
+    public void close() {
+        if (cumulation != null) {
+            cumulation.release();
+            cumulation = null;
+        }
+    }
+
+    /**
+     * 获取至少有size字节可写空间的累积缓冲
+     *
+     * @param size
+     *            需要写入的字节数
+     * @return 累积缓冲
+     */
+    private ByteBuf writable(int size) {
+        if (cumulation == null) {
+            cumulation = alloc.buffer(Math.max(size, READ_CHUNK));
+        } else if (cumulation.writableBytes() < size) {
+            if (cumulation.refCnt() == 1) {
+                cumulation.discardSomeReadBytes();
+                cumulation.ensureWritable(size);
+            } else {
+                // 已经取出的数据报仍然引用该缓冲，不能移动其中的数据，复制剩余数据到新的缓冲
+                ByteBuf old = cumulation;
+                cumulation = alloc.buffer(Math.max(old.readableBytes() + size, READ_CHUNK));
+                cumulation.writeBytes(old);
+                old.release();
+            }
+        }
+        return cumulation;
+    }
+
+    /**
+     * 丢弃状态下直接跳过新到达的超长数据报的数据，然后释放已经为空的累积缓冲
+     */
+    private void discard() {
+        parser.discard(cumulation);
+        releaseIfEmpty();
+    }
+
+    /**
+     * 数据全部被消费后释放累积缓冲，已经取出的数据报持有各自的引用，不受影响
+     */
+    private void releaseIfEmpty() {
+        if (cumulation != null && !cumulation.isReadable()) {
+            cumulation.release();
+            cumulation = null;
+        }
+    }
+}
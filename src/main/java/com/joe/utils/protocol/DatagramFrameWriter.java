@@ -0,0 +1,208 @@
+package com.joe.utils.protocol;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayDeque;
+
+import com.joe.utils.common.Assert;
+
+import io.netty.util.ReferenceCounted;
+
+/**
+ * 不依赖netty传输层的数据报写出器，与{@link DatagramFrameReader}对应：数据报先加入队列，{@link #flush(GatheringByteChannel)}时
+ * 将队列中所有数据报的报头、body通过一次gathering write写出，数据不会被复制
+ * <p>
+ * 背压：非阻塞channel写满时flush返回false，未写出的数据保留在队列中，调用方应当在channel可写时再次flush；队列中未写出的数据超过
+ * 高水位时{@link #isWritable()}返回false，调用方应当暂停加入新的数据报
+ * <p>
+ * 非线程安全，使用完毕后需要调用{@link #close()}释放未写出的数据报
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:30 JoeKerouac Exp $
+ */
+public class DatagramFrameWriter implements Closeable {
+
+    /**
+     * 一次gathering write最多包含的缓冲数量
+     */
+    private static final int MAX_GATHER = 1024;
+
+    /**
+     * 默认高水位
+     */
+    private static final long DEFAULT_HIGH_WATER_MARK = 64 * 1024;
+
+    /**
+     * 待写出的数据报
+     */
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+
+    /**
+     * gathering write使用的缓冲数组，复用
+     */
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+
+    /**
+     * 高水位
+     */
+    private final long highWaterMark;
+
+    /**
+     * 待写出的字节数
+     */
+    private long pendingBytes;
+
+    public DatagramFrameWriter() {
+        this(DEFAULT_HIGH_WATER_MARK);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param highWaterMark
+     *            高水位，待写出的字节数达到该值时{@link #isWritable()}返回false
+     */
+    public DatagramFrameWriter(long highWaterMark) {
+        Assert.isTrue(highWaterMark > 0, "highWaterMark必须大于0");
+        this.highWaterMark = highWaterMark;
+    }
+
+    /**
+     * 将数据报加入队列，数据报的所有权转移给写出器，写出完成后自动释放
+     *
+     * @param datagram
+     *            数据报
+     */
+    public void add(ByteBufDatagram datagram) {
+        Assert.notNull(datagram, "datagram不能为null");
+        add(new Pending(datagram, datagram.content().nioBuffers()));
+    }
+
+    /**
+     * 将数据报加入队列
+     *
+     * @param datagram
+     *            数据报
+     */
+    public void add(Datagram datagram) {
+        Assert.notNull(datagram, "datagram不能为null");
+        add(new Pending(null, datagram.content().nioBuffers()));
+    }
+
+    /**
+     * 将队列中的数据报尽可能多的写出到channel
+     *
+     * @param channel
+     *            channel
+     * @return 返回true表示队列中的数据已经全部写出，返回false表示channel已满，需要在可写时再次调用
+     * @throws IOException
+     *             IO异常
+     */
+    public boolean flush(GatheringByteChannel channel) throws IOException {
+        Assert.notNull(channel, "channel不能为null");
+        try {
+            while (!queue.isEmpty()) {
+                int count = 0;
+                for (Pending pending : queue) {
+                    for (ByteBuffer buffer : pending.buffers) {
+                        if (buffer.hasRemaining() && count < MAX_GATHER) {
+                            gather[count++] = buffer;
+                        }
+                    }
+                    if (count == MAX_GATHER) {
+                        break;
+                    }
+                }
+
+                long written = channel.write(gather, 0, count);
+                pendingBytes -= written;
+                while (!queue.isEmpty() && !queue.peek().hasRemaining()) {
+                    queue.poll().release();
+                }
+                if (written == 0) {
+                    return queue.isEmpty();
+                }
+            }
+            return true;
+        } finally {
+            // 不持有已经写出的缓冲
+            for (int i = 0; i < MAX_GATHER && gather[i] != null; i++) {
+                gather[i] = null;
+            }
+        }
+    }
+
+    /**
+     * 待写出的字节数
+     *
+     * @return 待写出的字节数
+     */
+    public long pendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * 待写出的数据是否低于高水位
+     *
+     * @return 返回true表示可以继续加入数据报
+     */
+    public boolean isWritable() {
+        return pendingBytes < highWaterMark;
+    }
+
+    /**
+     * 丢弃并释放所有尚未写出的数据报
+     */
+    @Override
+    public void close() {
+        while (!queue.isEmpty()) {
+            queue.poll().release();
+        }
+        pendingBytes = 0;
+    }
+
+    private void add(Pending pending) {
+        queue.add(pending);
+        for (ByteBuffer buffer : pending.buffers) {
+            pendingBytes += buffer.remaining();
+        }
+    }
+
+    /**
+     * 待写出的数据报
+     */
+    private static final class Pending {
+
+        /**
+         * 需要在写出后释放的对象，可以为null
+         */
+        private final ReferenceCounted owner;
+
+        /**
+         * 数据报的数据
+         */
+        private final ByteBuffer[] buffers;
+
+        private Pending(ReferenceCounted owner, ByteBuffer[] buffers) {
+            this.owner = owner;
+            this.buffers = buffers;
+        }
+
+        private boolean hasRemaining() {
+            for (ByteBuffer buffer : buffers) {
+                if (buffer.hasRemaining()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void release() {
+            if (owner != null) {
+                owner.release();
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.joe.utils.protocol;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
 import com.joe.utils.common.Assert;
@@ -12,12 +13,16 @@ import com.joe.utils.protocol.exception.IllegalDataException;
 import com.joe.utils.protocol.exception.IllegalRequestException;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * 数据报工具
+ * <p>
+ * 除了byte数组形式的{@link #build}、{@link #decode(byte[])}外，提供了基于{@link ByteBuf}的{@link #encode}、
+ * {@link #decode(ByteBuf)}，报头直接在ByteBuf中读写，body不会被复制
  *
  * @author joe
  */
@@ -37,7 +42,7 @@ public class DatagramUtil {
     /**
      * 数据报数据除去请求头的最大长度
      */
-    private static final int BODY_MAX_LENGTH;
+    static final int BODY_MAX_LENGTH;
 
     static {
         BODY_MAX_LENGTH = DatagramConst.Position.MAX_LENGTH - DatagramConst.Position.HEADER_LEN;
@@ -70,59 +75,121 @@ public class DatagramUtil {
      *             当数据长度过长时会抛出该异常
      */
     public static Datagram build(final byte[] body, final byte type, final byte version) throws DataOutOfMemory {
-        final int dataLen;
-        if (body != null && body.length != 0) {
-            // 获取要发送的数据的长度
-            dataLen = body.length;
-            log.info("要构建的数据报的body长度为：{}", dataLen);
-        } else {
-            dataLen = 0;
-            log.info("要构建一个空的数据报");
+        final int dataLen = body == null ? 0 : body.length;
+        checkBodyLength(dataLen);
+
+        // 直接在最终的数组中写入报头和数据，不再经过中间缓冲
+        byte[] data = new byte[DatagramConst.Position.HEADER_LEN + dataLen];
+        byte[] idDatas = createId();
+        ByteBuf buffer = Unpooled.wrappedBuffer(data);
+        buffer.writerIndex(0);
+        writeHeader(buffer, dataLen, type, version, idDatas);
+        if (dataLen != 0) {
+            buffer.writeBytes(body);
         }
 
+        Datagram datagram = new Datagram(data, dataLen, version, DEFAULT_CHARSET, type, idDatas);
         if (log.isDebugEnabled()) {
-            log.debug("要发送的数据为：{}", Arrays.toString(body));
-        }
-        if (dataLen > BODY_MAX_LENGTH) {
-            // 数据报超出最大值
-            log.error("数据报数据长度超过最大值：{}", BODY_MAX_LENGTH);
-            throw new DataOutOfMemory(String.format("数据长度超过最大值%d", BODY_MAX_LENGTH));
+            log.debug("转换后的数据报是：{}", datagram);
         }
+        return datagram;
+    }
 
-        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.buffer(dataLen + DatagramConst.Position.HEADER_LEN,
-            dataLen + DatagramConst.Position.HEADER_LEN);
+    /**
+     * 将数据报（报头和body）直接写入out，适用于编码器写出到出站缓冲，body只会被读取，readerIndex和引用计数都不会改变
+     *
+     * @param out
+     *            数据报写出的目标
+     * @param body
+     *            要发送的数据，可以为null
+     * @param type
+     *            数据报类型，参照{@link DatagramConst.Type}
+     * @param version
+     *            数据报版本
+     * @throws DataOutOfMemory
+     *             当数据长度过长时会抛出该异常
+     */
+    public static void encode(ByteBuf out, ByteBuf body, byte type, byte version) throws DataOutOfMemory {
+        Assert.notNull(out, "out不能为null");
+        int dataLen = body == null ? 0 : body.readableBytes();
+        checkBodyLength(dataLen);
+        out.ensureWritable(DatagramConst.Position.HEADER_LEN + dataLen);
+        writeHeader(out, dataLen, type, version, createId());
+        if (dataLen != 0) {
+            out.writeBytes(body, body.readerIndex(), dataLen);
+        }
+    }
 
-        // 一个字节的版本号
-        buffer.writeByte(Byte.toUnsignedInt(version));
-        // 四个字节的body长度
-        buffer.writeBytes(splitToByte(dataLen));
-        // 一个字节的数据类型
-        buffer.writeByte(Byte.toUnsignedInt(type));
-        // 十个字节的字符集，字符集为当前系统默认字符集不可更改，不足十个字节的用0填充
-        buffer.writeBytes(DEFAULT_CHARSET_DATA);
+    /**
+     * 将报头和body组合为数据报，报头单独分配，与body通过{@link CompositeByteBuf}组合，body不会被复制
+     * <p>
+     * body的所有权转移给返回的数据报，释放数据报时会一并释放body；抛出异常时body的所有权不转移
+     *
+     * @param alloc
+     *            分配报头使用的分配器
+     * @param body
+     *            要发送的数据，可以为null
+     * @param type
+     *            数据报类型，参照{@link DatagramConst.Type}
+     * @param version
+     *            数据报版本
+     * @return 数据报，使用完毕后需要释放
+     * @throws DataOutOfMemory
+     *             当数据长度过长时会抛出该异常
+     */
+    public static ByteBufDatagram encode(ByteBufAllocator alloc, ByteBuf body, byte type, byte version)
+        throws DataOutOfMemory {
+        Assert.notNull(alloc, "alloc不能为null");
+        int dataLen = body == null ? 0 : body.readableBytes();
+        checkBodyLength(dataLen);
 
-        // 添加ID字段
-        byte[] idDatas = Tools.createUUID().getBytes();
-        int idLen = idDatas.length;
-        buffer.writeBytes(idDatas);
-        // ID不足40byte的补0
-        for (int i = idLen; i < 40; i++) {
-            buffer.writeByte(0);
+        ByteBuf header = alloc.buffer(DatagramConst.Position.HEADER_LEN, DatagramConst.Position.HEADER_LEN);
+        writeHeader(header, dataLen, type, version, createId());
+        if (body == null) {
+            return new ByteBufDatagram(header, 0, version, DEFAULT_CHARSET, type);
         }
 
-        if (dataLen != 0) {
-            // 填充数据
-            buffer.writeBytes(body);
+        CompositeByteBuf content = alloc.compositeBuffer(2);
+        content.addComponents(true, header, body);
+        return new ByteBufDatagram(content, dataLen, version, DEFAULT_CHARSET, type);
+    }
+
+    /**
+     * 从in中解析一个数据报，报头字段直接从in中读取，数据报持有in中对应数据的retained slice，不会复制数据
+     * <p>
+     * 解析成功后in的readerIndex会移动到该数据报之后，in中剩余的数据（例如下一个数据报）不会被读取；in的所有权不转移，调用方
+     * 仍需要自行释放in
+     *
+     * @param in
+     *            数据
+     * @return 数据报，使用完毕后需要释放
+     * @throws IllegalDataException
+     *             数据报不完整或者长度字段非法时抛出该异常，此时in的readerIndex不会改变
+     */
+    public static ByteBufDatagram decode(ByteBuf in) throws IllegalDataException {
+        Assert.notNull(in, "in不能为null");
+        int start = in.readerIndex();
+        int readable = in.readableBytes();
+        if (readable < DatagramConst.Position.HEADER_LEN) {
+            throw new IllegalDataException("数据报报头不完整，当前数据长度为：" + readable);
         }
 
-        Datagram datagram =
-            new Datagram(ByteBufUtil.getBytes(buffer), dataLen, version, DEFAULT_CHARSET, type, idDatas);
-        // 最后要释放
-        buffer.release();
-        if (log.isDebugEnabled()) {
-            log.debug("转换后的数据报是：{}", datagram);
+        int len = in.getInt(start + DatagramConst.Position.LEN_OFFSET);
+        if (len < 0 || len > BODY_MAX_LENGTH) {
+            throw new IllegalDataException("数据报head中的长度字段非法：" + Integer.toUnsignedLong(len));
+        } else if (readable - DatagramConst.Position.HEADER_LEN < len) {
+            throw new IllegalDataException(
+                "数据报head中的长度字段为：" + len + "，数据报body的实际长度为：" + (readable - DatagramConst.Position.HEADER_LEN));
         }
-        return datagram;
+
+        byte version = in.getByte(start + DatagramConst.Position.VERSION_INDEX);
+        byte type = in.getByte(start + DatagramConst.Position.TYPE_INDEX);
+        String charset = readCharset(in, start + DatagramConst.Position.CHARSET_OFFSET);
+
+        int total = DatagramConst.Position.HEADER_LEN + len;
+        ByteBuf content = in.retainedSlice(start, total);
+        in.skipBytes(total);
+        return new ByteBufDatagram(content, len, version, charset, type);
     }
 
     /**
@@ -154,69 +221,105 @@ public class DatagramUtil {
             if (log.isDebugEnabled()) {
                 log.debug("要解析的数据为：{}", Arrays.toString(data));
             }
-            // 字符集数据
-            int end = DatagramConst.Position.CHARSET_OFFSET;
-            for (int i = 0; i < DatagramConst.Position.CHARSET_MAX; end += i, i++) {
-                if (data[end] == 0) {
-                    break;
-                }
-            }
-            // 字符集
-            final String charset =
-                new String(data, DatagramConst.Position.CHARSET_OFFSET, end - DatagramConst.Position.CHARSET_OFFSET);
-            // 版本号
-            final byte version = data[DatagramConst.Position.VERSION_INDEX];
-            // 数据报数据类型
-            final byte type = data[DatagramConst.Position.TYPE_INDEX];
-            // 长度
-            final int len = mergeToInt(data);
-            log.debug("要解析的数据报的字符集为：{}，版本号为：{}，数据报类型为：{}", charset, version, type);
-
-            byte[] buffer;
-            if ((data.length - DatagramConst.Position.HEADER_LEN) > len) {
-                log.warn("数据报head中的长度字段为：{}，数据报body的实际长度为：{}", len, data.length - DatagramConst.Position.HEADER_LEN);
-                if (allowErr) {
-                    buffer = new byte[len + DatagramConst.Position.HEADER_LEN];
-                    System.arraycopy(data, 0, buffer, 0, buffer.length);
-                } else {
-                    throw new IllegalDataException("数据报head中的长度字段为：" + len + "，数据报body的实际长度为："
-                        + (data.length - DatagramConst.Position.HEADER_LEN));
+            ByteBuf buffer = Unpooled.wrappedBuffer(data);
+            ByteBufDatagram datagram = decode(buffer);
+            try {
+                if (buffer.isReadable()) {
+                    int bodyLen = data.length - DatagramConst.Position.HEADER_LEN;
+                    log.warn("数据报head中的长度字段为：{}，数据报body的实际长度为：{}", datagram.getSize(), bodyLen);
+                    if (!allowErr) {
+                        throw new IllegalDataException(
+                            "数据报head中的长度字段为：" + datagram.getSize() + "，数据报body的实际长度为：" + bodyLen);
+                    }
                 }
-            } else if ((data.length - DatagramConst.Position.HEADER_LEN) < len) {
-                log.error("数据报head中的长度字段为：{}，数据报body的实际长度为：{}", len, data.length - DatagramConst.Position.HEADER_LEN);
-                throw new IllegalDataException(
-                    "数据报head中的长度字段为：" + len + "，数据报body的实际长度为：" + (data.length - DatagramConst.Position.HEADER_LEN));
-            } else {
-                buffer = data;
-            }
-
-            log.debug("获取id字段");
-            byte[] idByte = new byte[40];
-            System.arraycopy(data, 16, idByte, 0, idByte.length);
-            String id = new String(idByte);
-            log.debug("数据报ID为：{}", id);
-
-            // 有可能是空报文的数据报
-            Datagram datagram;
-            if (len == 0) {
-                log.debug("要解析的数据中head标志body长度为0，直接返回一个空body的datagram对象");
-                datagram = new Datagram(buffer, len, version, charset, type, idByte);
-            } else {
-                // 真实的业务数据
-                byte[] body = new byte[len];
-                System.arraycopy(buffer, DatagramConst.Position.HEADER_LEN, body, 0, body.length);
-                datagram = new Datagram(buffer, len, version, charset, type, idByte);
-            }
-            if (log.isDebugEnabled()) {
-                log.debug("封装好的数据报body为：{}", datagram);
+                return datagram.toDatagram();
+            } finally {
+                datagram.release();
             }
-            return datagram;
         } catch (Exception e) {
             log.error("数据报解析错误，错误原因：", e);
             throw new IllegalRequestException(e);
         }
     }
 
+    /**
+     * 在out的writerIndex处写入报头
+     *
+     * @param out
+     *            报头写出的目标
+     * @param dataLen
+     *            body长度
+     * @param type
+     *            数据报类型
+     * @param version
+     *            数据报版本
+     * @param id
+     *            数据报ID，不足40byte的补0
+     */
+    private static void writeHeader(ByteBuf out, int dataLen, byte type, byte version, byte[] id) {
+        // 一个字节的版本号
+        out.writeByte(version);
+        // 四个字节的body长度
+        out.writeInt(dataLen);
+        // 一个字节的数据类型
+        out.writeByte(type);
+        // 十个字节的字符集，字符集为当前系统默认字符集不可更改，不足十个字节的用0填充
+        out.writeBytes(DEFAULT_CHARSET_DATA);
+        // ID字段，不足40byte的补0
+        out.writeBytes(id);
+        out.writeZero(DatagramConst.Position.ID_LEN - id.length);
+    }
+
+    /**
+     * 读取报头中的字符集，与系统默认字符集相同时直接返回缓存的字符集名
+     *
+     * @param in
+     *            数据
+     * @param offset
+     *            字符集字段的起始位置
+     * @return 字符集
+     */
+    private static String readCharset(ByteBuf in, int offset) {
+        int len = 0;
+        boolean isDefault = true;
+        for (; len < DatagramConst.Position.CHARSET_MAX; len++) {
+            byte b = in.getByte(offset + len);
+            if (b == 0) {
+                break;
+            }
+            isDefault &= b == DEFAULT_CHARSET_DATA[len];
+        }
+        if (isDefault && (len == DatagramConst.Position.CHARSET_MAX || DEFAULT_CHARSET_DATA[len] == 0)) {
+            return DEFAULT_CHARSET;
+        }
+        return in.toString(offset, len, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 校验body长度
+     *
+     * @param dataLen
+     *            body长度
+     * @throws DataOutOfMemory
+     *             当数据长度过长时会抛出该异常
+     */
+    private static void checkBodyLength(int dataLen) throws DataOutOfMemory {
+        if (dataLen > BODY_MAX_LENGTH) {
+            // 数据报超出最大值
+            log.error("数据报数据长度超过最大值：{}", BODY_MAX_LENGTH);
+            throw new DataOutOfMemory(String.format("数据长度超过最大值%d", BODY_MAX_LENGTH));
+        }
+    }
+
+    /**
+     * 生成数据报ID
+     *
+     * @return 数据报ID
+     */
+    private static byte[] createId() {
+        return Tools.createUUID().getBytes(StandardCharsets.US_ASCII);
+    }
+
     /**
      * 读取合并数据报的长度字段
      *
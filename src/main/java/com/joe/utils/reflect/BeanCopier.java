@@ -0,0 +1,20 @@
+package com.joe.utils.reflect;
+
+/**
+ * bean复制器，针对固定的（源Class，目标Class）编译，可以重复使用并且线程安全
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 19:10 JoeKerouac Exp $
+ */
+public interface BeanCopier {
+
+    /**
+     * 将source中的字段复制到target中
+     *
+     * @param source
+     *            源对象，不能为null，类型必须是生成该复制器时指定的源Class
+     * @param target
+     *            目标对象，不能为null，类型必须是生成该复制器时指定的目标Class
+     */
+    void copy(Object source, Object target);
+}
@@ -0,0 +1,21 @@
+package com.joe.utils.reflect;
+
+/**
+ * {@link BeanCopier}工厂
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 19:10 JoeKerouac Exp $
+ */
+public interface BeanCopierFactory {
+
+    /**
+     * 为指定的源Class和目标Class构建复制器，复制规则参见{@link BeanCopyPlan#resolve(Class, Class)}
+     *
+     * @param sourceClass
+     *            源Class
+     * @param targetClass
+     *            目标Class
+     * @return 复制器
+     */
+    BeanCopier create(Class<?> sourceClass, Class<?> targetClass);
+}
@@ -0,0 +1,235 @@
+package com.joe.utils.reflect;
+
+import static com.joe.utils.reflect.AccessorUtil.isPublic;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+import com.joe.utils.common.Assert;
+import com.joe.utils.common.string.StringUtils;
+import com.joe.utils.reflect.type.JavaTypeUtil;
+
+import lombok.Getter;
+
+/**
+ * bean复制计划，针对固定的（源Class，目标Class）预先解析出所有需要复制的字段，{@link Alias Alias}注解在解析时生效
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 19:10 JoeKerouac Exp $
+ */
+public final class BeanCopyPlan {
+
+    /**
+     * 源Class
+     */
+    @Getter
+    private final Class<?> sourceClass;
+
+    /**
+     * 目标Class
+     */
+    @Getter
+    private final Class<?> targetClass;
+
+    /**
+     * 字段映射，按照源字段声明顺序排列
+     */
+    @Getter
+    private final List<PropertyMapping> mappings;
+
+    private BeanCopyPlan(Class<?> sourceClass, Class<?> targetClass, List<PropertyMapping> mappings) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.mappings = Collections.unmodifiableList(mappings);
+    }
+
+    /**
+     * 解析复制计划，规则如下：
+     * <ul>
+     * <li>遍历源Class（包含父类）中声明的所有非静态字段，依次使用字段名和{@link Alias Alias}中声明的别名查找目标Class本身声明的
+     * 非静态字段，第一个类型兼容的字段作为复制目标</li>
+     * <li>类型兼容的规则与{@link Field#set(Object, Object)}一致：允许装箱、拆箱、基本类型的拓宽转换，如果源字段类型是目标字段类型的
+     * 父类型那么将在复制时进行运行时类型检查</li>
+     * </ul>
+     *
+     * @param sourceClass
+     *            源Class
+     * @param targetClass
+     *            目标Class
+     * @return 复制计划
+     */
+    public static BeanCopyPlan resolve(Class<?> sourceClass, Class<?> targetClass) {
+        Assert.notNull(sourceClass, "sourceClass不能为null");
+        Assert.notNull(targetClass, "targetClass不能为null");
+
+        Field[] fields = ReflectUtil.getAllFields(sourceClass);
+        List<PropertyMapping> mappings = new ArrayList<>(fields.length);
+        for (Field field : fields) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            Set<String> names = new LinkedHashSet<>();
+            names.add(field.getName());
+            Alias alias = field.getAnnotation(Alias.class);
+            if (alias != null && alias.value() != null) {
+                names.addAll(Arrays.asList(alias.value()));
+            }
+
+            for (String name : names) {
+                Field targetField = ReflectUtil.getField(targetClass, name, false);
+                if (targetField == null || Modifier.isStatic(targetField.getModifiers())
+                    || !isCompatible(field.getType(), targetField.getType())) {
+                    continue;
+                }
+
+                mappings.add(new PropertyMapping(field, targetField, findReadMethod(sourceClass, field),
+                    findWriteMethod(targetClass, targetField)));
+                break;
+            }
+        }
+        return new BeanCopyPlan(sourceClass, targetClass, mappings);
+    }
+
+    /**
+     * 判断源类型的值能否设置到目标类型的字段上
+     *
+     * @param sourceType
+     *            源类型
+     * @param targetType
+     *            目标类型
+     * @return 返回true表示兼容（对于需要运行时类型检查的也返回true）
+     */
+    static boolean isCompatible(Class<?> sourceType, Class<?> targetType) {
+        if (targetType.isPrimitive()) {
+            Class<?> primitive = JavaTypeUtil.unboxed(sourceType);
+            return primitive != null && JavaTypeUtil.isPrimitiveWidening(primitive, targetType);
+        }
+
+        Class<?> boxed = JavaTypeUtil.boxed(sourceType);
+        return targetType.isAssignableFrom(boxed) || (!sourceType.isPrimitive() && boxed.isAssignableFrom(targetType));
+    }
+
+    /**
+     * 查找字段的public读方法
+     *
+     * @param clazz
+     *            字段所属Class
+     * @param field
+     *            字段
+     * @return 读方法，不存在时返回null
+     */
+    private static Method findReadMethod(Class<?> clazz, Field field) {
+        String name = StringUtils.toFirstUpperCase(field.getName());
+        Method method = findPublicMethod(clazz, "get" + name);
+        if (method == null && (field.getType() == boolean.class || field.getType() == Boolean.class)) {
+            method = findPublicMethod(clazz, "is" + name);
+        }
+        return method != null && method.getReturnType() == field.getType() ? method : null;
+    }
+
+    /**
+     * 查找字段的public写方法
+     *
+     * @param clazz
+     *            字段所属Class
+     * @param field
+     *            字段
+     * @return 写方法，不存在时返回null
+     */
+    private static Method findWriteMethod(Class<?> clazz, Field field) {
+        return findPublicMethod(clazz, "set" + StringUtils.toFirstUpperCase(field.getName()), field.getType());
+    }
+
+    /**
+     * 查找public的非静态方法
+     *
+     * @param clazz
+     *            Class
+     * @param name
+     *            方法名
+     * @param parameterTypes
+     *            参数类型
+     * @return 方法，不存在时返回null
+     */
+    private static Method findPublicMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = clazz.getMethod(name, parameterTypes);
+            return Modifier.isStatic(method.getModifiers()) ? null : method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 单个字段的复制映射
+     */
+    @Getter
+    public static final class PropertyMapping {
+
+        /**
+         * 源字段
+         */
+        private final Field sourceField;
+
+        /**
+         * 目标字段
+         */
+        private final Field targetField;
+
+        /**
+         * 源字段的public读方法，不存在时为null
+         */
+        private final Method readMethod;
+
+        /**
+         * 目标字段的public写方法，不存在时为null
+         */
+        private final Method writeMethod;
+
+        private PropertyMapping(Field sourceField, Field targetField, Method readMethod, Method writeMethod) {
+            this.sourceField = sourceField;
+            this.targetField = targetField;
+            this.readMethod = readMethod;
+            this.writeMethod = writeMethod;
+        }
+
+        /**
+         * 源字段是否可以不通过反射直接读取（存在public读方法或者字段本身是public的）
+         *
+         * @return 返回true表示可以直接读取
+         */
+        public boolean isDirectReadable() {
+            return readMethod != null || isPublic(sourceField);
+        }
+
+        /**
+         * 目标字段是否可以不通过反射直接写入（存在public写方法或者字段本身是public并且非final的）
+         *
+         * @return 返回true表示可以直接写入
+         */
+        public boolean isDirectWritable() {
+            return writeMethod != null || (isPublic(targetField) && !AccessorUtil.isFinal(targetField));
+        }
+
+        /**
+         * 使用反射复制字段，值与目标字段类型不兼容（例如null无法设置到基本类型字段上）时忽略
+         *
+         * @param source
+         *            源对象
+         * @param target
+         *            目标对象
+         */
+        public void copy(Object source, Object target) {
+            Object value = ReflectUtil.getFieldValue(source, sourceField);
+            Class<?> targetType = targetField.getType();
+            if (value == null ? targetType.isPrimitive()
+                : !targetType.isPrimitive() && !targetType.isInstance(value)) {
+                return;
+            }
+            ReflectUtil.setFieldValue(target, targetField, value);
+        }
+    }
+}
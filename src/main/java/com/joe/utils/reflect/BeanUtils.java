@@ -8,17 +8,29 @@ import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.joe.utils.collection.CollectionUtil;
-import com.joe.utils.collection.LRUCacheMap;
+import com.joe.utils.collection.CacheStats;
+import com.joe.utils.collection.ClassValueCache;
+import com.joe.utils.collection.ConcurrentLRUCache;
 import com.joe.utils.common.Assert;
 import com.joe.utils.common.string.StringUtils;
 import com.joe.utils.exception.UtilsException;
+import com.joe.utils.reflect.clazz.ClassUtils;
 import com.joe.utils.reflect.type.JavaTypeUtil;
 import com.joe.utils.serialize.xml.XmlNode;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -29,8 +41,45 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class BeanUtils {
-    private static final LRUCacheMap<Class<?>, CustomPropertyDescriptor[]> CACHE = new LRUCacheMap<>();
-    private static final LRUCacheMap<FieldCache, CustomPropertyDescriptor> FIELD_DESC_CACHE = new LRUCacheMap<>();
+    private static final ClassValueCache<CustomPropertyDescriptor[]> CACHE =
+        new ClassValueCache<>(BeanUtils::buildPropertyDescriptors);
+    private static final ConcurrentLRUCache<FieldCache, CustomPropertyDescriptor> FIELD_DESC_CACHE =
+        new ConcurrentLRUCache<>();
+    private static final ConcurrentLRUCache<CopierKey, BeanCopier> COPIER_CACHE = new ConcurrentLRUCache<>();
+    private static final ClassValueCache<CustomPropertyDescriptor[]> ALL_CACHE =
+        new ClassValueCache<>(BeanUtils::buildAllPropertyDescriptors);
+    private static final ClassValueCache<Supplier<?>> INSTANCE_SUPPLIER_CACHE =
+        new ClassValueCache<>(BeanUtils::createInstanceSupplier);
+
+    /**
+     * 并行批量复制时每个任务最少处理的数据量
+     */
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * ASM实现的复制器工厂，ASM是provided依赖，不存在时使用反射实现
+     */
+    private static final String ASM_COPIER_FACTORY = "com.joe.utils.reflect.asm.AsmBeanCopierFactory";
+
+    /**
+     * 复制器工厂
+     */
+    private static final BeanCopierFactory COPIER_FACTORY = createCopierFactory();
+
+    /**
+     * 获取字段说明缓存的统计信息
+     *
+     * @return 缓存名与统计信息的映射
+     */
+    public static Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("propertyDescriptor", CACHE.stats());
+        stats.put("allPropertyDescriptor", ALL_CACHE.stats());
+        stats.put("fieldDescriptor", FIELD_DESC_CACHE.stats());
+        stats.put("copier", COPIER_CACHE.stats());
+        stats.put("instanceSupplier", INSTANCE_SUPPLIER_CACHE.stats());
+        return stats;
+    }
 
     /**
      * 将pojo的所有字段映射为map，默认包含null值
@@ -67,12 +116,13 @@ public class BeanUtils {
             throw new IllegalArgumentException("不支持的注解类型：" + annotationType);
         }
 
-        Field[] fields = getAllFields(pojo.getClass());
-        Map<String, Object> map = new HashMap<>();
-        if (fields.length == 0) {
+        CustomPropertyDescriptor[] descriptors = getAllPropertyDescriptors(pojo.getClass());
+        if (descriptors.length == 0) {
             return Collections.emptyMap();
         }
-        for (Field field : fields) {
+        Map<String, Object> map = new HashMap<>();
+        for (CustomPropertyDescriptor descriptor : descriptors) {
+            Field field = descriptor.getField();
             log.debug("获取字段[{}]的值", field);
             JsonProperty jsonProperty = field.getDeclaredAnnotation(JsonProperty.class);
             XmlNode xmlNode = field.getDeclaredAnnotation(XmlNode.class);
@@ -89,7 +139,7 @@ public class BeanUtils {
             }
 
             try {
-                Object value = getFieldValue(pojo, field.getName());
+                Object value = descriptor.getValue(pojo);
                 if (value == null && !hasNull) {
                     log.debug("字段[{}]值为null，当前不包含null值，忽略字段[{}]", name, name);
                     continue;
@@ -140,6 +190,41 @@ public class BeanUtils {
         return getFieldValue(obj, propName);
     }
 
+    /**
+     * 使用字段说明为对象的属性注入指定值，相比按照名字注入省去了字段查找与反射访问检查
+     *
+     * @param obj
+     *            指定对象
+     * @param descriptor
+     *            字段说明
+     * @param value
+     *            要注入的属性值
+     * @return 如果注入成功则返回<code>true</code>
+     */
+    public static boolean setProperty(Object obj, CustomPropertyDescriptor descriptor, Object value) {
+        try {
+            descriptor.setValue(obj, value);
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * 使用字段说明获取对象指定字段的值
+     *
+     * @param obj
+     *            指定对象
+     * @param descriptor
+     *            字段说明
+     * @param <T>
+     *            字段的类型
+     * @return 该字段的值，获取失败时抛出异常
+     */
+    public static <T> T getProperty(Object obj, CustomPropertyDescriptor descriptor) {
+        return descriptor.getValue(obj);
+    }
+
     /**
      * 将source中与targetClass同名的字段从source中复制到targetClass的实例中，source中的{@link Alias Alias}注解将会生效，需要注
      * 意的是source中的Alias注解不要对应dest中的多个字段，否则会发生不可预测错误
@@ -156,17 +241,7 @@ public class BeanUtils {
         if (source == null || targetClass == null) {
             return null;
         }
-        E target;
-        String targetClassName = targetClass.getName();
-        log.debug("生成{}的实例", targetClassName);
-        try {
-            // 没有权限访问该类或者该类（为接口、抽象类）不能实例化时将抛出异常
-            target = targetClass.newInstance();
-        } catch (Exception e) {
-            log.error("target生成失败，请检查代码；失败原因：", e);
-            throw new UtilsException("target生成失败，请检查代码；失败原因:{0}", e);
-        }
-
+        E target = getInstanceSupplier(targetClass).get();
         return copy(target, source);
     }
 
@@ -214,42 +289,44 @@ public class BeanUtils {
             return dest;
         }
 
-        Class<?> sourceClass = source.getClass();
-        String sourceName = sourceClass.getName();
-        log.debug("开始获取{}的字段说明", sourceName);
-
-        Field[] fields = getAllFields(sourceClass);
-
-        if (fields.length == 0) {
-            log.debug("源{}中不存在已经声明的字段", sourceName);
-            return dest;
-        }
-
-        for (Field field : fields) {
-            Alias alias = field.getAnnotation(Alias.class);
-            String fieldName = field.getName();
-            Set<String> names = new HashSet<>();
-            names.add(fieldName);
-            if (alias != null && !CollectionUtil.safeIsEmpty(alias.value())) {
-                names.addAll(Arrays.asList(alias.value()));
-            }
-
-            log.debug("开始将source中的字段[{}]的值复制到dest中，别名列表为：[{}]", fields, names);
+        getCopier(source.getClass(), dest.getClass()).copy(source, dest);
+        return dest;
+    }
 
+    /**
+     * 获取指定源Class到目标Class的复制器，复制器对每个（源Class，目标Class）只编译一次，source中的{@link Alias Alias}注解在编译
+     * 时生效，复制规则参见{@link BeanCopyPlan#resolve(Class, Class)}
+     *
+     * @param sourceClass
+     *            源Class
+     * @param targetClass
+     *            目标Class
+     * @return 复制器
+     */
+    public static BeanCopier getCopier(Class<?> sourceClass, Class<?> targetClass) {
+        return COPIER_CACHE.computeIfAbsent(new CopierKey(sourceClass, targetClass), key -> {
             try {
-                Object value = getFieldValue(source, fieldName);
-                // 尝试分别使用别名设置
-                for (String name : names) {
-                    if (setProperty(dest, name, value)) {
-                        break;
-                    }
-                }
-            } catch (Exception e) {
-                log.debug("copy中复制{}时发生错误，忽略该字段", fieldName, e);
+                return COPIER_FACTORY.create(sourceClass, targetClass);
+            } catch (Throwable e) {
+                log.warn("生成[{}]到[{}]的复制器失败，使用反射复制", sourceClass, targetClass, e);
+                return ReflectBeanCopier.FACTORY.create(sourceClass, targetClass);
             }
-        }
+        });
+    }
 
-        return dest;
+    /**
+     * 创建复制器工厂，ASM存在时使用ASM实现，否则使用反射实现
+     *
+     * @return 复制器工厂
+     */
+    private static BeanCopierFactory createCopierFactory() {
+        try {
+            Class.forName("org.objectweb.asm.ClassWriter", false, BeanUtils.class.getClassLoader());
+            return ClassUtils.getInstance(ASM_COPIER_FACTORY);
+        } catch (Throwable e) {
+            log.info("ASM不存在，bean复制使用反射实现");
+            return ReflectBeanCopier.FACTORY;
+        }
     }
 
     /**
@@ -266,24 +343,160 @@ public class BeanUtils {
      * @return targetClass的实例的数组
      */
     public static <E, S> List<E> copy(List<S> sourceList, Class<E> targetClass) {
-        if (sourceList == null || sourceList.isEmpty()) {
+        return batchCopy(sourceList, targetClass, false);
+    }
+
+    /**
+     * 批量复制，将sources中的对象与targetClass同名的字段复制到targetClass的实例中，复制计划和targetClass的构造器只解析一次，
+     * sources中的null会被忽略
+     *
+     * @param sources
+     *            被复制的源对象集合
+     * @param targetClass
+     *            要复制的目标对象的class对象
+     * @param parallel
+     *            是否并行复制，为true时数据量较大的集合会使用{@link ForkJoinPool#commonPool()}并行复制
+     * @param <E>
+     *            目标对象的实际类型
+     * @return targetClass的实例的集合，顺序与sources一致
+     */
+    public static <E> List<E> batchCopy(Collection<?> sources, Class<E> targetClass, boolean parallel) {
+        return batchCopy(sources, targetClass, parallel ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * 批量复制，将sources中的对象与targetClass同名的字段复制到targetClass的实例中，复制计划和targetClass的构造器只解析一次，
+     * sources中的null会被忽略
+     *
+     * @param sources
+     *            被复制的源对象集合
+     * @param targetClass
+     *            要复制的目标对象的class对象
+     * @param pool
+     *            并行复制使用的线程池，为null时串行复制
+     * @param <E>
+     *            目标对象的实际类型
+     * @return targetClass的实例的集合，顺序与sources一致
+     */
+    public static <E> List<E> batchCopy(Collection<?> sources, Class<E> targetClass, ForkJoinPool pool) {
+        if (sources == null || sources.isEmpty() || targetClass == null) {
             return Collections.emptyList();
         }
-        List<E> list = new ArrayList<>(sourceList.size());
 
-        if (!(sourceList instanceof ArrayList)) {
-            sourceList = new ArrayList<>(sourceList);
+        if (pool == null || sources.size() <= PARALLEL_THRESHOLD) {
+            List<E> list = new ArrayList<>(sources.size());
+            BatchCopier<E> copier = new BatchCopier<>(targetClass);
+            for (Object source : sources) {
+                if (source != null) {
+                    list.add(copier.apply(source));
+                }
+            }
+            return list;
         }
 
-        for (S source : sourceList) {
-            E e = copy(source, targetClass);
-            if (e != null) {
-                list.add(e);
+        Object[] sourceArray = sources.toArray();
+        Object[] targetArray = new Object[sourceArray.length];
+        pool.invoke(new CopyTask<>(sourceArray, targetArray, 0, sourceArray.length, targetClass));
+
+        List<E> list = new ArrayList<>(targetArray.length);
+        for (Object target : targetArray) {
+            if (target != null) {
+                list.add(targetClass.cast(target));
             }
         }
         return list;
     }
 
+    /**
+     * 流式复制，元素在消费时才复制，适用于分页查询等不希望将所有数据加载到内存的场景，sources中的null会被忽略
+     *
+     * @param sources
+     *            被复制的源对象流
+     * @param targetClass
+     *            要复制的目标对象的class对象
+     * @param <E>
+     *            目标对象的实际类型
+     * @return targetClass的实例的流
+     */
+    public static <E> Stream<E> streamCopy(Stream<?> sources, Class<E> targetClass) {
+        Assert.notNull(sources, "sources不能为null");
+        Assert.notNull(targetClass, "targetClass不能为null");
+
+        Function<Object, E> mapper;
+        if (sources.isParallel()) {
+            // BatchCopier不是线程安全的，并行流中每次都从缓存获取复制器
+            Supplier<E> supplier = getInstanceSupplier(targetClass);
+            mapper = source -> {
+                E target = supplier.get();
+                getCopier(source.getClass(), targetClass).copy(source, target);
+                return target;
+            };
+        } else {
+            mapper = new BatchCopier<>(targetClass);
+        }
+        return sources.filter(Objects::nonNull).map(mapper);
+    }
+
+    /**
+     * 流式复制，元素在消费时才复制，适用于分页查询等不希望将所有数据加载到内存的场景，sources中的null会被忽略
+     *
+     * @param sources
+     *            被复制的源对象
+     * @param targetClass
+     *            要复制的目标对象的class对象
+     * @param <E>
+     *            目标对象的实际类型
+     * @return targetClass的实例的流
+     */
+    public static <E> Stream<E> streamCopy(Iterable<?> sources, Class<E> targetClass) {
+        Assert.notNull(sources, "sources不能为null");
+        return streamCopy(StreamSupport.stream(sources.spliterator(), false), targetClass);
+    }
+
+    /**
+     * 获取指定Class的实例构造器，优先使用{@link LambdaUtil#createSupplier(Class)}生成的lambda
+     *
+     * @param clazz
+     *            Class
+     * @param <E>
+     *            实例类型
+     * @return 实例构造器，实例化失败时抛出{@link UtilsException}
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> Supplier<E> getInstanceSupplier(Class<E> clazz) {
+        return (Supplier<E>)INSTANCE_SUPPLIER_CACHE.get(clazz);
+    }
+
+    /**
+     * 创建指定Class的实例构造器
+     *
+     * @param clazz
+     *            Class
+     * @return 实例构造器，实例化失败时抛出{@link UtilsException}
+     */
+    private static Supplier<?> createInstanceSupplier(Class<?> clazz) {
+        log.debug("生成{}的实例构造器", clazz.getName());
+        Supplier<?> supplier;
+        try {
+            // 没有无参构造器或者该类（为接口、抽象类）不能实例化时将抛出异常
+            supplier = LambdaUtil.createSupplier(clazz);
+        } catch (Throwable e) {
+            log.error("target生成失败，请检查代码；失败原因：", e);
+            return () -> {
+                throw new UtilsException("target生成失败，请检查代码；失败原因:{0}", e);
+            };
+        }
+
+        return () -> {
+            try {
+                return supplier.get();
+            } catch (Throwable e) {
+                log.error("target生成失败，请检查代码；失败原因：", e);
+                throw new UtilsException("target生成失败，请检查代码；失败原因:{0}", e);
+            }
+        };
+    }
+
     /**
      * 获取指定Class的字段说明
      *
@@ -297,19 +510,59 @@ public class BeanUtils {
         if (clazz == null) {
             throw new NullPointerException("clazz为null");
         }
-        // 首先从缓存中检查
-        CustomPropertyDescriptor[] descriptors = CACHE.get(clazz);
-        if (descriptors != null) {
-            log.debug("获取Class {} 的说明时发现缓存中有，取出缓存中的说明返回", clazz);
-            return descriptors;
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 获取指定Class所有字段（包括父类的，与{@link ReflectUtil#getAllFields(Class)}一致）的说明，与
+     * {@link #getPropertyDescriptors(Class)}不同的是没有读写方法的字段也会返回，这些字段将会直接读写字段
+     *
+     * @param clazz
+     *            指定的class
+     * @return 指定class所有字段的说明，顺序与{@link ReflectUtil#getAllFields(Class)}一致
+     * @throws NullPointerException
+     *             clazz为null时抛出该异常
+     */
+    public static CustomPropertyDescriptor[] getAllPropertyDescriptors(Class<?> clazz) throws NullPointerException {
+        if (clazz == null) {
+            throw new NullPointerException("clazz为null");
         }
+        return ALL_CACHE.get(clazz);
+    }
+
+    /**
+     * 构建指定Class所有字段的说明
+     *
+     * @param clazz
+     *            指定的class
+     * @return 指定class所有字段的说明
+     */
+    private static CustomPropertyDescriptor[] buildAllPropertyDescriptors(Class<?> clazz) {
+        Field[] fields = getAllFields(clazz);
+        CustomPropertyDescriptor[] descriptors = new CustomPropertyDescriptor[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            CustomPropertyDescriptor descriptor = Modifier.isStatic(field.getModifiers()) ? null
+                : buildDescriptor(field, clazz);
+            descriptors[i] = descriptor == null
+                ? new CustomPropertyDescriptor(field.getName(), null, null, clazz, field) : descriptor;
+        }
+        return descriptors;
+    }
 
+    /**
+     * 构建指定Class的字段说明
+     *
+     * @param clazz
+     *            指定的class
+     * @return 指定class的字段说明（数组中不会有null）
+     */
+    private static CustomPropertyDescriptor[] buildPropertyDescriptors(Class<?> clazz) {
         Field[] fields = getAllFields(clazz);
 
-        descriptors = new CustomPropertyDescriptor[fields.length];
+        CustomPropertyDescriptor[] descriptors = new CustomPropertyDescriptor[fields.length];
         if (fields.length == 0) {
             log.debug("源{}中不存在已经声明的字段", clazz.getName());
-            CACHE.put(clazz, descriptors);
             return descriptors;
         }
 
@@ -325,11 +578,9 @@ public class BeanUtils {
             log.debug("构建构成中发生了异常，数组中有null，除去null");
             CustomPropertyDescriptor[] propertyDescriptor = new CustomPropertyDescriptor[j];
             System.arraycopy(descriptors, 0, propertyDescriptor, 0, j);
-            CACHE.put(clazz, propertyDescriptor);
             return propertyDescriptor;
         } else {
             log.debug("构建没有异常，构建成功");
-            CACHE.put(clazz, descriptors);
             return descriptors;
         }
     }
@@ -347,8 +598,9 @@ public class BeanUtils {
         FieldCache fieldCache = new FieldCache(field, clazz);
 
         // 首先检查缓存
-        if (FIELD_DESC_CACHE.containsKey(fieldCache)) {
-            return FIELD_DESC_CACHE.get(fieldCache);
+        CustomPropertyDescriptor cached = FIELD_DESC_CACHE.get(fieldCache);
+        if (cached != null) {
+            return cached;
         }
 
         String name = field.getName();
@@ -391,7 +643,10 @@ public class BeanUtils {
             }
         }
 
-        FIELD_DESC_CACHE.put(fieldCache, customPropertyDescriptor);
+        // 构建失败的不缓存
+        if (customPropertyDescriptor != null) {
+            FIELD_DESC_CACHE.put(fieldCache, customPropertyDescriptor);
+        }
         return customPropertyDescriptor;
     }
 
@@ -489,6 +744,82 @@ public class BeanUtils {
             descriptor.getWriteMethod(), clazz, field);
     }
 
+    @Data
+    @AllArgsConstructor
+    private final static class CopierKey {
+        private final Class<?> sourceClass;
+        private final Class<?> targetClass;
+    }
+
+    /**
+     * 批量复制器，缓存上一个源Class对应的复制器，同一批数据只解析一次复制计划（非线程安全）
+     *
+     * @param <E>
+     *            目标对象类型
+     */
+    private static final class BatchCopier<E> implements Function<Object, E> {
+        private final Class<E> targetClass;
+        private final Supplier<E> supplier;
+        private Class<?> sourceClass;
+        private BeanCopier copier;
+
+        private BatchCopier(Class<E> targetClass) {
+            this.targetClass = targetClass;
+            this.supplier = getInstanceSupplier(targetClass);
+        }
+
+        @Override
+        public E apply(Object source) {
+            Class<?> clazz = source.getClass();
+            if (clazz != sourceClass) {
+                copier = getCopier(clazz, targetClass);
+                sourceClass = clazz;
+            }
+            E target = supplier.get();
+            copier.copy(source, target);
+            return target;
+        }
+    }
+
+    /**
+     * 并行批量复制任务，结果写入预分配的数组中对应的位置
+     *
+     * @param <E>
+     *            目标对象类型
+     */
+    private static final class CopyTask<E> extends RecursiveAction {
+        private static final long serialVersionUID = 4011540745497326442L;
+        private final Object[] sources;
+        private final Object[] targets;
+        private final int from;
+        private final int to;
+        private final Class<E> targetClass;
+
+        private CopyTask(Object[] sources, Object[] targets, int from, int to, Class<E> targetClass) {
+            this.sources = sources;
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+            this.targetClass = targetClass;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                BatchCopier<E> copier = new BatchCopier<>(targetClass);
+                for (int i = from; i < to; i++) {
+                    if (sources[i] != null) {
+                        targets[i] = copier.apply(sources[i]);
+                    }
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new CopyTask<>(sources, targets, from, middle, targetClass),
+                    new CopyTask<>(sources, targets, middle, to, targetClass));
+            }
+        }
+    }
+
     private final static class FieldCache {
         private final Field field;
         private final Class<?> clazz;
@@ -521,6 +852,11 @@ public class BeanUtils {
             return false;
         }
 
+        @Override
+        public int hashCode() {
+            return 31 * clazz.hashCode() + field.hashCode();
+        }
+
     }
 
     /**
@@ -546,6 +882,10 @@ public class BeanUtils {
         private final Field field;
         // 字段的类型
         private Class<?> type;
+        // 预编译的读取器，首次使用时生成
+        private volatile Function<Object, Object> getter;
+        // 预编译的写入器，首次使用时生成
+        private volatile BiConsumer<Object, Object> setter;
 
         public CustomPropertyDescriptor(String name, Method readMethod, Method writeMethod, Class<?> clazz,
             Field field) {
@@ -611,5 +951,43 @@ public class BeanUtils {
         public <T extends Annotation> T getAnnotation(Class<T> clazz) {
             return field.getAnnotation(clazz);
         }
+
+        /**
+         * 读取指定对象中该字段的值，存在读方法时调用读方法，否则直接读取字段；读取器只会生成一次，可以生成lambda时调用开销接近直接
+         * 调用
+         *
+         * @param obj
+         *            对象
+         * @param <T>
+         *            字段类型
+         * @return 字段值
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T getValue(Object obj) {
+            Function<Object, Object> getter = this.getter;
+            if (getter == null) {
+                getter = readMethod == null ? LambdaUtil.createGetter(field) : LambdaUtil.createGetter(readMethod);
+                this.getter = getter;
+            }
+            return (T)getter.apply(obj);
+        }
+
+        /**
+         * 设置指定对象中该字段的值，存在写方法时调用写方法，否则直接写入字段；写入器只会生成一次，可以生成lambda时调用开销接近直接
+         * 调用
+         *
+         * @param obj
+         *            对象
+         * @param value
+         *            字段值
+         */
+        public void setValue(Object obj, Object value) {
+            BiConsumer<Object, Object> setter = this.setter;
+            if (setter == null) {
+                setter = writeMethod == null ? LambdaUtil.createSetter(field) : LambdaUtil.createSetter(writeMethod);
+                this.setter = setter;
+            }
+            setter.accept(obj, value);
+        }
     }
 }
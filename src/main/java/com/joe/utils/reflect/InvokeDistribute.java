@@ -21,6 +21,23 @@ public interface InvokeDistribute {
     String DISTRIBUTE_METHOD_DESC = ByteCodeUtils.getMethodDesc(ReflectUtil.getMethod(InvokeDistribute.class, "invoke",
         String.class, String.class, String.class, Object[].class));
 
+    /**
+     * {@link InvokeDistribute#methodId(String, String, String)}方法名
+     */
+    String METHOD_ID_METHOD_NAME = "methodId";
+
+    /**
+     * {@link InvokeDistribute#methodId(String, String, String)}方法的byte code说明
+     */
+    String METHOD_ID_METHOD_DESC = ByteCodeUtils.getMethodDesc(
+        ReflectUtil.getMethod(InvokeDistribute.class, "methodId", String.class, String.class, String.class));
+
+    /**
+     * {@link InvokeDistribute#invoke(int, Object[])}方法的byte code说明
+     */
+    String ID_DISTRIBUTE_METHOD_DESC = ByteCodeUtils
+        .getMethodDesc(ReflectUtil.getMethod(InvokeDistribute.class, "invoke", int.class, Object[].class));
+
     /**
      * 动态调用，根据给定参数调用不同的方法
      * 
@@ -39,4 +56,35 @@ public interface InvokeDistribute {
      *             当要调用的方法owner传错、methodName传错、desc传错时将会抛出该异常
      */
     Object invoke(String owner, String methodName, String desc, Object... args) throws NoSuchMethodException;
+
+    /**
+     * 获取方法对应的方法ID，方法ID在同一个InvokeDistribute实现中固定不变，获取后可以使用{@link #invoke(int, Object[])}调用，
+     * 省去每次调用时的字符串匹配
+     *
+     * @param owner
+     *            方法拥有者的byte code表示，规则同{@link #invoke(String, String, String, Object[])}
+     * @param methodName
+     *            方法名
+     * @param desc
+     *            byte code方法说明
+     * @return 方法ID，方法不存在时返回-1
+     */
+    default int methodId(String owner, String methodName, String desc) {
+        return -1;
+    }
+
+    /**
+     * 根据方法ID动态调用
+     *
+     * @param methodId
+     *            方法ID，通过{@link #methodId(String, String, String)}获取
+     * @param args
+     *            调用参数
+     * @return 调用结果，对于void方法结果为null
+     * @throws NoSuchMethodException
+     *             方法ID不存在时抛出该异常
+     */
+    default Object invoke(int methodId, Object... args) throws NoSuchMethodException {
+        throw new NoSuchMethodException("method id [" + methodId + "] not found");
+    }
 }
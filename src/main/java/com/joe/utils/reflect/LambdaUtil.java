@@ -0,0 +1,272 @@
+package com.joe.utils.reflect;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.joe.utils.common.Assert;
+import com.joe.utils.common.string.StringFormater;
+import com.joe.utils.reflect.type.JavaTypeUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 使用{@link LambdaMetafactory}将构造器、方法编译为函数式接口实例，调用开销接近直接调用；对于无法生成lambda的（例如类不是public
+ * 的或者对本类的ClassLoader不可见）自动降级为反射调用
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 19:40 JoeKerouac Exp $
+ */
+@Slf4j
+public final class LambdaUtil {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private LambdaUtil() {}
+
+    /**
+     * 为指定Class的无参构造器创建{@link Supplier}
+     *
+     * @param clazz
+     *            Class，必须包含无参构造器
+     * @param <T>
+     *            实例类型
+     * @return 每次调用都会创建一个新实例的Supplier
+     * @throws ReflectException
+     *             不存在无参构造器时抛出异常
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> createSupplier(Class<T> clazz) throws ReflectException {
+        Assert.notNull(clazz, "clazz不能为null");
+
+        Constructor<T> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new ReflectException(StringFormater.simpleFormat("类[{0}]中不存在无参构造器", clazz), e);
+        }
+
+        if (!Modifier.isAbstract(clazz.getModifiers()) && Modifier.isPublic(constructor.getModifiers())
+            && isLambdaAccessible(clazz)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), handle, MethodType.methodType(clazz));
+                return (Supplier<T>)site.getTarget().invoke();
+            } catch (Throwable e) {
+                log.debug("为[{}]生成lambda构造器失败，使用反射构造器", clazz, e);
+            }
+        }
+
+        ReflectUtil.allowAccess(constructor);
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (InvocationTargetException e) {
+                throw new ReflectException("调用构造器[" + constructor + "]失败", e.getTargetException());
+            } catch (ReflectiveOperationException e) {
+                throw new ReflectException("调用构造器[" + constructor + "]失败", e);
+            }
+        };
+    }
+
+    /**
+     * 为无参实例方法（通常是getter）创建{@link Function}，入参为方法所属对象，返回值为方法返回值（基本类型会装箱）
+     *
+     * @param method
+     *            无参实例方法
+     * @return 调用该方法的Function
+     */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> createGetter(Method method) {
+        Assert.notNull(method, "method不能为null");
+        Assert.isTrue(method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers()),
+            StringFormater.simpleFormat("方法[{0}]不是无参实例方法", method));
+
+        Class<?> owner = method.getDeclaringClass();
+        if (isLambdaAccessible(method)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class), handle,
+                    MethodType.methodType(JavaTypeUtil.boxed(method.getReturnType()), owner));
+                return (Function<Object, Object>)site.getTarget().invoke();
+            } catch (Throwable e) {
+                log.debug("为[{}]生成lambda getter失败，使用反射调用", method, e);
+            }
+        }
+
+        ReflectUtil.allowAccess(method);
+        return obj -> {
+            try {
+                return method.invoke(obj);
+            } catch (InvocationTargetException e) {
+                throw new ReflectException("调用方法[" + method + "]失败", e.getTargetException());
+            } catch (ReflectiveOperationException e) {
+                throw new ReflectException("调用方法[" + method + "]失败", e);
+            }
+        };
+    }
+
+    /**
+     * 为单参实例方法（通常是setter）创建{@link BiConsumer}，第一个参数为方法所属对象，第二个参数为方法参数（基本类型参数会自动拆
+     * 箱，为null时抛出NullPointerException），方法返回值被忽略
+     *
+     * @param method
+     *            单参实例方法
+     * @return 调用该方法的BiConsumer
+     */
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> createSetter(Method method) {
+        Assert.notNull(method, "method不能为null");
+        Assert.isTrue(method.getParameterCount() == 1 && !Modifier.isStatic(method.getModifiers()),
+            StringFormater.simpleFormat("方法[{0}]不是单参实例方法", method));
+
+        Class<?> owner = method.getDeclaringClass();
+        if (isLambdaAccessible(method)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class), handle, MethodType
+                        .methodType(void.class, owner, JavaTypeUtil.boxed(method.getParameterTypes()[0])));
+                return (BiConsumer<Object, Object>)site.getTarget().invoke();
+            } catch (Throwable e) {
+                log.debug("为[{}]生成lambda setter失败，使用反射调用", method, e);
+            }
+        }
+
+        ReflectUtil.allowAccess(method);
+        return (obj, value) -> {
+            try {
+                method.invoke(obj, value);
+            } catch (InvocationTargetException e) {
+                throw new ReflectException("调用方法[" + method + "]失败", e.getTargetException());
+            } catch (ReflectiveOperationException e) {
+                throw new ReflectException("调用方法[" + method + "]失败", e);
+            }
+        };
+    }
+
+    /**
+     * 为字段创建读取器，字段无法生成lambda，这里使用{@link MethodHandle}，静态字段会忽略传入的对象
+     *
+     * @param field
+     *            字段
+     * @return 读取该字段的Function
+     */
+    public static Function<Object, Object> createGetter(Field field) {
+        Assert.notNull(field, "field不能为null");
+        ReflectUtil.allowAccess(field);
+
+        try {
+            MethodHandle handle = LOOKUP.unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            MethodHandle getter = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return obj -> {
+                try {
+                    return getter.invokeExact(obj);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new ReflectException("读取字段[" + field + "]失败", e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            log.debug("为字段[{}]生成MethodHandle失败，使用反射读取", field, e);
+        }
+
+        return obj -> {
+            try {
+                return field.get(obj);
+            } catch (IllegalAccessException e) {
+                throw new ReflectException("读取字段[" + field + "]失败", e);
+            }
+        };
+    }
+
+    /**
+     * 为字段创建写入器，字段无法生成lambda，这里使用{@link MethodHandle}，静态字段会忽略传入的对象；final字段无法生成
+     * MethodHandle时降级为反射写入
+     *
+     * @param field
+     *            字段
+     * @return 写入该字段的BiConsumer
+     */
+    public static BiConsumer<Object, Object> createSetter(Field field) {
+        Assert.notNull(field, "field不能为null");
+        ReflectUtil.allowAccess(field);
+
+        try {
+            MethodHandle handle = LOOKUP.unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            MethodHandle setter = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (obj, value) -> {
+                try {
+                    setter.invokeExact(obj, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new ReflectException("写入字段[" + field + "]失败", e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            log.debug("为字段[{}]生成MethodHandle失败，使用反射写入", field, e);
+        }
+
+        return (obj, value) -> {
+            try {
+                field.set(obj, value);
+            } catch (IllegalAccessException e) {
+                throw new ReflectException("写入字段[" + field + "]失败", e);
+            }
+        };
+    }
+
+    /**
+     * 判断是否可以为指定方法生成lambda：方法是public的，并且声明方法的Class可以生成lambda
+     *
+     * @param method
+     *            方法
+     * @return 返回true表示可以生成lambda
+     */
+    static boolean isLambdaAccessible(Method method) {
+        return Modifier.isPublic(method.getModifiers()) && isLambdaAccessible(method.getDeclaringClass());
+    }
+
+    /**
+     * 判断是否可以为指定Class生成lambda：Class及其外部类都是public的，并且对本类的ClassLoader可见（lambda类定义在本类所在的
+     * ClassLoader中）
+     *
+     * @param clazz
+     *            Class
+     * @return 返回true表示可以生成lambda
+     */
+    static boolean isLambdaAccessible(Class<?> clazz) {
+        for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+
+        try {
+            return Class.forName(clazz.getName(), false, LambdaUtil.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
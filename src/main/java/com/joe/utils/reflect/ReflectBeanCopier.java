@@ -0,0 +1,41 @@
+package com.joe.utils.reflect;
+
+import java.util.List;
+
+import com.joe.utils.reflect.BeanCopyPlan.PropertyMapping;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 使用反射实现的{@link BeanCopier}，字段映射在构建时已经解析完成，复制时仅执行反射读写，用于无法生成字节码的场景（例如字段和
+ * 读写方法都不是public的）
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 19:10 JoeKerouac Exp $
+ */
+@Slf4j
+public class ReflectBeanCopier implements BeanCopier {
+
+    /**
+     * 工厂实例
+     */
+    public static final BeanCopierFactory FACTORY =
+        (sourceClass, targetClass) -> new ReflectBeanCopier(BeanCopyPlan.resolve(sourceClass, targetClass).getMappings());
+
+    private final PropertyMapping[] mappings;
+
+    public ReflectBeanCopier(List<PropertyMapping> mappings) {
+        this.mappings = mappings.toArray(new PropertyMapping[0]);
+    }
+
+    @Override
+    public void copy(Object source, Object target) {
+        for (PropertyMapping mapping : mappings) {
+            try {
+                mapping.copy(source, target);
+            } catch (Exception e) {
+                log.debug("copy中复制{}时发生错误，忽略该字段", mapping.getSourceField().getName(), e);
+            }
+        }
+    }
+}
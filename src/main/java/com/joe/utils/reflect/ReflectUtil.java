@@ -5,8 +5,10 @@ import java.lang.reflect.*;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import com.joe.utils.collection.CacheStats;
+import com.joe.utils.collection.ClassValueCache;
 import com.joe.utils.collection.CollectionUtil;
-import com.joe.utils.collection.LRUCacheMap;
+import com.joe.utils.collection.ConcurrentLRUCache;
 import com.joe.utils.common.Assert;
 import com.joe.utils.common.string.StringFormater;
 import com.joe.utils.scan.ClassScanner;
@@ -28,21 +30,25 @@ public class ReflectUtil {
     /**
      * 方法缓存
      */
-    private static final Map<MethodKey, Method> METHOD_CACHE = new LRUCacheMap<>();
+    private static final ConcurrentLRUCache<MethodKey, Method> METHOD_CACHE = new ConcurrentLRUCache<>();
     /**
      * field缓存
      */
-    private static final Map<FieldKey, Field> FIELD_CACHE = new LRUCacheMap<>();
+    private static final ConcurrentLRUCache<FieldKey, Field> FIELD_CACHE = new ConcurrentLRUCache<>();
 
     /**
      * 所有field缓存
      */
-    private static final LRUCacheMap<Class<?>, Field[]> ALL_FIELD_CACHE = new LRUCacheMap<>();
+    private static final ClassValueCache<Field[]> ALL_FIELD_CACHE = new ClassValueCache<>(ReflectUtil::loadAllFields);
 
     /**
      * 所有方法缓存
      */
-    private static final LRUCacheMap<Class<?>, List<Method>> ALL_METHOD_CACHE = new LRUCacheMap<>();
+    private static final ClassValueCache<List<Method>> ALL_METHOD_CACHE = new ClassValueCache<>(clazz -> {
+        List<Method> methods = new ArrayList<>();
+        getAllMethod(clazz, new HashMap<>()).forEach((k, v) -> methods.add(v));
+        return methods;
+    });
 
     @Data
     @NoArgsConstructor
@@ -75,6 +81,20 @@ public class ReflectUtil {
 
     private ReflectUtil() {}
 
+    /**
+     * 获取反射元数据缓存的统计信息
+     *
+     * @return 缓存名与统计信息的映射
+     */
+    public static Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("method", METHOD_CACHE.stats());
+        stats.put("field", FIELD_CACHE.stats());
+        stats.put("allField", ALL_FIELD_CACHE.stats());
+        stats.put("allMethod", ALL_METHOD_CACHE.stats());
+        return stats;
+    }
+
     /**
      * 获取指定Class的指定参数构造器
      * 
@@ -176,17 +196,7 @@ public class ReflectUtil {
      * @return 指定类型和其父类型、接口中声明的所有方法（除了Object中声明的方法）
      */
     public static List<Method> getAllMethod(Class<?> clazz) {
-        return ALL_METHOD_CACHE.compute(clazz, (key, value) -> {
-            if (value == null) {
-                List<Method> methods = new ArrayList<>();
-                Map<String, Method> methodMap = getAllMethod(key, new HashMap<>());
-
-                methodMap.forEach((k, v) -> methods.add(v));
-                return methods;
-            } else {
-                return value;
-            }
-        });
+        return ALL_METHOD_CACHE.get(clazz);
     }
 
     /**
@@ -252,18 +262,14 @@ public class ReflectUtil {
         Assert.notNull(clazz, "类型不能为空");
         Assert.notNull(methodName, "方法名不能为空");
 
-        return METHOD_CACHE.compute(new MethodKey(methodName, clazz, parameterTypes), (k, v) -> {
-            if (v == null) {
-                try {
-                    return allowAccess(clazz.getDeclaredMethod(methodName, parameterTypes));
-                } catch (NoSuchMethodException e) {
-                    log.error(StringFormater.simpleFormat("类[{0}]中不存在方法名为[{1}]、方法列表为[{2}]的方法", clazz, methodName,
-                        parameterTypes == null ? "null" : Arrays.toString(parameterTypes)));
-                    throw new ReflectException(StringFormater.simpleFormat("类[{0}]中不存在方法名为[{1}]、方法列表为[{2}]的方法", clazz,
-                        methodName, parameterTypes == null ? "null" : Arrays.toString(parameterTypes)), e);
-                }
-            } else {
-                return v;
+        return METHOD_CACHE.computeIfAbsent(new MethodKey(methodName, clazz, parameterTypes), k -> {
+            try {
+                return allowAccess(clazz.getDeclaredMethod(methodName, parameterTypes));
+            } catch (NoSuchMethodException e) {
+                log.error(StringFormater.simpleFormat("类[{0}]中不存在方法名为[{1}]、方法列表为[{2}]的方法", clazz, methodName,
+                    parameterTypes == null ? "null" : Arrays.toString(parameterTypes)));
+                throw new ReflectException(StringFormater.simpleFormat("类[{0}]中不存在方法名为[{1}]、方法列表为[{2}]的方法", clazz,
+                    methodName, parameterTypes == null ? "null" : Arrays.toString(parameterTypes)), e);
             }
         });
     }
@@ -465,21 +471,17 @@ public class ReflectUtil {
             clazz = obj.getClass();
         }
 
-        return FIELD_CACHE.compute(new FieldKey(fieldName, clazz), (k, v) -> {
-            if (v == null) {
-                try {
-                    return allowAccess(clazz.getDeclaredField(fieldName));
-                } catch (NoSuchFieldException e) {
-                    Class<?> superClass = clazz.getSuperclass();
-                    // 判断父类是否是Object
-                    if (superClass.equals(Object.class) || !isRecursive) {
-                        return null;
-                    } else {
-                        return getField(superClass, fieldName);
-                    }
+        return FIELD_CACHE.computeIfAbsent(new FieldKey(fieldName, clazz), k -> {
+            try {
+                return allowAccess(clazz.getDeclaredField(fieldName));
+            } catch (NoSuchFieldException e) {
+                Class<?> superClass = clazz.getSuperclass();
+                // 判断父类是否是Object
+                if (superClass.equals(Object.class) || !isRecursive) {
+                    return null;
+                } else {
+                    return getField(superClass, fieldName);
                 }
-            } else {
-                return v;
             }
         });
     }
@@ -493,31 +495,30 @@ public class ReflectUtil {
      */
     public static Field[] getAllFields(Class<?> clazz) {
         Assert.notNull(clazz, "clazz不能为空");
-        return ALL_FIELD_CACHE.compute(clazz, (k, v) -> {
-            if (v == null) {
-                List<Field> fields = new ArrayList<>(Arrays.asList(clazz.getDeclaredFields()));
+        return ALL_FIELD_CACHE.get(clazz);
+    }
 
-                // 查找是否存在父类，如果存在且不是Object那么查找父类的field
-                Class<?> superClass = clazz.getSuperclass();
+    /**
+     * 加载指定Class的所有field（包含父类声明的字段），同时将本类声明的字段加入单个field的缓存
+     *
+     * @param clazz
+     *            Class
+     * @return 所有field数组
+     */
+    private static Field[] loadAllFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>(Arrays.asList(clazz.getDeclaredFields()));
 
-                // 遍历设置访问权限，同时加入单个field的缓存
-                fields.stream().map(ReflectUtil::allowAccess)
-                    .forEach(f -> FIELD_CACHE.compute(new FieldKey(f.getName(), clazz), (fk, fv) -> {
-                        if (fv == null) {
-                            return f;
-                        } else {
-                            return fv;
-                        }
-                    }));
-
-                if (superClass != null && superClass != Object.class) {
-                    fields.addAll(Arrays.asList(getAllFields(superClass)));
-                }
-                return fields.toArray(new Field[0]);
-            } else {
-                return v;
-            }
-        });
+        // 查找是否存在父类，如果存在且不是Object那么查找父类的field
+        Class<?> superClass = clazz.getSuperclass();
+
+        // 遍历设置访问权限，同时加入单个field的缓存
+        fields.stream().map(ReflectUtil::allowAccess)
+            .forEach(f -> FIELD_CACHE.computeIfAbsent(new FieldKey(f.getName(), clazz), fk -> f));
+
+        if (superClass != null && superClass != Object.class) {
+            fields.addAll(Arrays.asList(getAllFields(superClass)));
+        }
+        return fields.toArray(new Field[0]);
     }
 
     /**
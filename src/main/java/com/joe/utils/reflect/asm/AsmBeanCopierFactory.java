@@ -0,0 +1,405 @@
+package com.joe.utils.reflect.asm;
+
+import static com.joe.utils.reflect.ByteCodeUtils.*;
+import static com.joe.utils.reflect.asm.AsmByteCodeUtils.box;
+import static com.joe.utils.reflect.asm.AsmByteCodeUtils.createClassName;
+import static org.objectweb.asm.Opcodes.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+
+import com.joe.utils.common.Assert;
+import com.joe.utils.reflect.BeanCopier;
+import com.joe.utils.reflect.BeanCopierFactory;
+import com.joe.utils.reflect.BeanCopyPlan;
+import com.joe.utils.reflect.BeanCopyPlan.PropertyMapping;
+import com.joe.utils.reflect.ReflectBeanCopier;
+import com.joe.utils.reflect.clazz.ClassUtils;
+import com.joe.utils.reflect.type.JavaTypeUtil;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 使用ASM实现的{@link BeanCopierFactory}，对于源字段可以直接读取（public字段或者public读方法）并且目标字段可以直接写入（public
+ * 非final字段或者public写方法）的映射生成直接调用的字节码，{@link com.joe.utils.reflect.Alias Alias}、装箱拆箱以及基本类型
+ * 拓宽转换都在生成时处理；其余字段使用{@link ReflectBeanCopier}反射复制
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 19:10 JoeKerouac Exp $
+ */
+@Slf4j
+public class AsmBeanCopierFactory implements BeanCopierFactory {
+
+    /**
+     * {@link BeanCopier#copy(Object, Object)}方法说明
+     */
+    private static final String COPY_METHOD_DESC = getDesc(void.class, Object.class, Object.class);
+
+    /**
+     * 生成的copy方法中源对象所在的局部变量
+     */
+    private static final int SOURCE_INDEX = 3;
+
+    /**
+     * 生成的copy方法中目标对象所在的局部变量
+     */
+    private static final int TARGET_INDEX = 4;
+
+    /**
+     * 生成的copy方法中临时值所在的局部变量
+     */
+    private static final int VALUE_INDEX = 5;
+
+    @Override
+    public BeanCopier create(Class<?> sourceClass, Class<?> targetClass) {
+        Assert.notNull(sourceClass, "sourceClass不能为null");
+        Assert.notNull(targetClass, "targetClass不能为null");
+
+        BeanCopyPlan plan = BeanCopyPlan.resolve(sourceClass, targetClass);
+        ClassLoader parent = findClassLoader(sourceClass, targetClass);
+
+        List<PropertyMapping> direct = new ArrayList<>();
+        List<PropertyMapping> reflect = new ArrayList<>();
+        boolean classAccessible = parent != null && isAccessible(sourceClass) && isAccessible(targetClass);
+        for (PropertyMapping mapping : plan.getMappings()) {
+            if (classAccessible && mapping.isDirectReadable() && mapping.isDirectWritable()
+                && (!needCast(mapping) || isAccessible(mapping.getTargetField().getType()))) {
+                direct.add(mapping);
+            } else {
+                reflect.add(mapping);
+            }
+        }
+
+        log.debug("[{}]到[{}]的复制计划中直接复制的字段数为[{}]，反射复制的字段数为[{}]", sourceClass, targetClass, direct.size(),
+            reflect.size());
+
+        if (direct.isEmpty()) {
+            return new ReflectBeanCopier(reflect);
+        }
+
+        String className = createClassName();
+        byte[] byteCode = buildByteCode(sourceClass, targetClass, direct, className);
+        Class<BeanCopier> clazz =
+            new AsmDynamicClassLoader(parent).buildClass(className, byteCode, 0, byteCode.length);
+        BeanCopier generated = ClassUtils.getInstance(clazz);
+
+        if (reflect.isEmpty()) {
+            return generated;
+        }
+
+        BeanCopier fallback = new ReflectBeanCopier(reflect);
+        return (source, target) -> {
+            generated.copy(source, target);
+            fallback.copy(source, target);
+        };
+    }
+
+    /**
+     * 构建byte code
+     *
+     * @param sourceClass
+     *            源Class
+     * @param targetClass
+     *            目标Class
+     * @param mappings
+     *            可以直接复制的字段映射
+     * @param className
+     *            生成的class名
+     * @return 生成的class的byte code数据
+     */
+    public byte[] buildByteCode(Class<?> sourceClass, Class<?> targetClass, List<PropertyMapping> mappings,
+        String className) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // 生成的代码中不会合并不同类型的引用，不需要加载Class计算公共父类
+                return convert(Object.class);
+            }
+        };
+
+        cw.visit(V1_8, ACC_PUBLIC + ACC_SUPER, convert(className), null, convert(Object.class),
+            new String[] {convert(BeanCopier.class)});
+
+        // 默认构造器
+        {
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, INIT, getDesc(void.class), null, null);
+            mv.visitCode();
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKESPECIAL, convert(Object.class), INIT, getDesc(void.class), false);
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        // copy方法
+        {
+            MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "copy", COPY_METHOD_DESC, null, null);
+            mv.visitCode();
+
+            // S source = (S)arg0; T target = (T)arg1;
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, convert(sourceClass));
+            mv.visitVarInsn(ASTORE, SOURCE_INDEX);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitTypeInsn(CHECKCAST, convert(targetClass));
+            mv.visitVarInsn(ASTORE, TARGET_INDEX);
+
+            for (PropertyMapping mapping : mappings) {
+                copyProperty(mv, sourceClass, targetClass, mapping);
+            }
+
+            mv.visitInsn(RETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+        }
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * 生成单个字段复制的byte code
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param sourceClass
+     *            源Class
+     * @param targetClass
+     *            目标Class
+     * @param mapping
+     *            字段映射
+     */
+    private static void copyProperty(MethodVisitor mv, Class<?> sourceClass, Class<?> targetClass,
+        PropertyMapping mapping) {
+        Class<?> sourceType = mapping.getSourceField().getType();
+        Class<?> targetType = mapping.getTargetField().getType();
+
+        if (targetType.isPrimitive() && sourceType.isPrimitive()) {
+            // target.setX(source.getX())，必要时拓宽
+            mv.visitVarInsn(ALOAD, TARGET_INDEX);
+            mv.visitVarInsn(ALOAD, SOURCE_INDEX);
+            read(mv, sourceClass, mapping);
+            widen(mv, sourceType, targetType);
+            write(mv, targetClass, mapping);
+        } else if (targetType.isPrimitive()) {
+            // 源是封装类型，为null时跳过，否则拆箱后设置
+            Label skip = new Label();
+            mv.visitVarInsn(ALOAD, SOURCE_INDEX);
+            read(mv, sourceClass, mapping);
+            mv.visitVarInsn(ASTORE, VALUE_INDEX);
+            mv.visitVarInsn(ALOAD, VALUE_INDEX);
+            mv.visitJumpInsn(IFNULL, skip);
+            mv.visitVarInsn(ALOAD, TARGET_INDEX);
+            mv.visitVarInsn(ALOAD, VALUE_INDEX);
+            Class<?> primitive = JavaTypeUtil.unboxed(sourceType);
+            mv.visitMethodInsn(INVOKEVIRTUAL, convert(sourceType), primitive.getName() + "Value",
+                getDesc(primitive), false);
+            widen(mv, primitive, targetType);
+            write(mv, targetClass, mapping);
+            mv.visitLabel(skip);
+        } else if (sourceType.isPrimitive()) {
+            // 装箱后设置
+            mv.visitVarInsn(ALOAD, TARGET_INDEX);
+            mv.visitVarInsn(ALOAD, SOURCE_INDEX);
+            read(mv, sourceClass, mapping);
+            box(mv, sourceType);
+            write(mv, targetClass, mapping);
+        } else if (!needCast(mapping)) {
+            mv.visitVarInsn(ALOAD, TARGET_INDEX);
+            mv.visitVarInsn(ALOAD, SOURCE_INDEX);
+            read(mv, sourceClass, mapping);
+            write(mv, targetClass, mapping);
+        } else {
+            // 源类型是目标类型的父类型，运行时检查类型，null直接设置，类型不一致时跳过
+            Label skip = new Label();
+            Label set = new Label();
+            mv.visitVarInsn(ALOAD, SOURCE_INDEX);
+            read(mv, sourceClass, mapping);
+            mv.visitVarInsn(ASTORE, VALUE_INDEX);
+            mv.visitVarInsn(ALOAD, VALUE_INDEX);
+            mv.visitJumpInsn(IFNULL, set);
+            mv.visitVarInsn(ALOAD, VALUE_INDEX);
+            mv.visitTypeInsn(INSTANCEOF, convert(targetType));
+            mv.visitJumpInsn(IFEQ, skip);
+            mv.visitLabel(set);
+            mv.visitVarInsn(ALOAD, TARGET_INDEX);
+            mv.visitVarInsn(ALOAD, VALUE_INDEX);
+            mv.visitTypeInsn(CHECKCAST, convert(targetType));
+            write(mv, targetClass, mapping);
+            mv.visitLabel(skip);
+        }
+    }
+
+    /**
+     * 读取源字段值，调用前栈顶必须是源对象
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param sourceClass
+     *            源Class
+     * @param mapping
+     *            字段映射
+     */
+    private static void read(MethodVisitor mv, Class<?> sourceClass, PropertyMapping mapping) {
+        Method readMethod = mapping.getReadMethod();
+        if (readMethod != null) {
+            invoke(mv, sourceClass, readMethod);
+        } else {
+            Field field = mapping.getSourceField();
+            mv.visitFieldInsn(GETFIELD, convert(sourceClass), field.getName(), getByteCodeType(field.getType()));
+        }
+    }
+
+    /**
+     * 写入目标字段，调用前栈顶必须是目标对象和值
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param targetClass
+     *            目标Class
+     * @param mapping
+     *            字段映射
+     */
+    private static void write(MethodVisitor mv, Class<?> targetClass, PropertyMapping mapping) {
+        Method writeMethod = mapping.getWriteMethod();
+        if (writeMethod != null) {
+            invoke(mv, targetClass, writeMethod);
+            // 丢弃链式setter的返回值
+            Class<?> returnType = writeMethod.getReturnType();
+            if (returnType == long.class || returnType == double.class) {
+                mv.visitInsn(POP2);
+            } else if (returnType != void.class) {
+                mv.visitInsn(POP);
+            }
+        } else {
+            Field field = mapping.getTargetField();
+            mv.visitFieldInsn(PUTFIELD, convert(targetClass), field.getName(), getByteCodeType(field.getType()));
+        }
+    }
+
+    /**
+     * 调用方法，使用owner而不是方法声明类作为引用类（方法声明类可能不是public的）
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param owner
+     *            方法所属的Class
+     * @param method
+     *            方法
+     */
+    private static void invoke(MethodVisitor mv, Class<?> owner, Method method) {
+        if (owner.isInterface()) {
+            mv.visitMethodInsn(INVOKEINTERFACE, convert(owner), method.getName(), getMethodDesc(method), true);
+        } else {
+            mv.visitMethodInsn(INVOKEVIRTUAL, convert(owner), method.getName(), getMethodDesc(method), false);
+        }
+    }
+
+    /**
+     * 基本类型拓宽转换
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param from
+     *            原始基本类型
+     * @param to
+     *            目标基本类型
+     */
+    private static void widen(MethodVisitor mv, Class<?> from, Class<?> to) {
+        if (from == to) {
+            return;
+        }
+
+        if (to == long.class) {
+            mv.visitInsn(I2L);
+        } else if (to == float.class) {
+            mv.visitInsn(from == long.class ? L2F : I2F);
+        } else if (to == double.class) {
+            if (from == long.class) {
+                mv.visitInsn(L2D);
+            } else if (from == float.class) {
+                mv.visitInsn(F2D);
+            } else {
+                mv.visitInsn(I2D);
+            }
+        }
+        // byte、short、char到int、short的转换在栈上都是int，不需要指令
+    }
+
+    /**
+     * 判断映射的引用类型是否需要运行时类型转换
+     *
+     * @param mapping
+     *            字段映射
+     * @return 返回true表示需要checkcast
+     */
+    private static boolean needCast(PropertyMapping mapping) {
+        Class<?> sourceType = mapping.getSourceField().getType();
+        Class<?> targetType = mapping.getTargetField().getType();
+        return !targetType.isPrimitive() && !sourceType.isPrimitive() && !targetType.isAssignableFrom(sourceType);
+    }
+
+    /**
+     * 判断Class能否被生成的类访问（Class及其所有外部类都是public的）
+     *
+     * @param clazz
+     *            Class
+     * @return 返回true表示可以访问
+     */
+    private static boolean isAccessible(Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 查找可以同时加载源Class、目标Class和{@link BeanCopier}的ClassLoader，作为生成类的ClassLoader的父ClassLoader
+     *
+     * @param sourceClass
+     *            源Class
+     * @param targetClass
+     *            目标Class
+     * @return ClassLoader，找不到时返回null
+     */
+    private static ClassLoader findClassLoader(Class<?> sourceClass, Class<?> targetClass) {
+        ClassLoader[] candidates = {targetClass.getClassLoader(), sourceClass.getClassLoader(),
+            BeanCopier.class.getClassLoader()};
+        for (ClassLoader loader : candidates) {
+            if (loader != null && isVisible(loader, sourceClass) && isVisible(loader, targetClass)
+                && isVisible(loader, BeanCopier.class)) {
+                return loader;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 判断指定Class在指定ClassLoader中是否可见
+     *
+     * @param loader
+     *            ClassLoader
+     * @param clazz
+     *            Class
+     * @return 返回true表示可见
+     */
+    private static boolean isVisible(ClassLoader loader, Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, loader) == clazz;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
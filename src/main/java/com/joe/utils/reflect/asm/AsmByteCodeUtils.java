@@ -1,6 +1,7 @@
 package com.joe.utils.reflect.asm;
 
 import static com.joe.utils.reflect.ByteCodeUtils.convert;
+import static com.joe.utils.reflect.ByteCodeUtils.getDesc;
 import static com.joe.utils.reflect.ByteCodeUtils.getMethodDesc;
 import static org.objectweb.asm.Opcodes.*;
 
@@ -12,6 +13,7 @@ import org.objectweb.asm.MethodVisitor;
 
 import com.joe.utils.reflect.ByteCodeUtils;
 import com.joe.utils.reflect.MethodConst;
+import com.joe.utils.reflect.type.JavaTypeUtil;
 
 /**
  * Asm byte code 工具
@@ -51,22 +53,88 @@ public class AsmByteCodeUtils {
      *            加载方法需要的数据
      */
     public static void invokeMethod(MethodVisitor mv, Method method, Runnable load) {
+        invokeMethod(mv, method.getDeclaringClass(), method, load);
+    }
+
+    /**
+     * byte code执行指定方法并返回结果，基本类型的返回值将会装箱，void方法返回null
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param owner
+     *            方法调用指令中使用的owner，必须是方法声明类或者其子类，方法声明类不可访问时可以传入可访问的子类
+     * @param method
+     *            要执行的方法
+     * @param load
+     *            加载方法需要的数据
+     */
+    public static void invokeMethod(MethodVisitor mv, Class<?> owner, Method method, Runnable load) {
         // 先加载数据
         load.run();
         // 执行方法
-        if (method.getDeclaringClass().isInterface()) {
-            mv.visitMethodInsn(INVOKEINTERFACE, convert(method.getDeclaringClass()), method.getName(),
-                getMethodDesc(method), true);
+        if (owner.isInterface()) {
+            mv.visitMethodInsn(INVOKEINTERFACE, convert(owner), method.getName(), getMethodDesc(method), true);
         } else {
-            mv.visitMethodInsn(INVOKEVIRTUAL, convert(method.getDeclaringClass()), method.getName(),
-                getMethodDesc(method), false);
+            mv.visitMethodInsn(INVOKEVIRTUAL, convert(owner), method.getName(), getMethodDesc(method), false);
         }
-        if (method.getReturnType() == void.class) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType == void.class) {
             mv.visitInsn(ACONST_NULL);
-            mv.visitInsn(ARETURN);
+        } else if (returnType.isPrimitive()) {
+            box(mv, returnType);
+        }
+        // 返回结果
+        mv.visitInsn(ARETURN);
+    }
+
+    /**
+     * 将栈顶的基本类型装箱
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param primitive
+     *            栈顶的基本类型
+     */
+    public static void box(MethodVisitor mv, Class<?> primitive) {
+        Class<?> wrapper = JavaTypeUtil.boxed(primitive);
+        mv.visitMethodInsn(INVOKESTATIC, convert(wrapper), "valueOf", getDesc(wrapper, primitive), false);
+    }
+
+    /**
+     * 将栈顶的Object转换为指定类型，基本类型将会先转换为对应的封装类型然后拆箱（为null时抛出NullPointerException）
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param type
+     *            要转换的类型
+     */
+    public static void unboxOrCast(MethodVisitor mv, Class<?> type) {
+        if (type.isPrimitive()) {
+            Class<?> wrapper = JavaTypeUtil.boxed(type);
+            mv.visitTypeInsn(CHECKCAST, convert(wrapper));
+            mv.visitMethodInsn(INVOKEVIRTUAL, convert(wrapper), type.getName() + "Value", getDesc(type), false);
+        } else if (type != Object.class) {
+            mv.visitTypeInsn(CHECKCAST, convert(type));
+        }
+    }
+
+    /**
+     * 将int常量入栈，根据大小选择最短的指令
+     *
+     * @param mv
+     *            MethodVisitor
+     * @param value
+     *            int常量
+     */
+    public static void pushInt(MethodVisitor mv, int value) {
+        if (value >= -1 && value <= 5) {
+            mv.visitInsn(ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(SIPUSH, value);
         } else {
-            // 返回结果
-            mv.visitInsn(ARETURN);
+            mv.visitLdcInsn(value);
         }
     }
 
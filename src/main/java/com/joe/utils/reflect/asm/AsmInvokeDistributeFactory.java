@@ -1,31 +1,32 @@
 package com.joe.utils.reflect.asm;
 
 import static com.joe.utils.reflect.ByteCodeUtils.*;
-import static com.joe.utils.reflect.InvokeDistribute.DISTRIBUTE_METHOD_DESC;
-import static com.joe.utils.reflect.InvokeDistribute.DISTRIBUTE_METHOD_NAME;
+import static com.joe.utils.reflect.InvokeDistribute.*;
 import static com.joe.utils.reflect.asm.AsmByteCodeUtils.*;
 import static org.objectweb.asm.Opcodes.*;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.TreeMap;
 
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
-import org.objectweb.asm.Opcodes;
 
+import com.joe.utils.collection.ClassValueCache;
 import com.joe.utils.collection.CollectionUtil;
 import com.joe.utils.common.Assert;
-import com.joe.utils.common.IOUtils;
 import com.joe.utils.common.string.StringFormater;
 import com.joe.utils.common.string.StringUtils;
 import com.joe.utils.exception.InvokeException;
 import com.joe.utils.reflect.*;
 
 /**
- * 使用ASM实现的InvokeDistributeFactory
+ * 使用ASM实现的InvokeDistributeFactory，生成的class文件版本为1.8，可以运行在1.8及以上的jvm中；没有指定className和
+ * classLoader时同一个Class只会生成一次
  *
  * @author JoeKerouac
  * @version $Id: joe, v 0.1 2019年02月19日 19:09 JoeKerouac Exp $
@@ -47,33 +48,53 @@ public class AsmInvokeDistributeFactory implements InvokeDistributeFactory {
      */
     private static final Constructor<Error> ERROR_CONSTRUCTOR = ReflectUtil.getConstructor(Error.class, String.class);
 
-    private final int version;
-
-    public AsmInvokeDistributeFactory() {
-        String nowVersion = System.getProperty("java.version");
-        Assert.notNull(nowVersion);
-        if (nowVersion.startsWith("1.8")) {
-            version = V1_8;
-        } else {
-            throw new InvokeException("不支持的java版本:" + nowVersion);
-        }
-    }
+    /**
+     * 默认生成的Class缓存，只有没有指定className和classLoader时才使用缓存
+     */
+    private static final ClassValueCache<Class<InvokeDistribute>> CACHE =
+        new ClassValueCache<>(clazz -> generate(clazz, createClassName(), DEFAULT_CLASSLOADER));
 
     @SuppressWarnings("unchecked")
     @Override
     public Class<InvokeDistribute> build(Class<?> clazz, String className, DynamicClassLoader classLoader) {
         Assert.notNull(clazz);
 
+        if (InvokeDistribute.class.isAssignableFrom(clazz)) {
+            return (Class<InvokeDistribute>)clazz;
+        }
+
+        // 没有指定className和classLoader时同一个Class只生成一次
+        if (StringUtils.isEmpty(className) && classLoader == null) {
+            return CACHE.get(clazz);
+        }
+
+        return generate(clazz, StringUtils.isEmpty(className) ? createClassName() : className,
+            classLoader == null ? DEFAULT_CLASSLOADER : classLoader);
+    }
+
+    /**
+     * 校验给定Class并生成InvokeDistribute实现
+     *
+     * @param clazz
+     *            给定Class
+     * @param className
+     *            生成的class名
+     * @param classLoader
+     *            用于加载生成的class的classLoader
+     * @return 生成的Class
+     */
+    private static Class<InvokeDistribute> generate(Class<?> clazz, String className,
+        DynamicClassLoader classLoader) {
         // 校验给定的class
         {
-            if (InvokeDistribute.class.isAssignableFrom(clazz)) {
-                return (Class<InvokeDistribute>)clazz;
-            }
-
             int modifier = clazz.getModifiers();
             if (!Modifier.isPublic(modifier)) {
                 throw new InvokeException(StringFormater.simpleFormat("给定class[{0}]不是public的", clazz.getName()));
             }
+
+            if (Modifier.isFinal(modifier)) {
+                throw new InvokeException(StringFormater.simpleFormat("给定class[{0}]是final的", clazz.getName()));
+            }
         }
 
         // 校验构造器
@@ -81,36 +102,23 @@ public class AsmInvokeDistributeFactory implements InvokeDistributeFactory {
             try {
                 Constructor<?> constructor = clazz.getDeclaredConstructor();
                 if (!AccessorUtil.isPublic(constructor)) {
-                    throw new InvokeException(StringFormater.simpleFormat("给定class[{}]无参构造器不是public", clazz.getName()));
+                    throw new InvokeException(StringFormater.simpleFormat("给定class[{0}]无参构造器不是public", clazz.getName()));
                 }
             } catch (NoSuchMethodException e) {
-                throw new InvokeException(StringFormater.simpleFormat("给定class[{}]没有无参构造器", clazz.getName()), e);
+                throw new InvokeException(StringFormater.simpleFormat("给定class[{0}]没有无参构造器", clazz.getName()), e);
             }
 
             try {
                 clazz.getDeclaredConstructor(clazz);
                 throw new InvokeException(
-                    StringFormater.simpleFormat("给定class[{}]不能包含只有一个[{}]类型参数的构造器", clazz.getName(), clazz.getName()));
+                    StringFormater.simpleFormat("给定class[{0}]不能包含只有一个[{1}]类型参数的构造器", clazz.getName(), clazz.getName()));
             } catch (NoSuchMethodException e) {
                 // 没有该构造器是正常的
             }
         }
 
-        if (StringUtils.isEmpty(className)) {
-            className = createClassName();
-        }
-
-        if (classLoader == null) {
-            classLoader = DEFAULT_CLASSLOADER;
-        }
-
         // 开始生成
         byte[] byteCode = buildByteCode(clazz, className);
-        try {
-            IOUtils.saveAsFile(byteCode, "/Users/joekerouac/workspace/code/Ab.class");
-        } catch (Exception e) {
-
-        }
         return classLoader.buildClass(className, byteCode, 0, byteCode.length);
     }
 
@@ -123,12 +131,18 @@ public class AsmInvokeDistributeFactory implements InvokeDistributeFactory {
      *            生成的class名
      * @return 生成的class的byte code数据
      */
-    public byte[] buildByteCode(Class<?> parentClass, String className) {
-
-        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    public static byte[] buildByteCode(Class<?> parentClass, String className) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // 生成的代码中不会合并不同类型的引用，不需要加载Class计算公共父类
+                return convert(Object.class);
+            }
+        };
 
-        cw.visit(version, // Java version
-            ACC_PUBLIC, // public class
+        // 使用1.8的class文件版本，高版本的jvm都可以加载
+        cw.visit(V1_8, // Java version
+            ACC_PUBLIC + ACC_SUPER, // public class
             convert(className), // package and name
             null, // signature (null means not generic)
             convert(parentClass), // superclass
@@ -140,9 +154,13 @@ public class AsmInvokeDistributeFactory implements InvokeDistributeFactory {
         /* 为类构建默认构造器（编译器会自动生成，但是此处要手动生成bytecode就只能手动生成无参构造器了） */
         generateDefaultConstructor(cw, parentClass, className);
 
+        // 可以动态调用的方法，方法在该集合中的下标就是方法ID
+        List<Method> methods = getInvokeableMethods(parentClass);
+
         // 构建分发方法
-        buildMethod(cw, className, parentClass);
-        // buildMethod(cw);
+        buildMethodId(cw, methods);
+        buildInvokeById(cw, className, parentClass, methods);
+        buildMethod(cw, className);
 
         // finish the class definition
         cw.visitEnd();
@@ -150,18 +168,166 @@ public class AsmInvokeDistributeFactory implements InvokeDistributeFactory {
     }
 
     /**
-     * 构建{@link InvokeDistribute#invoke(String, String, String, Object[]) invoke}方法
-     * 
+     * 获取所有可以动态调用的方法：非静态的public方法（生成的类与给定类不在同一个包中，protected方法无法通过target字段调用）
+     *
+     * @param parentClass
+     *            给定Class
+     * @return 所有可以动态调用的方法
+     */
+    private static List<Method> getInvokeableMethods(Class<?> parentClass) {
+        List<Method> methods = new ArrayList<>();
+        for (Method method : ReflectUtil.getAllMethod(parentClass)) {
+            if (!Modifier.isStatic(method.getModifiers()) && AccessorUtil.isPublic(method)) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * 构建{@link InvokeDistribute#methodId(String, String, String) methodId}方法，先根据方法名的hashCode使用lookupswitch
+     * 跳转，然后在hashCode相同的方法中比较方法名、方法说明、owner，与编译器对String switch的处理一致
+     *
+     * @param cw
+     *            ClassWriter
+     * @param methods
+     *            所有可以动态调用的方法
+     */
+    private static void buildMethodId(ClassWriter cw, List<Method> methods) {
+        MethodVisitor mv =
+            cw.visitMethod(ACC_PUBLIC, METHOD_ID_METHOD_NAME, METHOD_ID_METHOD_DESC, null, null);
+        mv.visitCode();
+
+        // 按照方法名的hashCode分组，lookupswitch要求key有序
+        TreeMap<Integer, List<Integer>> buckets = new TreeMap<>();
+        for (int i = 0; i < methods.size(); i++) {
+            buckets.computeIfAbsent(methods.get(i).getName().hashCode(), k -> new ArrayList<>()).add(i);
+        }
+
+        Label notFound = new Label();
+        if (!buckets.isEmpty()) {
+            int[] keys = new int[buckets.size()];
+            Label[] labels = new Label[buckets.size()];
+            int index = 0;
+            for (Integer key : buckets.keySet()) {
+                keys[index] = key;
+                labels[index++] = new Label();
+            }
+
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitMethodInsn(INVOKEVIRTUAL, convert(String.class), "hashCode", getDesc(int.class), false);
+            mv.visitLookupSwitchInsn(notFound, keys, labels);
+
+            index = 0;
+            for (List<Integer> bucket : buckets.values()) {
+                mv.visitLabel(labels[index++]);
+                for (Integer id : bucket) {
+                    Method method = methods.get(id);
+                    Label next = new Label();
+                    stringEquals(mv, () -> mv.visitVarInsn(ALOAD, 2), method.getName(), next,
+                        () -> stringEquals(mv, () -> mv.visitVarInsn(ALOAD, 3), ByteCodeUtils.getMethodDesc(method),
+                            next, () -> stringEquals(mv, () -> mv.visitVarInsn(ALOAD, 1),
+                                convert(method.getDeclaringClass()), next, () -> {
+                                    pushInt(mv, id);
+                                    mv.visitInsn(IRETURN);
+                                })));
+                    mv.visitLabel(next);
+                }
+                mv.visitJumpInsn(GOTO, notFound);
+            }
+        }
+
+        mv.visitLabel(notFound);
+        mv.visitInsn(ICONST_M1);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * 构建{@link InvokeDistribute#invoke(int, Object[]) invoke}方法，使用tableswitch根据方法ID直接跳转到对应的方法调用
+     *
      * @param cw
      *            ClassWriter
      * @param className
      *            生成的类名
      * @param parentClass
      *            父类
+     * @param methods
+     *            所有可以动态调用的方法
      */
-    private static void buildMethod(ClassWriter cw, String className, Class<?> parentClass) {
+    private static void buildInvokeById(ClassWriter cw, String className, Class<?> parentClass,
+        List<Method> methods) {
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC + ACC_VARARGS, DISTRIBUTE_METHOD_NAME, ID_DISTRIBUTE_METHOD_DESC,
+            null, CollectionUtil.array(convert(NoSuchMethodException.class)));
+        mv.visitCode();
+
+        Label notFound = new Label();
+        if (!methods.isEmpty()) {
+            Label[] labels = new Label[methods.size()];
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = new Label();
+            }
+
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitTableSwitchInsn(0, labels.length - 1, notFound, labels);
+
+            for (int i = 0; i < labels.length; i++) {
+                Method method = methods.get(i);
+                mv.visitLabel(labels[i]);
+                // 方法声明类不可访问时（例如public方法声明在包级私有的父类中）通过给定类调用
+                Class<?> owner = Modifier.isPublic(method.getDeclaringClass().getModifiers())
+                    ? method.getDeclaringClass() : parentClass;
+                invokeMethod(mv, owner, method, () -> {
+                    // 调用代理对象对应的方法而不是本代理的方法
+                    mv.visitVarInsn(ALOAD, 0);
+                    mv.visitFieldInsn(GETFIELD, convert(className), TARGET_FIELD_NAME, getByteCodeType(parentClass));
+
+                    // 循环载入参数
+                    Class<?>[] types = method.getParameterTypes();
+                    for (int j = 0; j < types.length; j++) {
+                        mv.visitVarInsn(ALOAD, 2);
+                        pushInt(mv, j);
+                        mv.visitInsn(AALOAD);
+                        unboxOrCast(mv, types[j]);
+                    }
+                });
+            }
+        }
+
+        // throw new NoSuchMethodException("method id [" + methodId + "] not found");
+        mv.visitLabel(notFound);
+        mv.visitTypeInsn(NEW, convert(NoSuchMethodException.class));
+        mv.visitInsn(DUP);
+        mv.visitLdcInsn("method id [%d] not found");
+        mv.visitInsn(ICONST_1);
+        mv.visitTypeInsn(ANEWARRAY, convert(Object.class));
+        mv.visitInsn(DUP);
+        mv.visitInsn(ICONST_0);
+        mv.visitVarInsn(ILOAD, 1);
+        box(mv, int.class);
+        mv.visitInsn(AASTORE);
+        mv.visitMethodInsn(INVOKESTATIC, convert(String.class), MethodConst.FORMAT_METHOD.getName(),
+            getMethodDesc(MethodConst.FORMAT_METHOD), false);
+        mv.visitMethodInsn(INVOKESPECIAL, convert(NoSuchMethodException.class), INIT,
+            getConstructorDesc(ERROR_CONSTRUCTOR), false);
+        mv.visitInsn(ATHROW);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    /**
+     * 构建{@link InvokeDistribute#invoke(String, String, String, Object[]) invoke}方法，先通过methodId获取方法ID，然后调用
+     * {@link InvokeDistribute#invoke(int, Object[]) invoke}
+     * 
+     * @param cw
+     *            ClassWriter
+     * @param className
+     *            生成的类名
+     */
+    private static void buildMethod(ClassWriter cw, String className) {
         /* Build method */
-        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, // public method
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC + ACC_VARARGS, // public method
             DISTRIBUTE_METHOD_NAME, // name
             DISTRIBUTE_METHOD_DESC, // descriptor
             null, // signature (null means not generic)
@@ -169,31 +335,33 @@ public class AsmInvokeDistributeFactory implements InvokeDistributeFactory {
         // 开始方法区
         mv.visitCode();
 
-        // 判断要调用那个方法，然后将动态调用转化为对应的本地调用
+        // int id = methodId(owner, methodName, desc);
+        Label notFound = new Label();
         {
-            List<Method> allMethod = ReflectUtil.getAllMethod(parentClass);
-
-            Label next = new Label();
-            Label start = new Label();
-            for (Method method : allMethod) {
-                // 只处理非静态的public方法和protected方法
-                if (Modifier.isStatic(method.getModifiers())
-                    || (!AccessorUtil.isPublic(method) && !AccessorUtil.isProtected(method))) {
-                    continue;
-                }
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitVarInsn(ALOAD, 2);
+            mv.visitVarInsn(ALOAD, 3);
+            mv.visitMethodInsn(INVOKEVIRTUAL, convert(className), METHOD_ID_METHOD_NAME, METHOD_ID_METHOD_DESC,
+                false);
+            mv.visitVarInsn(ISTORE, 5);
+            mv.visitVarInsn(ILOAD, 5);
+            mv.visitJumpInsn(IFLT, notFound);
+        }
 
-                createIf(mv, method, next, start, className, parentClass);
-                start = next;
-                next = new Label();
-            }
-            // 结束位置标记
-            mv.visitLabel(start);
-            mv.visitFrame(F_SAME, 0, null, 0, null);
+        // return invoke(id, args);
+        {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(ILOAD, 5);
+            mv.visitVarInsn(ALOAD, 4);
+            mv.visitMethodInsn(INVOKEVIRTUAL, convert(className), DISTRIBUTE_METHOD_NAME, ID_DISTRIBUTE_METHOD_DESC,
+                false);
+            mv.visitInsn(ARETURN);
         }
 
         // throw new NoSuchMethodException(String.format("method [%s:%s:%s] not found", owner, methodName, desc));
         {
-            // 默认抛出Error，不应该有这种情况
+            mv.visitLabel(notFound);
             mv.visitTypeInsn(NEW, convert(NoSuchMethodException.class));
             mv.visitInsn(DUP);
             mv.visitLdcInsn("method [%s:%s:%s] not found");
@@ -227,59 +395,6 @@ public class AsmInvokeDistributeFactory implements InvokeDistributeFactory {
         mv.visitEnd();
     }
 
-    /**
-     * 创建if分支的byte code
-     * 
-     * @param mv
-     *            MethodVisitor
-     * @param method
-     *            Method
-     * @param next
-     *            下一个分支的起始位置
-     * @param start
-     *            该分支的结束位置
-     */
-    private static void createIf(MethodVisitor mv, Method method, Label next, Label start, String className,
-        Class<?> parentClass) {
-        // 标记分支开始位置
-        mv.visitLabel(start);
-        mv.visitFrame(F_SAME, 0, null, 0, null);
-        // 比较方法声明类
-        stringEquals(mv, () -> mv.visitVarInsn(ALOAD, 1), convert(method.getDeclaringClass()), next, () -> {
-            // 比较方法名
-            stringEquals(mv, () -> mv.visitVarInsn(ALOAD, 2), method.getName(), next, () -> {
-                // 方法名一致再比较方法说明
-                stringEquals(mv, () -> mv.visitVarInsn(ALOAD, 3), ByteCodeUtils.getMethodDesc(method), next, () -> {
-                    // 方法说明也一致后执行方法
-                    invokeMethod(mv, method, () -> {
-                        // 调用代理对象对应的方法而不是本代理的方法
-                        mv.visitVarInsn(ALOAD, 0);
-                        mv.visitFieldInsn(GETFIELD, convert(className), TARGET_FIELD_NAME,
-                            getByteCodeType(parentClass));
-                        // 获取参数数量，用于载入参数
-                        int count = method.getParameterCount();
-                        Class<?>[] types = method.getParameterTypes();
-
-                        // 循环载入参数
-                        for (int i = 0; i < count; i++) {
-                            mv.visitVarInsn(Opcodes.ALOAD, 4);
-                            // 这里注意，访问数组下标0-5和6-无穷是不一样的
-                            // 访问0-5对应的byte code： aload | iconst_[0-5] | aaload
-                            // 访问下标大于5的byte code: aload | bipush [6-无穷] aaload
-                            if (i <= 5) {
-                                mv.visitInsn(ICONST_0 + i);
-                            } else {
-                                mv.visitIntInsn(BIPUSH, i);
-                            }
-                            mv.visitInsn(Opcodes.AALOAD);
-                            mv.visitTypeInsn(CHECKCAST, convert(types[i]));
-                        }
-                    });
-                });
-            });
-        });
-    }
-
     /**
      * 为类构建默认构造器（正常编译器会自动生成，但是此处要手动生成bytecode就只能手动生成无参构造器了
      * 
@@ -264,6 +264,101 @@ public class JavaTypeUtil {
         return clazz.isPrimitive();
     }
 
+    /**
+     * 获取基本类型对应的封装类型
+     *
+     * @param clazz
+     *            Class对象，不能为null
+     * @return 如果是基本类型则返回对应的封装类型（void返回Void），否则原样返回
+     */
+    public static Class<?> boxed(Class<?> clazz) {
+        Assert.notNull(clazz, "clazz不能为null");
+        if (!clazz.isPrimitive()) {
+            return clazz;
+        } else if (int.class == clazz) {
+            return Integer.class;
+        } else if (long.class == clazz) {
+            return Long.class;
+        } else if (boolean.class == clazz) {
+            return Boolean.class;
+        } else if (double.class == clazz) {
+            return Double.class;
+        } else if (float.class == clazz) {
+            return Float.class;
+        } else if (short.class == clazz) {
+            return Short.class;
+        } else if (byte.class == clazz) {
+            return Byte.class;
+        } else if (char.class == clazz) {
+            return Character.class;
+        } else {
+            return Void.class;
+        }
+    }
+
+    /**
+     * 获取封装类型对应的基本类型
+     *
+     * @param clazz
+     *            Class对象，不能为null
+     * @return 如果是基本类型则原样返回，如果是封装类型则返回对应的基本类型，否则返回null
+     */
+    public static Class<?> unboxed(Class<?> clazz) {
+        Assert.notNull(clazz, "clazz不能为null");
+        if (clazz.isPrimitive()) {
+            return clazz;
+        } else if (Integer.class == clazz) {
+            return int.class;
+        } else if (Long.class == clazz) {
+            return long.class;
+        } else if (Boolean.class == clazz) {
+            return boolean.class;
+        } else if (Double.class == clazz) {
+            return double.class;
+        } else if (Float.class == clazz) {
+            return float.class;
+        } else if (Short.class == clazz) {
+            return short.class;
+        } else if (Byte.class == clazz) {
+            return byte.class;
+        } else if (Character.class == clazz) {
+            return char.class;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * 判断基本类型from是否可以通过拓宽转换（JLS 5.1.2）转换为基本类型to，两者相同时也返回true
+     *
+     * @param from
+     *            原始基本类型
+     * @param to
+     *            目标基本类型
+     * @return 可以无损隐式转换时返回true
+     */
+    public static boolean isPrimitiveWidening(Class<?> from, Class<?> to) {
+        Assert.notNull(from, "from不能为null");
+        Assert.notNull(to, "to不能为null");
+        if (from == to) {
+            return from.isPrimitive();
+        }
+        if (from == byte.class) {
+            return to == short.class || to == int.class || to == long.class || to == float.class
+                || to == double.class;
+        } else if (from == short.class || from == char.class) {
+            return to == int.class || to == long.class || to == float.class || to == double.class;
+        } else if (from == int.class) {
+            return to == long.class || to == float.class || to == double.class;
+        } else if (from == long.class) {
+            return to == float.class || to == double.class;
+        } else if (from == float.class) {
+            return to == double.class;
+        } else {
+            return false;
+        }
+    }
+
     /**
      * 从JavaType中抽取真实的基类
      *
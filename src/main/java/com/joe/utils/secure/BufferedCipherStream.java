@@ -0,0 +1,57 @@
+package com.joe.utils.secure;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link CipherUtil}流式加解密的默认实现，将写入的数据缓存在内存中，关闭时基于{@link CipherUtil#encrypt(byte[])}（或者
+ * {@link CipherUtil#decrypt(byte[])}）一次性处理后写入目标流，不占用任何池中对象；只用于兼容没有覆盖流式方法的实现类
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:50 JoeKerouac Exp $
+ */
+final class BufferedCipherStream extends ByteArrayOutputStream {
+
+    private final UnaryOperator<byte[]> function;
+
+    private final OutputStream out;
+
+    private final boolean closeTarget;
+
+    private boolean closed;
+
+    /**
+     * 构造器
+     *
+     * @param function
+     *            加密或者解密函数
+     * @param out
+     *            处理结果写入的输出流
+     * @param closeTarget
+     *            关闭时是否关闭out
+     */
+    BufferedCipherStream(UnaryOperator<byte[]> function, OutputStream out, boolean closeTarget) {
+        this.function = function;
+        this.out = out;
+        this.closeTarget = closeTarget;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.write(function.apply(toByteArray()));
+        } finally {
+            if (closeTarget) {
+                out.close();
+            } else {
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.joe.utils.secure;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import com.joe.utils.exception.PoolObjectHolderClosedException;
+
+/**
+ * {@link MessageDigestUtil#newDigester()}的默认实现，将数据缓存在内存中，{@link #finish()}时调用
+ * {@link MessageDigestUtil#digest(byte[])}一次性计算，不占用任何池中对象；只用于兼容没有覆盖该方法的实现类
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:50 JoeKerouac Exp $
+ */
+final class BufferedDigester implements Digester {
+
+    private final MessageDigestUtil util;
+
+    private ByteArrayOutputStream data;
+
+    BufferedDigester(MessageDigestUtil util) {
+        this.util = util;
+        this.data = new ByteArrayOutputStream();
+    }
+
+    @Override
+    public Digester update(byte[] data, int offset, int len) {
+        check();
+        this.data.write(data, offset, len);
+        return this;
+    }
+
+    @Override
+    public Digester update(ByteBuffer buffer) {
+        check();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        data.write(bytes, 0, bytes.length);
+        return this;
+    }
+
+    @Override
+    public byte[] finish() {
+        check();
+        byte[] bytes = data.toByteArray();
+        data = null;
+        return util.digest(bytes);
+    }
+
+    @Override
+    public void close() {
+        data = null;
+    }
+
+    private void check() {
+        if (data == null) {
+            throw new PoolObjectHolderClosedException("Digester has bean closed");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.joe.utils.secure;
+
+/**
+ * 加密相关对象（Cipher、Signature、MessageDigest）的缓存策略，这些对象有状态、不能并发使用，但是可以重复使用
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:30 JoeKerouac Exp $
+ */
+public enum CacheStrategy {
+
+    /**
+     * 每个线程一个实例，没有任何同步开销，适合线程数固定的场景；同一线程重入（例如批量接口的迭代器中再次调用）时临时创建新实例
+     */
+    THREAD_LOCAL,
+
+    /**
+     * 所有线程共用一个有界对象池，实例数量受控，适合线程数量多、变化大的场景
+     */
+    POOLED,
+
+    /**
+     * 优先使用线程本地实例，重入时从对象池中获取，默认策略
+     */
+    HYBRID
+}
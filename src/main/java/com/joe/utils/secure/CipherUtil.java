@@ -1,6 +1,16 @@
 package com.joe.utils.secure;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.security.Key;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.joe.utils.codec.IBase64;
+import com.joe.utils.common.IOUtils;
 
 /**
  * 加密工具
@@ -24,6 +34,21 @@ public interface CipherUtil {
      */
     byte[] encrypt(byte[] content);
 
+    /**
+     * 批量加密，实现类应该在整个批次中只获取一次底层的Cipher
+     *
+     * @param contents
+     *            要加密的内容
+     * @return 加密后的数据，顺序与入参一致
+     */
+    default List<byte[]> encrypt(List<byte[]> contents) {
+        List<byte[]> result = new ArrayList<>(contents.size());
+        for (byte[] content : contents) {
+            result.add(encrypt(content));
+        }
+        return result;
+    }
+
     /**
      * 解密
      *
@@ -42,6 +67,102 @@ public interface CipherUtil {
      */
     byte[] decrypt(byte[] content);
 
+    /**
+     * 批量解密，实现类应该在整个批次中只获取一次底层的Cipher
+     *
+     * @param contents
+     *            要解密的内容
+     * @return 解密后的数据，顺序与入参一致
+     */
+    default List<byte[]> decrypt(List<byte[]> contents) {
+        List<byte[]> result = new ArrayList<>(contents.size());
+        for (byte[] content : contents) {
+            result.add(decrypt(content));
+        }
+        return result;
+    }
+
+    /**
+     * 创建加密输出流，写入的明文加密后写入out，关闭时完成加密并关闭out；输出的是原始密文，不会做BASE64 encode，使用完后必须
+     * 关闭；默认实现将明文缓存在内存中，关闭时调用{@link #encrypt(byte[])}一次性加密（按照本库的约定其结果是BASE64 encode
+     * 过的，decode后输出），实现类应该覆盖该方法
+     *
+     * @param out
+     *            密文输出流
+     * @return 加密输出流
+     */
+    default OutputStream encrypt(OutputStream out) {
+        return new BufferedCipherStream(data -> IBase64.decrypt(encrypt(data)), out, true);
+    }
+
+    /**
+     * 创建解密输出流，写入的原始密文（没有BASE64 encode过的）解密后写入out，关闭时完成解密并关闭out，使用完后必须关闭；默认
+     * 实现将密文缓存在内存中，关闭时BASE64 encode后调用{@link #decrypt(byte[])}一次性解密，实现类应该覆盖该方法
+     *
+     * @param out
+     *            明文输出流
+     * @return 解密输出流
+     */
+    default OutputStream decrypt(OutputStream out) {
+        return new BufferedCipherStream(data -> decrypt(IBase64.encrypt(data)), out, true);
+    }
+
+    /**
+     * 创建加密channel，写入的明文加密后写入channel，关闭时完成加密并关闭channel；输出的是原始密文，不会做BASE64 encode，使
+     * 用完后必须关闭；默认实现基于{@link #encrypt(OutputStream)}
+     *
+     * @param channel
+     *            密文输出channel
+     * @return 加密channel
+     */
+    default WritableByteChannel encrypt(WritableByteChannel channel) {
+        return Channels.newChannel(encrypt(Channels.newOutputStream(channel)));
+    }
+
+    /**
+     * 创建解密channel，写入的原始密文（没有BASE64 encode过的）解密后写入channel，关闭时完成解密并关闭channel，使用完后必须
+     * 关闭；默认实现基于{@link #decrypt(OutputStream)}
+     *
+     * @param channel
+     *            明文输出channel
+     * @return 解密channel
+     */
+    default WritableByteChannel decrypt(WritableByteChannel channel) {
+        return Channels.newChannel(decrypt(Channels.newOutputStream(channel)));
+    }
+
+    /**
+     * 流式加密，读取in中的所有明文加密后写入out，输出的是原始密文，不会做BASE64 encode；不会关闭in和out；默认实现将明文全部
+     * 读入内存后调用{@link #encrypt(byte[])}（结果decode后输出），实现类应该覆盖该方法
+     *
+     * @param in
+     *            明文输入流
+     * @param out
+     *            密文输出流
+     * @throws IOException
+     *             读写异常时抛出
+     */
+    default void encrypt(InputStream in, OutputStream out) throws IOException {
+        out.write(IBase64.decrypt(encrypt(IOUtils.read(in, 8192, false))));
+        out.flush();
+    }
+
+    /**
+     * 流式解密，读取in中的所有原始密文（没有BASE64 encode过的）解密后写入out；不会关闭in和out；默认实现将密文全部读入内存
+     * 并BASE64 encode后调用{@link #decrypt(byte[])}，实现类应该覆盖该方法
+     *
+     * @param in
+     *            密文输入流
+     * @param out
+     *            明文输出流
+     * @throws IOException
+     *             读写异常时抛出
+     */
+    default void decrypt(InputStream in, OutputStream out) throws IOException {
+        out.write(decrypt(IBase64.encrypt(IOUtils.read(in, 8192, false))));
+        out.flush();
+    }
+
     /**
      * 获取私钥
      *
@@ -0,0 +1,22 @@
+package com.joe.utils.secure;
+
+/**
+ * {@link MessageDigestUtil}默认方法使用的调优参数，仅包内可见，不作为公开API
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:50 JoeKerouac Exp $
+ */
+final class DigestConstants {
+
+    /**
+     * 流式读取时的缓冲区大小
+     */
+    static final int  BUFFER_SIZE = 8192;
+
+    /**
+     * 内存映射文件时单次映射的最大长度
+     */
+    static final long MAP_SIZE    = 64 * 1024 * 1024;
+
+    private DigestConstants() {}
+}
@@ -0,0 +1,59 @@
+package com.joe.utils.secure;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 增量摘要，由{@link MessageDigestUtil#newDigester()}创建，持有独立的MessageDigest（不占用池中对象），调用
+ * {@link #finish()}或者{@link #close()}后不能再使用；非线程安全
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 23:00 JoeKerouac Exp $
+ */
+public interface Digester extends AutoCloseable {
+
+    /**
+     * 追加数据
+     *
+     * @param data
+     *            数据
+     * @return 当前Digester
+     */
+    default Digester update(byte[] data) {
+        return update(data, 0, data.length);
+    }
+
+    /**
+     * 追加数据
+     *
+     * @param data
+     *            数据
+     * @param offset
+     *            起始位置
+     * @param len
+     *            长度
+     * @return 当前Digester
+     */
+    Digester update(byte[] data, int offset, int len);
+
+    /**
+     * 追加buffer中position到limit之间的数据，完成后buffer的position等于limit，支持direct buffer
+     *
+     * @param buffer
+     *            数据
+     * @return 当前Digester
+     */
+    Digester update(ByteBuffer buffer);
+
+    /**
+     * 完成摘要计算
+     *
+     * @return 摘要
+     */
+    byte[] finish();
+
+    /**
+     * 放弃计算，已经调用{@link #finish()}时什么也不做
+     */
+    @Override
+    void close();
+}
@@ -1,5 +1,16 @@
 package com.joe.utils.secure;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * 数据摘要工具
  *
@@ -7,6 +18,7 @@ package com.joe.utils.secure;
  * @version 2018.07.12 13:40
  */
 public interface MessageDigestUtil {
+
     /**
      * 获取数据摘要
      *
@@ -25,6 +37,108 @@ public interface MessageDigestUtil {
      */
     byte[] digest(byte[] data);
 
+    /**
+     * 批量获取数据摘要，实现类应该在整个批次中只获取一次底层的摘要实例
+     *
+     * @param datas
+     *            数据
+     * @return 对应的摘要，顺序与入参一致
+     */
+    default List<byte[]> digest(List<byte[]> datas) {
+        List<byte[]> result = new ArrayList<>(datas.size());
+        for (byte[] data : datas) {
+            result.add(digest(data));
+        }
+        return result;
+    }
+
+    /**
+     * 获取buffer中position到limit之间数据的摘要，完成后buffer的position等于limit，支持direct buffer
+     *
+     * @param buffer
+     *            数据
+     * @return 对应的摘要
+     */
+    default byte[] digest(ByteBuffer buffer) {
+        try (Digester digester = newDigester()) {
+            return digester.update(buffer).finish();
+        }
+    }
+
+    /**
+     * 流式获取输入流中所有数据的摘要，不会将数据全部读入内存，也不会关闭输入流
+     *
+     * @param in
+     *            输入流
+     * @return 对应的摘要
+     * @throws IOException
+     *             读取输入流异常时抛出
+     */
+    default byte[] digest(InputStream in) throws IOException {
+        byte[] buffer = new byte[DigestConstants.BUFFER_SIZE];
+        try (Digester digester = newDigester()) {
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                digester.update(buffer, 0, len);
+            }
+            return digester.finish();
+        }
+    }
+
+    /**
+     * 流式获取channel中所有数据的摘要，不会将数据全部读入内存，也不会关闭channel
+     *
+     * @param channel
+     *            channel
+     * @return 对应的摘要
+     * @throws IOException
+     *             读取channel异常时抛出
+     */
+    default byte[] digest(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(DigestConstants.BUFFER_SIZE);
+        try (Digester digester = newDigester()) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digester.update(buffer);
+                buffer.clear();
+            }
+            return digester.finish();
+        }
+    }
+
+    /**
+     * 使用内存映射获取文件的摘要，文件内容不会读入堆内存，适用于大文件
+     *
+     * @param file
+     *            文件
+     * @return 对应的摘要
+     * @throws IOException
+     *             读取文件异常时抛出
+     */
+    default byte[] digest(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            Digester digester = newDigester()) {
+            long size = channel.size();
+            // 单次映射不能超过Integer.MAX_VALUE，所以分段映射
+            for (long position = 0; position < size; position += DigestConstants.MAP_SIZE) {
+                long length = Math.min(DigestConstants.MAP_SIZE, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                digester.update(buffer);
+            }
+            return digester.finish();
+        }
+    }
+
+    /**
+     * 创建增量摘要，使用完后需要调用{@link Digester#finish()}或者{@link Digester#close()}，建议使用try-with-resources；
+     * 默认实现将数据缓存在内存中，finish时调用{@link #digest(byte[])}一次性计算，实现类应该覆盖该方法提供真正的增量计算
+     *
+     * @return 增量摘要
+     */
+    default Digester newDigester() {
+        return new BufferedDigester(this);
+    }
+
     /**
      * 摘要算法
      */
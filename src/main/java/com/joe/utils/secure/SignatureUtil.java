@@ -1,5 +1,9 @@
 package com.joe.utils.secure;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 /**
  * 签名工具
  *
@@ -25,6 +29,21 @@ public interface SignatureUtil {
      */
     byte[] sign(byte[] content);
 
+    /**
+     * 使用私钥批量签名，实现类应该在整个批次中只获取一次底层的签名实例
+     *
+     * @param contents
+     *            要签名的数据
+     * @return 签名结果（会对签名结果做BASE64 encode处理），顺序与入参一致
+     */
+    default List<byte[]> sign(Iterator<byte[]> contents) {
+        List<byte[]> result = new ArrayList<>();
+        while (contents.hasNext()) {
+            result.add(sign(contents.next()));
+        }
+        return result;
+    }
+
     /**
      * 使用公钥校验签名
      *
@@ -47,6 +66,26 @@ public interface SignatureUtil {
      */
     boolean checkSign(byte[] content, byte[] data);
 
+    /**
+     * 使用公钥批量校验签名，实现类应该在整个批次中只获取一次底层的验签实例
+     *
+     * @param contents
+     *            原文
+     * @param datas
+     *            签名数据（BASE64 encode过的），与原文一一对应
+     * @return 每条数据的校验结果，顺序与入参一致
+     */
+    default List<Boolean> checkSign(List<byte[]> contents, List<byte[]> datas) {
+        if (contents.size() != datas.size()) {
+            throw new IllegalArgumentException("原文数量与签名数量不一致");
+        }
+        List<Boolean> result = new ArrayList<>(contents.size());
+        for (int i = 0; i < contents.size(); i++) {
+            result.add(checkSign(contents.get(i), datas.get(i)));
+        }
+        return result;
+    }
+
     /**
      * 签名算法
      */
@@ -1,16 +1,23 @@
 package com.joe.utils.secure.impl;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.crypto.Cipher;
 import javax.crypto.NoSuchPaddingException;
 
-import com.joe.utils.pool.ObjectPoolImpl;
+import com.joe.utils.pool.ObjectPool;
 import com.joe.utils.pool.PooledObject;
+import com.joe.utils.secure.CacheStrategy;
 import com.joe.utils.secure.CipherUtil;
 import com.joe.utils.secure.exception.SecureException;
 
@@ -27,20 +34,21 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public abstract class AbstractCipher implements CipherUtil {
-    private static final Map<String, ObjectPoolImpl<CipherHolder>> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, ObjectPool<CipherHolder>> CACHE = new ConcurrentHashMap<>();
     private String id;
     private Algorithms algorithms;
     private Key priKey;
     private Key pubKey;
+    private final ObjectPool<CipherHolder> pool;
 
-    AbstractCipher(String id, Algorithms algorithms, Key priKey, Key pubKey) {
+    AbstractCipher(String id, Algorithms algorithms, Key priKey, Key pubKey, CacheStrategy strategy) {
         this.id = id.intern();
         this.algorithms = algorithms;
         this.priKey = priKey;
         this.pubKey = pubKey;
 
-        CACHE.computeIfAbsent(this.id, key -> {
-            ObjectPoolImpl<CipherHolder> pool = new ObjectPoolImpl<>(this::build);
+        this.pool = CACHE.computeIfAbsent(this.id + ":" + strategy.name(), key -> {
+            ObjectPool<CipherHolder> pool = SecurePools.newPool(this::build, strategy);
             // 快速验证
             pool.get().close();
             return pool;
@@ -57,16 +65,28 @@ public abstract class AbstractCipher implements CipherUtil {
         Key priKey = getPrivateKey();
         Key pubKey = getPublicKey();
         log.debug("构建key成功，开始构建Cipher");
-        try {
-            Cipher encrypt = Cipher.getInstance(algorithms.toString());
-            encrypt.init(Cipher.ENCRYPT_MODE, pubKey);
+        Cipher encrypt = newCipher(Cipher.ENCRYPT_MODE, pubKey);
+        Cipher decrypt = newCipher(Cipher.DECRYPT_MODE, priKey);
+        log.debug("Cipher构建成功");
+        return new CipherHolder(algorithms, encrypt, decrypt, pubKey, priKey);
+    }
 
-            Cipher decrypt = Cipher.getInstance(algorithms.toString());
-            decrypt.init(Cipher.DECRYPT_MODE, priKey);
-            log.debug("Cipher构建成功");
-            return new CipherHolder(algorithms, encrypt, decrypt, pubKey, priKey);
+    /**
+     * 创建并初始化一个新的Cipher
+     *
+     * @param mode
+     *            {@link Cipher#ENCRYPT_MODE}或者{@link Cipher#DECRYPT_MODE}
+     * @param key
+     *            key
+     * @return Cipher
+     */
+    private Cipher newCipher(int mode, Key key) {
+        try {
+            Cipher cipher = Cipher.getInstance(algorithms.toString());
+            cipher.init(mode, key);
+            return cipher;
         } catch (NoSuchAlgorithmException | NoSuchPaddingException | InvalidKeyException e) {
-            throw new SecureException("构建CipherHolder[" + algorithms + "]失败", e);
+            throw new SecureException("构建Cipher[" + algorithms + "]失败", e);
         }
     }
 
@@ -92,6 +112,17 @@ public abstract class AbstractCipher implements CipherUtil {
      */
     protected abstract byte[] decrypt(CipherHolder holder, byte[] data);
 
+    /**
+     * 流式加解密时的分段大小，每段输入单独做一次doFinal，默认不分段
+     *
+     * @param key
+     *            加密时是公钥，解密时是私钥
+     * @return 分段大小，小于等于0表示不分段
+     */
+    protected int blockSize(Key key) {
+        return 0;
+    }
+
     @Override
     public String encrypt(String content) {
         return new String(encrypt(content.getBytes()));
@@ -99,11 +130,23 @@ public abstract class AbstractCipher implements CipherUtil {
 
     @Override
     public byte[] encrypt(byte[] content) {
-        try (PooledObject<CipherHolder> holder = CACHE.get(id).get()) {
+        try (PooledObject<CipherHolder> holder = pool.get()) {
             return encrypt(holder.get(), content);
         }
     }
 
+    @Override
+    public List<byte[]> encrypt(List<byte[]> contents) {
+        List<byte[]> result = new ArrayList<>(contents.size());
+        try (PooledObject<CipherHolder> holder = pool.get()) {
+            CipherHolder cipherHolder = holder.get();
+            for (byte[] content : contents) {
+                result.add(encrypt(cipherHolder, content));
+            }
+        }
+        return result;
+    }
+
     @Override
     public String decrypt(String content) {
         return new String(decrypt(content.getBytes()));
@@ -111,11 +154,53 @@ public abstract class AbstractCipher implements CipherUtil {
 
     @Override
     public byte[] decrypt(byte[] content) {
-        try (PooledObject<CipherHolder> holder = CACHE.get(id).get()) {
+        try (PooledObject<CipherHolder> holder = pool.get()) {
             return decrypt(holder.get(), content);
         }
     }
 
+    @Override
+    public List<byte[]> decrypt(List<byte[]> contents) {
+        List<byte[]> result = new ArrayList<>(contents.size());
+        try (PooledObject<CipherHolder> holder = pool.get()) {
+            CipherHolder cipherHolder = holder.get();
+            for (byte[] content : contents) {
+                result.add(decrypt(cipherHolder, content));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public OutputStream encrypt(OutputStream out) {
+        return stream(true, out, true);
+    }
+
+    @Override
+    public OutputStream decrypt(OutputStream out) {
+        return stream(false, out, true);
+    }
+
+    @Override
+    public WritableByteChannel encrypt(WritableByteChannel channel) {
+        return channel(true, channel);
+    }
+
+    @Override
+    public WritableByteChannel decrypt(WritableByteChannel channel) {
+        return channel(false, channel);
+    }
+
+    @Override
+    public void encrypt(InputStream in, OutputStream out) throws IOException {
+        copy(in, stream(true, out, false));
+    }
+
+    @Override
+    public void decrypt(InputStream in, OutputStream out) throws IOException {
+        copy(in, stream(false, out, false));
+    }
+
     @Override
     public Key getPrivateKey() {
         return priKey;
@@ -136,6 +221,58 @@ public abstract class AbstractCipher implements CipherUtil {
         return algorithms;
     }
 
+    /**
+     * 创建流式加解密的输出流，输出流由调用方持有（可能跨线程、可能不关闭），所以使用新建的Cipher，不占用池中的对象
+     *
+     * @param encrypt
+     *            true表示加密，false表示解密
+     * @param out
+     *            处理结果写入的输出流
+     * @param closeTarget
+     *            关闭时是否关闭out
+     * @return 输出流
+     */
+    private OutputStream stream(boolean encrypt, OutputStream out, boolean closeTarget) {
+        Key key = encrypt ? getPublicKey() : getPrivateKey();
+        Cipher cipher = newCipher(encrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, key);
+        return CipherSink.stream(cipher, blockSize(key), out, closeTarget);
+    }
+
+    /**
+     * 创建流式加解密的channel，与{@link #stream(boolean, OutputStream, boolean)}一样使用新建的Cipher
+     *
+     * @param encrypt
+     *            true表示加密，false表示解密
+     * @param channel
+     *            处理结果写入的channel
+     * @return channel
+     */
+    private WritableByteChannel channel(boolean encrypt, WritableByteChannel channel) {
+        Key key = encrypt ? getPublicKey() : getPrivateKey();
+        Cipher cipher = newCipher(encrypt ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, key);
+        return CipherSink.channel(cipher, blockSize(key), channel);
+    }
+
+    /**
+     * 将输入流中的数据全部写入加解密输出流并关闭加解密输出流
+     *
+     * @param in
+     *            输入流
+     * @param cipherOut
+     *            加解密输出流
+     * @throws IOException
+     *             读写异常时抛出
+     */
+    private static void copy(InputStream in, OutputStream cipherOut) throws IOException {
+        try (OutputStream out = cipherOut) {
+            byte[] buffer = new byte[8192];
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                out.write(buffer, 0, len);
+            }
+        }
+    }
+
     /**
      * Cipher持有者
      */
@@ -15,6 +15,7 @@ import javax.crypto.IllegalBlockSizeException;
 
 import com.joe.utils.codec.IBase64;
 import com.joe.utils.common.IOUtils;
+import com.joe.utils.secure.CacheStrategy;
 import com.joe.utils.secure.CipherUtil;
 import com.joe.utils.secure.KeyTools;
 import com.joe.utils.secure.exception.SecureException;
@@ -29,8 +30,9 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class AsymmetricCipher extends AbstractCipher {
-    private AsymmetricCipher(String id, Algorithms algorithms, PrivateKey privateKey, PublicKey publicKey) {
-        super(id, algorithms, privateKey, publicKey);
+    private AsymmetricCipher(String id, Algorithms algorithms, PrivateKey privateKey, PublicKey publicKey,
+                             CacheStrategy strategy) {
+        super(id, algorithms, privateKey, publicKey, strategy);
     }
 
     /**
@@ -72,8 +74,23 @@ public class AsymmetricCipher extends AbstractCipher {
      * @return AsymmetricCipher
      */
     public static CipherUtil buildInstance(PrivateKey privateKey, PublicKey publicKey) {
+        return buildInstance(privateKey, publicKey, SecurePools.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * 非对称加密构造器
+     *
+     * @param privateKey
+     *            PKCS8格式的私钥
+     * @param publicKey
+     *            X509格式的公钥
+     * @param strategy
+     *            底层Cipher的缓存策略
+     * @return AsymmetricCipher
+     */
+    public static CipherUtil buildInstance(PrivateKey privateKey, PublicKey publicKey, CacheStrategy strategy) {
         return new AsymmetricCipher(new String(IBase64.encrypt(privateKey.getEncoded())) + ":"
-            + new String(IBase64.encrypt(publicKey.getEncoded())), Algorithms.RSA, privateKey, publicKey);
+            + new String(IBase64.encrypt(publicKey.getEncoded())), Algorithms.RSA, privateKey, publicKey, strategy);
     }
 
     @Override
@@ -86,6 +103,19 @@ public class AsymmetricCipher extends AbstractCipher {
         return doCipher(holder.getDecrypt(), holder.getPrivateKey(), IBase64.decrypt(data));
     }
 
+    @Override
+    protected int blockSize(Key key) {
+        RSAKey rsaKey = (RSAKey)key;
+
+        // 计算block大小
+        int maxBlock = rsaKey.getModulus().bitLength() / 8;
+        // 加密时需要减11
+        if (key instanceof RSAPublicKey) {
+            maxBlock = maxBlock - 11;
+        }
+        return maxBlock;
+    }
+
     /**
      * 加/解密数据
      *
@@ -99,14 +129,7 @@ public class AsymmetricCipher extends AbstractCipher {
      */
     private byte[] doCipher(Cipher cipher, Key key, byte[] datas) {
         log.debug("开始非对称的加解密");
-        RSAKey rsaKey = (RSAKey)key;
-
-        // 计算block大小
-        int maxBlock = rsaKey.getModulus().bitLength() / 8;
-        // 加密时需要减11
-        if (key instanceof RSAPublicKey) {
-            maxBlock = maxBlock - 11;
-        }
+        int maxBlock = blockSize(key);
 
         log.debug("当前block大小为：[{}]，开始加/解密", maxBlock);
 
@@ -0,0 +1,285 @@
+package com.joe.utils.secure.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Cipher;
+
+import com.joe.utils.secure.exception.SecureException;
+
+/**
+ * 流式加解密，持有独立的Cipher（不占用池中对象，由调用方长时间持有也不会影响其他调用），数据加解密后直接写入目标流（或者
+ * channel），关闭时完成加解密
+ * <p>
+ * blockSize大于0时（例如RSA）每blockSize字节的输入单独做一次doFinal，与{@link AsymmetricCipher}的分段加解密一致；否则使用
+ * {@link Cipher#update(ByteBuffer, ByteBuffer)}流式处理，结果与一次性doFinal整个数据一致
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 23:00 JoeKerouac Exp $
+ */
+final class CipherSink {
+
+    private boolean closed;
+
+    private final Cipher cipher;
+
+    /**
+     * 分段模式下尚未处理的输入
+     */
+    private final ByteBuffer block;
+
+    /**
+     * 输出缓冲，按需扩容，可以重复使用
+     */
+    private ByteBuffer output;
+
+    /**
+     * 数据写出的目标
+     */
+    private final Target target;
+
+    /**
+     * 构建流式加解密
+     *
+     * @param cipher
+     *            已经初始化的Cipher，只能由当前实例使用
+     * @param blockSize
+     *            分段大小，小于等于0表示不分段
+     * @param target
+     *            数据写出的目标
+     */
+    private CipherSink(Cipher cipher, int blockSize, Target target) {
+        this.cipher = cipher;
+        this.block = blockSize > 0 ? ByteBuffer.allocate(blockSize) : null;
+        this.output = ByteBuffer.allocate(1024);
+        this.target = target;
+    }
+
+    /**
+     * 创建加解密输出流
+     *
+     * @param cipher
+     *            已经初始化的Cipher，只能由返回的输出流使用
+     * @param blockSize
+     *            分段大小，小于等于0表示不分段
+     * @param out
+     *            处理结果写入的输出流
+     * @param closeTarget
+     *            关闭时是否关闭out
+     * @return 输出流，写入的数据加解密后写入out
+     */
+    static OutputStream stream(Cipher cipher, int blockSize, OutputStream out, boolean closeTarget) {
+        CipherSink sink = new CipherSink(cipher, blockSize, new Target() {
+            @Override
+            public void write(ByteBuffer buffer) throws IOException {
+                out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (closeTarget) {
+                    out.close();
+                } else {
+                    out.flush();
+                }
+            }
+        });
+
+        return new OutputStream() {
+            private final byte[] single = new byte[1];
+
+            @Override
+            public void write(int b) throws IOException {
+                single[0] = (byte)b;
+                sink.update(ByteBuffer.wrap(single));
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                sink.update(ByteBuffer.wrap(b, off, len));
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                sink.close();
+            }
+        };
+    }
+
+    /**
+     * 创建加解密channel
+     *
+     * @param cipher
+     *            已经初始化的Cipher，只能由返回的channel使用
+     * @param blockSize
+     *            分段大小，小于等于0表示不分段
+     * @param channel
+     *            处理结果写入的channel，关闭时一并关闭
+     * @return channel，写入的数据加解密后写入目标channel
+     */
+    static WritableByteChannel channel(Cipher cipher, int blockSize, WritableByteChannel channel) {
+        CipherSink sink = new CipherSink(cipher, blockSize, new Target() {
+            @Override
+            public void write(ByteBuffer buffer) throws IOException {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        });
+
+        return new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                int len = src.remaining();
+                sink.update(src);
+                return len;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return !sink.closed;
+            }
+
+            @Override
+            public void close() throws IOException {
+                sink.close();
+            }
+        };
+    }
+
+    /**
+     * 处理src中position到limit之间的数据
+     *
+     * @param src
+     *            数据
+     * @throws IOException
+     *             写出异常时抛出
+     */
+    private void update(ByteBuffer src) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+
+        try {
+            if (block == null) {
+                prepare(cipher.getOutputSize(src.remaining()));
+                cipher.update(src, output);
+                flushOutput();
+                return;
+            }
+
+            while (src.hasRemaining()) {
+                int len = Math.min(block.remaining(), src.remaining());
+                ByteBuffer slice = src.duplicate();
+                slice.limit(slice.position() + len);
+                block.put(slice);
+                src.position(src.position() + len);
+                if (!block.hasRemaining()) {
+                    doFinalBlock();
+                }
+            }
+        } catch (GeneralSecurityException e) {
+            throw new SecureException("流式加/解密失败", e);
+        }
+    }
+
+    /**
+     * 完成加解密，写出剩余数据并关闭目标
+     *
+     * @throws IOException
+     *             写出异常时抛出
+     */
+    private void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            if (block == null) {
+                prepare(cipher.getOutputSize(0));
+                output.position(cipher.doFinal(output.array(), output.arrayOffset()));
+                flushOutput();
+            } else if (block.position() > 0) {
+                doFinalBlock();
+            }
+        } catch (GeneralSecurityException e) {
+            throw new SecureException("流式加/解密失败", e);
+        } finally {
+            target.close();
+        }
+    }
+
+    /**
+     * 对当前分段做doFinal并写出
+     */
+    private void doFinalBlock() throws GeneralSecurityException, IOException {
+        block.flip();
+        prepare(cipher.getOutputSize(block.remaining()));
+        cipher.doFinal(block, output);
+        block.clear();
+        flushOutput();
+    }
+
+    /**
+     * 清空输出缓冲并确保容量
+     *
+     * @param size
+     *            需要的容量
+     */
+    private void prepare(int size) {
+        if (output.capacity() < size) {
+            output = ByteBuffer.allocate(Math.max(size, output.capacity() * 2));
+        }
+        output.clear();
+    }
+
+    /**
+     * 将输出缓冲中的数据写出
+     */
+    private void flushOutput() throws IOException {
+        output.flip();
+        if (output.hasRemaining()) {
+            target.write(output);
+        }
+    }
+
+    /**
+     * 数据写出的目标
+     */
+    private interface Target {
+
+        /**
+         * 写出buffer中position到limit之间的数据
+         *
+         * @param buffer
+         *            数据
+         * @throws IOException
+         *             写出异常
+         */
+        void write(ByteBuffer buffer) throws IOException;
+
+        /**
+         * 加解密完成时调用
+         *
+         * @throws IOException
+         *             关闭异常
+         */
+        void close() throws IOException;
+    }
+}
@@ -1,13 +1,19 @@
 package com.joe.utils.secure.impl;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.joe.utils.codec.Hex;
-import com.joe.utils.pool.ObjectPoolImpl;
+import com.joe.utils.pool.ObjectPool;
 import com.joe.utils.pool.PooledObject;
+import com.joe.utils.exception.PoolObjectHolderClosedException;
+import com.joe.utils.secure.CacheStrategy;
+import com.joe.utils.secure.Digester;
 import com.joe.utils.secure.MessageDigestUtil;
 import com.joe.utils.secure.exception.SecureException;
 
@@ -18,14 +24,15 @@ import com.joe.utils.secure.exception.SecureException;
  * @version 2018.07.11 16:57
  */
 public class MessageDigestUtilImpl implements MessageDigestUtil {
-    private static final Map<String, ObjectPoolImpl<MessageDigest>> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, ObjectPool<MessageDigest>> CACHE = new ConcurrentHashMap<>();
     private Algorithms algorithms;
+    private final ObjectPool<MessageDigest> pool;
 
-    private MessageDigestUtilImpl(Algorithms algorithms) {
+    private MessageDigestUtilImpl(Algorithms algorithms, CacheStrategy strategy) {
         this.algorithms = algorithms;
 
-        CACHE.computeIfAbsent(algorithms.name(), key -> {
-            ObjectPoolImpl<MessageDigest> pool = new ObjectPoolImpl<>(() -> getMessageDigest(algorithms));
+        this.pool = CACHE.computeIfAbsent(algorithms.name() + ":" + strategy.name(), key -> {
+            ObjectPool<MessageDigest> pool = SecurePools.newPool(() -> getMessageDigest(algorithms), strategy);
             // 快速验证
             pool.get().close();
             return pool;
@@ -33,14 +40,27 @@ public class MessageDigestUtilImpl implements MessageDigestUtil {
     }
 
     /**
-     * 获取摘要算法实例
+     * 获取摘要算法实例，使用默认缓存策略{@link CacheStrategy#HYBRID}
      *
      * @param algorithms
      *            算法
      * @return 摘要算法实例
      */
     public static MessageDigestUtil buildInstance(Algorithms algorithms) {
-        return new MessageDigestUtilImpl(algorithms);
+        return buildInstance(algorithms, SecurePools.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * 获取摘要算法实例
+     *
+     * @param algorithms
+     *            算法
+     * @param strategy
+     *            底层MessageDigest的缓存策略
+     * @return 摘要算法实例
+     */
+    public static MessageDigestUtil buildInstance(Algorithms algorithms, CacheStrategy strategy) {
+        return new MessageDigestUtilImpl(algorithms, strategy);
     }
 
     /**
@@ -54,7 +74,7 @@ public class MessageDigestUtilImpl implements MessageDigestUtil {
         try {
             return MessageDigest.getInstance(algorithms.getAlgorithms());
         } catch (NoSuchAlgorithmException exception) {
-            throw new SecureException("当前系统没有指定的算法提供者:[" + "" + "]", exception);
+            throw new SecureException("当前系统没有指定的算法提供者:[" + algorithms + "]", exception);
         }
     }
 
@@ -77,8 +97,70 @@ public class MessageDigestUtilImpl implements MessageDigestUtil {
      * @return 对应的摘要
      */
     public byte[] digest(byte[] data) {
-        try (PooledObject<MessageDigest> holder = CACHE.get(algorithms.name()).get()) {
+        try (PooledObject<MessageDigest> holder = pool.get()) {
             return holder.get().digest(data);
         }
     }
+
+    @Override
+    public List<byte[]> digest(List<byte[]> datas) {
+        List<byte[]> result = new ArrayList<>(datas.size());
+        try (PooledObject<MessageDigest> holder = pool.get()) {
+            MessageDigest digest = holder.get();
+            for (byte[] data : datas) {
+                result.add(digest.digest(data));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Digester newDigester() {
+        // Digester由调用方长时间持有（可能跨线程、可能不关闭），使用独立的实例，不占用池中的对象
+        return new MessageDigester(getMessageDigest(algorithms));
+    }
+
+    /**
+     * 持有独立MessageDigest的增量摘要
+     */
+    private static final class MessageDigester implements Digester {
+        private final MessageDigest digest;
+        private boolean closed;
+
+        private MessageDigester(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public Digester update(byte[] data, int offset, int len) {
+            check();
+            digest.update(data, offset, len);
+            return this;
+        }
+
+        @Override
+        public Digester update(ByteBuffer buffer) {
+            check();
+            digest.update(buffer);
+            return this;
+        }
+
+        @Override
+        public byte[] finish() {
+            check();
+            closed = true;
+            return digest.digest();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private void check() {
+            if (closed) {
+                throw new PoolObjectHolderClosedException("Digester has bean closed");
+            }
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.joe.utils.secure.impl;
+
+import java.util.function.Supplier;
+
+import com.joe.utils.pool.BoundedObjectPool;
+import com.joe.utils.pool.ObjectPool;
+import com.joe.utils.pool.PoolConfig;
+import com.joe.utils.secure.CacheStrategy;
+
+/**
+ * 加密相关对象（Cipher、Signature、MessageDigest）池的统一配置
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:00 JoeKerouac Exp $
+ */
+final class SecurePools {
+
+    /**
+     * 默认缓存策略
+     */
+    static final CacheStrategy DEFAULT_STRATEGY = CacheStrategy.HYBRID;
+
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 池耗尽时获取对象的最大等待时长，单位毫秒；加解密、签名都是短时操作，长时间等待说明有对象没有归还
+     */
+    private static final long MAX_WAIT_MILLIS = 10 * 1000;
+
+    private SecurePools() {}
+
+    /**
+     * 根据缓存策略创建对象池
+     *
+     * @param factory
+     *            对象工厂
+     * @param strategy
+     *            缓存策略
+     * @param <T>
+     *            对象类型
+     * @return 对象池
+     */
+    static <T> ObjectPool<T> newPool(Supplier<T> factory, CacheStrategy strategy) {
+        switch (strategy) {
+            case THREAD_LOCAL:
+                return new ThreadLocalPool<>(factory, null);
+            case POOLED:
+                return newPool(factory);
+            case HYBRID:
+                return new ThreadLocalPool<>(factory, newPool(factory));
+            default:
+                throw new IllegalArgumentException("不支持的缓存策略：" + strategy);
+        }
+    }
+
+    /**
+     * 创建对象池，最大对象数量为CPU核数的4倍，空闲对象最多保留CPU核数的2倍，池耗尽时最多等待{@link #MAX_WAIT_MILLIS}，超时
+     * 抛出{@link com.joe.utils.exception.PoolExhaustedException PoolExhaustedException}
+     *
+     * @param factory
+     *            对象工厂
+     * @param <T>
+     *            对象类型
+     * @return 对象池
+     */
+    static <T> BoundedObjectPool<T> newPool(Supplier<T> factory) {
+        PoolConfig config = new PoolConfig();
+        config.setMaxTotal(PROCESSORS * 4);
+        config.setMaxIdle(PROCESSORS * 2);
+        config.setMaxWaitMillis(MAX_WAIT_MILLIS);
+        return new BoundedObjectPool<>(factory, config);
+    }
+}
@@ -7,12 +7,16 @@ import java.security.PublicKey;
 import java.security.Signature;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.joe.utils.codec.IBase64;
-import com.joe.utils.pool.ObjectPoolImpl;
+import com.joe.utils.pool.ObjectPool;
 import com.joe.utils.pool.PooledObject;
+import com.joe.utils.secure.CacheStrategy;
 import com.joe.utils.secure.KeyTools;
 import com.joe.utils.secure.SignatureUtil;
 import com.joe.utils.secure.exception.SecureException;
@@ -31,12 +35,17 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class SignatureUtilImpl implements SignatureUtil {
     private static final IBase64 BASE_64 = new IBase64();
-    private static final Map<String, ObjectPoolImpl<SignatureHolder>> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, ObjectPool<SignatureHolder>> CACHE = new ConcurrentHashMap<>();
     /**
      * ID
      */
     private final String id;
 
+    /**
+     * Signature缓存
+     */
+    private final ObjectPool<SignatureHolder> pool;
+
     /**
      * 默认构造器
      *
@@ -46,13 +55,15 @@ public class SignatureUtilImpl implements SignatureUtil {
      *            对应的公钥，可以为空，为空时不能校验
      * @param algorithms
      *            rsa加密类型
+     * @param strategy
+     *            底层Signature的缓存策略
      */
-    private SignatureUtilImpl(String privateKey, String publicKey, Algorithms algorithms) {
+    private SignatureUtilImpl(String privateKey, String publicKey, Algorithms algorithms, CacheStrategy strategy) {
         this.id = (privateKey + ":" + publicKey + ":" + algorithms.toString()).intern();
 
-        CACHE.computeIfAbsent(this.id, id -> {
-            ObjectPoolImpl<SignatureHolder> pool =
-                new ObjectPoolImpl<>(() -> buildSignatureHolder(privateKey, publicKey, algorithms));
+        this.pool = CACHE.computeIfAbsent(this.id + ":" + strategy.name(), id -> {
+            ObjectPool<SignatureHolder> pool =
+                SecurePools.newPool(() -> buildSignatureHolder(privateKey, publicKey, algorithms), strategy);
             // 快速验证
             pool.get().close();
             return pool;
@@ -60,7 +71,7 @@ public class SignatureUtilImpl implements SignatureUtil {
     }
 
     /**
-     * 构建一个SignatureUtil
+     * 构建一个SignatureUtil，使用默认缓存策略{@link CacheStrategy#HYBRID}
      *
      * @param privateKey
      *            PKCS8文件格式的私钥
@@ -71,7 +82,25 @@ public class SignatureUtilImpl implements SignatureUtil {
      * @return SignatureUtil
      */
     public static SignatureUtil buildInstance(String privateKey, String publicKey, Algorithms algorithms) {
-        return new SignatureUtilImpl(privateKey, publicKey, algorithms);
+        return buildInstance(privateKey, publicKey, algorithms, SecurePools.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * 构建一个SignatureUtil
+     *
+     * @param privateKey
+     *            PKCS8文件格式的私钥
+     * @param publicKey
+     *            X509格式的公钥
+     * @param algorithms
+     *            RSA加密类型
+     * @param strategy
+     *            底层Signature的缓存策略
+     * @return SignatureUtil
+     */
+    public static SignatureUtil buildInstance(String privateKey, String publicKey, Algorithms algorithms,
+                                              CacheStrategy strategy) {
+        return new SignatureUtilImpl(privateKey, publicKey, algorithms, strategy);
     }
 
     /**
@@ -95,15 +124,40 @@ public class SignatureUtilImpl implements SignatureUtil {
      */
     @Override
     public byte[] sign(byte[] content) {
-        try (PooledObject<SignatureHolder> holder = CACHE.get(id).get()) {
+        try (PooledObject<SignatureHolder> holder = pool.get()) {
             Signature signature = holder.get().getSign();
-            signature.update(content);
-            return BASE_64.encrypt(signature.sign());
+            try {
+                signature.update(content);
+                return BASE_64.encrypt(signature.sign());
+            } catch (Exception e) {
+                holder.get().resetSign();
+                throw e;
+            }
         } catch (Exception e) {
-            throw new SecureException("加密失败", e);
+            throw new SecureException("签名失败", e);
         }
     }
 
+    @Override
+    public List<byte[]> sign(Iterator<byte[]> contents) {
+        List<byte[]> result = new ArrayList<>();
+        try (PooledObject<SignatureHolder> holder = pool.get()) {
+            Signature signature = holder.get().getSign();
+            try {
+                while (contents.hasNext()) {
+                    signature.update(contents.next());
+                    result.add(BASE_64.encrypt(signature.sign()));
+                }
+            } catch (Exception e) {
+                holder.get().resetSign();
+                throw e;
+            }
+        } catch (Exception e) {
+            throw new SecureException("签名失败", e);
+        }
+        return result;
+    }
+
     /**
      * 使用公钥校验签名
      *
@@ -129,15 +183,47 @@ public class SignatureUtilImpl implements SignatureUtil {
      */
     @Override
     public boolean checkSign(byte[] content, byte[] data) {
-        try (PooledObject<SignatureHolder> holder = CACHE.get(id).get()) {
+        try (PooledObject<SignatureHolder> holder = pool.get()) {
             Signature signature = holder.get().getVerify();
-            signature.update(content);
-            return signature.verify(BASE_64.decrypt(data));
+            try {
+                // 先解码签名，解码失败时不会改变Signature的状态
+                byte[] sign = BASE_64.decrypt(data);
+                signature.update(content);
+                return signature.verify(sign);
+            } catch (Exception e) {
+                holder.get().resetVerify();
+                throw e;
+            }
         } catch (Exception e) {
-            throw new SecureException("加密失败", e);
+            throw new SecureException("验签失败", e);
         }
     }
 
+    @Override
+    public List<Boolean> checkSign(List<byte[]> contents, List<byte[]> datas) {
+        if (contents.size() != datas.size()) {
+            throw new IllegalArgumentException("原文数量与签名数量不一致");
+        }
+
+        List<Boolean> result = new ArrayList<>(contents.size());
+        try (PooledObject<SignatureHolder> holder = pool.get()) {
+            Signature signature = holder.get().getVerify();
+            try {
+                for (int i = 0; i < contents.size(); i++) {
+                    byte[] sign = BASE_64.decrypt(datas.get(i));
+                    signature.update(contents.get(i));
+                    result.add(signature.verify(sign));
+                }
+            } catch (Exception e) {
+                holder.get().resetVerify();
+                throw e;
+            }
+        } catch (Exception e) {
+            throw new SecureException("验签失败", e);
+        }
+        return result;
+    }
+
     /**
      * 使用指定公钥和RSA加密类型获取RSA验证器
      *
@@ -199,5 +285,28 @@ public class SignatureUtilImpl implements SignatureUtil {
         private Signature verify;
         private RSAPrivateKey signKey;
         private PublicKey verifyKey;
+
+        /**
+         * 重新初始化签名器，丢弃已经update但是还没有签名的数据，签名过程中发生异常后归还前调用，防止脏数据影响下次使用（
+         * THREAD_LOCAL等策略下会一直被当前线程使用）
+         */
+        void resetSign() {
+            try {
+                sign.initSign(signKey);
+            } catch (InvalidKeyException e) {
+                log.warn("重新初始化签名器失败", e);
+            }
+        }
+
+        /**
+         * 重新初始化验签器，丢弃已经update但是还没有验签的数据，验签过程中发生异常后归还前调用
+         */
+        void resetVerify() {
+            try {
+                verify.initVerify(verifyKey);
+            } catch (InvalidKeyException e) {
+                log.warn("重新初始化验签器失败", e);
+            }
+        }
     }
 }
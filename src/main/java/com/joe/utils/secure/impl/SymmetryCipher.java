@@ -8,6 +8,7 @@ import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.SecretKey;
 
 import com.joe.utils.codec.IBase64;
+import com.joe.utils.secure.CacheStrategy;
 import com.joe.utils.secure.CipherUtil;
 import com.joe.utils.secure.KeyTools;
 import com.joe.utils.secure.exception.SecureException;
@@ -24,8 +25,8 @@ import lombok.extern.slf4j.Slf4j;
 public class SymmetryCipher extends AbstractCipher {
     private static final Map<String, SecretKey> KEY_CACHE = new ConcurrentHashMap<>();
 
-    private SymmetryCipher(Algorithms algorithms, SecretKey key) {
-        super(new String(key.getEncoded()), algorithms, key, key);
+    private SymmetryCipher(Algorithms algorithms, SecretKey key, CacheStrategy strategy) {
+        super(new String(key.getEncoded()), algorithms, key, key, strategy);
     }
 
     /**
@@ -82,7 +83,7 @@ public class SymmetryCipher extends AbstractCipher {
     }
 
     /**
-     * SymmetryCipher构造器
+     * SymmetryCipher构造器，使用默认缓存策略{@link CacheStrategy#HYBRID}
      *
      * @param algorithms
      *            算法
@@ -91,8 +92,23 @@ public class SymmetryCipher extends AbstractCipher {
      * @return CipherUtil
      */
     public static CipherUtil buildInstance(Algorithms algorithms, byte[] keySpec) {
+        return buildInstance(algorithms, keySpec, SecurePools.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * SymmetryCipher构造器
+     *
+     * @param algorithms
+     *            算法
+     * @param keySpec
+     *            keySpec
+     * @param strategy
+     *            底层Cipher的缓存策略
+     * @return CipherUtil
+     */
+    public static CipherUtil buildInstance(Algorithms algorithms, byte[] keySpec, CacheStrategy strategy) {
         SecretKey key = KeyTools.buildKey(algorithms, keySpec);
-        return new SymmetryCipher(algorithms, key);
+        return new SymmetryCipher(algorithms, key, strategy);
     }
 
     @Override
@@ -0,0 +1,110 @@
+package com.joe.utils.secure.impl;
+
+import java.util.function.Supplier;
+
+import com.joe.utils.exception.PoolObjectHolderClosedException;
+import com.joe.utils.pool.ObjectPool;
+import com.joe.utils.pool.PooledObject;
+
+/**
+ * 线程本地对象池，每个线程持有一个实例，借出、归还时只修改线程本地的标记，没有任何同步以及内存分配；同一线程重入（上次借出的还没有
+ * 归还）时使用溢出池，没有溢出池时临时创建新实例
+ * <p>
+ * 注意：同一线程的持有者会被重复使用，所以{@link #get()}只能在本包内按照try-with-resources的方式使用，不能将持有者泄露出去；
+ * 需要长时间持有或者可能跨线程使用的对象（例如对外返回的Digester、加解密流）不应该从池中获取
+ *
+ * @param <T>
+ *            池中对象类型
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:30 JoeKerouac Exp $
+ */
+final class ThreadLocalPool<T> implements ObjectPool<T> {
+
+    private final Supplier<T> factory;
+
+    /**
+     * 溢出池，可以为null
+     */
+    private final ObjectPool<T> overflow;
+
+    private final ThreadLocal<Slot<T>> local;
+
+    /**
+     * 线程本地对象池
+     *
+     * @param factory
+     *            对象工厂
+     * @param overflow
+     *            重入时使用的溢出池，为null时重入将会临时创建新实例
+     */
+    ThreadLocalPool(Supplier<T> factory, ObjectPool<T> overflow) {
+        this.factory = factory;
+        this.overflow = overflow;
+        this.local = ThreadLocal.withInitial(() -> new Slot<>(factory.get()));
+    }
+
+    @Override
+    public PooledObject<T> get() {
+        Slot<T> slot = local.get();
+        if (!slot.inUse) {
+            slot.inUse = true;
+            return slot;
+        }
+        return overflow == null ? new Temporary<>(factory.get()) : overflow.get();
+    }
+
+    /**
+     * 线程本地的持有者，只会被一个线程访问
+     *
+     * @param <T>
+     *            对象类型
+     */
+    private static final class Slot<T> implements PooledObject<T> {
+        private final T data;
+        private boolean inUse;
+
+        private Slot(T data) {
+            this.data = data;
+        }
+
+        @Override
+        public T get() {
+            if (!inUse) {
+                throw new PoolObjectHolderClosedException("PooledObject has bean closed");
+            }
+            return data;
+        }
+
+        @Override
+        public void close() {
+            inUse = false;
+        }
+    }
+
+    /**
+     * 重入时临时创建的实例的持有者，关闭后直接丢弃
+     *
+     * @param <T>
+     *            对象类型
+     */
+    private static final class Temporary<T> implements PooledObject<T> {
+        private T data;
+
+        private Temporary(T data) {
+            this.data = data;
+        }
+
+        @Override
+        public T get() {
+            if (data == null) {
+                throw new PoolObjectHolderClosedException("PooledObject has bean closed");
+            }
+            return data;
+        }
+
+        @Override
+        public void close() {
+            data = null;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.joe.utils.serialize;
+
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import com.joe.utils.reflect.BeanUtils;
+import com.joe.utils.reflect.BeanUtils.CustomPropertyDescriptor;
+import com.joe.utils.reflect.LambdaUtil;
+import com.joe.utils.reflect.ReflectException;
+
+import lombok.Getter;
+
+/**
+ * pojo序列化计划的公共部分，基于{@link BeanUtils#getAllPropertyDescriptors(Class)}预先确定需要处理的字段（排除带有指定修饰符的
+ * 字段，子类中的同名字段优先）、字段顺序（按字段名排序，与字段的声明顺序、JVM实现无关）以及实例工厂；各序列化器继承该类，在
+ * {@link Property}上附加自己需要的数据（例如编解码器、值转换器），并自行按Class缓存
+ *
+ * @param <P>
+ *            字段类型
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 04:00 JoeKerouac Exp $
+ */
+public abstract class BeanPlan<P extends BeanPlan.Property> {
+
+    /**
+     * 对应的Class
+     */
+    @Getter
+    private final Class<?> clazz;
+
+    /**
+     * 需要处理的字段，按字段名排序
+     */
+    @Getter
+    private final P[] properties;
+
+    /**
+     * 字段名到字段的映射
+     */
+    private final Map<String, P> propertyMap;
+
+    /**
+     * 实例工厂，接口、抽象类或者没有无参构造器时为null
+     */
+    private final Supplier<?> factory;
+
+    /**
+     * 构造器
+     *
+     * @param clazz
+     *            pojo的Class
+     * @param excludeModifiers
+     *            需要排除的字段修饰符，例如{@link Modifier#STATIC} | {@link Modifier#FINAL}
+     * @param creator
+     *            字段构建器
+     * @param array
+     *            字段数组构建器
+     */
+    protected BeanPlan(Class<?> clazz, int excludeModifiers, Function<CustomPropertyDescriptor, P> creator,
+                       IntFunction<P[]> array) {
+        this.clazz = clazz;
+        this.factory = createFactory(clazz);
+
+        Map<String, P> propertyMap = new TreeMap<>();
+        for (CustomPropertyDescriptor descriptor : BeanUtils.getAllPropertyDescriptors(clazz)) {
+            if ((descriptor.getField().getModifiers() & excludeModifiers) != 0) {
+                continue;
+            }
+            // 子类中的同名字段优先
+            if (!propertyMap.containsKey(descriptor.getName())) {
+                propertyMap.put(descriptor.getName(), creator.apply(descriptor));
+            }
+        }
+        this.properties = propertyMap.values().toArray(array.apply(propertyMap.size()));
+        this.propertyMap = new HashMap<>(propertyMap);
+    }
+
+    /**
+     * 根据字段名获取字段
+     *
+     * @param name
+     *            字段名
+     * @return 字段，不存在时返回null
+     */
+    public P getProperty(String name) {
+        return propertyMap.get(name);
+    }
+
+    /**
+     * 获取实例工厂
+     *
+     * @return 实例工厂，接口、抽象类或者没有无参构造器时为null
+     */
+    protected Supplier<?> getFactory() {
+        return factory;
+    }
+
+    /**
+     * 为有无参构造器的具体类创建实例工厂
+     *
+     * @param clazz
+     *            Class
+     * @return 实例工厂，无法创建时返回null
+     */
+    private static Supplier<?> createFactory(Class<?> clazz) {
+        if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+            return null;
+        }
+        try {
+            return LambdaUtil.createSupplier(clazz);
+        } catch (ReflectException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 需要处理的字段
+     */
+    public static class Property {
+
+        /**
+         * 字段说明
+         */
+        @Getter
+        private final CustomPropertyDescriptor descriptor;
+
+        /**
+         * 字段名
+         */
+        @Getter
+        private final String name;
+
+        protected Property(CustomPropertyDescriptor descriptor) {
+            this.descriptor = descriptor;
+            this.name = descriptor.getName();
+        }
+
+        /**
+         * 读取pojo中该字段的值
+         *
+         * @param pojo
+         *            pojo
+         * @return 字段值
+         */
+        public Object get(Object pojo) {
+            return descriptor.getValue(pojo);
+        }
+
+        /**
+         * 设置pojo中该字段的值
+         *
+         * @param pojo
+         *            pojo
+         * @param value
+         *            字段值
+         */
+        public void set(Object pojo, Object value) {
+            descriptor.setValue(pojo, value);
+        }
+    }
+}
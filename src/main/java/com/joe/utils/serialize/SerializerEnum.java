@@ -7,5 +7,10 @@ package com.joe.utils.serialize;
  * @version $Id: joe, v 0.1 2019年04月08日 20:29 JoeKerouac Exp $
  */
 public enum SerializerEnum {
-    JSON, XML, FORM
+    JSON, XML, FORM,
+
+    /**
+     * 紧凑的二进制格式，参见{@link com.joe.utils.serialize.binary.BinaryParser}
+     */
+    BINARY
 }
@@ -1,6 +1,11 @@
 package com.joe.utils.serialize;
 
+import java.util.Locale;
+
+import com.joe.utils.common.Assert;
 import com.joe.utils.exception.NoSupportException;
+import com.joe.utils.serialize.binary.BinaryParser;
+import com.joe.utils.serialize.form.FormParser;
 import com.joe.utils.serialize.json.JsonParser;
 import com.joe.utils.serialize.xml.XmlParser;
 
@@ -12,13 +17,36 @@ import com.joe.utils.serialize.xml.XmlParser;
  */
 public class SerializerFactory {
 
+    /**
+     * 根据序列化器名获取序列化器，适用于通过配置切换序列化格式
+     *
+     * @param serializerName
+     *            序列化器名，即{@link SerializerEnum}的name，忽略大小写以及首尾空白
+     * @return 序列化器
+     * @throws NoSupportException
+     *             不支持的序列化器时抛出
+     */
+    public static Serializer getInstance(String serializerName) throws NoSupportException {
+        Assert.notNull(serializerName, "serializerName不能为null");
+        SerializerEnum serializerType;
+        try {
+            serializerType = SerializerEnum.valueOf(serializerName.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new NoSupportException("不支持的Serializer类型：" + serializerName);
+        }
+        return getInstance(serializerType);
+    }
+
     public static Serializer getInstance(SerializerEnum serializerType) {
         switch (serializerType) {
             case XML:
                 return XmlParser.getInstance();
             case JSON:
                 return JsonParser.getInstance();
-            case FORM:;
+            case BINARY:
+                return BinaryParser.getInstance();
+            case FORM:
+                return FormParser.getInstance();
             default:
                 throw new NoSupportException("不支持的Serializer类型：" + serializerType);
         }
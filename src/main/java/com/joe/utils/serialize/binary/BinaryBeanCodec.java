@@ -0,0 +1,87 @@
+package com.joe.utils.serialize.binary;
+
+import java.lang.reflect.Modifier;
+
+import com.joe.utils.collection.ClassValueCache;
+import com.joe.utils.reflect.BeanUtils;
+import com.joe.utils.reflect.BeanUtils.CustomPropertyDescriptor;
+import com.joe.utils.serialize.BeanPlan;
+import com.joe.utils.serialize.SerializeException;
+
+import lombok.Getter;
+
+/**
+ * pojo的二进制编解码计划，基于{@link BeanUtils#getAllPropertyDescriptors(Class)}预先确定需要序列化的字段（static、transient、
+ * final字段除外）、字段顺序（按字段名排序，与字段的声明顺序、JVM实现无关）以及每个字段的{@link BinaryCodec}；计划按Class缓存
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:40 JoeKerouac Exp $
+ */
+final class BinaryBeanCodec extends BeanPlan<BinaryBeanCodec.Property> {
+
+    private static final ClassValueCache<BinaryBeanCodec> CACHE = new ClassValueCache<>(BinaryBeanCodec::new);
+
+    private BinaryBeanCodec(Class<?> clazz) {
+        super(clazz, Modifier.STATIC | Modifier.TRANSIENT | Modifier.FINAL, Property::new, Property[]::new);
+    }
+
+    /**
+     * 获取指定Class的编解码计划
+     *
+     * @param clazz
+     *            pojo的Class
+     * @return 编解码计划
+     */
+    static BinaryBeanCodec get(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 创建pojo实例
+     *
+     * @return pojo实例
+     * @throws SerializeException
+     *             没有无参构造器时抛出
+     */
+    Object newInstance() throws SerializeException {
+        if (getFactory() == null) {
+            throw new SerializeException("无法创建类型[" + getClazz().getName() + "]的实例，请为其添加无参构造器");
+        }
+        return getFactory().get();
+    }
+
+    /**
+     * 需要序列化的字段
+     */
+    static final class Property extends BeanPlan.Property {
+
+        /**
+         * 字段声明类型（包括泛型）对应的编解码器
+         */
+        @Getter
+        private final BinaryCodec codec;
+
+        private Property(CustomPropertyDescriptor descriptor) {
+            super(descriptor);
+            this.codec = BinaryCodec.of(descriptor.getField().getGenericType());
+        }
+
+        @Override
+        public Object get(Object pojo) throws SerializeException {
+            try {
+                return super.get(pojo);
+            } catch (RuntimeException e) {
+                throw new SerializeException(e);
+            }
+        }
+
+        @Override
+        public void set(Object pojo, Object value) throws SerializeException {
+            try {
+                super.set(pojo, value);
+            } catch (RuntimeException e) {
+                throw new SerializeException(e);
+            }
+        }
+    }
+}
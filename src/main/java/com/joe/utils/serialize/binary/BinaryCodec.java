@@ -0,0 +1,762 @@
+package com.joe.utils.serialize.binary;
+
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import com.joe.utils.collection.ClassValueCache;
+import com.joe.utils.reflect.LambdaUtil;
+import com.joe.utils.reflect.ReflectException;
+import com.joe.utils.reflect.type.JavaTypeUtil;
+import com.joe.utils.serialize.SerializeException;
+import com.joe.utils.serialize.binary.BinaryBeanCodec.Property;
+
+/**
+ * 指定声明类型的二进制编解码器，创建时就根据声明类型（包括泛型）确定编码方式、集合元素的编解码器以及集合、Map的实例化方式
+ * <p>
+ * 编码格式：基本类型的字段直接写出值（boolean一个字节，byte原样，short、int、char、long为varint，float、double为定长），不带
+ * 类型标记；其他值都以一个字节的类型标记开头，null只占用一个字节。pojo写出为{@link #OBJECT}，之后是字段数量和按字段名排序的
+ * 各个字段的值，不包含字段名；运行时类型与声明类型不一致（例如声明为Object）的pojo写出为以字段名为key的{@link #MAP}，读取时
+ * 如果声明类型是pojo则按照字段名绑定，否则读取为Map，因此数据中永远不会出现类名
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:40 JoeKerouac Exp $
+ */
+final class BinaryCodec {
+
+    static final int NULL = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int BYTE = 3;
+    static final int SHORT = 4;
+    static final int CHAR = 5;
+    static final int INT = 6;
+    static final int LONG = 7;
+    static final int FLOAT = 8;
+    static final int DOUBLE = 9;
+    static final int STRING = 10;
+    static final int BYTES = 11;
+    static final int BIG_DECIMAL = 12;
+    static final int BIG_INTEGER = 13;
+    static final int DATE = 14;
+    static final int ENUM = 15;
+    /**
+     * 对象数组：长度，然后是每个元素
+     */
+    static final int ARRAY = 16;
+    /**
+     * 基本类型数组（byte[]除外）：元素类型标记（boolean使用{@link #TRUE}），长度，然后是不带标记的每个元素
+     */
+    static final int PACKED = 17;
+    static final int LIST = 18;
+    static final int SET = 19;
+    static final int MAP = 20;
+    static final int OBJECT = 21;
+
+    /**
+     * 声明类型为Class的编解码器缓存
+     */
+    private static final ClassValueCache<BinaryCodec> CACHE = new ClassValueCache<>(BinaryCodec::resolve);
+
+    /**
+     * 声明类型未知（Object、接口、抽象类、泛型变量）时使用的编解码器，写出时按照运行时类型处理
+     */
+    static final BinaryCodec DYNAMIC_CODEC = CACHE.get(Object.class);
+
+    private enum Kind {
+        BOOLEAN, BYTE, SHORT, CHAR, INT, LONG, FLOAT, DOUBLE, STRING, BIG_DECIMAL, BIG_INTEGER, DATE, ENUM, BYTES,
+        PACKED, ARRAY, COLLECTION, MAP, POJO, DYNAMIC
+    }
+
+    private final Kind kind;
+
+    /**
+     * 声明类型（原始类型）
+     */
+    private final Class<?> type;
+
+    /**
+     * 是否是基本类型，基本类型直接写出值，不带类型标记
+     */
+    private final boolean primitive;
+
+    /**
+     * 数组、集合的元素编解码器，Map的value编解码器
+     */
+    private final BinaryCodec component;
+
+    /**
+     * Map的key编解码器
+     */
+    private final BinaryCodec key;
+
+    /**
+     * 集合、Map的实例工厂
+     */
+    private final Supplier<?> factory;
+
+    private BinaryCodec(Kind kind, Class<?> type, BinaryCodec component, BinaryCodec key) {
+        this.kind = kind;
+        this.type = type;
+        this.primitive = type.isPrimitive();
+        this.component = component;
+        this.key = key;
+        if (kind == Kind.COLLECTION) {
+            this.factory = collectionFactory(type);
+        } else if (kind == Kind.MAP) {
+            this.factory = mapFactory(type);
+        } else {
+            this.factory = null;
+        }
+    }
+
+    /**
+     * 获取指定声明类型的编解码器
+     *
+     * @param type
+     *            声明类型，可以是Class、ParameterizedType、GenericArrayType等
+     * @return 编解码器
+     */
+    static BinaryCodec of(Type type) {
+        if (type instanceof Class) {
+            return CACHE.get((Class<?>)type);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType)type;
+            Class<?> raw = (Class<?>)parameterizedType.getRawType();
+            Type[] args = parameterizedType.getActualTypeArguments();
+            if (Collection.class.isAssignableFrom(raw) && args.length == 1) {
+                return new BinaryCodec(Kind.COLLECTION, raw, of(args[0]), null);
+            } else if (Map.class.isAssignableFrom(raw) && args.length == 2) {
+                return new BinaryCodec(Kind.MAP, raw, of(args[1]), of(args[0]));
+            }
+            return of(raw);
+        } else if (type instanceof GenericArrayType) {
+            BinaryCodec component = of(((GenericArrayType)type).getGenericComponentType());
+            return new BinaryCodec(Kind.ARRAY, Array.newInstance(component.type, 0).getClass(), component, null);
+        } else if (type instanceof TypeVariable) {
+            Type[] bounds = ((TypeVariable<?>)type).getBounds();
+            return bounds.length == 0 ? DYNAMIC_CODEC : of(bounds[0]);
+        } else if (type instanceof WildcardType) {
+            Type[] bounds = ((WildcardType)type).getUpperBounds();
+            return bounds.length == 0 ? DYNAMIC_CODEC : of(bounds[0]);
+        }
+        return DYNAMIC_CODEC;
+    }
+
+    private static BinaryCodec resolve(Class<?> type) {
+        Class<?> boxed = JavaTypeUtil.boxed(type);
+        Kind kind;
+        BinaryCodec component = null;
+        BinaryCodec key = null;
+        if (boxed == Boolean.class) {
+            kind = Kind.BOOLEAN;
+        } else if (boxed == Byte.class) {
+            kind = Kind.BYTE;
+        } else if (boxed == Short.class) {
+            kind = Kind.SHORT;
+        } else if (boxed == Character.class) {
+            kind = Kind.CHAR;
+        } else if (boxed == Integer.class) {
+            kind = Kind.INT;
+        } else if (boxed == Long.class) {
+            kind = Kind.LONG;
+        } else if (boxed == Float.class) {
+            kind = Kind.FLOAT;
+        } else if (boxed == Double.class) {
+            kind = Kind.DOUBLE;
+        } else if (type == String.class) {
+            kind = Kind.STRING;
+        } else if (type == BigDecimal.class) {
+            kind = Kind.BIG_DECIMAL;
+        } else if (type == BigInteger.class) {
+            kind = Kind.BIG_INTEGER;
+        } else if (type == Date.class) {
+            kind = Kind.DATE;
+        } else if (Enum.class.isAssignableFrom(type) && type != Enum.class) {
+            kind = Kind.ENUM;
+        } else if (type == byte[].class) {
+            kind = Kind.BYTES;
+        } else if (type.isArray()) {
+            if (type.getComponentType().isPrimitive()) {
+                kind = Kind.PACKED;
+            } else {
+                kind = Kind.ARRAY;
+                component = of(type.getComponentType());
+            }
+        } else if (Collection.class.isAssignableFrom(type)) {
+            kind = Kind.COLLECTION;
+            component = DYNAMIC_CODEC;
+        } else if (Map.class.isAssignableFrom(type)) {
+            kind = Kind.MAP;
+            component = DYNAMIC_CODEC;
+            key = DYNAMIC_CODEC;
+        } else if (type == Object.class || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+            || type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+            // jdk中的其他类型不能当作pojo处理，运行时不支持时会抛出异常
+            kind = Kind.DYNAMIC;
+        } else {
+            kind = Kind.POJO;
+        }
+        return new BinaryCodec(kind, type, component, key);
+    }
+
+    /**
+     * 写出值，基本类型不带类型标记
+     *
+     * @param out
+     *            输出
+     * @param value
+     *            值，基本类型时不能为null
+     */
+    void write(BinaryOutput out, Object value) throws SerializeException {
+        if (!primitive) {
+            writeTagged(out, value);
+            return;
+        }
+        switch (kind) {
+            case BOOLEAN:
+                out.writeByte((Boolean)value ? 1 : 0);
+                break;
+            case BYTE:
+                out.writeByte((Byte)value);
+                break;
+            case SHORT:
+                out.writeZigZagInt((Short)value);
+                break;
+            case CHAR:
+                out.writeVarInt((Character)value);
+                break;
+            case INT:
+                out.writeZigZagInt((Integer)value);
+                break;
+            case LONG:
+                out.writeZigZagLong((Long)value);
+                break;
+            case FLOAT:
+                out.writeFloat((Float)value);
+                break;
+            default:
+                out.writeDouble((Double)value);
+        }
+    }
+
+    /**
+     * 写出带类型标记的值
+     *
+     * @param out
+     *            输出
+     * @param value
+     *            值
+     */
+    void writeTagged(BinaryOutput out, Object value) throws SerializeException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        switch (kind) {
+            case BOOLEAN:
+                out.writeByte((Boolean)value ? TRUE : FALSE);
+                break;
+            case BYTE:
+                out.writeByte(BYTE);
+                out.writeByte((Byte)value);
+                break;
+            case SHORT:
+                out.writeByte(SHORT);
+                out.writeZigZagInt((Short)value);
+                break;
+            case CHAR:
+                out.writeByte(CHAR);
+                out.writeVarInt((Character)value);
+                break;
+            case INT:
+                out.writeByte(INT);
+                out.writeZigZagInt((Integer)value);
+                break;
+            case LONG:
+                out.writeByte(LONG);
+                out.writeZigZagLong((Long)value);
+                break;
+            case FLOAT:
+                out.writeByte(FLOAT);
+                out.writeFloat((Float)value);
+                break;
+            case DOUBLE:
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double)value);
+                break;
+            case STRING:
+                out.writeByte(STRING);
+                out.writeString((String)value);
+                break;
+            case BIG_DECIMAL:
+                out.writeByte(BIG_DECIMAL);
+                out.writeString(value.toString());
+                break;
+            case BIG_INTEGER:
+                byte[] bigInteger = ((BigInteger)value).toByteArray();
+                out.writeByte(BIG_INTEGER);
+                out.writeVarInt(bigInteger.length);
+                out.writeBytes(bigInteger);
+                break;
+            case DATE:
+                out.writeByte(DATE);
+                out.writeZigZagLong(((Date)value).getTime());
+                break;
+            case ENUM:
+                out.writeByte(ENUM);
+                out.writeString(((Enum<?>)value).name());
+                break;
+            case BYTES:
+                byte[] bytes = (byte[])value;
+                out.writeByte(BYTES);
+                out.writeVarInt(bytes.length);
+                out.writeBytes(bytes);
+                break;
+            case PACKED:
+                writePacked(out, value);
+                break;
+            case ARRAY:
+                Object[] array = (Object[])value;
+                out.writeByte(ARRAY);
+                out.writeVarInt(array.length);
+                for (Object element : array) {
+                    component.write(out, element);
+                }
+                break;
+            case COLLECTION:
+                Collection<?> collection = (Collection<?>)value;
+                out.writeByte(value instanceof Set ? SET : LIST);
+                out.writeVarInt(collection.size());
+                for (Object element : collection) {
+                    component.write(out, element);
+                }
+                break;
+            case MAP:
+                Map<?, ?> map = (Map<?, ?>)value;
+                out.writeByte(MAP);
+                out.writeVarInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    key.write(out, entry.getKey());
+                    component.write(out, entry.getValue());
+                }
+                break;
+            case POJO:
+                Property[] properties = BinaryBeanCodec.get(type).getProperties();
+                out.writeByte(OBJECT);
+                out.writeVarInt(properties.length);
+                for (Property property : properties) {
+                    property.getCodec().write(out, property.get(value));
+                }
+                break;
+            default:
+                writeDynamic(out, value);
+        }
+    }
+
+    /**
+     * 按照运行时类型写出值，pojo写出为以字段名为key的Map，pojo的字段值同样按照运行时类型写出，保证不知道声明类型时也可以完整
+     * 读取
+     */
+    private static void writeDynamic(BinaryOutput out, Object value) throws SerializeException {
+        if (value == null) {
+            out.writeByte(NULL);
+            return;
+        }
+        BinaryCodec codec = CACHE.get(value.getClass());
+        if (codec.kind == Kind.DYNAMIC) {
+            throw new SerializeException("不支持的类型：" + value.getClass().getName());
+        } else if (codec.kind != Kind.POJO) {
+            codec.writeTagged(out, value);
+            return;
+        }
+
+        Property[] properties = BinaryBeanCodec.get(codec.type).getProperties();
+        out.writeByte(MAP);
+        out.writeVarInt(properties.length);
+        for (Property property : properties) {
+            out.writeByte(STRING);
+            out.writeString(property.getName());
+            writeDynamic(out, property.get(value));
+        }
+    }
+
+    private void writePacked(BinaryOutput out, Object value) {
+        int len = Array.getLength(value);
+        out.writeByte(PACKED);
+        Class<?> componentType = type.getComponentType();
+        if (componentType == boolean.class) {
+            out.writeByte(TRUE);
+            out.writeVarInt(len);
+            for (boolean element : (boolean[])value) {
+                out.writeByte(element ? 1 : 0);
+            }
+        } else if (componentType == short.class) {
+            out.writeByte(SHORT);
+            out.writeVarInt(len);
+            for (short element : (short[])value) {
+                out.writeZigZagInt(element);
+            }
+        } else if (componentType == char.class) {
+            out.writeByte(CHAR);
+            out.writeVarInt(len);
+            for (char element : (char[])value) {
+                out.writeVarInt(element);
+            }
+        } else if (componentType == int.class) {
+            out.writeByte(INT);
+            out.writeVarInt(len);
+            for (int element : (int[])value) {
+                out.writeZigZagInt(element);
+            }
+        } else if (componentType == long.class) {
+            out.writeByte(LONG);
+            out.writeVarInt(len);
+            for (long element : (long[])value) {
+                out.writeZigZagLong(element);
+            }
+        } else if (componentType == float.class) {
+            out.writeByte(FLOAT);
+            out.writeVarInt(len);
+            for (float element : (float[])value) {
+                out.writeFloat(element);
+            }
+        } else {
+            out.writeByte(DOUBLE);
+            out.writeVarInt(len);
+            for (double element : (double[])value) {
+                out.writeDouble(element);
+            }
+        }
+    }
+
+    /**
+     * 读取{@link #write(BinaryOutput, Object)}写出的值
+     *
+     * @param in
+     *            输入
+     * @return 值
+     */
+    Object read(BinaryInput in) throws SerializeException {
+        if (!primitive) {
+            return readTagged(in, in.readByte());
+        }
+        switch (kind) {
+            case BOOLEAN:
+                return in.readByte() != 0;
+            case BYTE:
+                return (byte)in.readByte();
+            case SHORT:
+                return (short)in.readZigZagInt();
+            case CHAR:
+                return (char)in.readVarInt();
+            case INT:
+                return in.readZigZagInt();
+            case LONG:
+                return in.readZigZagLong();
+            case FLOAT:
+                return in.readFloat();
+            default:
+                return in.readDouble();
+        }
+    }
+
+    /**
+     * 读取带类型标记的值，数据的解析方式由类型标记决定，声明类型用于确定集合、Map、pojo、枚举的具体类型以及数值类型的转换
+     *
+     * @param in
+     *            输入
+     * @param tag
+     *            已经读取的类型标记
+     * @return 值，类型与声明类型一致
+     */
+    Object readTagged(BinaryInput in, int tag) throws SerializeException {
+        switch (tag) {
+            case NULL:
+                return null;
+            case TRUE:
+                return convert(Boolean.TRUE);
+            case FALSE:
+                return convert(Boolean.FALSE);
+            case BYTE:
+                return convert((byte)in.readByte());
+            case SHORT:
+                return convert((short)in.readZigZagInt());
+            case CHAR:
+                return convert((char)in.readVarInt());
+            case INT:
+                return convert(in.readZigZagInt());
+            case LONG:
+                return convert(in.readZigZagLong());
+            case FLOAT:
+                return convert(in.readFloat());
+            case DOUBLE:
+                return convert(in.readDouble());
+            case STRING:
+                return convert(in.readString());
+            case BYTES:
+                return convert(in.readBytes(in.readLength()));
+            case BIG_DECIMAL:
+                return convert(new BigDecimal(in.readString()));
+            case BIG_INTEGER:
+                return convert(new BigInteger(in.readBytes(in.readLength())));
+            case DATE:
+                return convert(new Date(in.readZigZagLong()));
+            case ENUM:
+                return readEnum(in.readString());
+            case PACKED:
+                return convert(readPacked(in));
+            case ARRAY:
+                return readArray(in);
+            case LIST:
+            case SET:
+                return readCollection(in, tag);
+            case MAP:
+                return kind == Kind.POJO ? readBean(in) : readMap(in);
+            case OBJECT:
+                return readObject(in);
+            default:
+                throw new SerializeException("未知的类型标记：" + tag);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readEnum(String name) throws SerializeException {
+        if (kind != Kind.ENUM) {
+            return convert(name);
+        }
+        Class enumType = type.isEnum() ? type : type.getSuperclass();
+        try {
+            return Enum.valueOf(enumType, name);
+        } catch (IllegalArgumentException e) {
+            throw new SerializeException("枚举[" + type.getName() + "]中不存在[" + name + "]");
+        }
+    }
+
+    private Object readArray(BinaryInput in) throws SerializeException {
+        int len = in.readLength();
+        BinaryCodec component = kind == Kind.ARRAY ? this.component : DYNAMIC_CODEC;
+        Object[] array = (Object[])Array.newInstance(kind == Kind.ARRAY ? type.getComponentType() : Object.class, len);
+        for (int i = 0; i < len; i++) {
+            array[i] = component.read(in);
+        }
+        return convert(array);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readCollection(BinaryInput in, int tag) throws SerializeException {
+        int len = in.readLength();
+        Collection<Object> collection;
+        BinaryCodec component;
+        if (kind == Kind.COLLECTION) {
+            collection = (Collection<Object>)newInstance();
+            component = this.component;
+        } else {
+            collection = tag == SET ? new LinkedHashSet<>() : new ArrayList<>(len);
+            component = DYNAMIC_CODEC;
+        }
+        for (int i = 0; i < len; i++) {
+            collection.add(component.read(in));
+        }
+        return convert(collection);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readMap(BinaryInput in) throws SerializeException {
+        int len = in.readLength();
+        Map<Object, Object> map;
+        BinaryCodec key;
+        BinaryCodec value;
+        if (kind == Kind.MAP) {
+            map = (Map<Object, Object>)newInstance();
+            key = this.key;
+            value = this.component;
+        } else {
+            map = new LinkedHashMap<>();
+            key = DYNAMIC_CODEC;
+            value = DYNAMIC_CODEC;
+        }
+        for (int i = 0; i < len; i++) {
+            map.put(key.read(in), value.read(in));
+        }
+        return convert(map);
+    }
+
+    /**
+     * 读取{@link #OBJECT}格式的pojo
+     */
+    private Object readObject(BinaryInput in) throws SerializeException {
+        if (kind != Kind.POJO) {
+            throw new SerializeException("类型[" + type.getName() + "]不是pojo，无法读取对象数据");
+        }
+        BinaryBeanCodec bean = BinaryBeanCodec.get(type);
+        Property[] properties = bean.getProperties();
+        int len = in.readVarInt();
+        if (len != properties.length) {
+            throw new SerializeException(
+                "类型[" + type.getName() + "]的字段数量[" + properties.length + "]与数据中的字段数量[" + len + "]不一致");
+        }
+        Object pojo = bean.newInstance();
+        for (Property property : properties) {
+            property.set(pojo, property.getCodec().read(in));
+        }
+        return pojo;
+    }
+
+    /**
+     * 读取以字段名为key的Map格式的pojo，按照字段名绑定，不存在的字段忽略
+     */
+    private Object readBean(BinaryInput in) throws SerializeException {
+        BinaryBeanCodec bean = BinaryBeanCodec.get(type);
+        int len = in.readLength();
+        Object pojo = bean.newInstance();
+        for (int i = 0; i < len; i++) {
+            Object name = DYNAMIC_CODEC.read(in);
+            Property property = bean.getProperty(String.valueOf(name));
+            if (property == null) {
+                DYNAMIC_CODEC.read(in);
+                continue;
+            }
+            Object value = property.getCodec().readTagged(in, in.readByte());
+            if (value != null || !property.getCodec().primitive) {
+                property.set(pojo, value);
+            }
+        }
+        return pojo;
+    }
+
+    private static Object readPacked(BinaryInput in) throws SerializeException {
+        int componentTag = in.readByte();
+        int len = in.readLength();
+        switch (componentTag) {
+            case TRUE:
+                boolean[] booleans = new boolean[len];
+                for (int i = 0; i < len; i++) {
+                    booleans[i] = in.readByte() != 0;
+                }
+                return booleans;
+            case SHORT:
+                short[] shorts = new short[len];
+                for (int i = 0; i < len; i++) {
+                    shorts[i] = (short)in.readZigZagInt();
+                }
+                return shorts;
+            case CHAR:
+                char[] chars = new char[len];
+                for (int i = 0; i < len; i++) {
+                    chars[i] = (char)in.readVarInt();
+                }
+                return chars;
+            case INT:
+                int[] ints = new int[len];
+                for (int i = 0; i < len; i++) {
+                    ints[i] = in.readZigZagInt();
+                }
+                return ints;
+            case LONG:
+                long[] longs = new long[len];
+                for (int i = 0; i < len; i++) {
+                    longs[i] = in.readZigZagLong();
+                }
+                return longs;
+            case FLOAT:
+                float[] floats = new float[len];
+                for (int i = 0; i < len; i++) {
+                    floats[i] = in.readFloat();
+                }
+                return floats;
+            case DOUBLE:
+                double[] doubles = new double[len];
+                for (int i = 0; i < len; i++) {
+                    doubles[i] = in.readDouble();
+                }
+                return doubles;
+            default:
+                throw new SerializeException("未知的数组元素类型标记：" + componentTag);
+        }
+    }
+
+    /**
+     * 将读取到的值转换为声明类型，数值类型之间可以互相转换
+     */
+    private Object convert(Object value) throws SerializeException {
+        if (kind == Kind.DYNAMIC || type.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof Number) {
+            Number number = (Number)value;
+            switch (kind) {
+                case BYTE:
+                    return number.byteValue();
+                case SHORT:
+                    return number.shortValue();
+                case INT:
+                    return number.intValue();
+                case LONG:
+                    return number.longValue();
+                case FLOAT:
+                    return number.floatValue();
+                case DOUBLE:
+                    return number.doubleValue();
+                default:
+            }
+        }
+        if (primitive && JavaTypeUtil.boxed(type).isInstance(value)) {
+            return value;
+        }
+        throw new SerializeException("数据类型[" + value.getClass().getName() + "]与声明类型[" + type.getName() + "]不一致");
+    }
+
+    private Object newInstance() throws SerializeException {
+        if (factory == null) {
+            throw new SerializeException("无法创建类型[" + type.getName() + "]的实例，请为其添加无参构造器");
+        }
+        return factory.get();
+    }
+
+    private static Supplier<?> collectionFactory(Class<?> type) {
+        if (type.isAssignableFrom(ArrayList.class)) {
+            return ArrayList::new;
+        } else if (type.isAssignableFrom(HashSet.class)) {
+            return HashSet::new;
+        } else if (type.isAssignableFrom(TreeSet.class)) {
+            return TreeSet::new;
+        } else if (type.isAssignableFrom(ArrayDeque.class)) {
+            return ArrayDeque::new;
+        }
+        return tryCreateSupplier(type);
+    }
+
+    private static Supplier<?> mapFactory(Class<?> type) {
+        if (type.isAssignableFrom(LinkedHashMap.class)) {
+            return LinkedHashMap::new;
+        } else if (type.isAssignableFrom(TreeMap.class)) {
+            return TreeMap::new;
+        } else if (type.isAssignableFrom(ConcurrentHashMap.class) || type == ConcurrentMap.class) {
+            return ConcurrentHashMap::new;
+        }
+        return tryCreateSupplier(type);
+    }
+
+    /**
+     * 为有无参构造器的具体类创建实例工厂
+     *
+     * @param type
+     *            类型
+     * @return 实例工厂，无法创建时返回null（只有真正读取该类型时才会失败）
+     */
+    static Supplier<?> tryCreateSupplier(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            return LambdaUtil.createSupplier(type);
+        } catch (ReflectException e) {
+            return null;
+        }
+    }
+}
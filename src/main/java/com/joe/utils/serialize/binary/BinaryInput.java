@@ -0,0 +1,137 @@
+package com.joe.utils.serialize.binary;
+
+import java.nio.charset.StandardCharsets;
+
+import com.joe.utils.serialize.SerializeException;
+
+/**
+ * 二进制输入，与{@link BinaryOutput}的编码一一对应，直接读取字节数组，不会复制；非线程安全
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:40 JoeKerouac Exp $
+ */
+final class BinaryInput {
+
+    private final byte[] buffer;
+
+    private final int limit;
+
+    private int pos;
+
+    /**
+     * 构造器
+     *
+     * @param buffer
+     *            数据
+     * @param offset
+     *            数据起始位置
+     * @param len
+     *            数据长度
+     */
+    BinaryInput(byte[] buffer, int offset, int len) {
+        this.buffer = buffer;
+        this.pos = offset;
+        this.limit = offset + len;
+    }
+
+    /**
+     * 是否还有未读取的数据
+     *
+     * @return 返回true表示还有未读取的数据
+     */
+    boolean hasRemaining() {
+        return pos < limit;
+    }
+
+    int readByte() throws SerializeException {
+        require(1);
+        return buffer[pos++];
+    }
+
+    byte[] readBytes(int len) throws SerializeException {
+        require(len);
+        byte[] data = new byte[len];
+        System.arraycopy(buffer, pos, data, 0, len);
+        pos += len;
+        return data;
+    }
+
+    int readVarInt() throws SerializeException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializeException("varint格式错误");
+    }
+
+    long readVarLong() throws SerializeException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            result |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializeException("varint格式错误");
+    }
+
+    int readZigZagInt() throws SerializeException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    long readZigZagLong() throws SerializeException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * 读取长度，长度不能为负数也不能超过剩余数据量（每个元素至少占用一个字节）
+     *
+     * @return 长度
+     */
+    int readLength() throws SerializeException {
+        int len = readVarInt();
+        if (len < 0 || len > limit - pos) {
+            throw new SerializeException("长度[" + len + "]非法");
+        }
+        return len;
+    }
+
+    float readFloat() throws SerializeException {
+        return Float.intBitsToFloat(readFixedInt());
+    }
+
+    double readDouble() throws SerializeException {
+        long high = readFixedInt();
+        long low = readFixedInt() & 0xFFFFFFFFL;
+        return Double.longBitsToDouble((high << 32) | low);
+    }
+
+    String readString() throws SerializeException {
+        int len = readLength();
+        String str = new String(buffer, pos, len, StandardCharsets.UTF_8);
+        pos += len;
+        return str;
+    }
+
+    private int readFixedInt() throws SerializeException {
+        require(4);
+        byte[] buffer = this.buffer;
+        int value = ((buffer[pos] & 0xFF) << 24) | ((buffer[pos + 1] & 0xFF) << 16) | ((buffer[pos + 2] & 0xFF) << 8)
+            | (buffer[pos + 3] & 0xFF);
+        pos += 4;
+        return value;
+    }
+
+    private void require(int len) throws SerializeException {
+        if (len < 0 || limit - pos < len) {
+            throw new SerializeException("数据不完整");
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.joe.utils.serialize.binary;
+
+import java.util.Arrays;
+
+/**
+ * 二进制输出缓冲，提供varint、zigzag、定长浮点数以及UTF-8字符串的写出，容量不足时自动扩容；非线程安全，可以通过
+ * {@link #reset()}重复使用
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:40 JoeKerouac Exp $
+ */
+final class BinaryOutput {
+
+    private byte[] buffer;
+
+    private int pos;
+
+    BinaryOutput(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * 清空已经写出的数据，底层数组会保留
+     */
+    void reset() {
+        pos = 0;
+    }
+
+    /**
+     * 当前底层数组的容量
+     *
+     * @return 容量
+     */
+    int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * 已经写出的数据的副本
+     *
+     * @return 已经写出的数据
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, pos);
+    }
+
+    void writeByte(int b) {
+        ensure(1);
+        buffer[pos++] = (byte)b;
+    }
+
+    void writeBytes(byte[] data) {
+        ensure(data.length);
+        System.arraycopy(data, 0, buffer, pos, data.length);
+        pos += data.length;
+    }
+
+    /**
+     * 写出无符号varint（每个字节低7位为数据，最高位表示后面是否还有字节）
+     *
+     * @param value
+     *            按照无符号处理的int
+     */
+    void writeVarInt(int value) {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[pos++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte)value;
+    }
+
+    /**
+     * 写出无符号varint
+     *
+     * @param value
+     *            按照无符号处理的long
+     */
+    void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[pos++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[pos++] = (byte)value;
+    }
+
+    /**
+     * 写出zigzag编码的varint，绝对值小的负数也只占用很少的字节
+     *
+     * @param value
+     *            有符号int
+     */
+    void writeZigZagInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * 写出zigzag编码的varint
+     *
+     * @param value
+     *            有符号long
+     */
+    void writeZigZagLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeFloat(float value) {
+        writeFixedInt(Float.floatToIntBits(value));
+    }
+
+    void writeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        writeFixedInt((int)(bits >>> 32));
+        writeFixedInt((int)bits);
+    }
+
+    /**
+     * 写出字符串：varint编码的UTF-8字节数，然后是UTF-8数据；不成对的代理字符按照{@link String#getBytes}的处理方式输出为'?'
+     *
+     * @param str
+     *            字符串，不能为null
+     */
+    void writeString(String str) {
+        int len = str.length();
+        int utf8Len = utf8Length(str);
+        writeVarInt(utf8Len);
+        ensure(utf8Len);
+        byte[] buffer = this.buffer;
+        int pos = this.pos;
+        if (utf8Len == len) {
+            for (int i = 0; i < len; i++) {
+                buffer[pos++] = (byte)str.charAt(i);
+            }
+            this.pos = pos;
+            return;
+        }
+
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                buffer[pos++] = (byte)c;
+            } else if (c < 0x800) {
+                buffer[pos++] = (byte)(0xC0 | (c >> 6));
+                buffer[pos++] = (byte)(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                buffer[pos++] = (byte)(0xF0 | (codePoint >> 18));
+                buffer[pos++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[pos++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[pos++] = (byte)(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer[pos++] = '?';
+            } else {
+                buffer[pos++] = (byte)(0xE0 | (c >> 12));
+                buffer[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+                buffer[pos++] = (byte)(0x80 | (c & 0x3F));
+            }
+        }
+        this.pos = pos;
+    }
+
+    /**
+     * 计算字符串UTF-8编码后的字节数，与{@link #writeString(String)}的编码规则一致
+     */
+    private static int utf8Length(String str) {
+        int len = str.length();
+        int utf8Len = len;
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                utf8Len += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                // 两个char共4个字节
+                utf8Len += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                utf8Len += 2;
+            }
+        }
+        return utf8Len;
+    }
+
+    private void writeFixedInt(int value) {
+        ensure(4);
+        buffer[pos++] = (byte)(value >>> 24);
+        buffer[pos++] = (byte)(value >>> 16);
+        buffer[pos++] = (byte)(value >>> 8);
+        buffer[pos++] = (byte)value;
+    }
+
+    private void ensure(int size) {
+        if (buffer.length - pos < size) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, pos + size));
+        }
+    }
+}
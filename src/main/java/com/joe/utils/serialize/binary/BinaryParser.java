@@ -0,0 +1,149 @@
+package com.joe.utils.serialize.binary;
+
+import java.nio.charset.StandardCharsets;
+
+import com.joe.utils.codec.IBase64;
+import com.joe.utils.common.Assert;
+import com.joe.utils.serialize.SerializeException;
+import com.joe.utils.serialize.Serializer;
+
+/**
+ * 紧凑的二进制序列化，适用于两端使用相同DTO定义的服务间通信
+ * <p>
+ * 不需要额外的schema定义，编码格式由Class（基于{@link com.joe.utils.reflect.BeanUtils}的字段说明）决定：字段按字段名排序后依次
+ * 写出，不包含字段名；整数使用varint编码；每个类型的编解码计划只会生成一次。因此读写两端的DTO字段必须一致（字段数量不一致时读取会
+ * 抛出异常），不适合持久化或者跨版本的数据交换
+ * <p>
+ * 支持基本类型及其封装类型、String、BigDecimal、BigInteger、Date、枚举、数组、Collection、Map以及由这些类型组成的pojo；pojo需要
+ * 有无参构造器，static、transient、final字段不会被序列化；声明类型为Object、接口的字段中的pojo会被序列化为以字段名为key的Map
+ * <p>
+ * String相关的方法使用Base64编码二进制数据；线程安全
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:40 JoeKerouac Exp $
+ */
+public final class BinaryParser implements Serializer {
+
+    private static final BinaryParser BINARY_PARSER = new BinaryParser();
+
+    /**
+     * 缓存的输出缓冲超过该容量时不再缓存，防止偶尔序列化一个大对象后一直占用内存
+     */
+    private static final int MAX_CACHED_CAPACITY = 64 * 1024;
+
+    /**
+     * 每个线程复用的输出缓冲
+     */
+    private static final ThreadLocal<BinaryOutput> OUTPUT = ThreadLocal.withInitial(() -> new BinaryOutput(256));
+
+    private BinaryParser() {}
+
+    public static BinaryParser getInstance() {
+        return BINARY_PARSER;
+    }
+
+    /**
+     * 将对象序列化为二进制数据
+     *
+     * @param t
+     *            要序列化的对象，可以为null
+     * @param <T>
+     *            对象的实际类型
+     * @return 序列化后的数据
+     * @throws SerializeException
+     *             包含不支持的类型时抛出
+     */
+    @Override
+    public <T> byte[] write(T t) throws SerializeException {
+        BinaryOutput out = OUTPUT.get();
+        out.reset();
+        try {
+            if (t == null) {
+                out.writeByte(BinaryCodec.NULL);
+            } else {
+                BinaryCodec.of(t.getClass()).writeTagged(out, t);
+            }
+            return out.toByteArray();
+        } finally {
+            if (out.capacity() > MAX_CACHED_CAPACITY) {
+                OUTPUT.remove();
+            }
+        }
+    }
+
+    /**
+     * 将对象序列化为Base64编码的二进制数据
+     *
+     * @param t
+     *            要序列化的对象，可以为null
+     * @param <T>
+     *            对象的实际类型
+     * @return Base64编码的序列化数据
+     * @throws SerializeException
+     *             包含不支持的类型时抛出
+     */
+    @Override
+    public <T> String writeToString(T t) throws SerializeException {
+        return new String(IBase64.encrypt(write(t)), StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public <T> T read(byte[] data, Class<T> clazz) throws SerializeException {
+        Assert.notNull(data, "data不能为null");
+        return read(data, 0, data.length, clazz);
+    }
+
+    /**
+     * 将数据反序列化为对象
+     *
+     * @param data
+     *            数据
+     * @param offset
+     *            数据起始位置
+     * @param len
+     *            数据长度
+     * @param clazz
+     *            对象的Class，必须与写出时对象的Class一致（基本类型与其封装类型、数值类型之间可以互相转换）
+     * @param <T>
+     *            对象的实际类型
+     * @return 反序列化后的对象
+     * @throws SerializeException
+     *             数据格式错误、数据与clazz不匹配时抛出
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(byte[] data, int offset, int len, Class<T> clazz) throws SerializeException {
+        Assert.notNull(data, "data不能为null");
+        Assert.notNull(clazz, "clazz不能为null");
+        BinaryInput in = new BinaryInput(data, offset, len);
+        Object result = BinaryCodec.of(clazz).readTagged(in, in.readByte());
+        if (in.hasRemaining()) {
+            throw new SerializeException("数据末尾存在多余的数据");
+        }
+        return (T)result;
+    }
+
+    /**
+     * 将Base64编码的数据反序列化为对象
+     *
+     * @param data
+     *            {@link #writeToString(Object)}的结果
+     * @param clazz
+     *            对象的Class
+     * @param <T>
+     *            对象的实际类型
+     * @return 反序列化后的对象
+     * @throws SerializeException
+     *             数据格式错误、数据与clazz不匹配时抛出
+     */
+    @Override
+    public <T> T read(String data, Class<T> clazz) throws SerializeException {
+        Assert.notNull(data, "data不能为null");
+        byte[] bytes;
+        try {
+            bytes = IBase64.decrypt(data.getBytes(StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new SerializeException(e);
+        }
+        return read(bytes, clazz);
+    }
+}
@@ -0,0 +1,126 @@
+package com.joe.utils.serialize.form;
+
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+import com.joe.utils.collection.ClassValueCache;
+import com.joe.utils.common.string.StringUtils;
+import com.joe.utils.exception.NoSupportException;
+import com.joe.utils.reflect.BeanUtils.CustomPropertyDescriptor;
+import com.joe.utils.reflect.ReflectException;
+import com.joe.utils.reflect.type.JavaTypeUtil;
+import com.joe.utils.serialize.BeanPlan;
+
+/**
+ * pojo与form数据的绑定计划，预先确定需要绑定的字段（static、final字段除外）、每个字段的值转换器以及按字段名排序的输出顺序；计划按
+ * Class缓存
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:00 JoeKerouac Exp $
+ */
+final class FormBeanPlan extends BeanPlan<FormBeanPlan.Property> {
+
+    private static final ClassValueCache<FormBeanPlan> CACHE = new ClassValueCache<>(FormBeanPlan::new);
+
+    private FormBeanPlan(Class<?> clazz) {
+        super(clazz, Modifier.STATIC | Modifier.FINAL, Property::new, Property[]::new);
+    }
+
+    /**
+     * 获取指定Class的绑定计划
+     *
+     * @param clazz
+     *            pojo的Class
+     * @return 绑定计划
+     */
+    static FormBeanPlan get(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 创建pojo实例
+     *
+     * @return pojo实例
+     */
+    Object newInstance() {
+        if (getFactory() == null) {
+            throw new ReflectException("获取类[" + getClazz().getName() + "]实例异常，可能是没有默认无参构造器");
+        }
+        return getFactory().get();
+    }
+
+    /**
+     * 将form中的值转换为指定类型的转换器
+     *
+     * @param type
+     *            类型
+     * @return 转换器，不支持的类型返回null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Function<String, Object> converter(Class<?> type) {
+        Class<?> boxed = JavaTypeUtil.boxed(type);
+        if (boxed == Byte.class) {
+            return Byte::valueOf;
+        } else if (boxed == Short.class) {
+            return Short::valueOf;
+        } else if (boxed == Integer.class) {
+            return Integer::valueOf;
+        } else if (boxed == Long.class) {
+            return Long::valueOf;
+        } else if (boxed == Float.class) {
+            return Float::valueOf;
+        } else if (boxed == Double.class) {
+            return Double::valueOf;
+        } else if (boxed == Boolean.class) {
+            return Boolean::valueOf;
+        } else if (boxed == Character.class) {
+            return value -> value.charAt(0);
+        } else if (type == BigDecimal.class) {
+            return BigDecimal::new;
+        } else if (type == String.class || type == Object.class || type == CharSequence.class) {
+            return value -> value;
+        } else if (type.isEnum()) {
+            return value -> Enum.valueOf((Class)type, value);
+        }
+        return null;
+    }
+
+    /**
+     * 需要绑定的字段
+     */
+    static final class Property extends BeanPlan.Property {
+
+        /**
+         * 值转换器，不支持的类型为null
+         */
+        private final Function<String, Object> converter;
+
+        private Property(CustomPropertyDescriptor descriptor) {
+            super(descriptor);
+            this.converter = converter(descriptor.getRealType());
+        }
+
+        /**
+         * 将form中的值转换后设置到pojo中，空白字符串对应null，基本类型字段的值为空时不设置
+         *
+         * @param pojo
+         *            pojo
+         * @param value
+         *            form中的值
+         */
+        void bind(Object pojo, String value) {
+            Class<?> type = getDescriptor().getRealType();
+            if (converter == null) {
+                throw new NoSupportException("FormParser不支持的数据类型：" + type);
+            }
+            if (StringUtils.isEmpty(value)) {
+                if (!type.isPrimitive()) {
+                    set(pojo, null);
+                }
+                return;
+            }
+            set(pojo, converter.apply(value));
+        }
+    }
+}
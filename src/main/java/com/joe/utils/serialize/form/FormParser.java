@@ -1,72 +1,169 @@
 package com.joe.utils.serialize.form;
 
-import java.math.BigDecimal;
-import java.util.Arrays;
-import java.util.Collection;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import com.joe.utils.common.Assert;
+import com.joe.utils.common.string.FormCodec;
 import com.joe.utils.common.string.StringUtils;
 import com.joe.utils.exception.NoSupportException;
 import com.joe.utils.reflect.clazz.ClassUtils;
 import com.joe.utils.reflect.type.JavaTypeUtil;
-import com.joe.utils.reflect.ReflectUtil;
 import com.joe.utils.serialize.SerializeException;
 import com.joe.utils.serialize.Serializer;
+import com.joe.utils.serialize.form.FormBeanPlan.Property;
 
 /**
  * form格式数据解析，只能解析简单对象，如果要解析为map那么只能解析为key、value泛型均为String的map
+ * <p>
+ * 基于{@link FormCodec}单次扫描解析，默认读取时原样返回key、value（与之前的版本一致，'+'、%XY都不会被解码），需要URL解码时使用
+ * {@link #FormParser(boolean)}；写出时对value进行URL编码（默认UTF-8）；解析为pojo时按照缓存的字段计划直接绑定，数据中不存在
+ * 的字段保持默认值，不会生成中间Map
  *
  * @author JoeKerouac
  * @version $Id: joe, v 0.1 2019年04月08日 20:43 JoeKerouac Exp $
  */
 public class FormParser implements Serializer {
+
+    /**
+     * 默认实例，读取时不进行URL解码
+     */
+    private static final FormParser FORM_PARSER = new FormParser();
+
+    /**
+     * 读取时是否对key、value进行URL解码
+     */
+    private final boolean urldecode;
+
+    /**
+     * 构造器，读取时不进行URL解码
+     */
+    public FormParser() {
+        this(false);
+    }
+
+    /**
+     * 构造器
+     *
+     * @param urldecode
+     *            读取时是否对key、value进行URL解码（'+'解码为空格，%XY按照字符集解码），为false时原样返回
+     */
+    public FormParser(boolean urldecode) {
+        this.urldecode = urldecode;
+    }
+
+    /**
+     * 获取默认实例（读取时不进行URL解码）
+     *
+     * @return FormParser
+     */
+    public static FormParser getInstance() {
+        return FORM_PARSER;
+    }
     @Override
     public <T> byte[] write(T t) throws SerializeException {
-        return new byte[0];
+        String data = writeToString(t);
+        return data == null ? null : data.getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
     public <T> String writeToString(T t) throws SerializeException {
+        return writeToString(t, false, true, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 将对象序列化为form数据，值为null的字段输出为空字符串
+     *
+     * @param t
+     *            对象，可以是简单类型、Map或者pojo
+     * @param sort
+     *            是否按照key的字典序输出，常用于签名
+     * @param urlencode
+     *            是否对value进行URL编码
+     * @param charset
+     *            URL编码使用的字符集，urlencode为false时可以为null
+     * @return form数据，对象为null时返回null
+     */
+    @SuppressWarnings("unchecked")
+    public String writeToString(Object t, boolean sort, boolean urlencode, Charset charset) {
         if (t == null) {
             return null;
         }
 
         Class<?> type = t.getClass();
-
-        StringBuilder sb = new StringBuilder();
-
         if (JavaTypeUtil.isSimple(type)) {
             return String.valueOf(t);
-        } else {
-            Arrays.stream(ReflectUtil.getAllFields(type)).forEach(field -> {
-                Object value = ReflectUtil.getFieldValue(t, field);
-                if (value == null) {
-                    value = "";
-                }
-                sb.append(field.getName()).append("=").append(String.valueOf(value)).append("&");
-            });
+        } else if (t instanceof Map) {
+            Map<String, Object> map = new HashMap<>();
+            ((Map<Object, Object>)t).forEach((k, v) -> map.put(String.valueOf(k), v));
+            return FormCodec.write(map, sort, urlencode, charset, true);
         }
 
-        return null;
+        // 计划中的字段已经按照字段名排序
+        StringBuilder sb = new StringBuilder();
+        for (Property property : FormBeanPlan.get(type).getProperties()) {
+            FormCodec.append(sb, property.getName(), property.get(t), urlencode, charset, true);
+        }
+        return sb.toString();
     }
 
     @Override
     public <T> T read(byte[] data, Class<T> clazz) throws SerializeException {
-        return read(new String(data), clazz);
+        if (data == null) {
+            return null;
+        }
+        return read(data, 0, data.length, StandardCharsets.UTF_8, clazz);
+    }
+
+    /**
+     * 解析form数据，直接扫描字节数据，不会先转换为String
+     *
+     * @param data
+     *            form数据
+     * @param offset
+     *            数据起始位置
+     * @param len
+     *            数据长度
+     * @param charset
+     *            数据的字符集（同时也是URL解码使用的字符集），必须兼容ASCII
+     * @param clazz
+     *            结果Class
+     * @param <T>
+     *            结果类型
+     * @return 解析结果
+     */
+    public <T> T read(byte[] data, int offset, int len, Charset charset, Class<T> clazz) {
+        Assert.notNull(clazz);
+        Assert.notNull(data);
+        return read(consumer -> FormCodec.parse(data, offset, len, urldecode, charset, consumer), clazz);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T read(String data, Class<T> clazz) throws SerializeException {
         Assert.notNull(clazz);
         if (data == null) {
             return null;
         }
+        return read(consumer -> FormCodec.parse(data, urldecode, StandardCharsets.UTF_8, consumer), clazz);
+    }
 
-        Map<String, String> params = readAsMap(data);
-
+    /**
+     * 解析form数据
+     *
+     * @param source
+     *            数据源，将解析出的每个键值对交给指定的处理器
+     * @param clazz
+     *            结果Class
+     * @return 解析结果
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T read(Consumer<BiConsumer<String, String>> source, Class<T> clazz) {
         if (Map.class.isAssignableFrom(clazz)) {
             Map<String, String> map = null;
             try {
@@ -74,97 +171,34 @@ public class FormParser implements Serializer {
             } catch (Exception e) {
 
             }
-            if (map == null) {
-                return (T)params;
-            } else {
-                map.putAll(params);
-                return (T)map;
-            }
+            Map<String, String> params = map == null ? new HashMap<>() : map;
+            source.accept((key, value) -> params.put(key, value.isEmpty() ? null : value));
+            return (T)params;
         }
 
         if (JavaTypeUtil.isSimple(clazz)) {
-            Collection<String> values = params.values();
-            for (String value : values) {
+            Function<String, Object> converter = FormBeanPlan.converter(clazz);
+            Map<String, String> params = new LinkedHashMap<>();
+            source.accept(params::put);
+            for (String value : params.values()) {
                 try {
-                    return (T)readValue(value, clazz);
+                    if (converter != null && StringUtils.isNotEmpty(value)) {
+                        return (T)converter.apply(value);
+                    }
                 } catch (Exception e) {
                 }
             }
             throw new NoSupportException("FormParser不支持的数据类型：" + clazz);
-        } else {
-            T t = ClassUtils.getInstance(clazz);
-            if (StringUtils.isEmpty(data)) {
-                return t;
-            }
-
-            Arrays.stream(ReflectUtil.getAllFields(clazz)).forEach(
-                field -> ReflectUtil.setFieldValue(t, field, readValue(params.get(field.getName()), field.getType())));
-            return t;
         }
-    }
-
-    /**
-     * 将form格式数据读取为Map
-     * 
-     * @param data
-     *            form格式数据，不能为空，外部调用自己检查
-     * @return 读取后的数据
-     */
-    private Map<String, String> readAsMap(String data) {
-        Map<String, String> params = new HashMap<>();
 
-        Arrays.stream(data.split("&")).forEach(arg -> {
-            if (StringUtils.isEmpty(arg)) {
-                return;
-            }
-            String[] args = arg.split("=");
-            if (args.length == 1) {
-                params.put(args[0], null);
-            } else {
-                params.put(args[0], args[1]);
+        FormBeanPlan plan = FormBeanPlan.get(clazz);
+        T t = (T)plan.newInstance();
+        source.accept((key, value) -> {
+            Property property = plan.getProperty(key);
+            if (property != null) {
+                property.bind(t, value);
             }
         });
-        return params;
-    }
-
-    /**
-     * 读取值
-     * 
-     * @param value
-     *            值
-     * @param type
-     *            值类型
-     * @return 读取到的值
-     */
-    private Object readValue(String value, Class<?> type) {
-        if (StringUtils.isEmpty(value)) {
-            return null;
-        }
-
-        if (byte.class.equals(type) || Byte.class.equals(type)) {
-            return Byte.valueOf(value);
-        } else if (short.class.equals(type) || Short.class.equals(type)) {
-            return Short.valueOf(value);
-        } else if (int.class.equals(type) || Integer.class.equals(type)) {
-            return Integer.valueOf(value);
-        } else if (long.class.equals(type) || Long.class.equals(type)) {
-            return Long.valueOf(value);
-        } else if (float.class.equals(type) || Float.class.equals(type)) {
-            return Float.valueOf(value);
-        } else if (double.class.equals(type) || Double.class.equals(type)) {
-            return Double.valueOf(value);
-        } else if (boolean.class.equals(type) || Boolean.class.equals(type)) {
-            return Boolean.valueOf(value);
-        } else if (char.class.equals(type) || Character.class.equals(type)) {
-            return value.charAt(0);
-        } else if (BigDecimal.class.equals(type)) {
-            return new BigDecimal(value);
-        } else if (String.class.equals(type)) {
-            return value;
-        } else if (Enum.class.equals(type)) {
-            return ReflectUtil.invoke(type, "valueOf", new Class[] {String.class}, value);
-        } else {
-            throw new NoSupportException("FormParser不支持的数据类型：" + type);
-        }
+        return t;
     }
 }
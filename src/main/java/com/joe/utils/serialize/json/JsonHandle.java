@@ -0,0 +1,235 @@
+package com.joe.utils.serialize.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import com.joe.utils.common.Assert;
+import com.joe.utils.serialize.SerializeException;
+
+/**
+ * 指定类型的json读写句柄，类型在创建时就已经解析完成（内部是绑定了类型的ObjectReader、ObjectWriter），适合在热点代码中保存下来
+ * 重复使用，省去每次调用时的类型解析；线程安全
+ * <p>
+ * 与{@link JsonParser}的readAs*、toJson系列方法不同，该句柄不对String做特殊处理（String会被当作json字符串处理），失败时抛出
+ * 异常而不是返回null
+ *
+ * @param <T>
+ *            数据类型
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 00:50 JoeKerouac Exp $
+ */
+public final class JsonHandle<T> {
+
+    private final ObjectReader reader;
+
+    private final ObjectWriter writer;
+
+    /**
+     * 构造器
+     *
+     * @param reader
+     *            绑定了类型的ObjectReader，不能自动关闭输入源
+     * @param writer
+     *            绑定了类型的ObjectWriter，不能自动关闭输出目标
+     */
+    JsonHandle(ObjectReader reader, ObjectWriter writer) {
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    /**
+     * 解析json
+     *
+     * @param content
+     *            json字符串
+     * @return 解析结果
+     * @throws SerializeException
+     *             解析失败时抛出
+     */
+    public T read(String content) throws SerializeException {
+        Assert.notNull(content, "content不能为null");
+        try {
+            return reader.readValue(content);
+        } catch (IOException e) {
+            throw new SerializeException(e);
+        }
+    }
+
+    /**
+     * 解析json
+     *
+     * @param content
+     *            json数据
+     * @return 解析结果
+     * @throws SerializeException
+     *             解析失败时抛出
+     */
+    public T read(byte[] content) throws SerializeException {
+        Assert.notNull(content, "content不能为null");
+        return read(content, 0, content.length);
+    }
+
+    /**
+     * 解析json
+     *
+     * @param content
+     *            json数据
+     * @param offset
+     *            数据起始位置
+     * @param len
+     *            数据长度
+     * @return 解析结果
+     * @throws SerializeException
+     *             解析失败时抛出
+     */
+    public T read(byte[] content, int offset, int len) throws SerializeException {
+        Assert.notNull(content, "content不能为null");
+        try {
+            return reader.readValue(content, offset, len);
+        } catch (IOException e) {
+            throw new SerializeException(e);
+        }
+    }
+
+    /**
+     * 解析buffer中position到limit之间的json数据，堆内buffer直接读取底层数组，不会复制；解析成功后buffer的position将被设置为
+     * limit
+     *
+     * @param buffer
+     *            json数据
+     * @return 解析结果
+     * @throws SerializeException
+     *             解析失败时抛出
+     */
+    public T read(ByteBuffer buffer) throws SerializeException {
+        Assert.notNull(buffer, "buffer不能为null");
+        try {
+            T result;
+            if (buffer.hasArray()) {
+                result = reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining());
+            } else {
+                result = reader.readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+            }
+            buffer.position(buffer.limit());
+            return result;
+        } catch (IOException e) {
+            throw new SerializeException(e);
+        }
+    }
+
+    /**
+     * 从输入流中解析json，输入流不会被关闭
+     *
+     * @param in
+     *            输入流
+     * @return 解析结果
+     * @throws IOException
+     *             读取或者解析失败时抛出
+     */
+    public T read(InputStream in) throws IOException {
+        Assert.notNull(in, "in不能为null");
+        return reader.readValue(in);
+    }
+
+    /**
+     * 序列化为json字符串
+     *
+     * @param value
+     *            数据
+     * @return json字符串
+     * @throws SerializeException
+     *             序列化失败时抛出
+     */
+    public String writeToString(T value) throws SerializeException {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new SerializeException(e);
+        }
+    }
+
+    /**
+     * 序列化为UTF-8编码的json数据
+     *
+     * @param value
+     *            数据
+     * @return json数据
+     * @throws SerializeException
+     *             序列化失败时抛出
+     */
+    public byte[] write(T value) throws SerializeException {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializeException(e);
+        }
+    }
+
+    /**
+     * 序列化并以UTF-8编码直接写入输出流，输出流不会被关闭
+     *
+     * @param value
+     *            数据
+     * @param out
+     *            输出流
+     * @throws IOException
+     *             序列化或者写出失败时抛出
+     */
+    public void write(T value, OutputStream out) throws IOException {
+        Assert.notNull(out, "out不能为null");
+        writer.writeValue(out, value);
+    }
+
+    /**
+     * 序列化并以UTF-8编码直接写入buffer（从position开始），完成后position位于写入数据之后
+     *
+     * @param value
+     *            数据
+     * @param buffer
+     *            buffer
+     * @throws IOException
+     *             序列化失败时抛出
+     * @throws java.nio.BufferOverflowException
+     *             buffer剩余空间不足时抛出
+     */
+    public void write(T value, ByteBuffer buffer) throws IOException {
+        Assert.notNull(buffer, "buffer不能为null");
+        writer.writeValue(new ByteBufferBackedOutputStream(buffer), value);
+    }
+
+    /**
+     * 从输入流中逐个读取json序列中的元素，参见{@link JsonParser#readAsSequence(InputStream, Class)}
+     *
+     * @param in
+     *            输入流，读取器关闭时不会关闭
+     * @return 序列读取器
+     * @throws IOException
+     *             读取失败时抛出
+     */
+    public JsonSequenceReader<T> readSequence(InputStream in) throws IOException {
+        Assert.notNull(in, "in不能为null");
+        return new JsonSequenceReader<>(reader.readValues(in));
+    }
+
+    /**
+     * 创建json序列写出器，参见{@link JsonParser#writeAsSequence(OutputStream, JsonSequenceFormat, boolean)}
+     *
+     * @param out
+     *            输出流，写出器关闭时不会关闭
+     * @param format
+     *            序列格式
+     * @return 序列写出器，使用完毕后必须关闭
+     * @throws IOException
+     *             写出失败时抛出
+     */
+    public JsonSequenceWriter<T> writeSequence(OutputStream out, JsonSequenceFormat format) throws IOException {
+        return new JsonSequenceWriter<>(writer, out, format);
+    }
+}
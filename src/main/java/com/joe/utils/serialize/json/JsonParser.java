@@ -1,22 +1,40 @@
 package com.joe.utils.serialize.json;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionLikeType;
-import com.fasterxml.jackson.databind.type.MapType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import com.joe.utils.collection.ClassValueCache;
 import com.joe.utils.common.Assert;
+import com.joe.utils.common.IOUtils;
 import com.joe.utils.common.string.StringUtils;
 import com.joe.utils.exception.ExceptionWraper;
 import com.joe.utils.serialize.SerializeException;
 import com.joe.utils.serialize.Serializer;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * json解析工具（需要注意的是对于byte数组的处理，该实现采用的是jackson的实现，所以对于byte数组会将其转换为BASE64的字符串）
+ * <p>
+ * byte[]、流、ByteBuffer相关的方法直接在字节上读写（UTF-8编码），不会先转换为String；Map、Collection的泛型类型解析后会缓存，
+ * 热点代码可以使用{@link #getHandle(Class, boolean)}等方法获取类型已经解析好的{@link JsonHandle}
  *
  * @author joe
  */
@@ -26,6 +44,29 @@ public class JsonParser implements Serializer {
     private static final ObjectMapper MAPPER_IGNORE_NULL;
     private static final ObjectMapper MAPPER;
 
+    /**
+     * 不自动关闭输入源的ObjectReader
+     */
+    private static final ObjectReader READER;
+
+    /**
+     * 不自动关闭输出目标的ObjectWriter
+     */
+    private static final ObjectWriter WRITER;
+
+    /**
+     * 不自动关闭输出目标、忽略null的ObjectWriter
+     */
+    private static final ObjectWriter WRITER_IGNORE_NULL;
+
+    /**
+     * Map、Collection类型组合对应的JavaType缓存，按元素（value）类型存放在元素Class上，元素Class不可达时缓存随之回收，不会
+     * 因为缓存持有Class引用而导致业务ClassLoader无法卸载；raw类型和key类型作为二级key（通常是JDK类型，如果key类型也是业务
+     * 类型，那么需要与元素类型来自同一个ClassLoader，否则在卸载前需要调用{@link ClassValueCache#remove(Class)}）
+     */
+    private static final ClassValueCache<ConcurrentMap<TypeKey, JavaType>> TYPE_CACHE = new ClassValueCache<>(
+        type -> new ConcurrentHashMap<>());
+
     private JsonParser() {}
 
     static {
@@ -35,6 +76,10 @@ public class JsonParser implements Serializer {
         MAPPER.setSerializationInclusion(JsonInclude.Include.ALWAYS);
         MAPPER_IGNORE_NULL.setSerializationInclusion(JsonInclude.Include.NON_NULL);
 
+        READER = MAPPER.reader().without(com.fasterxml.jackson.core.JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        WRITER = MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        WRITER_IGNORE_NULL = MAPPER_IGNORE_NULL.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
         JSON_PARSER = new JsonParser();
     }
 
@@ -44,7 +89,7 @@ public class JsonParser implements Serializer {
 
     @Override
     public <T> byte[] write(T t) throws SerializeException {
-        return ExceptionWraper.runWithResult(() -> toJson(t).getBytes(), SerializeException::new);
+        return ExceptionWraper.runWithResult(() -> toJsonBytes(t, false), SerializeException::new);
     }
 
     @Override
@@ -103,6 +148,73 @@ public class JsonParser implements Serializer {
         }
     }
 
+    /**
+     * 将Object序列化为UTF-8编码的json数据，不经过String（String会直接使用UTF-8编码返回）
+     *
+     * @param obj
+     *            要序列化的对象
+     * @param ignoreNull
+     *            是否忽略空元素 ，如果为true为忽略
+     * @return obj为null时返回null，序列化失败将返回空数组
+     */
+    public byte[] toJsonBytes(Object obj, boolean ignoreNull) {
+        if (obj == null) {
+            return null;
+        }
+        if (obj instanceof String) {
+            return ((String)obj).getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return writer(ignoreNull).writeValueAsBytes(obj);
+        } catch (Exception e) {
+            log.error("序列化失败，失败原因：", e);
+            return new byte[0];
+        }
+    }
+
+    /**
+     * 将Object序列化并以UTF-8编码直接写入输出流（String会直接使用UTF-8编码写入），输出流不会被关闭
+     *
+     * @param obj
+     *            要序列化的对象，为null时不写入任何数据
+     * @param ignoreNull
+     *            是否忽略空元素 ，如果为true为忽略
+     * @param out
+     *            输出流
+     * @throws IOException
+     *             序列化或者写出失败时抛出
+     */
+    public void toJson(Object obj, boolean ignoreNull, OutputStream out) throws IOException {
+        Assert.notNull(out, "out不能为null");
+        if (obj == null) {
+            return;
+        }
+        if (obj instanceof String) {
+            out.write(((String)obj).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        writer(ignoreNull).writeValue(out, obj);
+    }
+
+    /**
+     * 将Object序列化并以UTF-8编码直接写入buffer（从position开始，完成后position位于写入数据之后）
+     *
+     * @param obj
+     *            要序列化的对象，为null时不写入任何数据
+     * @param ignoreNull
+     *            是否忽略空元素 ，如果为true为忽略
+     * @param buffer
+     *            buffer
+     * @throws IOException
+     *             序列化失败时抛出
+     * @throws java.nio.BufferOverflowException
+     *             buffer剩余空间不足时抛出
+     */
+    public void toJson(Object obj, boolean ignoreNull, ByteBuffer buffer) throws IOException {
+        Assert.notNull(buffer, "buffer不能为null");
+        toJson(obj, ignoreNull, new ByteBufferBackedOutputStream(buffer));
+    }
+
     /**
      * 解析json
      *
@@ -149,7 +261,7 @@ public class JsonParser implements Serializer {
                 log.debug("content为{}，type为：{}", content, type);
                 return null;
             } else if (type.equals(String.class)) {
-                return (T)new String(content);
+                return (T)new String(content, StandardCharsets.UTF_8);
             }
             return MAPPER.readValue(content, type);
         } catch (Exception e) {
@@ -158,6 +270,54 @@ public class JsonParser implements Serializer {
         }
     }
 
+    /**
+     * 从输入流中解析json，输入流不会被关闭
+     *
+     * @param in
+     *            json数据
+     * @param type
+     *            json解析后对应的实体类型
+     * @param <T>
+     *            实体类型的实际类型
+     * @return 解析失败将返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readAsObject(InputStream in, Class<T> type) {
+        Assert.notNull(type);
+        if (type.equals(String.class)) {
+            Assert.notNull(in, "in不能为null");
+            try {
+                return (T)IOUtils.read(in, StandardCharsets.UTF_8.name());
+            } catch (IOException e) {
+                log.error("json解析失败，失败原因：", e);
+                return null;
+            }
+        }
+        return read(in, MAPPER.constructType(type));
+    }
+
+    /**
+     * 解析buffer中position到limit之间的json数据，堆内buffer直接读取底层数组，不会复制；解析成功后buffer的position将被设置为
+     * limit
+     *
+     * @param buffer
+     *            json数据
+     * @param type
+     *            json解析后对应的实体类型
+     * @param <T>
+     *            实体类型的实际类型
+     * @return 解析失败将返回null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readAsObject(ByteBuffer buffer, Class<T> type) {
+        Assert.notNull(type);
+        if (type.equals(String.class)) {
+            Assert.notNull(buffer, "buffer不能为null");
+            return buffer.hasRemaining() ? (T)StandardCharsets.UTF_8.decode(buffer).toString() : null;
+        }
+        return read(buffer, MAPPER.constructType(type));
+    }
+
     /**
      * 将json数据读取为带泛型的map类型的数据
      *
@@ -180,8 +340,7 @@ public class JsonParser implements Serializer {
     public <T extends Map<K, V>, K, V> T readAsMap(String content, Class<? extends Map> mapType, Class<K> keyType,
         Class<V> valueType) {
         try {
-            MapType type = MAPPER.getTypeFactory().constructMapType(mapType, keyType, valueType);
-            return MAPPER.readValue(content, type);
+            return MAPPER.readValue(content, mapType(mapType, keyType, valueType));
         } catch (Exception e) {
             log.error("json解析失败，失败原因：", e);
             return null;
@@ -209,7 +368,60 @@ public class JsonParser implements Serializer {
      */
     public <T extends Map<K, V>, K, V> T readAsMap(byte[] content, Class<? extends Map> mapType, Class<K> keyType,
         Class<V> valueType) {
-        return readAsMap(new String(content), mapType, keyType, valueType);
+        try {
+            return MAPPER.readValue(content, mapType(mapType, keyType, valueType));
+        } catch (Exception e) {
+            log.error("json解析失败，失败原因：", e);
+            return null;
+        }
+    }
+
+    /**
+     * 从输入流中将json数据读取为带泛型的map类型的数据，输入流不会被关闭
+     *
+     * @param in
+     *            json数据
+     * @param mapType
+     *            要返回的map类型
+     * @param keyType
+     *            map的key的泛型
+     * @param valueType
+     *            map的value的泛型
+     * @param <T>
+     *            Map的实际类型
+     * @param <K>
+     *            map中key的实际类型
+     * @param <V>
+     *            map中value的实际类型
+     * @return map 解析结果，解析失败将返回null
+     */
+    public <T extends Map<K, V>, K, V> T readAsMap(InputStream in, Class<? extends Map> mapType, Class<K> keyType,
+        Class<V> valueType) {
+        return read(in, mapType(mapType, keyType, valueType));
+    }
+
+    /**
+     * 将buffer中position到limit之间的json数据读取为带泛型的map类型的数据，解析成功后buffer的position将被设置为limit
+     *
+     * @param buffer
+     *            json数据
+     * @param mapType
+     *            要返回的map类型
+     * @param keyType
+     *            map的key的泛型
+     * @param valueType
+     *            map的value的泛型
+     * @param <T>
+     *            Map的实际类型
+     * @param <K>
+     *            map中key的实际类型
+     * @param <V>
+     *            map中value的实际类型
+     * @return map 解析结果，解析失败将返回null
+     */
+    public <T extends Map<K, V>, K, V> T readAsMap(ByteBuffer buffer, Class<? extends Map> mapType, Class<K> keyType,
+        Class<V> valueType) {
+        return read(buffer, mapType(mapType, keyType, valueType));
     }
 
     /**
@@ -230,8 +442,7 @@ public class JsonParser implements Serializer {
     public <T extends Collection<V>, V> T readAsCollection(String content, Class<? extends Collection> collectionType,
         Class<V> elementsType) {
         try {
-            CollectionLikeType type = MAPPER.getTypeFactory().constructCollectionLikeType(collectionType, elementsType);
-            return MAPPER.readValue(content, type);
+            return MAPPER.readValue(content, collectionType(collectionType, elementsType));
         } catch (Exception e) {
             log.error("json解析失败，失败原因：", e);
             return null;
@@ -255,6 +466,233 @@ public class JsonParser implements Serializer {
      */
     public <T extends Collection<V>, V> T readAsCollection(byte[] content, Class<? extends Collection> collectionType,
         Class<V> elementsType) {
-        return readAsCollection(new String(content), collectionType, elementsType);
+        try {
+            return MAPPER.readValue(content, collectionType(collectionType, elementsType));
+        } catch (Exception e) {
+            log.error("json解析失败，失败原因：", e);
+            return null;
+        }
+    }
+
+    /**
+     * 从输入流中将json读取为collection类型的数据，输入流不会被关闭
+     *
+     * @param in
+     *            json数据
+     * @param collectionType
+     *            collection类型
+     * @param elementsType
+     *            collection泛型
+     * @param <T>
+     *            list的实际类型
+     * @param <V>
+     *            list的泛型
+     * @return 解析结果，解析失败将返回null
+     */
+    public <T extends Collection<V>, V> T readAsCollection(InputStream in, Class<? extends Collection> collectionType,
+        Class<V> elementsType) {
+        return read(in, collectionType(collectionType, elementsType));
+    }
+
+    /**
+     * 将buffer中position到limit之间的json读取为collection类型的数据，解析成功后buffer的position将被设置为limit
+     *
+     * @param buffer
+     *            json数据
+     * @param collectionType
+     *            collection类型
+     * @param elementsType
+     *            collection泛型
+     * @param <T>
+     *            list的实际类型
+     * @param <V>
+     *            list的泛型
+     * @return 解析结果，解析失败将返回null
+     */
+    public <T extends Collection<V>, V> T readAsCollection(ByteBuffer buffer,
+        Class<? extends Collection> collectionType, Class<V> elementsType) {
+        return read(buffer, collectionType(collectionType, elementsType));
+    }
+
+    /**
+     * 从输入流中逐个读取json序列中的元素（顶层json数组或者NDJSON，自动识别），每次只解析一个元素，适合大数据量的导入；读取器关闭
+     * 时不会关闭输入流
+     *
+     * @param in
+     *            输入流
+     * @param type
+     *            元素类型
+     * @param <T>
+     *            元素类型
+     * @return 序列读取器
+     * @throws IOException
+     *             读取失败时抛出
+     */
+    public <T> JsonSequenceReader<T> readAsSequence(InputStream in, Class<T> type) throws IOException {
+        Assert.notNull(in, "in不能为null");
+        Assert.notNull(type, "type不能为null");
+        return new JsonSequenceReader<>(READER.forType(type).readValues(in));
+    }
+
+    /**
+     * 创建json序列写出器，元素逐个以UTF-8编码写出到输出流，适合大数据量的导出；写出器关闭时不会关闭输出流
+     *
+     * @param out
+     *            输出流
+     * @param format
+     *            序列格式
+     * @param ignoreNull
+     *            是否忽略空元素 ，如果为true为忽略
+     * @return 序列写出器，使用完毕后必须关闭
+     * @throws IOException
+     *             写出失败时抛出
+     */
+    public JsonSequenceWriter<Object> writeAsSequence(OutputStream out, JsonSequenceFormat format,
+                                                      boolean ignoreNull) throws IOException {
+        return new JsonSequenceWriter<>(writer(ignoreNull), out, format);
+    }
+
+    /**
+     * 获取指定类型的读写句柄
+     *
+     * @param type
+     *            数据类型
+     * @param ignoreNull
+     *            序列化时是否忽略空元素，如果为true为忽略
+     * @param <T>
+     *            数据类型
+     * @return 读写句柄
+     */
+    public <T> JsonHandle<T> getHandle(Class<T> type, boolean ignoreNull) {
+        Assert.notNull(type, "type不能为null");
+        return buildHandle(MAPPER.constructType(type), ignoreNull);
+    }
+
+    /**
+     * 获取带泛型的map类型的读写句柄
+     *
+     * @param mapType
+     *            map类型
+     * @param keyType
+     *            map的key的泛型
+     * @param valueType
+     *            map的value的泛型
+     * @param ignoreNull
+     *            序列化时是否忽略空元素，如果为true为忽略
+     * @param <T>
+     *            Map的实际类型
+     * @param <K>
+     *            map中key的实际类型
+     * @param <V>
+     *            map中value的实际类型
+     * @return 读写句柄
+     */
+    public <T extends Map<K, V>, K, V> JsonHandle<T> getMapHandle(Class<? extends Map> mapType, Class<K> keyType,
+        Class<V> valueType, boolean ignoreNull) {
+        return buildHandle(mapType(mapType, keyType, valueType), ignoreNull);
+    }
+
+    /**
+     * 获取collection类型的读写句柄
+     *
+     * @param collectionType
+     *            collection类型
+     * @param elementsType
+     *            collection泛型
+     * @param ignoreNull
+     *            序列化时是否忽略空元素，如果为true为忽略
+     * @param <T>
+     *            collection的实际类型
+     * @param <V>
+     *            collection的泛型
+     * @return 读写句柄
+     */
+    public <T extends Collection<V>, V> JsonHandle<T> getCollectionHandle(Class<? extends Collection> collectionType,
+        Class<V> elementsType, boolean ignoreNull) {
+        return buildHandle(collectionType(collectionType, elementsType), ignoreNull);
+    }
+
+    private static <T> JsonHandle<T> buildHandle(JavaType type, boolean ignoreNull) {
+        return new JsonHandle<>(READER.forType(type), writer(ignoreNull).forType(type));
+    }
+
+    private static ObjectWriter writer(boolean ignoreNull) {
+        return ignoreNull ? WRITER_IGNORE_NULL : WRITER;
+    }
+
+    /**
+     * 从输入流中解析json，输入流不会被关闭
+     *
+     * @param in
+     *            输入流
+     * @param type
+     *            数据类型
+     * @return 解析失败将返回null
+     */
+    private static <T> T read(InputStream in, JavaType type) {
+        Assert.notNull(in, "in不能为null");
+        try {
+            return READER.forType(type).readValue(in);
+        } catch (Exception e) {
+            log.error("json解析失败，失败原因：", e);
+            return null;
+        }
+    }
+
+    /**
+     * 解析buffer中position到limit之间的json数据，解析成功后buffer的position将被设置为limit
+     *
+     * @param buffer
+     *            json数据
+     * @param type
+     *            数据类型
+     * @return 解析失败将返回null
+     */
+    private static <T> T read(ByteBuffer buffer, JavaType type) {
+        Assert.notNull(buffer, "buffer不能为null");
+        if (!buffer.hasRemaining()) {
+            log.debug("buffer为空，返回null");
+            return null;
+        }
+        try {
+            T result;
+            if (buffer.hasArray()) {
+                result = MAPPER.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining(), type);
+            } else {
+                result = READER.forType(type).readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+            }
+            buffer.position(buffer.limit());
+            return result;
+        } catch (Exception e) {
+            log.error("json解析失败，失败原因：", e);
+            return null;
+        }
+    }
+
+    /**
+     * 获取map类型对应的JavaType，相同的类型组合只会构建一次
+     */
+    private static JavaType mapType(Class<? extends Map> mapType, Class<?> keyType, Class<?> valueType) {
+        return TYPE_CACHE.get(valueType).computeIfAbsent(new TypeKey(mapType, keyType),
+            key -> MAPPER.getTypeFactory().constructMapType(mapType, keyType, valueType));
+    }
+
+    /**
+     * 获取collection类型对应的JavaType，相同的类型组合只会构建一次
+     */
+    private static JavaType collectionType(Class<? extends Collection> collectionType, Class<?> elementsType) {
+        return TYPE_CACHE.get(elementsType).computeIfAbsent(new TypeKey(collectionType, null),
+            key -> MAPPER.getTypeFactory().constructCollectionLikeType(collectionType, elementsType));
+    }
+
+    /**
+     * JavaType缓存的二级key，元素类型由{@link #TYPE_CACHE}的一级key确定
+     */
+    @Data
+    @AllArgsConstructor
+    private final static class TypeKey {
+        private final Class<?> rawType;
+        private final Class<?> keyType;
     }
 }
@@ -0,0 +1,20 @@
+package com.joe.utils.serialize.json;
+
+/**
+ * json序列的格式
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:20 JoeKerouac Exp $
+ */
+public enum JsonSequenceFormat {
+
+    /**
+     * 顶层json数组，例如[{...},{...}]
+     */
+    ARRAY,
+
+    /**
+     * NDJSON（newline delimited json），每行一个json，每个json后都跟一个换行符
+     */
+    NDJSON
+}
@@ -0,0 +1,90 @@
+package com.joe.utils.serialize.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.joe.utils.serialize.SerializeException;
+
+/**
+ * json序列读取器，基于jackson的流式解析每次只解析一个元素，内存占用与数据总量无关
+ * <p>
+ * 同时支持顶层json数组（[{...},{...}]）和NDJSON（或者其他空白分隔的多个顶层json），格式自动识别；关闭时不会关闭底层输入流；非
+ * 线程安全
+ *
+ * @param <T>
+ *            元素类型
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:20 JoeKerouac Exp $
+ */
+public final class JsonSequenceReader<T> implements Iterator<T>, Closeable {
+
+    private final MappingIterator<T> iterator;
+
+    JsonSequenceReader(MappingIterator<T> iterator) {
+        this.iterator = iterator;
+    }
+
+    /**
+     * 是否还有元素
+     *
+     * @return 返回true表示还有元素
+     * @throws SerializeException
+     *             解析失败时抛出
+     */
+    @Override
+    public boolean hasNext() throws SerializeException {
+        try {
+            return iterator.hasNextValue();
+        } catch (IOException e) {
+            throw new SerializeException(e);
+        }
+    }
+
+    /**
+     * 读取下一个元素
+     *
+     * @return 下一个元素
+     * @throws SerializeException
+     *             解析失败时抛出
+     */
+    @Override
+    public T next() throws SerializeException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return iterator.nextValue();
+        } catch (IOException e) {
+            throw new SerializeException(e);
+        }
+    }
+
+    /**
+     * 将剩余的元素转换为Stream，Stream关闭时关闭该读取器
+     *
+     * @return 剩余元素的Stream（顺序、非并行）
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+            .onClose(() -> {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    @Override
+    public void close() throws IOException {
+        iterator.close();
+    }
+}
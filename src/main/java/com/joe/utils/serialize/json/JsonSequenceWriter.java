@@ -0,0 +1,136 @@
+package com.joe.utils.serialize.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.joe.utils.common.Assert;
+
+/**
+ * json序列写出器，元素逐个写出到输出流，内存占用与数据总量无关；数组格式在创建时写出'['，关闭时写出']'，NDJSON格式每个元素后写出
+ * 一个换行符
+ * <p>
+ * 写出的数据先进入jackson的缓冲区，缓冲区满、调用{@link #flush()}或者{@link #close()}时才会写入输出流；关闭时不会关闭底层输出
+ * 流；非线程安全
+ *
+ * @param <T>
+ *            元素类型
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:20 JoeKerouac Exp $
+ */
+public final class JsonSequenceWriter<T> implements Flushable, Closeable {
+
+    private final ObjectWriter writer;
+
+    private final JsonGenerator generator;
+
+    private final JsonSequenceFormat format;
+
+    private boolean closed;
+
+    /**
+     * 构造器
+     *
+     * @param writer
+     *            ObjectWriter，不能自动关闭输出目标
+     * @param out
+     *            输出流
+     * @param format
+     *            序列格式
+     * @throws IOException
+     *             写出数组开始符号失败时抛出
+     */
+    JsonSequenceWriter(ObjectWriter writer, OutputStream out, JsonSequenceFormat format) throws IOException {
+        Assert.notNull(out, "out不能为null");
+        Assert.notNull(format, "format不能为null");
+        // 每个元素写完都flush会导致每个元素都写一次底层输出流
+        this.writer = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = this.writer.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // 元素之间的分隔由本类控制
+        this.generator.setRootValueSeparator(null);
+        this.format = format;
+        if (format == JsonSequenceFormat.ARRAY) {
+            generator.writeStartArray();
+        }
+    }
+
+    /**
+     * 写出一个元素
+     *
+     * @param value
+     *            元素，为null时写出null
+     * @return 当前写出器
+     * @throws IOException
+     *             序列化或者写出失败时抛出
+     */
+    public JsonSequenceWriter<T> write(T value) throws IOException {
+        if (closed) {
+            throw new IOException("JsonSequenceWriter已经关闭");
+        }
+        writer.writeValue(generator, value);
+        if (format == JsonSequenceFormat.NDJSON) {
+            generator.writeRaw('\n');
+        }
+        return this;
+    }
+
+    /**
+     * 写出所有元素
+     *
+     * @param values
+     *            元素
+     * @return 当前写出器
+     * @throws IOException
+     *             序列化或者写出失败时抛出
+     */
+    public JsonSequenceWriter<T> writeAll(Iterable<? extends T> values) throws IOException {
+        Assert.notNull(values, "values不能为null");
+        return writeAll(values.iterator());
+    }
+
+    /**
+     * 写出所有元素
+     *
+     * @param values
+     *            元素
+     * @return 当前写出器
+     * @throws IOException
+     *             序列化或者写出失败时抛出
+     */
+    public JsonSequenceWriter<T> writeAll(Iterator<? extends T> values) throws IOException {
+        Assert.notNull(values, "values不能为null");
+        while (values.hasNext()) {
+            write(values.next());
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    /**
+     * 结束序列（数组格式写出']'）并将缓冲中的数据写出到输出流，不会关闭输出流
+     *
+     * @throws IOException
+     *             写出失败时抛出
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (format == JsonSequenceFormat.ARRAY) {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,310 @@
+package com.joe.utils.serialize.xml;
+
+import static com.joe.utils.serialize.xml.XmlBindingPlan.EXACT;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+
+import com.joe.utils.reflect.BeanUtils;
+import com.joe.utils.serialize.xml.XmlBindingPlan.FieldBinding;
+import com.joe.utils.serialize.xml.XmlBindingPlan.Match;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 基于StAX的流式XML绑定，只顺序读取一遍XML，不构建完整的Document，节点与字段的对应关系由{@link XmlBindingPlan}描述
+ * <p>
+ * 绑定规则与{@link XmlParser#parse(String, Class)}一致（包括{@link XmlNode}的name、isAttribute、attributeName、ignore、
+ * converter、general、arrayRoot、arrayType）：节点名优先精确匹配，不存在精确匹配的节点时使用首字母大写的节点名匹配；非集合字段取第
+ * 一个匹配的节点；pojo字段直接在流上递归绑定；用户自定义的converter只会拿到对应节点构建的Element，不会构建整个Document
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 23:40 JoeKerouac Exp $
+ */
+@Slf4j
+final class StaxXmlBinder {
+
+    /**
+     * 未匹配
+     */
+    private static final byte NONE = 0;
+
+    private StaxXmlBinder() {}
+
+    /**
+     * 将XML流绑定为指定类型的对象
+     *
+     * @param reader
+     *            XML流
+     * @param clazz
+     *            对象类型
+     * @param allowDTD
+     *            是否允许DTD，不允许时遇到DTD将会抛出异常
+     * @param <T>
+     *            对象类型
+     * @return 绑定结果，XML中没有节点时返回null
+     * @throws XMLStreamException
+     *             XML格式错误时抛出
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T bind(XMLStreamReader reader, Class<T> clazz, boolean allowDTD) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.DTD && !allowDTD) {
+                throw new XMLStreamException("当前不允许DTD", reader.getLocation());
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                return (T)bindObject(reader, XmlBindingPlan.get(clazz));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 绑定对象，当前节点作为对象的根节点，完成后reader位于根节点的END_ELEMENT
+     *
+     * @param reader
+     *            位于根节点START_ELEMENT的XML流
+     * @param plan
+     *            对象的绑定计划
+     * @return 对象
+     */
+    private static Object bindObject(XMLStreamReader reader, XmlBindingPlan plan) throws XMLStreamException {
+        Object pojo = newInstance(plan.getClazz());
+        FieldBinding[] bindings = plan.getReadBindings();
+        Object[] values = new Object[bindings.length];
+        byte[] states = new byte[bindings.length];
+
+        if (plan.getRootAttributes().length > 0) {
+            Element attributes = readAttributes(reader);
+            for (FieldBinding binding : plan.getRootAttributes()) {
+                accept(binding, EXACT, binding.getConvert().read(attributes, binding.getAttributeName()), values,
+                    states);
+            }
+        }
+
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                Match[] matches = plan.getElements().get(reader.getLocalName());
+                if (matches == null) {
+                    skip(reader);
+                } else {
+                    bindChild(reader, matches, values, states);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+
+        for (FieldBinding binding : bindings) {
+            if (states[binding.getIndex()] == NONE) {
+                continue;
+            }
+            Object value = values[binding.getIndex()];
+            if (binding.isCollection()) {
+                XmlParser.setCollection((List<?>)value, pojo, binding);
+            } else if (!BeanUtils.setProperty(pojo, binding.getDescriptor(), value)) {
+                log.debug("属性[{}]赋值失败，值将被忽略", binding.getDescriptor().getName());
+            }
+        }
+        return pojo;
+    }
+
+    /**
+     * 绑定子节点，完成后reader位于子节点的END_ELEMENT
+     *
+     * @param reader
+     *            位于子节点START_ELEMENT的XML流
+     * @param matches
+     *            子节点名对应的字段
+     * @param values
+     *            字段值
+     * @param states
+     *            字段匹配状态
+     */
+    private static void bindChild(XMLStreamReader reader, Match[] matches, Object[] values, byte[] states)
+        throws XMLStreamException {
+        Element attributes = null;
+        Match content = null;
+        int contentCount = 0;
+        for (Match match : matches) {
+            if (!accepts(match, states)) {
+                continue;
+            }
+            FieldBinding binding = match.getBinding();
+            if (binding.isAttribute()) {
+                // 属性需要在读取节点内容前处理
+                if (attributes == null) {
+                    attributes = readAttributes(reader);
+                }
+                accept(binding, match.getState(), binding.getConvert().read(attributes, binding.getAttributeName()),
+                    values, states);
+            } else {
+                content = match;
+                contentCount++;
+            }
+        }
+
+        if (contentCount == 0) {
+            skip(reader);
+        } else if (contentCount == 1) {
+            FieldBinding binding = content.getBinding();
+            Object value = arrayRoot(binding) == null ? readValue(reader, binding) : readArray(reader, binding);
+            accept(binding, content.getState(), value, values, states);
+        } else {
+            // 多个字段对应同一个节点，只能先构建出节点再分别转换
+            Element element = readElement(reader);
+            for (Match match : matches) {
+                FieldBinding binding = match.getBinding();
+                if (binding.isAttribute() || !accepts(match, states)) {
+                    continue;
+                }
+                Object value;
+                if (arrayRoot(binding) == null) {
+                    value = binding.getConvert().read(element, null);
+                } else {
+                    List<Object> list = new ArrayList<>();
+                    for (Object child : element.elements(binding.getArrayRoot())) {
+                        list.add(binding.getConvert().read((Element)child, null));
+                    }
+                    value = list;
+                }
+                accept(binding, match.getState(), value, values, states);
+            }
+        }
+    }
+
+    /**
+     * 判断字段是否接受当前匹配：非集合字段以及带arrayRoot的集合字段只取第一个节点，精确匹配的节点优先；集合字段取所有节点，存在精确
+     * 匹配的节点时忽略首字母大写匹配的节点
+     */
+    private static boolean accepts(Match match, byte[] states) {
+        FieldBinding binding = match.getBinding();
+        byte state = states[binding.getIndex()];
+        if (binding.isCollection() && arrayRoot(binding) == null) {
+            return match.getState() == EXACT || state != EXACT;
+        }
+        return match.getState() == EXACT ? state != EXACT : state == NONE;
+    }
+
+    /**
+     * 记录字段值
+     */
+    @SuppressWarnings("unchecked")
+    private static void accept(FieldBinding binding, byte state, Object value, Object[] values, byte[] states) {
+        int index = binding.getIndex();
+        if (binding.isCollection() && arrayRoot(binding) == null) {
+            if (states[index] != state) {
+                // 第一次匹配或者精确匹配覆盖之前首字母大写的匹配
+                values[index] = new ArrayList<>();
+            }
+            ((List<Object>)values[index]).add(value);
+        } else {
+            values[index] = value;
+        }
+        states[index] = state;
+    }
+
+    /**
+     * 读取节点对应的值，完成后reader位于节点的END_ELEMENT
+     */
+    private static Object readValue(XMLStreamReader reader, FieldBinding binding) throws XMLStreamException {
+        if (binding.getNestedType() != null) {
+            return bindObject(reader, XmlBindingPlan.get(binding.getNestedType()));
+        }
+        return binding.getConvert().read(readElement(reader), null);
+    }
+
+    /**
+     * 获取节点内容对应的集合字段的arrayRoot，属性字段不使用arrayRoot
+     */
+    private static String arrayRoot(FieldBinding binding) {
+        return binding.isAttribute() ? null : binding.getArrayRoot();
+    }
+
+    /**
+     * 读取arrayRoot集合，当前节点是集合的包装节点，完成后reader位于包装节点的END_ELEMENT
+     */
+    private static List<Object> readArray(XMLStreamReader reader, FieldBinding binding) throws XMLStreamException {
+        List<Object> list = new ArrayList<>();
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (binding.getArrayRoot().equals(reader.getLocalName())) {
+                    list.add(readValue(reader, binding));
+                } else {
+                    skip(reader);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return list;
+            }
+        }
+    }
+
+    /**
+     * 构建只包含当前节点属性的Element，不移动reader
+     */
+    private static Element readAttributes(XMLStreamReader reader) {
+        Element element = DocumentHelper.createElement(reader.getLocalName());
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.addAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    /**
+     * 将当前节点（包括子节点）读取为Element，完成后reader位于节点的END_ELEMENT
+     */
+    private static Element readElement(XMLStreamReader reader) throws XMLStreamException {
+        Element element = readAttributes(reader);
+        while (true) {
+            int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    element.add(readElement(reader));
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    element.addText(reader.getText());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return element;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 跳过当前节点，完成后reader位于节点的END_ELEMENT
+     */
+    private static void skip(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static Object newInstance(Class<?> clazz) {
+        try {
+            // 没有权限访问该类或者该类（为接口、抽象类）不能实例化时将抛出异常
+            return clazz.newInstance();
+        } catch (Exception e) {
+            log.error("class对象生成失败，请检查代码；失败原因：", e);
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.joe.utils.serialize.xml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.joe.utils.reflect.type.JavaTypeUtil;
+import com.joe.utils.serialize.xml.XmlBindingPlan.FieldBinding;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 流式XML序列化，按照{@link XmlBindingPlan}直接将对象写出到{@link Appendable}，不构建dom4j的Element树
+ * <p>
+ * 输出与之前基于dom4j构建Element树再asXML的结果完全一致：节点顺序、转义规则（文本转义&lt;、&gt;、&amp;，属性额外转义&quot;，
+ * 控制字符输出为字符引用）、没有任何内容的节点输出为自闭合标签；所有输出先写入每个线程复用的缓冲区，缓冲区满时才写出到目标
+ * <p>
+ * 非线程安全，每次序列化使用一个新的实例，{@link #write(Object, String)}结束后实例不能再使用
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 00:20 JoeKerouac Exp $
+ */
+@Slf4j
+final class StreamingXmlWriter {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * 每个线程复用的输出缓冲，使用期间从线程中取走，序列化过程中（例如getter、toString中）再次序列化时会使用新的缓冲
+     */
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<>();
+
+    /**
+     * 输出目标
+     */
+    private final Appendable out;
+
+    /**
+     * 是否忽略值为null的字段
+     */
+    private final boolean ignoreNull;
+
+    /**
+     * 输出缓冲，转义后的数据先写入该缓冲
+     */
+    private final char[] buffer;
+
+    /**
+     * 缓冲的CharSequence视图，目标不是Writer、StringBuilder时使用，使用时才创建
+     */
+    private CharBuffer bufferView;
+
+    /**
+     * 缓冲中数据的长度
+     */
+    private int pos;
+
+    /**
+     * 当前节点的开始标签是否还没有闭合（闭合前可以写属性，节点结束时仍未闭合则输出自闭合标签）
+     */
+    private boolean startTagOpen;
+
+    /**
+     * 构造器
+     *
+     * @param out
+     *            输出目标
+     * @param ignoreNull
+     *            是否忽略值为null的字段
+     */
+    StreamingXmlWriter(Appendable out, boolean ignoreNull) {
+        this.out = out;
+        this.ignoreNull = ignoreNull;
+        char[] cached = BUFFER.get();
+        if (cached == null) {
+            this.buffer = new char[BUFFER_SIZE];
+        } else {
+            BUFFER.set(null);
+            this.buffer = cached;
+        }
+    }
+
+    /**
+     * 将对象写出为XML
+     *
+     * @param source
+     *            对象，不能为null
+     * @param rootName
+     *            根节点名
+     * @throws IOException
+     *             写出异常
+     */
+    void write(Object source, String rootName) throws IOException {
+        try {
+            startElement(rootName);
+            writeObject(source, source.getClass());
+            endElement(rootName);
+            flush();
+        } finally {
+            // 归还缓冲
+            BUFFER.set(buffer);
+        }
+    }
+
+    /**
+     * 写出对象的内容（属性以及子节点），调用前当前节点的开始标签必须未闭合
+     *
+     * @param pojo
+     *            对象，可能为null
+     * @param clazz
+     *            对象的Class，为null时使用pojo的Class
+     */
+    private void writeObject(Object pojo, Class<?> clazz) throws IOException {
+        if (pojo instanceof Map) {
+            // 字段描述，key是节点名，value是节点数据
+            Map<String, Object> map = new HashMap<>();
+            ((Map<?, ?>)pojo).forEach((k, v) -> {
+                if (k == null) {
+                    log.debug("忽略map中key为null的值");
+                } else if (ignoreNull && v == null) {
+                    log.debug("当前配置为忽略空值，[{}]的值为空，忽略", k);
+                } else {
+                    map.put(String.valueOf(k), v);
+                }
+            });
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                Object value = entry.getValue();
+                writeNode(entry.getKey(), null, value, value == null ? null : value.getClass());
+            }
+            return;
+        }
+
+        FieldBinding[][] groups = XmlBindingPlan.get(clazz == null ? pojo.getClass() : clazz).getWriteGroups();
+        FieldBinding[] chosen = new FieldBinding[groups.length];
+        Object[] values = new Object[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            // 同一个节点名对应多个字段时后面的字段优先
+            for (FieldBinding candidate : groups[i]) {
+                try {
+                    Object value = pojo == null ? null : candidate.getDescriptor().getValue(pojo);
+                    if (ignoreNull && value == null) {
+                        log.debug("忽略空节点");
+                        continue;
+                    }
+                    chosen[i] = candidate;
+                    values[i] = value;
+                } catch (Exception e) {
+                    log.error("获取字段值时发生异常，忽略改值", e);
+                }
+            }
+        }
+
+        // 父节点属性必须在子节点之前写出，同名属性保留第一次出现的位置、最后一次的值
+        for (int i = 0; i < groups.length; i++) {
+            if (!isParentAttribute(chosen[i]) || indexOfAttribute(chosen, 0, i, chosen[i]) >= 0) {
+                continue;
+            }
+            int last = i;
+            for (int j = indexOfAttribute(chosen, i + 1, groups.length, chosen[i]); j >= 0;
+                 j = indexOfAttribute(chosen, j + 1, groups.length, chosen[i])) {
+                last = j;
+            }
+            attribute(chosen[i].getWriteAttributeName(), values[last] == null ? "" : String.valueOf(values[last]));
+        }
+
+        for (int i = 0; i < groups.length; i++) {
+            FieldBinding binding = chosen[i];
+            if (binding != null && !isParentAttribute(binding)) {
+                writeNode(binding.getNodeName(), binding, values[i], binding.getType());
+            }
+        }
+    }
+
+    /**
+     * 写出单个节点
+     *
+     * @param nodeName
+     *            节点名
+     * @param binding
+     *            字段的绑定信息，Map中的数据为null
+     * @param valueObj
+     *            节点数据
+     * @param type
+     *            节点数据的类型，为null时输出空节点
+     */
+    private void writeNode(String nodeName, FieldBinding binding, Object valueObj, Class<?> type)
+        throws IOException {
+        if (binding != null && binding.isAttribute()) {
+            // 属性值，属性值只能是简单值
+            startElement(nodeName);
+            attribute(binding.getWriteAttributeName(), valueObj == null ? "" : String.valueOf(valueObj));
+            endElement(nodeName);
+        } else if (type == null) {
+            log.debug("当前不知道节点[{}]的类型，忽略该节点", nodeName);
+            startElement(nodeName);
+            endElement(nodeName);
+        } else if (JavaTypeUtil.isNotPojo(type)) {
+            if (Map.class.isAssignableFrom(type)) {
+                log.warn("当前字段[{}]是map类型", nodeName);
+                startElement(nodeName);
+                writeObject(valueObj, type);
+                endElement(nodeName);
+            } else if (Collection.class.isAssignableFrom(type)) {
+                if (valueObj != null) {
+                    writeCollection(nodeName, binding == null ? null : binding.getArrayRoot(),
+                        (Collection<?>)valueObj);
+                }
+            } else {
+                String text = valueObj == null ? "" : String.valueOf(valueObj);
+                startElement(nodeName);
+                if (binding != null && binding.isCdata()) {
+                    log.debug("内容[{}]需要CDATA标签包裹", text);
+                    cdata(text);
+                } else {
+                    text(text);
+                }
+                endElement(nodeName);
+            }
+        } else {
+            // pojo类型，字段的声明可能是一个接口，优先采用xmlnode中申明的类型
+            startElement(nodeName);
+            writeObject(valueObj, binding == null ? type : binding.getWriteType());
+            endElement(nodeName);
+        }
+    }
+
+    /**
+     * 写出集合，没有arrayRoot时每个元素都是一个nodeName节点，否则使用nodeName节点包裹多个arrayRoot节点
+     */
+    private void writeCollection(String nodeName, String arrayRoot, Collection<?> collection) throws IOException {
+        String arrayNodeName = arrayRoot == null ? nodeName : arrayRoot;
+        if (arrayRoot != null) {
+            startElement(nodeName);
+        }
+        for (Object obj : collection) {
+            startElement(arrayNodeName);
+            writeObject(obj, null);
+            endElement(arrayNodeName);
+        }
+        if (arrayRoot != null) {
+            endElement(nodeName);
+        }
+    }
+
+    private static boolean isParentAttribute(FieldBinding binding) {
+        return binding != null && binding.isAttribute() && binding.isParent();
+    }
+
+    /**
+     * 在[from, to)中查找与target属性名相同的父节点属性
+     *
+     * @return 下标，不存在时返回-1
+     */
+    private static int indexOfAttribute(FieldBinding[] chosen, int from, int to, FieldBinding target) {
+        for (int i = from; i < to; i++) {
+            if (isParentAttribute(chosen[i])
+                && chosen[i].getWriteAttributeName().equals(target.getWriteAttributeName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void startElement(String name) throws IOException {
+        closeStartTag();
+        append('<');
+        append(name);
+        startTagOpen = true;
+    }
+
+    private void attribute(String name, String value) throws IOException {
+        append(' ');
+        append(name);
+        append("=\"");
+        escape(value, true);
+        append('"');
+    }
+
+    private void text(String text) throws IOException {
+        closeStartTag();
+        escape(text, false);
+    }
+
+    private void cdata(String text) throws IOException {
+        closeStartTag();
+        append("<![CDATA[");
+        append(text);
+        append("]]>");
+    }
+
+    private void endElement(String name) throws IOException {
+        if (startTagOpen) {
+            append("/>");
+            startTagOpen = false;
+        } else {
+            append("</");
+            append(name);
+            append('>');
+        }
+    }
+
+    private void closeStartTag() throws IOException {
+        if (startTagOpen) {
+            append('>');
+            startTagOpen = false;
+        }
+    }
+
+    /**
+     * 转义并写出
+     *
+     * @param text
+     *            文本
+     * @param attribute
+     *            是否是属性值，属性值需要额外转义双引号
+     */
+    private void escape(String text, boolean attribute) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    append("&lt;");
+                    break;
+                case '>':
+                    append("&gt;");
+                    break;
+                case '&':
+                    append("&amp;");
+                    break;
+                case '"':
+                    if (attribute) {
+                        append("&quot;");
+                    } else {
+                        append(c);
+                    }
+                    break;
+                case '\t':
+                case '\n':
+                case '\r':
+                    append(c);
+                    break;
+                default:
+                    if (c < 32) {
+                        append("&#");
+                        append(Integer.toString(c));
+                        append(';');
+                    } else {
+                        append(c);
+                    }
+            }
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (pos == buffer.length) {
+            flushBuffer();
+        }
+        buffer[pos++] = c;
+    }
+
+    private void append(String str) throws IOException {
+        int len = str.length();
+        int off = 0;
+        while (off < len) {
+            if (pos == buffer.length) {
+                flushBuffer();
+            }
+            int n = Math.min(len - off, buffer.length - pos);
+            str.getChars(off, off + n, buffer, pos);
+            pos += n;
+            off += n;
+        }
+    }
+
+    /**
+     * 将缓冲中的数据写出到目标
+     */
+    private void flushBuffer() throws IOException {
+        if (pos == 0) {
+            return;
+        }
+        if (out instanceof Writer) {
+            ((Writer)out).write(buffer, 0, pos);
+        } else if (out instanceof StringBuilder) {
+            ((StringBuilder)out).append(buffer, 0, pos);
+        } else {
+            if (bufferView == null) {
+                bufferView = CharBuffer.wrap(buffer);
+            }
+            out.append(bufferView, 0, pos);
+        }
+        pos = 0;
+    }
+
+    /**
+     * 写出缓冲中的所有数据，目标是Writer时同时flush目标
+     */
+    private void flush() throws IOException {
+        flushBuffer();
+        if (out instanceof Writer) {
+            ((Writer)out).flush();
+        }
+    }
+}
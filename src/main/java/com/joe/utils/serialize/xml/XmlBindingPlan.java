@@ -0,0 +1,347 @@
+package com.joe.utils.serialize.xml;
+
+import java.util.*;
+
+import org.dom4j.Element;
+
+import com.joe.utils.collection.ClassValueCache;
+import com.joe.utils.common.string.StringUtils;
+import com.joe.utils.reflect.BeanUtils;
+import com.joe.utils.reflect.BeanUtils.CustomPropertyDescriptor;
+import com.joe.utils.reflect.type.JavaTypeUtil;
+import com.joe.utils.serialize.xml.converter.XmlConverter;
+import com.joe.utils.serialize.xml.converter.XmlTypeConverterUtil;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * XML绑定计划，针对固定的Class预先解析出所有字段的{@link XmlNode}配置（节点名、属性名、converter实例等），解析、序列化时直接
+ * 执行计划，不再读取注解、实例化converter；计划按Class缓存，生命周期与Class一致
+ *
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 23:55 JoeKerouac Exp $
+ */
+@Slf4j
+@Getter
+final class XmlBindingPlan {
+
+    /**
+     * 首字母大写匹配
+     */
+    static final byte UPPER = 1;
+
+    /**
+     * 精确匹配
+     */
+    static final byte EXACT = 2;
+
+    private static final ClassValueCache<XmlBindingPlan> CACHE = new ClassValueCache<>(XmlBindingPlan::resolve);
+
+    /**
+     * 计划对应的Class
+     */
+    private final Class<?> clazz;
+
+    /**
+     * 解析XML时需要绑定的字段（不包括忽略的字段和Map字段），按照字段声明顺序排列，下标与{@link FieldBinding#getIndex()}一致
+     */
+    private final FieldBinding[] readBindings;
+
+    /**
+     * 解析XML时对应根节点属性的字段
+     */
+    private final FieldBinding[] rootAttributes;
+
+    /**
+     * 解析XML时子节点名到字段的映射，同时包含精确的节点名和首字母大写的节点名
+     */
+    private final Map<String, Match[]> elements;
+
+    /**
+     * 生成XML时的字段分组，同一组内的字段对应同一个节点名，后面的字段优先；组的顺序即节点顺序
+     */
+    private final FieldBinding[][] writeGroups;
+
+    private XmlBindingPlan(Class<?> clazz, FieldBinding[] readBindings, FieldBinding[] rootAttributes,
+                           Map<String, Match[]> elements, FieldBinding[][] writeGroups) {
+        this.clazz = clazz;
+        this.readBindings = readBindings;
+        this.rootAttributes = rootAttributes;
+        this.elements = elements;
+        this.writeGroups = writeGroups;
+    }
+
+    /**
+     * 获取指定Class的绑定计划，不存在时解析
+     *
+     * @param clazz
+     *            Class
+     * @return 绑定计划
+     */
+    static XmlBindingPlan get(Class<?> clazz) {
+        return CACHE.get(clazz);
+    }
+
+    /**
+     * 解析指定Class的绑定计划
+     *
+     * @param clazz
+     *            Class
+     * @return 绑定计划
+     */
+    @SuppressWarnings("unchecked")
+    private static XmlBindingPlan resolve(Class<?> clazz) {
+        log.debug("解析[{}]的XML绑定计划", clazz);
+        List<FieldBinding> readBindings = new ArrayList<>();
+        List<FieldBinding> rootAttributes = new ArrayList<>();
+        Map<String, List<Match>> elements = new HashMap<>();
+        // 与之前每次序列化时构建的HashMap保持一致的节点顺序
+        Map<String, List<FieldBinding>> writeGroups = new HashMap<>();
+
+        for (CustomPropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(clazz)) {
+            XmlNode xmlNode = descriptor.getAnnotation(XmlNode.class);
+            if (xmlNode != null && xmlNode.ignore()) {
+                continue;
+            }
+
+            String fieldName = descriptor.getName();
+            Class<?> type = descriptor.getRealType();
+
+            FieldBinding binding = new FieldBinding();
+            binding.descriptor = descriptor;
+            binding.type = type;
+            binding.nodeName =
+                (xmlNode == null || StringUtils.isEmpty(xmlNode.name())) ? fieldName : xmlNode.name();
+            binding.upperNodeName = StringUtils.toFirstUpperCase(binding.nodeName);
+            binding.cdata = xmlNode != null && xmlNode.isCDATA();
+            binding.arrayRoot =
+                (xmlNode == null || StringUtils.isEmpty(xmlNode.arrayRoot())) ? null : xmlNode.arrayRoot();
+            if (xmlNode != null && xmlNode.isAttribute()) {
+                if (StringUtils.isEmpty(xmlNode.attributeName())) {
+                    log.warn("字段[{}]是属性值，但是未设置属性名（attributeName字段），将采用字段名作为属性名", fieldName);
+                    binding.attributeName = fieldName;
+                    binding.writeAttributeName = binding.nodeName;
+                } else {
+                    binding.attributeName = xmlNode.attributeName();
+                    binding.writeAttributeName = xmlNode.attributeName();
+                }
+                binding.parent = StringUtils.isEmpty(xmlNode.name());
+            }
+            binding.collection = Collection.class.isAssignableFrom(type);
+            binding.map = Map.class.isAssignableFrom(type);
+            binding.writeType = resolveRealType(type, xmlNode);
+            writeGroups.computeIfAbsent(binding.nodeName, k -> new ArrayList<>()).add(binding);
+
+            if (binding.map) {
+                log.warn("当前暂时不支持解析map，解析XML时字段[{}]将被忽略", fieldName);
+                binding.index = -1;
+                continue;
+            }
+
+            binding.index = readBindings.size();
+            binding.convert = XmlTypeConverterUtil.resolve(xmlNode, descriptor);
+            if (binding.collection) {
+                Class<? extends Collection> real = (Class<? extends Collection>)type;
+                Class<? extends Collection> collectionClass = xmlNode == null ? real : xmlNode.arrayType();
+                if (!collectionClass.equals(real) && !real.isAssignableFrom(collectionClass)) {
+                    log.warn("用户指定的集合类型[{}]不是字段的实际集合类型[{}]的子类，使用字段的实际集合类型", collectionClass, real);
+                    collectionClass = real;
+                }
+                binding.collectionClass = collectionClass;
+                binding.realCollectionClass = real;
+            }
+            // 只有没有覆盖read方法的XmlConverter才能跳过转换器直接递归绑定，用户自定义的read必须被调用
+            if (binding.attributeName == null && binding.convert instanceof XmlConverter
+                && !overridesRead(binding.convert)) {
+                Class<?> resolved = binding.convert.resolve();
+                if (resolved != null && !String.class.equals(resolved) && !JavaTypeUtil.isBasic(resolved)
+                    && !JavaTypeUtil.isGeneralType(resolved)) {
+                    binding.nestedType = resolved;
+                }
+            }
+            readBindings.add(binding);
+
+            if (binding.parent) {
+                rootAttributes.add(binding);
+            } else {
+                elements.computeIfAbsent(binding.nodeName, k -> new ArrayList<>()).add(new Match(binding, EXACT));
+                if (!binding.upperNodeName.equals(binding.nodeName)) {
+                    elements.computeIfAbsent(binding.upperNodeName, k -> new ArrayList<>())
+                        .add(new Match(binding, UPPER));
+                }
+            }
+        }
+
+        Map<String, Match[]> table = new HashMap<>(elements.size() * 2);
+        elements.forEach((name, matches) -> table.put(name, matches.toArray(new Match[0])));
+        FieldBinding[][] groups = new FieldBinding[writeGroups.size()][];
+        int i = 0;
+        for (List<FieldBinding> group : writeGroups.values()) {
+            groups[i++] = group.toArray(new FieldBinding[0]);
+        }
+        return new XmlBindingPlan(clazz, readBindings.toArray(new FieldBinding[0]),
+            rootAttributes.toArray(new FieldBinding[0]), Collections.unmodifiableMap(table), groups);
+    }
+
+    /**
+     * 判断转换器是否覆盖了{@link XmlConverter}默认的read方法
+     *
+     * @param convert
+     *            转换器
+     * @return 覆盖了read方法时返回true
+     */
+    private static boolean overridesRead(XmlTypeConvert<?> convert) {
+        try {
+            return convert.getClass().getMethod("read", Element.class, String.class)
+                .getDeclaringClass() != XmlConverter.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * 确定字段的真实类型
+     *
+     * @param fieldType
+     *            字段类型
+     * @param xmlNode
+     *            字段XmlNode注解
+     * @return 字段实际类型而不是接口或者抽象类
+     */
+    private static Class<?> resolveRealType(Class<?> fieldType, XmlNode xmlNode) {
+        // 猜测字段类型（防止字段的声明是一个接口，优先采用xmlnode中申明的类型）
+        Class<?> type = (xmlNode == null || xmlNode.general() == null) ? fieldType : xmlNode.general();
+
+        if (!fieldType.isAssignableFrom(type)) {
+            type = fieldType;
+        }
+        return type;
+    }
+
+    /**
+     * 单个字段的绑定信息
+     */
+    @Getter
+    static final class FieldBinding {
+
+        /**
+         * 在{@link #getReadBindings()}中的下标，Map字段为-1
+         */
+        private int index;
+
+        /**
+         * 字段说明
+         */
+        private CustomPropertyDescriptor descriptor;
+
+        /**
+         * 字段的实际类型
+         */
+        private Class<?> type;
+
+        /**
+         * 节点名
+         */
+        private String nodeName;
+
+        /**
+         * 首字母大写的节点名，解析时找不到节点名对应的节点时使用
+         */
+        private String upperNodeName;
+
+        /**
+         * 解析时使用的属性名，为null表示字段对应节点内容
+         */
+        private String attributeName;
+
+        /**
+         * 生成XML时使用的属性名
+         */
+        private String writeAttributeName;
+
+        /**
+         * 是否是根节点（父节点）的属性
+         */
+        private boolean parent;
+
+        /**
+         * 是否需要CDATA包裹
+         */
+        private boolean cdata;
+
+        /**
+         * 是否是集合
+         */
+        private boolean collection;
+
+        /**
+         * 是否是Map
+         */
+        private boolean map;
+
+        /**
+         * 集合的arrayRoot，为null表示没有
+         */
+        private String arrayRoot;
+
+        /**
+         * 字段的converter，Map字段为null
+         */
+        @SuppressWarnings("rawtypes")
+        private XmlTypeConvert convert;
+
+        /**
+         * 集合字段使用的集合类型
+         */
+        @SuppressWarnings("rawtypes")
+        private Class<? extends Collection> collectionClass;
+
+        /**
+         * 集合字段的实际类型，使用collectionClass赋值失败时使用
+         */
+        @SuppressWarnings("rawtypes")
+        private Class<? extends Collection> realCollectionClass;
+
+        /**
+         * 字段（集合字段是集合元素）是pojo并且转换器没有覆盖read方法时的类型，流式解析时直接递归绑定
+         */
+        private Class<?> nestedType;
+
+        /**
+         * 生成XML时pojo字段使用的类型（优先使用{@link XmlNode#general()}）
+         */
+        private Class<?> writeType;
+
+        /**
+         * 是否对应属性
+         *
+         * @return 返回true表示字段对应属性而不是节点内容
+         */
+        boolean isAttribute() {
+            return attributeName != null;
+        }
+    }
+
+    /**
+     * 节点名与字段的匹配
+     */
+    @Getter
+    static final class Match {
+
+        /**
+         * 匹配的字段
+         */
+        private final FieldBinding binding;
+
+        /**
+         * 匹配方式，{@link #EXACT}或者{@link #UPPER}
+         */
+        private final byte state;
+
+        private Match(FieldBinding binding, byte state) {
+            this.binding = binding;
+            this.state = state;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.joe.utils.serialize.xml;
 
-import java.io.StringReader;
+import java.io.*;
+import java.nio.charset.Charset;
 import java.util.*;
-import java.util.stream.Collectors;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.dom4j.Document;
 import org.dom4j.DocumentException;
-import org.dom4j.DocumentHelper;
 import org.dom4j.Element;
 import org.dom4j.io.SAXReader;
 import org.xml.sax.InputSource;
@@ -18,18 +21,19 @@ import com.joe.utils.common.string.StringUtils;
 import com.joe.utils.exception.ExceptionWraper;
 import com.joe.utils.reflect.BeanUtils;
 import com.joe.utils.reflect.BeanUtils.CustomPropertyDescriptor;
-import com.joe.utils.reflect.type.JavaTypeUtil;
 import com.joe.utils.serialize.SerializeException;
 import com.joe.utils.serialize.Serializer;
-import com.joe.utils.serialize.xml.converter.XmlTypeConverterUtil;
+import com.joe.utils.serialize.xml.XmlBindingPlan.FieldBinding;
 
 import lombok.AllArgsConstructor;
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * XML解析（反向解析为java对象时不区分大小写），该解析器由于大量使用反射，所以在第一次解析 某个类型的对象时效率较低，解析过一次系统会自动添加缓存，速度将会大幅提升（测试中提升了25倍）
  * <p>
+ * 该类是线程安全的：SAXReader不是线程安全的，所以每个线程使用自己的SAXReader，SAXReader在线程第一次解析时按照当前的特性配置
+ * 创建，之后重复使用，特性配置修改后各线程会在下次解析时重新创建
+ * <p>
  * XXE漏洞：https://www.owasp.org/index.php/XML_External_Entity_(XXE)_Prevention_Cheat_Sheet
  *
  * @author JoeKerouac
@@ -38,10 +42,26 @@ import lombok.extern.slf4j.Slf4j;
 public class XmlParser implements Serializer {
     private static final XmlParser DEFAULT = new XmlParser();
     private static final String DEFAULT_ROOT = "root";
-    private SAXReader reader;
+
+    /**
+     * SAXReader的特性配置，写时复制，每次修改都会替换为新的Map，线程通过对比Map引用判断自己的SAXReader是否过期
+     */
+    private volatile Map<String, Boolean> features;
+
+    /**
+     * 线程本地的SAXReader
+     */
+    private final ThreadLocal<ReaderHolder> readers;
+
+    /**
+     * 流式解析使用的XMLInputFactory（线程安全），随特性配置一起替换
+     */
+    private volatile XMLInputFactory inputFactory;
 
     private XmlParser() {
-        this.reader = new SAXReader();
+        this.features = Collections.emptyMap();
+        this.readers = new ThreadLocal<>();
+        this.inputFactory = createInputFactory(this.features);
     }
 
     static {
@@ -75,8 +95,9 @@ public class XmlParser implements Serializer {
      */
     public static XmlParser buildInstance(Map<String, Boolean> prop) {
         XmlParser xmlParser = new XmlParser();
+        xmlParser.enableDTD(false);
         if (!CollectionUtil.safeIsEmpty(prop)) {
-            prop.forEach(xmlParser::setFeature);
+            xmlParser.setFeatures(prop);
         }
         return xmlParser;
     }
@@ -89,19 +110,21 @@ public class XmlParser implements Serializer {
      */
     public void enableDTD(boolean enable) {
         // 允许DTD会有XXE漏洞，关于XXE漏洞：https://www.owasp.org/index.php/XML_External_Entity_(XXE)_Prevention_Cheat_Sheet
+        Map<String, Boolean> prop = new LinkedHashMap<>();
         if (enable) {
             // 打开DTD支持，高危操作，除非你清楚你在做什么，否则不要打开
-            setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
-            setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", true);
-            setFeature("http://xml.org/sax/features/external-general-entities", true);
-            setFeature("http://xml.org/sax/features/external-parameter-entities", true);
+            prop.put("http://apache.org/xml/features/disallow-doctype-decl", false);
+            prop.put("http://apache.org/xml/features/nonvalidating/load-external-dtd", true);
+            prop.put("http://xml.org/sax/features/external-general-entities", true);
+            prop.put("http://xml.org/sax/features/external-parameter-entities", true);
         } else {
             // 不允许DTD
-            setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            setFeature("http://xml.org/sax/features/external-general-entities", false);
-            setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            prop.put("http://apache.org/xml/features/disallow-doctype-decl", true);
+            prop.put("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            prop.put("http://xml.org/sax/features/external-general-entities", false);
+            prop.put("http://xml.org/sax/features/external-parameter-entities", false);
         }
+        setFeatures(prop);
     }
 
     /**
@@ -113,11 +136,73 @@ public class XmlParser implements Serializer {
      *            是否允许，true表示允许
      */
     public void setFeature(String k, boolean enable) {
-        try {
-            reader.setFeature(k, enable);
-        } catch (SAXException e) {
-            throw new RuntimeException("设置属性失败:[" + k + ":" + enable + "]");
+        setFeatures(Collections.singletonMap(k, enable));
+    }
+
+    /**
+     * 批量配置SAXReader，配置会先在一个新的SAXReader上校验，校验失败时不会修改当前配置
+     *
+     * @param prop
+     *            特性配置
+     */
+    private synchronized void setFeatures(Map<String, Boolean> prop) {
+        Map<String, Boolean> newFeatures = new LinkedHashMap<>(features);
+        newFeatures.putAll(prop);
+        // 校验
+        createReader(newFeatures);
+        this.inputFactory = createInputFactory(newFeatures);
+        this.features = Collections.unmodifiableMap(newFeatures);
+    }
+
+    /**
+     * 获取当前线程的SAXReader，不存在或者特性配置已经修改时重新创建
+     *
+     * @return 当前线程的SAXReader
+     */
+    private SAXReader getReader() {
+        Map<String, Boolean> current = features;
+        ReaderHolder holder = readers.get();
+        if (holder == null || holder.features != current) {
+            holder = new ReaderHolder(current, createReader(current));
+            readers.set(holder);
         }
+        return holder.reader;
+    }
+
+    /**
+     * 根据特性配置创建SAXReader
+     *
+     * @param features
+     *            特性配置
+     * @return SAXReader
+     */
+    private static SAXReader createReader(Map<String, Boolean> features) {
+        SAXReader reader = new SAXReader();
+        features.forEach((k, enable) -> {
+            try {
+                reader.setFeature(k, enable);
+            } catch (SAXException e) {
+                throw new RuntimeException("设置属性失败:[" + k + ":" + enable + "]");
+            }
+        });
+        return reader;
+    }
+
+    /**
+     * 根据特性配置创建流式解析使用的XMLInputFactory，DTD、外部实体的开关与SAXReader的特性配置保持一致
+     *
+     * @param features
+     *            特性配置
+     * @return XMLInputFactory
+     */
+    private static XMLInputFactory createInputFactory(Map<String, Boolean> features) {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD,
+            !Boolean.TRUE.equals(features.get("http://apache.org/xml/features/disallow-doctype-decl")));
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+            Boolean.TRUE.equals(features.get("http://xml.org/sax/features/external-general-entities")));
+        return factory;
     }
 
     /**
@@ -137,7 +222,7 @@ public class XmlParser implements Serializer {
         InputSource source = new InputSource(new StringReader(text));
         source.setEncoding(encoding);
 
-        result = reader.read(source);
+        result = getReader().read(source);
 
         // if the XML parser doesn't provide a way to retrieve the encoding,
         // specify it manually
@@ -246,72 +331,22 @@ public class XmlParser implements Serializer {
             return null;
         }
 
-        // 获取pojo对象的说明
-        CustomPropertyDescriptor[] propertyDescriptor = BeanUtils.getPropertyDescriptors(clazz);
         Element root = document.getRootElement();
-        for (CustomPropertyDescriptor descript : propertyDescriptor) {
-            XmlNode xmlNode = descript.getAnnotation(XmlNode.class);
-            final String fieldName = descript.getName();
-            // 节点名
-            String nodeName = null;
-            // 属性名
-            String attributeName = null;
-            boolean isParent = false;
-            boolean ignore = false;
-            if (xmlNode == null) {
-                nodeName = fieldName;
-            } else if (!xmlNode.ignore()) {
-                // 如果节点不是被忽略的节点那么继续
-                // 获取节点名称，优先使用注解，如果注解没有设置名称那么使用字段名
-                nodeName = StringUtils.isEmpty(xmlNode.name()) ? fieldName : xmlNode.name();
-                log.debug("字段[{}]对应的节点名为：{}", fieldName, nodeName);
-
-                // 判断节点是否是属性值
-                if (xmlNode.isAttribute()) {
-                    // 如果节点是属性值，那么需要同时设置节点名和属性名，原则上如果是属性的话必须设置节点名，但是为了防止
-                    // 用户忘记设置，在用户没有设置的时候使用字段名
-                    if (StringUtils.isEmpty(xmlNode.attributeName())) {
-                        log.warn("字段[{}]是属性值，但是未设置属性名（attributeName字段），将采用字段名作为属性名", descript.getName());
-                        attributeName = fieldName;
-                    } else {
-                        attributeName = xmlNode.attributeName();
-                    }
-                    if (StringUtils.isEmpty(xmlNode.name())) {
-                        log.debug("该字段是属性值，并且未设置节点名（name字段），设置isParent为true");
-                        isParent = true;
-                    }
-                } else {
-                    log.debug("字段[{}]对应的是节点");
-                }
-            } else {
-                ignore = true;
+        for (FieldBinding binding : XmlBindingPlan.get(clazz).getReadBindings()) {
+            // 获取指定节点名的element
+            List<Element> nodes =
+                binding.isParent() ? Collections.singletonList(root) : root.elements(binding.getNodeName());
+            // 判断是否为空
+            if (nodes.isEmpty()) {
+                // 如果为空那么将首字母大写后重新获取
+                nodes = root.elements(binding.getUpperNodeName());
             }
-
-            if (!ignore) {
-                // 获取指定节点名的element
-                List<Element> nodes = (!StringUtils.isEmpty(attributeName) && isParent)
-                    ? Collections.singletonList(root) : root.elements(nodeName);
-                // 判断是否为空
-                if (nodes.isEmpty()) {
-                    // 如果为空那么将首字母大写后重新获取
-                    nodes = root.elements(StringUtils.toFirstUpperCase(nodeName));
-                }
-                if (!nodes.isEmpty()) {
-                    // 如果还不为空，那么为pojo赋值
-                    Class<?> type = descript.getRealType();
-
-                    // 开始赋值
-                    // 判断字段是否是集合
-                    if (Collection.class.isAssignableFrom(type)) {
-                        // 是集合
-                        setValue(nodes, attributeName, pojo, descript);
-                    } else if (Map.class.isAssignableFrom(type)) {
-                        // 是Map
-                        log.warn("当前暂时不支持解析map");
-                    } else {
-                        // 不是集合，直接赋值
-                        setValue(nodes.get(0), attributeName, pojo, descript);
-                    }
+            if (!nodes.isEmpty()) {
+                // 如果还不为空，那么为pojo赋值，判断字段是否是集合
+                if (binding.isCollection()) {
+                    setValue(nodes, pojo, binding);
+                } else {
+                    setValue(nodes.get(0), pojo, binding);
                 }
             }
         }
@@ -346,174 +381,77 @@ public class XmlParser implements Serializer {
             return null;
         }
 
-        if (rootName == null) {
-            XmlNode xmlNode = source.getClass().getDeclaredAnnotation(XmlNode.class);
-            rootName = xmlNode == null ? null : xmlNode.name();
-        }
-
-        if (rootName == null) {
-            rootName = DEFAULT_ROOT;
+        StringBuilder sb = new StringBuilder();
+        try {
+            new StreamingXmlWriter(sb, !hasNull).write(source, resolveRootName(source, rootName));
+        } catch (IOException e) {
+            // StringBuilder不会抛出IOException
+            throw new UncheckedIOException(e);
         }
-
-        Long start = System.currentTimeMillis();
-        Element root = DocumentHelper.createElement(rootName);
-        buildDocument(root, source, source.getClass(), !hasNull);
-        Long end = System.currentTimeMillis();
-        log.debug("解析xml用时" + (end - start) + "ms");
-        return root.asXML();
+        return sb.toString();
     }
 
     /**
-     * 根据pojo构建xml的document（方法附件参考附件xml解析器思路）
+     * 将Object解析为xml并直接写出到out，不在内存中构建完整的xml，结果与{@link #toXml(Object, String, boolean)}一致
      *
-     * @param parent
-     *            父节点
-     * @param pojo
-     *            pojo，不能为空
-     * @param clazz
-     *            pojo的Class
-     * @param ignoreNull
-     *            是否忽略空元素
+     * @param source
+     *            bean，为null时不写出任何数据
+     * @param rootName
+     *            根节点名称，如果为null则会尝试使用默认值
+     * @param hasNull
+     *            是否包含null元素（true：包含）
+     * @param out
+     *            输出目标，可以是{@link java.io.Writer}、{@link StringBuilder}等，写出完成后如果是Writer会flush，但是不会关闭
+     * @throws IOException
+     *             写出异常
      */
-    @SuppressWarnings("unchecked")
-    private void buildDocument(Element parent, Object pojo, Class<?> clazz, boolean ignoreNull) {
-        // 字段描述，key是节点名，value是XmlData
-        Map<String, XmlData> map = new HashMap<>();
-        // 构建字段描述
-        if (pojo instanceof Map) {
-            Map<?, ?> pojoMap = (Map<?, ?>)pojo;
-            pojoMap.forEach((k, v) -> {
-                if (k == null) {
-                    log.debug("忽略map中key为null的值");
-                } else {
-                    if (ignoreNull && v == null) {
-                        log.debug("当前配置为忽略空值，[{}]的值为空，忽略", k);
-                    } else {
-                        map.put(String.valueOf(k), new XmlData(null, v, v == null ? null : v.getClass()));
-                    }
-                }
-            });
-        } else {
-            CustomPropertyDescriptor[] propertyDescriptors =
-                BeanUtils.getPropertyDescriptors(clazz == null ? pojo.getClass() : clazz);
-            for (CustomPropertyDescriptor descriptor : propertyDescriptors) {
-                XmlNode xmlNode = descriptor.getAnnotation(XmlNode.class);
-                // 字段值
-                try {
-                    Object valueObj = pojo == null ? null : BeanUtils.getProperty(pojo, descriptor.getName());
-                    // 判断是否忽略
-                    if ((ignoreNull && valueObj == null) || (xmlNode != null && xmlNode.ignore())) {
-                        log.debug("忽略空节点或者节点被注解忽略");
-                        continue;
-                    }
-
-                    // 节点名
-                    String nodeName = (xmlNode == null || StringUtils.isEmpty(xmlNode.name())) ? descriptor.getName()
-                        : xmlNode.name();
-                    map.put(nodeName, new XmlData(xmlNode, valueObj, descriptor.getRealType()));
-                } catch (Exception e) {
-                    log.error("获取字段值时发生异常，忽略改值", e);
-                }
-            }
+    public void toXml(Object source, String rootName, boolean hasNull, Appendable out) throws IOException {
+        Assert.notNull(out, "out不能为null");
+        if (source == null) {
+            log.warn("传入的source为null，不写出数据");
+            return;
         }
-
-        map.forEach((k, v) -> {
-            XmlNode xmlNode = v.getXmlNode();
-            Object valueObj = v.getData();
-
-            // 节点名
-            String nodeName = k;
-            // 属性名
-            String attrName =
-                (xmlNode == null || StringUtils.isEmpty(xmlNode.attributeName())) ? nodeName : xmlNode.attributeName();
-            // 是否是cdata
-            boolean isCDATA = xmlNode != null && xmlNode.isCDATA();
-            // 数据类型
-            Class<?> type = v.getType();
-            // 构建一个对应的节点
-            Element node = parent.element(nodeName);
-            if (node == null) {
-                // 搜索不到，创建一个（在属性是父节点属性的情况和节点是list的情况需要将该节点删除）
-                node = DocumentHelper.createElement(nodeName);
-                parent.add(node);
-            }
-
-            // 判断字段对应的是否是属性
-            if (xmlNode != null && xmlNode.isAttribute()) {
-                // 属性值，属性值只能是简单值
-                String attrValue = valueObj == null ? "" : String.valueOf(valueObj);
-                // 判断是否是父节点的属性
-                if (StringUtils.isEmpty(xmlNode.name())) {
-                    // 如果是父节点那么删除之前添加的
-                    parent.remove(node);
-                    node = parent;
-                }
-                // 为属性对应的节点添加属性
-                node.addAttribute(attrName, attrValue);
-            } else if (type == null) {
-                log.debug("当前不知道节点[{}]的类型，忽略该节点", k);
-            } else if (JavaTypeUtil.isNotPojo(type)) {
-                // 是简单类型或者集合类型
-                if (Map.class.isAssignableFrom(type)) {
-                    log.warn("当前字段[{}]是map类型", k);
-                    buildDocument(node, v.getData(), type, ignoreNull);
-                } else if (Collection.class.isAssignableFrom(type)) {
-                    parent.remove(node);
-                    // 集合类型
-                    // 判断字段值是否为null
-                    if (valueObj != null) {
-                        String arrayNodeName;
-                        Element root;
-                        if (StringUtils.isEmpty(xmlNode.arrayRoot())) {
-                            arrayNodeName = nodeName;
-                            root = parent;
-                        } else {
-                            arrayNodeName = xmlNode.arrayRoot();
-                            root = DocumentHelper.createElement(nodeName);
-                            parent.add(root);
-                        }
-                        Collection collection = (Collection)valueObj;
-                        collection.stream().forEach(obj -> {
-                            Element n = DocumentHelper.createElement(arrayNodeName);
-                            root.add(n);
-                            buildDocument(n, obj, null, ignoreNull);
-                        });
-                    }
-                } else {
-                    String text = valueObj == null ? "" : String.valueOf(valueObj);
-                    if (isCDATA) {
-                        log.debug("内容[{}]需要CDATA标签包裹", text);
-                        node.add(DocumentHelper.createCDATA(text));
-                    } else {
-                        node.setText(text);
-                    }
-                }
-            } else {
-                // 猜测字段类型（防止字段的声明是一个接口，优先采用xmlnode中申明的类型）
-                Class<?> realType = resolveRealType(type, xmlNode);
-                // pojo类型
-                buildDocument(node, valueObj, realType, ignoreNull);
-            }
-        });
+        new StreamingXmlWriter(out, !hasNull).write(source, resolveRootName(source, rootName));
     }
 
     /**
-     * 确定字段的真实类型
+     * 将Object解析为xml并使用指定编码直接写出到out，其他同{@link #toXml(Object, String, boolean, Appendable)}
      *
-     * @param fieldType
-     *            字段类型
-     * @param xmlNode
-     *            字段XmlNode注解
-     * @return 字段实际类型而不是接口或者抽象类
+     * @param source
+     *            bean，为null时不写出任何数据
+     * @param rootName
+     *            根节点名称，如果为null则会尝试使用默认值
+     * @param hasNull
+     *            是否包含null元素（true：包含）
+     * @param out
+     *            输出流，写出完成后会flush，但是不会关闭
+     * @param charset
+     *            编码
+     * @throws IOException
+     *             写出异常
      */
-    private Class<?> resolveRealType(Class<?> fieldType, XmlNode xmlNode) {
-        // 猜测字段类型（防止字段的声明是一个接口，优先采用xmlnode中申明的类型）
-        Class<?> type = (xmlNode == null || xmlNode.general() == null) ? fieldType : xmlNode.general();
+    public void toXml(Object source, String rootName, boolean hasNull, OutputStream out,
+                      Charset charset) throws IOException {
+        Assert.notNull(out, "out不能为null");
+        Assert.notNull(charset, "charset不能为null");
+        toXml(source, rootName, hasNull, new OutputStreamWriter(out, charset));
+    }
 
-        if (!fieldType.isAssignableFrom(type)) {
-            type = fieldType;
+    /**
+     * 确定根节点名称
+     *
+     * @param source
+     *            bean
+     * @param rootName
+     *            用户指定的根节点名称
+     * @return 用户指定的根节点名称为null时优先使用类上XmlNode注解的name，没有注解时使用默认值
+     */
+    private static String resolveRootName(Object source, String rootName) {
+        if (rootName == null) {
+            XmlNode xmlNode = source.getClass().getDeclaredAnnotation(XmlNode.class);
+            rootName = xmlNode == null ? null : xmlNode.name();
         }
-        return type;
+        return rootName == null ? DEFAULT_ROOT : rootName;
     }
 
     /**
@@ -554,24 +492,95 @@ public class XmlParser implements Serializer {
         }
     }
 
+    /**
+     * 使用StAX流式将XML解析为POJO对象，只顺序读取一遍XML，不构建Document，绑定规则与{@link #parse(String, Class)}一致，适合
+     * 较大的XML或者XML来自流的场景
+     *
+     * @param reader
+     *            XML源，使用完毕后由调用方关闭
+     * @param clazz
+     *            POJO对象的class
+     * @param <T>
+     *            POJO的实际类型
+     * @return 解析结果，XML格式错误时返回null
+     */
+    public <T> T parse(Reader reader, Class<T> clazz) {
+        Assert.notNull(reader);
+        Assert.notNull(clazz);
+
+        XMLInputFactory factory = inputFactory;
+        XMLStreamReader xmlReader = null;
+        try {
+            xmlReader = factory.createXMLStreamReader(reader);
+            return bind(factory, xmlReader, clazz);
+        } catch (XMLStreamException e) {
+            log.error("xml解析错误", e);
+            return null;
+        } finally {
+            close(xmlReader);
+        }
+    }
+
+    /**
+     * 使用StAX流式将XML解析为POJO对象，编码从XML声明中获取，其他同{@link #parse(Reader, Class)}
+     *
+     * @param in
+     *            XML源，使用完毕后由调用方关闭
+     * @param clazz
+     *            POJO对象的class
+     * @param <T>
+     *            POJO的实际类型
+     * @return 解析结果，XML格式错误时返回null
+     */
+    public <T> T parse(InputStream in, Class<T> clazz) {
+        Assert.notNull(in);
+        Assert.notNull(clazz);
+
+        XMLInputFactory factory = inputFactory;
+        XMLStreamReader xmlReader = null;
+        try {
+            xmlReader = factory.createXMLStreamReader(in);
+            return bind(factory, xmlReader, clazz);
+        } catch (XMLStreamException e) {
+            log.error("xml解析错误", e);
+            return null;
+        } finally {
+            close(xmlReader);
+        }
+    }
+
+    private static <T> T bind(XMLInputFactory factory, XMLStreamReader xmlReader,
+                              Class<T> clazz) throws XMLStreamException {
+        return StaxXmlBinder.bind(xmlReader, clazz,
+            Boolean.TRUE.equals(factory.getProperty(XMLInputFactory.SUPPORT_DTD)));
+    }
+
+    private static void close(XMLStreamReader xmlReader) {
+        if (xmlReader != null) {
+            try {
+                xmlReader.close();
+            } catch (XMLStreamException e) {
+                log.debug("XMLStreamReader关闭失败", e);
+            }
+        }
+    }
+
     /**
      * 往pojo中指定字段设置值
      *
      * @param element
      *            要设置的数据节点
-     * @param attrName
-     *            要获取的属性名，如果该值不为空则认为数据需要从属性中取而不是从节点数据中取
      * @param pojo
      *            pojo
-     * @param field
-     *            字段说明
+     * @param binding
+     *            字段的绑定信息
      */
-    private void setValue(Element element, String attrName, Object pojo, CustomPropertyDescriptor field) {
-        XmlNode attrXmlNode = field.getAnnotation(XmlNode.class);
-        log.debug("要赋值的fieldName为{}", field.getName());
-        final XmlTypeConvert convert = XmlTypeConverterUtil.resolve(attrXmlNode, field);
-        if (!BeanUtils.setProperty(pojo, field.getName(), convert.read(element, attrName))) {
-            log.debug("copy中复制{}时发生错误，属性[{}]的值将被忽略", field.getName(), field.getName());
+    private void setValue(Element element, Object pojo, FieldBinding binding) {
+        log.debug("要赋值的fieldName为{}", binding.getDescriptor().getName());
+        if (!BeanUtils.setProperty(pojo, binding.getDescriptor(),
+            binding.getConvert().read(element, binding.getAttributeName()))) {
+            log.debug("copy中复制{}时发生错误，属性[{}]的值将被忽略", binding.getDescriptor().getName(),
+                binding.getDescriptor().getName());
         }
     }
 
@@ -580,42 +589,42 @@ public class XmlParser implements Serializer {
      *
      * @param elements
      *            要设置的数据节点
-     * @param attrName
-     *            要获取的属性名，如果该值不为空则认为数据需要从属性中取而不是从节点数据中取
      * @param pojo
      *            pojo
-     * @param field
-     *            字段说明
+     * @param binding
+     *            字段的绑定信息
      */
     @SuppressWarnings("unchecked")
-    private void setValue(List<Element> elements, String attrName, Object pojo, CustomPropertyDescriptor field) {
-        XmlNode attrXmlNode = field.getAnnotation(XmlNode.class);
-        log.debug("要赋值的fieldName为{}", field.getName());
-        final XmlTypeConvert convert = XmlTypeConverterUtil.resolve(attrXmlNode, field);
-
-        Class<? extends Collection> collectionClass;
-        Class<? extends Collection> real = (Class<? extends Collection>)field.getRealType();
-
-        if (attrXmlNode != null) {
-            collectionClass = attrXmlNode.arrayType();
-            if (!collectionClass.equals(real) && !real.isAssignableFrom(collectionClass)) {
-                log.warn("用户指定的集合类型[{}]不是字段的实际集合类型[{}]的子类，使用字段的实际集合类型", collectionClass, real);
-                collectionClass = real;
-            }
-        } else {
-            collectionClass = real;
-        }
-
-        if (!StringUtils.isEmpty(attrXmlNode.arrayRoot()) && !elements.isEmpty()) {
-            elements = elements.get(0).elements(attrXmlNode.arrayRoot());
+    private void setValue(List<Element> elements, Object pojo, FieldBinding binding) {
+        if (binding.getArrayRoot() != null) {
+            elements = elements.get(0).elements(binding.getArrayRoot());
         }
 
         // 将数据转换为用户指定数据
-        List<?> list = elements.stream().map(d -> convert.read(d, attrName)).collect(Collectors.toList());
+        XmlTypeConvert convert = binding.getConvert();
+        String attrName = binding.getAttributeName();
+        List<Object> list = new ArrayList<>(elements.size());
+        for (Element element : elements) {
+            list.add(convert.read(element, attrName));
+        }
+        setCollection(list, pojo, binding);
+    }
 
-        if (!trySetValue(list, pojo, field, collectionClass)) {
+    /**
+     * 为集合类型的字段赋值，优先使用注解中指定的集合类型，失败时使用字段的实际类型
+     *
+     * @param list
+     *            转换后的数据
+     * @param pojo
+     *            要赋值的pojo
+     * @param binding
+     *            字段的绑定信息
+     */
+    static void setCollection(List<?> list, Object pojo, FieldBinding binding) {
+        CustomPropertyDescriptor field = binding.getDescriptor();
+        if (!trySetValue(list, pojo, field, binding.getCollectionClass())) {
             // 使用注解标记的类型赋值失败并且注解的集合类型与实际字段类型不符时尝试使用字段实际类型赋值
-            if (!trySetValue(list, pojo, field, real)) {
+            if (!trySetValue(list, pojo, field, binding.getRealCollectionClass())) {
                 log.warn("无法为字段[{}]赋值", field.getName());
             }
         }
@@ -635,7 +644,7 @@ public class XmlParser implements Serializer {
      * @return 返回true表示赋值成功，返回false表示赋值失败
      */
     @SuppressWarnings("unchecked")
-    private boolean trySetValue(List<?> datas, Object pojo, CustomPropertyDescriptor field,
+    private static boolean trySetValue(List<?> datas, Object pojo, CustomPropertyDescriptor field,
         Class<? extends Collection> clazz) {
         log.debug("要赋值的fieldName为{}", field.getName());
 
@@ -646,7 +655,7 @@ public class XmlParser implements Serializer {
         }
         collection.addAll(datas);
         try {
-            return BeanUtils.setProperty(pojo, field.getName(), collection);
+            return BeanUtils.setProperty(pojo, field, collection);
         } catch (Exception e) {
             log.debug("字段[{}]赋值失败，使用的集合类为[{}]", field.getName(), clazz, e);
             return false;
@@ -660,7 +669,7 @@ public class XmlParser implements Serializer {
      *            集合的Class对象
      * @return 集合实例
      */
-    private Collection tryBuildCollection(Class<? extends Collection> clazz) {
+    private static Collection tryBuildCollection(Class<? extends Collection> clazz) {
         if (List.class.equals(clazz) || Collection.class.equals(clazz)) {
             return new ArrayList();
         } else if (Set.class.equals(clazz)) {
@@ -706,26 +715,17 @@ public class XmlParser implements Serializer {
     }
 
     /**
-     * XML节点数据
+     * 线程本地的SAXReader以及创建时使用的特性配置
      */
-    @Data
     @AllArgsConstructor
-    private static class XmlData {
+    private static class ReaderHolder {
         /**
-         * 节点注解，可以为空
+         * 创建SAXReader时使用的特性配置
          */
-        private XmlNode xmlNode;
+        private final Map<String, Boolean> features;
         /**
-         * 节点数据
+         * SAXReader
          */
-        private Object data;
-        /**
-         * 节点数据的实际类型，可以为空
-         */
-        private Class<?> type;
-
-        public XmlData(Object data) {
-            this.data = data;
-        }
+        private final SAXReader reader;
     }
 }
@@ -0,0 +1,66 @@
+package com.joe.utils.area;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.joe.utils.common.IOUtils;
+import com.joe.utils.serialize.json.JsonParser;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 03:00 JoeKerouac Exp $
+ */
+public class AreaStoreTest {
+
+    private static final File SOURCE = new File("src/build/area");
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy.MM.dd");
+
+    @Test
+    public void doCompile() throws Exception {
+        // 提交的快照库与json快照一致
+        byte[] data = AreaStoreCompiler.compile(SOURCE);
+        Assert.assertArrayEquals(data,
+            Files.readAllBytes(new File("src/main/resources/area/area.dat").toPath()));
+        Assert.assertArrayEquals(data,
+            IOUtils.read(AreaStore.class.getClassLoader().getResourceAsStream(AreaStore.RESOURCE)));
+    }
+
+    @Test
+    public void doSnapshot() throws Exception {
+        AreaStore store = AreaStore.load();
+        for (File file : SOURCE.listFiles()) {
+            Map<String, AreaStoreCompiler.AreaData> json = JsonParser.getInstance().readAsMap(
+                IOUtils.read(file, "UTF8"), Map.class, String.class, AreaStoreCompiler.AreaData.class);
+            Map<String, AreaStoreCompiler.AreaData> expect = new HashMap<>();
+            json.values().forEach(area -> flatten(area, expect));
+
+            // 快照对截止日期之后的日期生效
+            String date = LocalDate.parse(file.getName(), FORMATTER).plusDays(1).format(FORMATTER);
+            Map<String, Area> snapshot = store.get(date);
+            Assert.assertEquals(file.getName(), expect.size(), snapshot.size());
+            expect.forEach((code, area) -> {
+                Area actual = snapshot.get(code);
+                Assert.assertEquals(area.getName(), actual.getName());
+                Assert.assertEquals(area.getParent(), actual.getParent());
+                int childSize = area.getChildList() == null ? 0 : area.getChildList().size();
+                Assert.assertEquals(childSize, actual.getChildList().size());
+            });
+            Assert.assertSame(snapshot, store.get(date));
+        }
+    }
+
+    private static void flatten(AreaStoreCompiler.AreaData area, Map<String, AreaStoreCompiler.AreaData> map) {
+        map.put(area.getCode(), area);
+        if (area.getChildList() != null) {
+            area.getChildList().forEach(child -> flatten(child, map));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.joe.utils.area;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.joe.utils.serialize.json.JsonParser;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:45 JoeKerouac Exp $
+ */
+public class AreaUtilTest {
+
+    @Test
+    public void doTest() {
+        Map<String, Area> areaMap = AreaUtil.getArea("1990.02.16");
+        // 同一个快照返回同一个不可变索引
+        Assert.assertSame(areaMap, AreaUtil.getArea("1990.12.31"));
+        Assert.assertSame(areaMap, AreaUtil.getArea("1990.01.01"));
+        Assert.assertNotSame(areaMap, AreaUtil.getArea("1991.01.01"));
+        // 早于所有快照时使用第一个快照
+        Assert.assertSame(AreaUtil.getArea("1980.12.31"), AreaUtil.getArea("1970.01.01"));
+
+        Area area = AreaUtil.getArea("362528", "1990.02.16");
+        Assert.assertSame(areaMap.get("362528"), area);
+        Assert.assertEquals("金溪县", area.getName());
+        Assert.assertTrue(area.getChildList().isEmpty());
+        Assert.assertEquals("江西省", AreaUtil.getProvince(area, areaMap).getName());
+        Assert.assertEquals("江西省抚州地区金溪县", AreaUtil.getFullName(area, areaMap));
+
+        Area province = areaMap.get("360000");
+        Assert.assertTrue(province.getChildList().stream().anyMatch(child -> child.getCode().equals("362500")));
+        try {
+            areaMap.remove("362528");
+            Assert.fail("区域集合应该不可修改");
+        } catch (UnsupportedOperationException e) {
+            // 预期异常
+        }
+
+        try {
+            AreaUtil.getArea("1990-02-16");
+            Assert.fail("日期格式错误时应该抛出异常");
+        } catch (RuntimeException e) {
+            // 预期异常
+        }
+    }
+
+    @Test
+    public void doJson() {
+        Area province = AreaUtil.getArea("1990.02.16").get("360000");
+        JsonParser parser = JsonParser.getInstance();
+        Area area = parser.readAsObject(parser.toJson(province), Area.class);
+        Assert.assertEquals(province, area);
+        try {
+            area.getChildList().clear();
+            Assert.fail("子地区集合应该不可修改");
+        } catch (UnsupportedOperationException e) {
+            // 预期异常
+        }
+
+        // 没有子地区字段时使用空集合
+        area = parser.readAsObject("{\"code\":\"362528\",\"parent\":\"362500\",\"name\":\"金溪县\"}", Area.class);
+        Assert.assertEquals("金溪县", area.getName());
+        Assert.assertTrue(area.getChildList().isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package com.joe.utils.collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 18:30 JoeKerouac Exp $
+ */
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void evictionTest() {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(4);
+        for (int i = 0; i < 4; i++) {
+            cache.put(i, i);
+        }
+        // 访问0，淘汰时0会获得保留机会
+        Assert.assertEquals(Integer.valueOf(0), cache.get(0));
+        cache.put(4, 4);
+
+        Assert.assertEquals(4, cache.size());
+        Assert.assertNotNull(cache.get(0));
+        Assert.assertNull(cache.get(1));
+
+        CacheStats stats = cache.stats();
+        Assert.assertEquals(1, stats.getEvictionCount());
+        Assert.assertEquals(2, stats.getHitCount());
+        Assert.assertEquals(1, stats.getMissCount());
+    }
+
+    @Test
+    public void computeIfAbsentTest() {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(10);
+        AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals("a1", cache.computeIfAbsent("a", k -> k + counter.incrementAndGet()));
+        }
+        Assert.assertEquals(1, counter.get());
+
+        // loader返回null时不缓存
+        Assert.assertNull(cache.computeIfAbsent("b", k -> null));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        int max = 64;
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(max);
+        int threads = 8;
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(service.submit(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    int key = (i * 31 + seed) % 500;
+                    Assert.assertEquals(Integer.valueOf(key), cache.computeIfAbsent(key, k -> k));
+                }
+            }));
+        }
+        try {
+            // 通过get将任务中的断言失败抛出到测试线程
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            service.shutdownNow();
+        }
+
+        Assert.assertTrue(cache.size() <= max);
+        Assert.assertTrue(cache.stats().getEvictionCount() > 0);
+    }
+}
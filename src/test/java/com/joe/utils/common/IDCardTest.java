@@ -1,10 +1,14 @@
 package com.joe.utils.common;
 
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.joe.utils.area.AreaUtil;
+
 /**
  * @author JoeKerouac
  * @version 2019年10月10日 19:05
@@ -53,4 +57,71 @@ public class IDCardTest {
         Assert.assertEquals(IDCard.getSex(idCard), 0);
         Assert.assertEquals(IDCard.getAge(idCard), age);
     }
+
+    @Test
+    public void doDecode() {
+        IDCardInfo info = IDCard.decode(ID_CARD);
+        Assert.assertTrue(info.isValid());
+        Assert.assertEquals(19900216, info.getBirthday());
+        Assert.assertEquals(0, info.getSex());
+        Assert.assertEquals(362528, info.getAreaCode());
+        Assert.assertEquals(360000, info.getProvinceCode());
+
+        // 校验码错误、格式错误
+        Assert.assertFalse(IDCard.decode("362528199002168309").isValid());
+        Assert.assertFalse(IDCard.decode("36252819900216830").isValid());
+        Assert.assertFalse(IDCard.decode("3625281990021683a8").isValid());
+        Assert.assertFalse(IDCard.decode(null).isValid());
+        Assert.assertEquals(-1, IDCard.decode(null).getSex());
+
+        // 不存在的区域，只有一个校验码是正确的（小写x同样可以）
+        int validCount = 0;
+        for (char c : "0123456789x".toCharArray()) {
+            info = IDCard.decode("99000019900216830" + c);
+            if (info.isValid()) {
+                validCount++;
+                Assert.assertEquals(990000, info.getAreaCode());
+                Assert.assertEquals(0, info.getProvinceCode());
+            }
+        }
+        Assert.assertEquals(1, validCount);
+
+        // 批量处理结果与单个处理一致
+        String[] idCards = new String[1000];
+        for (int i = 0; i < idCards.length; i++) {
+            idCards[i] = i % 10 == 0 ? ID_CARD.substring(1) : IDCard.create(String.valueOf(19800101 + i % 28));
+        }
+        IDCardInfo[] sequential = IDCard.decodeAll(idCards, false);
+        Assert.assertArrayEquals(sequential, IDCard.decodeAll(idCards, true));
+        Assert.assertEquals(Arrays.asList(sequential), IDCard.decodeAll(Arrays.asList(idCards), true));
+        Assert.assertEquals(Arrays.asList(sequential),
+            IDCard.decodeAll(Arrays.stream(idCards)).collect(Collectors.toList()));
+        for (int i = 0; i < idCards.length; i++) {
+            Assert.assertEquals(IDCard.check(idCards[i]), sequential[i].isValid());
+            if (sequential[i].isValid()) {
+                Assert.assertEquals(IDCard.getSex(idCards[i]), sequential[i].getSex());
+                Assert.assertEquals(IDCard.getBirthday(idCards[i]), String.valueOf(sequential[i].getBirthday()));
+            }
+        }
+    }
+
+    @Test
+    public void doCache() {
+        IDCardInfo info = IDCard.decode(ID_CARD);
+        // 清除区域缓存后重新加载快照，解析结果不变
+        AreaUtil.clearCache();
+        Assert.assertEquals(info, IDCard.decode(ID_CARD));
+
+        // 生日中的月日不合法时不解析区域
+        info = IDCard.decode(IDCard.create("19901316"));
+        Assert.assertTrue(info.isValid());
+        Assert.assertEquals(0, info.getProvinceCode());
+
+        try {
+            IDCard.check(null);
+            Assert.fail("身份证号为null时应该抛出异常");
+        } catch (NullPointerException e) {
+            // 预期异常
+        }
+    }
 }
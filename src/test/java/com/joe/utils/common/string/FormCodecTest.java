@@ -0,0 +1,84 @@
+package com.joe.utils.common.string;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.joe.utils.common.FormDataBuilder;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:00 JoeKerouac Exp $
+ */
+public class FormCodecTest {
+
+    private static final String[] VALUES = {"", "abc", "a b+c", "中文&=%", "😀\uD800x", "~!@#$^()[]{}|\\;:'\",<>/?`",
+                                            "1.0-*_"};
+
+    @Test
+    public void doEncode() throws Exception {
+        for (Charset charset : new Charset[] {StandardCharsets.UTF_8, Charset.forName("GBK")}) {
+            for (String value : VALUES) {
+                Assert.assertEquals(URLEncoder.encode(value, charset.name()),
+                    FormCodec.encode(new StringBuilder(), value, charset).toString());
+            }
+        }
+    }
+
+    @Test
+    public void doDecode() throws Exception {
+        for (Charset charset : new Charset[] {StandardCharsets.UTF_8, Charset.forName("GBK")}) {
+            for (String value : VALUES) {
+                String encoded = URLEncoder.encode(value, charset.name());
+                Assert.assertEquals(URLDecoder.decode(encoded, charset.name()), FormCodec.decode(encoded, charset));
+            }
+        }
+        // 不合法的转义原样保留
+        Assert.assertEquals("%zz%4", FormCodec.decode("%zz%4", StandardCharsets.UTF_8));
+        Assert.assertEquals("a%", FormCodec.decode("%61%", StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void doParse() {
+        String data = "a=1&&b=x%3Dy+z&c&=d&a=%E4%B8%AD&e==";
+        List<String> pairs = new ArrayList<>();
+        FormCodec.parse(data, StandardCharsets.UTF_8, (k, v) -> pairs.add(k + ":" + v));
+        Assert.assertEquals(Arrays.asList("a:1", "b:x=y z", "c:", ":d", "a:中", "e:="), pairs);
+
+        pairs.clear();
+        byte[] bytes = ("#" + data + "#").getBytes(StandardCharsets.UTF_8);
+        FormCodec.parse(bytes, 1, bytes.length - 2, true, StandardCharsets.UTF_8, (k, v) -> pairs.add(k + ":" + v));
+        Assert.assertEquals(Arrays.asList("a:1", "b:x=y z", "c:", ":d", "a:中", "e:="), pairs);
+
+        Map<String, String> map = FormCodec.parseToMap(data, false, null);
+        Assert.assertEquals("%E4%B8%AD", map.get("a"));
+        Assert.assertEquals("x%3Dy+z", map.get("b"));
+    }
+
+    @Test
+    public void doWrite() throws Exception {
+        Map<String, Object> data = new HashMap<>();
+        data.put("b", "中 文");
+        data.put("a", 1);
+        data.put("c", null);
+        Assert.assertEquals("a=1&b=中 文&c=null", FormCodec.write(data, true, false, null));
+        Assert.assertEquals("a=1&b=中 文&c=", FormCodec.write(data, true, false, null, true));
+        Assert.assertEquals("a=1&b=" + URLEncoder.encode("中 文", "UTF-8") + "&c=",
+            FormCodec.write(data, true, true, StandardCharsets.UTF_8, true));
+
+        // 与之前基于TreeMap、URLEncoder的实现输出一致
+        FormDataBuilder builder = FormDataBuilder.builder(true).form("z", "1").form("m", "a&b").form("a", null);
+        Assert.assertEquals("a=&m=a&b&z=1", builder.data());
+        Assert.assertEquals("a=&m=a%26b&z=1", builder.data(true, "UTF-8"));
+        // 通过Map传入的null与之前一样按照String.valueOf输出
+        Assert.assertEquals("a=1&b=中 文&c=null", FormDataBuilder.builder(true, data).data());
+        Assert.assertEquals("a=1&b=" + URLEncoder.encode("中 文", "UTF-8") + "&c=null",
+            FormDataBuilder.builder(true, data).data(true, "UTF-8"));
+        Assert.assertEquals("", FormDataBuilder.builder().data());
+    }
+}
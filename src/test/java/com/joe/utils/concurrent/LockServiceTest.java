@@ -1,5 +1,13 @@
 package com.joe.utils.concurrent;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -25,4 +33,234 @@ public class LockServiceTest {
         thread.join();
         LockService.unlock(KEY);
     }
+
+    @Test
+    public void tryLockTest() throws Exception {
+        LockService.lock(KEY);
+        runInThread(() -> Assert.assertFalse(LockService.tryLock(KEY, 10)));
+        LockService.unlock(KEY);
+    }
+
+    @Test
+    public void lockInterruptiblyTest() throws Exception {
+        String key = KEY + "-interruptibly";
+        Lock lock = LockService.getLock(key);
+        lock.lockInterruptibly();
+        try {
+            runInThread(() -> {
+                Thread.currentThread().interrupt();
+                try {
+                    lock.lockInterruptibly();
+                    Assert.fail("被中断时加锁应该失败");
+                } catch (InterruptedException e) {
+                    // 正常
+                }
+                Assert.assertFalse(lock.tryLock());
+            });
+        } finally {
+            lock.unlock();
+        }
+
+        // 等待过程中被中断时不能持有锁，也不能在锁表中残留
+        lock.lock();
+        Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                lock.lockInterruptibly();
+                lock.unlock();
+                error[0] = new AssertionError("等待过程中被中断时加锁应该失败");
+            } catch (InterruptedException e) {
+                // 正常
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        thread.start();
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        thread.interrupt();
+        thread.join();
+        lock.unlock();
+        Assert.assertNull(error[0]);
+        Assert.assertEquals(0, LockService.getStats().stream().mapToInt(LockStats::getActiveCount).sum());
+    }
+
+    @Test
+    public void conditionReuseTest() throws Exception {
+        String key = KEY + "-condition-reuse";
+        Lock lock = LockService.getLock(key);
+        Condition condition = lock.newCondition();
+        int[] round = new int[1];
+        Thread thread = new Thread(() -> {
+            for (int i = 1; i <= 3; i++) {
+                lock.lock();
+                try {
+                    round[0] = i;
+                    condition.signalAll();
+                    while (round[0] == i) {
+                        condition.awaitUninterruptibly();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+
+        lock.lock();
+        try {
+            // 没有线程等待时signal直接忽略
+            condition.signal();
+            thread.start();
+            // 同一个视图多次等待、唤醒，实际的Condition在没有线程等待时删除后重新创建不能丢失通知
+            for (int i = 1; i <= 3; i++) {
+                while (round[0] != i) {
+                    Assert.assertTrue(condition.await(10, TimeUnit.SECONDS) || round[0] == i);
+                }
+                round[0] = -i;
+                condition.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        thread.join();
+        Assert.assertEquals(0, LockService.getStats().stream().mapToInt(LockStats::getActiveCount).sum());
+    }
+
+    @Test
+    public void readWriteTest() throws Exception {
+        String key = KEY + "-rw";
+        LockService.readLock(key);
+        runInThread(() -> {
+            Assert.assertTrue(LockService.tryReadLock(key));
+            LockService.readUnlock(key);
+            Assert.assertFalse(LockService.tryLock(key));
+        });
+        LockService.readUnlock(key);
+
+        try {
+            LockService.unlock(key);
+            Assert.fail("没有持有锁时解锁应该失败");
+        } catch (IllegalMonitorStateException e) {
+            // 正常
+        }
+    }
+
+    @Test
+    public void conditionTest() throws Exception {
+        String key = KEY + "-condition";
+        Lock lock = LockService.getLock(key);
+        Condition condition = lock.newCondition();
+        try {
+            condition.signal();
+            Assert.fail("没有持有锁时使用Condition应该失败");
+        } catch (IllegalMonitorStateException e) {
+            // 正常
+        }
+
+        boolean[] ready = new boolean[1];
+        lock.lock();
+        try {
+            Thread thread = new Thread(() -> {
+                lock.lock();
+                try {
+                    ready[0] = true;
+                    condition.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            });
+            thread.start();
+            while (!ready[0]) {
+                Assert.assertTrue(condition.await(10, TimeUnit.SECONDS) || ready[0]);
+            }
+            thread.join();
+        } finally {
+            lock.unlock();
+        }
+        Assert.assertEquals(0, LockService.getStats().stream().mapToInt(LockStats::getActiveCount).sum());
+    }
+
+    /**
+     * 大量key并发加锁解锁，同一个key同一时间只能有一个线程持有，全部释放后锁表中不能残留
+     */
+    @Test
+    public void concurrentTest() throws Exception {
+        int keys = 2000;
+        int[] counters = new int[16];
+        AtomicBoolean[] holding = new AtomicBoolean[counters.length];
+        for (int i = 0; i < holding.length; i++) {
+            holding[i] = new AtomicBoolean();
+        }
+
+        ExecutorService service = Executors.newFixedThreadPool(8);
+        CountDownLatch latch = new CountDownLatch(8);
+        AtomicBoolean failed = new AtomicBoolean();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            service.submit(() -> {
+                try {
+                    for (int i = 0; i < 20000; i++) {
+                        int index = (i * 31 + seed) % counters.length;
+                        // 热点key与大量一次性key混合，保证锁表不断增删
+                        String key = KEY + "-" + index;
+                        String coldKey = KEY + "-cold-" + (i % keys);
+                        LockService.lock(key);
+                        LockService.lock(coldKey);
+                        try {
+                            if (!holding[index].compareAndSet(false, true)) {
+                                failed.set(true);
+                            }
+                            counters[index]++;
+                            holding[index].set(false);
+                        } finally {
+                            LockService.unlock(coldKey);
+                            LockService.unlock(key);
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        Assert.assertTrue(latch.await(60, TimeUnit.SECONDS));
+        service.shutdown();
+
+        Assert.assertFalse(failed.get());
+        int sum = 0;
+        for (int counter : counters) {
+            sum += counter;
+        }
+        Assert.assertEquals(8 * 20000, sum);
+        Assert.assertEquals(0, LockService.getStats().stream().mapToInt(LockStats::getActiveCount).sum());
+        Assert.assertTrue(LockService.getStats().stream().mapToLong(LockStats::getAcquireCount).sum() >= 2 * 8 * 20000);
+    }
+
+    /**
+     * 在新线程中执行，执行过程中的断言失败、异常会在当前线程中重新抛出
+     *
+     * @param task
+     *            任务
+     */
+    private static void runInThread(Task task) throws Exception {
+        Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(() -> {
+            try {
+                task.call();
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        thread.start();
+        thread.join();
+        if (error[0] instanceof Error) {
+            throw (Error)error[0];
+        } else if (error[0] != null) {
+            throw (Exception)error[0];
+        }
+    }
+
+    private interface Task {
+        void call() throws Exception;
+    }
 }
@@ -5,12 +5,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
 import org.apache.poi.hssf.util.HSSFColor;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -111,6 +113,108 @@ public class ExcelExecutorTest {
         });
     }
 
+    @Test
+    public void doWriteIterator() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Item item = new Item();
+            item.setName("user" + i);
+            item.setCount(i);
+            item.setRemark(i % 2 == 0 ? "备注" : null);
+            items.add(i % 10 == 5 ? null : item);
+        }
+
+        // 每个sheet最多10行，包括标题，空元素被忽略
+        XSSFWorkbook wb = new XSSFWorkbook();
+        ExcelExecutor.getInstance().writeToExcel(items.iterator(), true, wb, false, 10);
+        Assert.assertEquals(3, wb.getNumberOfSheets());
+        Assert.assertEquals(9, wb.getSheetAt(1).getLastRowNum());
+        Assert.assertEquals(5, wb.getSheetAt(2).getLastRowNum());
+        Assert.assertEquals("备注", wb.getSheetAt(2).getRow(0).getCell(2).getStringCellValue());
+        Assert.assertEquals("user24", wb.getSheetAt(2).getRow(5).getCell(0).getStringCellValue());
+        Assert.assertEquals(24, wb.getSheetAt(2).getRow(5).getCell(1).getNumericCellValue(), 0);
+        Assert.assertEquals("", wb.getSheetAt(0).getRow(2).getCell(2).getStringCellValue());
+
+        // 横向写入，每个sheet最多10列
+        wb = new XSSFWorkbook();
+        ExcelExecutor.getInstance().writeToExcel(items.stream(), false, wb, true);
+        Assert.assertEquals(1, wb.getNumberOfSheets());
+        Assert.assertEquals(3, wb.getSheetAt(0).getPhysicalNumberOfRows());
+        Assert.assertEquals(23, wb.getSheetAt(0).getRow(1).getLastCellNum());
+        wb = new XSSFWorkbook();
+        ExcelExecutor.getInstance().writeToExcel(items.iterator(), true, wb, true, 10);
+        Assert.assertEquals(3, wb.getNumberOfSheets());
+        Assert.assertEquals("数量", wb.getSheetAt(1).getRow(1).getCell(0).getStringCellValue());
+        Assert.assertEquals("user24", wb.getSheetAt(2).getRow(0).getCell(5).getStringCellValue());
+
+        // 流式写入SXSSFWorkbook
+        fileTest(file -> {
+            try (OutputStream outputStream = new FileOutputStream(file)) {
+                ExcelExecutor.getInstance().writeToExcel(items.stream(), true, outputStream, 5, true);
+            } catch (IOException e) {
+                Assert.assertNull("发生IO异常", e);
+            }
+        });
+    }
+
+    @Test
+    public void doDispatch() {
+        Item item = new Item();
+        item.setName("item");
+        item.setCount(3);
+        List<Item> items = Collections.singletonList(item);
+
+        ExcelExecutor executor = ExcelExecutor.buildInstance();
+        XSSFWorkbook wb = new XSSFWorkbook();
+        executor.writeToExcel(items, false, wb);
+        Assert.assertEquals(3, wb.getSheetAt(0).getRow(0).getCell(1).getNumericCellValue(), 0);
+        // null值写入空单元格
+        Assert.assertEquals("", wb.getSheetAt(0).getRow(0).getCell(2).getStringCellValue());
+
+        // 注册后列计划重建，int字段优先使用Integer上注册的DataWriter而不是Number的
+        executor.registerDataWriter(Integer.class, new ExcelDataWriter<Integer>() {
+            @Override
+            public void write(Cell cell, Integer data) {
+                cell.setCellValue("count=" + data);
+            }
+
+            @Override
+            public boolean writeable(Object data) {
+                return data instanceof Integer;
+            }
+
+            @Override
+            public boolean writeable(Class<?> type) {
+                return type == int.class || type == Integer.class;
+            }
+        });
+        wb = new XSSFWorkbook();
+        executor.writeToExcel(items, true, wb);
+        Assert.assertEquals("数量", wb.getSheetAt(0).getRow(0).getCell(1).getStringCellValue());
+        Assert.assertEquals("count=3", wb.getSheetAt(0).getRow(1).getCell(1).getStringCellValue());
+
+        // 直接读取字段值，不经过getter
+        Formatted formatted = new Formatted();
+        formatted.name = "raw";
+        wb = new XSSFWorkbook();
+        executor.writeToExcel(Collections.singletonList(formatted), false, wb);
+        Assert.assertEquals("raw", wb.getSheetAt(0).getRow(0).getCell(0).getStringCellValue());
+    }
+
+    @Test
+    public void doResolveInterface() {
+        ExcelExecutor executor = ExcelExecutor.buildInstance();
+        // 先注册一个可以写入任意类型的DataWriter，接口上注册的DataWriter应该优先于按注册顺序的兜底查找
+        executor.registerDataWriter(Void.class, new TagDataWriter<>("any"));
+        executor.registerDataWriter(Tag.class, new TagDataWriter<>("tag"));
+
+        Tagged tagged = new Tagged();
+        tagged.child = new ChildTag();
+        XSSFWorkbook wb = new XSSFWorkbook();
+        executor.writeToExcel(Collections.singletonList(tagged), false, wb);
+        Assert.assertEquals("tag", wb.getSheetAt(0).getRow(0).getCell(0).getStringCellValue());
+    }
+
     private void fileTest(Consumer<File> function) {
         File file = new File("user-" + Math.random() + ".xlsx");
         try {
@@ -132,6 +236,62 @@ public class ExcelExecutorTest {
         private int age;
     }
 
+    @Data
+    static class Item {
+        @ExcelColumn(value = "名称", sort = 1)
+        private String name;
+        @ExcelColumn(value = "数量", sort = 2)
+        private int count;
+        @ExcelColumn(value = "备注", sort = 3)
+        private String remark;
+    }
+
+    static class Formatted {
+        @ExcelColumn("名称")
+        private String name;
+
+        public String getName() {
+            return "formatted-" + name;
+        }
+    }
+
+    interface Tag {
+    }
+
+    static class BaseTag implements Tag {
+    }
+
+    static class ChildTag extends BaseTag {
+    }
+
+    static class Tagged {
+        @ExcelColumn("标签")
+        private ChildTag child;
+    }
+
+    static class TagDataWriter<T> implements ExcelDataWriter<T> {
+        private final String value;
+
+        TagDataWriter(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void write(Cell cell, T data) {
+            cell.setCellValue(value);
+        }
+
+        @Override
+        public boolean writeable(Object data) {
+            return data != null;
+        }
+
+        @Override
+        public boolean writeable(Class<?> type) {
+            return true;
+        }
+    }
+
     @Data
     static class People {
         @ExcelColumn("性别")
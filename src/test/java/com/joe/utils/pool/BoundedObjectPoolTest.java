@@ -0,0 +1,265 @@
+package com.joe.utils.pool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.joe.utils.exception.PoolExhaustedException;
+import com.joe.utils.exception.PoolObjectHolderClosedException;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:00 JoeKerouac Exp $
+ */
+public class BoundedObjectPoolTest {
+
+    @Test
+    public void maxTotalTest() throws Exception {
+        PoolConfig config = new PoolConfig();
+        config.setMaxTotal(2);
+        config.setMaxWaitMillis(50);
+        AtomicInteger counter = new AtomicInteger();
+
+        try (BoundedObjectPool<Integer> pool = new BoundedObjectPool<>(counter::incrementAndGet, config)) {
+            PooledObject<Integer> first = pool.get();
+            PooledObject<Integer> second = pool.get();
+            Assert.assertNotEquals(first.get(), second.get());
+
+            try {
+                pool.get();
+                Assert.fail("对象池耗尽时应该抛出异常");
+            } catch (PoolExhaustedException e) {
+                // ignore
+            }
+
+            // 另一个线程归还后等待中的线程可以获取到
+            Integer value = first.get();
+            CountDownLatch latch = new CountDownLatch(1);
+            Thread thread = new Thread(() -> {
+                try (PooledObject<Integer> obj = pool.get(5, TimeUnit.SECONDS)) {
+                    if (value.equals(obj.get())) {
+                        latch.countDown();
+                    }
+                }
+            });
+            thread.start();
+            Thread.sleep(20);
+            first.close();
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            thread.join();
+            Integer last = second.get();
+            second.close();
+
+            try {
+                first.get();
+                Assert.fail("归还后不能再获取对象");
+            } catch (PoolObjectHolderClosedException e) {
+                // ignore
+            }
+
+            Assert.assertEquals(2, counter.get());
+            // 后进先出
+            Assert.assertEquals(last, pool.get().get());
+
+            PoolStats stats = pool.getStats();
+            Assert.assertEquals(4, stats.getBorrowCount());
+            Assert.assertEquals(2, stats.getWaitCount());
+            Assert.assertEquals(1, stats.getTimeoutCount());
+            Assert.assertEquals(2, stats.getCreatedCount());
+            Assert.assertEquals(1, stats.getActiveCount());
+            Assert.assertEquals(1, stats.getIdleCount());
+        }
+    }
+
+    @Test
+    public void maxIdleTest() {
+        PoolConfig config = new PoolConfig();
+        config.setMaxTotal(4);
+        config.setMaxIdle(1);
+        AtomicInteger destroyed = new AtomicInteger();
+
+        try (BoundedObjectPool<Object> pool =
+            new BoundedObjectPool<>(Object::new, obj -> destroyed.incrementAndGet(), config)) {
+            PooledObject<Object> first = pool.get();
+            PooledObject<Object> second = pool.get();
+            first.close();
+            // 重复close不会重复归还
+            first.close();
+            second.close();
+            Assert.assertEquals(1, pool.idleSize());
+            Assert.assertEquals(0, pool.activeSize());
+            Assert.assertEquals(1, destroyed.get());
+        }
+    }
+
+    @Test
+    public void evictTest() throws Exception {
+        PoolConfig config = new PoolConfig();
+        config.setMinIdle(1);
+        config.setIdleTimeoutMillis(10);
+        config.setEvictionIntervalMillis(10);
+
+        try (BoundedObjectPool<Object> pool = new BoundedObjectPool<>(Object::new, config)) {
+            PooledObject<Object> first = pool.get();
+            PooledObject<Object> second = pool.get();
+            PooledObject<Object> third = pool.get();
+            first.close();
+            second.close();
+            third.close();
+            Assert.assertEquals(3, pool.idleSize());
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (pool.idleSize() > 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(1, pool.idleSize());
+            Assert.assertEquals(2, pool.getStats().getDestroyedCount());
+        }
+    }
+
+    @Test
+    public void signalTest() throws Exception {
+        PoolConfig config = new PoolConfig();
+        config.setMaxTotal(1);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        BoundedObjectPool<Object> pool = new BoundedObjectPool<>(() -> {
+            if (count.getAndIncrement() == 0) {
+                creating.countDown();
+                try {
+                    fail.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("创建失败");
+            }
+            return new Object();
+        }, config);
+
+        // 第一个线程占用唯一的容量后创建失败，一直等待的线程应该被唤醒并创建新对象
+        Thread creator = new Thread(() -> {
+            try {
+                pool.get();
+            } catch (IllegalStateException e) {
+                // 预期异常
+            }
+        });
+        creator.start();
+        creating.await();
+        Object[] result = new Object[1];
+        Thread waiter = new Thread(() -> result[0] = pool.get().get());
+        waiter.start();
+        while (pool.getStats().getWaitCount() == 0) {
+            Thread.sleep(1);
+        }
+        fail.countDown();
+        waiter.join(5000);
+        creator.join(5000);
+        Assert.assertNotNull(result[0]);
+
+        // 关闭时唤醒一直等待的线程
+        Throwable[] error = new Throwable[1];
+        waiter = new Thread(() -> {
+            try {
+                pool.get();
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        waiter.start();
+        while (pool.getStats().getWaitCount() == 1) {
+            Thread.sleep(1);
+        }
+        pool.close();
+        waiter.join(5000);
+        Assert.assertTrue(error[0] instanceof PoolExhaustedException);
+    }
+
+    @Test
+    public void slowFactoryTest() throws Exception {
+        PoolConfig config = new PoolConfig();
+        config.setMaxTotal(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        CountDownLatch creating = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        BoundedObjectPool<Object> pool = new BoundedObjectPool<>(() -> {
+            int index = count.getAndIncrement();
+            creating.countDown();
+            try {
+                (index == 0 ? fail : release).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (index == 0) {
+                throw new IllegalStateException("创建失败");
+            }
+            return new Object();
+        }, config);
+
+        Thread creator = new Thread(() -> {
+            try {
+                pool.get();
+            } catch (IllegalStateException e) {
+                // 预期异常
+            }
+        });
+        creator.start();
+        while (creating.getCount() == 2) {
+            Thread.sleep(1);
+        }
+        Thread waiter = new Thread(() -> pool.get().close());
+        waiter.start();
+        while (pool.getStats().getWaitCount() == 0) {
+            Thread.sleep(1);
+        }
+        // 第一次创建失败后等待者被唤醒并创建新对象（创建过程很慢）
+        fail.countDown();
+        Assert.assertTrue(creating.await(5, TimeUnit.SECONDS));
+
+        // 创建新对象时不能持有对象池的锁，其他线程应该可以正常等待、超时
+        Throwable[] error = new Throwable[1];
+        Thread other = new Thread(() -> {
+            try {
+                pool.get(10, TimeUnit.MILLISECONDS);
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        });
+        other.start();
+        other.join(5000);
+        try {
+            Assert.assertFalse(other.isAlive());
+            Assert.assertTrue(error[0] instanceof PoolExhaustedException);
+        } finally {
+            release.countDown();
+        }
+        waiter.join(5000);
+        creator.join(5000);
+        Assert.assertEquals(0, pool.activeSize());
+    }
+
+    @Test
+    public void closeTest() {
+        BoundedObjectPool<Object> pool = new BoundedObjectPool<>(Object::new);
+        PooledObject<Object> obj = pool.get();
+        pool.get().close();
+        pool.close();
+        Assert.assertEquals(0, pool.idleSize());
+
+        obj.close();
+        Assert.assertEquals(0, pool.idleSize());
+        Assert.assertEquals(2, pool.getStats().getDestroyedCount());
+
+        try {
+            pool.get();
+            Assert.fail("对象池关闭后不能获取对象");
+        } catch (PoolExhaustedException e) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.joe.utils.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.joe.utils.protocol.exception.DataOutOfMemory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:30 JoeKerouac Exp $
+ */
+public class DatagramFrameTest {
+
+    @Test
+    public void doReader() {
+        ByteBuf data = Unpooled.buffer();
+        DatagramUtil.encode(data, body("hello"), DatagramConst.Type.MVC, DatagramConst.Version.V1);
+        DatagramUtil.encode(data, null, DatagramConst.Type.HEARTBEAT, DatagramConst.Version.V1);
+        DatagramUtil.encode(data, body("你好"), DatagramConst.Type.BACK, DatagramConst.Version.V1);
+
+        // 每次只输入一个字节，包括不完整的报头
+        DatagramFrameReader reader = new DatagramFrameReader();
+        List<ByteBufDatagram> result = new ArrayList<>();
+        while (data.isReadable()) {
+            reader.feed(ByteBuffer.wrap(new byte[] {data.readByte()}));
+            ByteBufDatagram datagram;
+            while ((datagram = reader.poll()) != null) {
+                result.add(datagram);
+            }
+        }
+        Assert.assertEquals(0, reader.bufferedBytes());
+        reader.close();
+
+        Assert.assertEquals(3, result.size());
+        Assert.assertEquals("hello", result.get(0).body().toString(StandardCharsets.UTF_8));
+        Assert.assertEquals(DatagramConst.Type.HEARTBEAT, result.get(1).getType());
+        Assert.assertEquals(0, result.get(1).getSize());
+        Assert.assertEquals("你好", result.get(2).body().toString(StandardCharsets.UTF_8));
+        result.forEach(datagram -> Assert.assertTrue(datagram.release()));
+    }
+
+    @Test
+    public void doOversize() {
+        ByteBuf data = Unpooled.buffer();
+        DatagramUtil.encode(data, body("too long"), DatagramConst.Type.MVC, DatagramConst.Version.V1);
+        DatagramUtil.encode(data, body("ok"), DatagramConst.Type.MVC, DatagramConst.Version.V1);
+
+        DatagramFrameReader reader = new DatagramFrameReader(4, PooledByteBufAllocator.DEFAULT);
+        // 只输入超长数据报的报头，剩余数据之后到达时也要被丢弃
+        reader.feed(data.readSlice(DatagramConst.Position.HEADER_LEN));
+        try {
+            reader.poll();
+            Assert.fail("body超长时应该抛出异常");
+        } catch (DataOutOfMemory e) {
+            // 预期异常
+        }
+        reader.feed(data);
+        ByteBufDatagram datagram = reader.poll();
+        Assert.assertEquals("ok", datagram.body().toString(StandardCharsets.UTF_8));
+        Assert.assertNull(reader.poll());
+        datagram.release();
+        reader.close();
+    }
+
+    @Test
+    public void doOversizeChannel() throws Exception {
+        // 报头声明10MB的body，之后是一个正常的数据报
+        ByteBuf header = Unpooled.buffer();
+        DatagramUtil.encode(header, body("x"), DatagramConst.Type.MVC, DatagramConst.Version.V1);
+        header.writerIndex(DatagramConst.Position.HEADER_LEN);
+        int bodyLen = 10 * 1024 * 1024;
+        header.setInt(DatagramConst.Position.LEN_OFFSET, bodyLen);
+        ByteBuf tail = Unpooled.buffer();
+        DatagramUtil.encode(tail, body("ok"), DatagramConst.Type.MVC, DatagramConst.Version.V1);
+        long[] remaining = {bodyLen};
+        ReadableByteChannel channel = new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                if (header.isReadable()) {
+                    return copy(header, dst);
+                } else if (remaining[0] > 0) {
+                    int len = (int)Math.min(dst.remaining(), remaining[0]);
+                    dst.position(dst.position() + len);
+                    remaining[0] -= len;
+                    return len;
+                } else if (tail.isReadable()) {
+                    return copy(tail, dst);
+                }
+                return -1;
+            }
+
+            private int copy(ByteBuf src, ByteBuffer dst) {
+                int len = Math.min(dst.remaining(), src.readableBytes());
+                dst.put(src.readSlice(len).nioBuffer());
+                return len;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {}
+        };
+
+        DatagramFrameReader reader = new DatagramFrameReader(1024, PooledByteBufAllocator.DEFAULT);
+        // 只调用readFrom，读取到超长的报头后就不再读取
+        int maxBuffered = 0;
+        while (reader.readFrom(channel) > 0) {
+            maxBuffered = Math.max(maxBuffered, reader.bufferedBytes());
+        }
+        try {
+            reader.poll();
+            Assert.fail("body超长时应该抛出异常");
+        } catch (DataOutOfMemory e) {
+            // 预期异常
+        }
+        // 剩余数据到达时直接丢弃，读取到完整的后续数据报后不再读取
+        while (reader.readFrom(channel) > 0) {
+            maxBuffered = Math.max(maxBuffered, reader.bufferedBytes());
+        }
+        Assert.assertTrue("缓存的数据过多：" + maxBuffered, maxBuffered <= 64 * 1024);
+        ByteBufDatagram datagram = reader.poll();
+        Assert.assertEquals("ok", datagram.body().toString(StandardCharsets.UTF_8));
+        datagram.release();
+        reader.close();
+    }
+
+    @Test
+    public void doChannel() throws Exception {
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+
+        DatagramFrameWriter writer = new DatagramFrameWriter();
+        ByteBuf body = PooledByteBufAllocator.DEFAULT.buffer();
+        body.writeCharSequence("gathering", StandardCharsets.UTF_8);
+        writer.add(DatagramUtil.encode(PooledByteBufAllocator.DEFAULT, body, DatagramConst.Type.FILE,
+            DatagramConst.Version.V1));
+        writer.add(DatagramUtil.build("byte[]".getBytes(), DatagramConst.Type.MVC, DatagramConst.Version.V1));
+        Assert.assertTrue(writer.pendingBytes() > 0);
+        Assert.assertTrue(writer.flush(pipe.sink()));
+        Assert.assertEquals(0, writer.pendingBytes());
+        // 写出完成后数据报被释放
+        Assert.assertEquals(0, body.refCnt());
+        writer.close();
+
+        DatagramFrameReader reader = new DatagramFrameReader();
+        ByteBufDatagram first = null;
+        while (first == null) {
+            Assert.assertTrue(reader.readFrom(pipe.source()) >= 0);
+            first = reader.poll();
+        }
+        Assert.assertEquals("gathering", first.body().toString(StandardCharsets.UTF_8));
+
+        ByteBufDatagram second = reader.poll();
+        if (second == null) {
+            reader.readFrom(pipe.source());
+            second = reader.poll();
+        } else {
+            // 已经有完整的数据报未被消费时不会继续读取
+            Assert.assertEquals(0, reader.readFrom(pipe.source()));
+        }
+        Assert.assertEquals("byte[]", second.body().toString(StandardCharsets.UTF_8));
+        Assert.assertNull(reader.poll());
+        reader.close();
+        first.release();
+        second.release();
+        pipe.sink().close();
+        pipe.source().close();
+    }
+
+    @Test
+    public void doNetty() {
+        EmbeddedChannel channel =
+            new EmbeddedChannel(new DatagramFrameDecoder(16), new DatagramFrameEncoder());
+
+        ByteBufDatagram datagram = DatagramUtil.encode(PooledByteBufAllocator.DEFAULT, body("netty"),
+            DatagramConst.Type.MVC, DatagramConst.Version.V1);
+        Assert.assertTrue(channel.writeOutbound(datagram.retain()));
+        ByteBuf encoded = channel.readOutbound();
+        Assert.assertEquals(datagram.content(), encoded);
+        datagram.release();
+
+        // 分片输入
+        Assert.assertFalse(channel.writeInbound(encoded.readRetainedSlice(10)));
+        Assert.assertTrue(channel.writeInbound(encoded));
+        ByteBufDatagram decoded = channel.readInbound();
+        Assert.assertEquals("netty", decoded.body().toString(StandardCharsets.UTF_8));
+        decoded.release();
+
+        // 超长数据报被丢弃，后续数据报正常解析
+        ByteBuf data = Unpooled.buffer();
+        DatagramUtil.encode(data, body("body longer than limit"), DatagramConst.Type.MVC, DatagramConst.Version.V1);
+        DatagramUtil.encode(data, body("next"), DatagramConst.Type.MVC, DatagramConst.Version.V1);
+        try {
+            channel.writeInbound(data);
+            Assert.fail("body超长时应该抛出异常");
+        } catch (DecoderException e) {
+            Assert.assertTrue(e.getCause() instanceof DataOutOfMemory);
+        }
+        channel.writeInbound(Unpooled.EMPTY_BUFFER);
+        decoded = channel.readInbound();
+        Assert.assertEquals("next", decoded.body().toString(StandardCharsets.UTF_8));
+        decoded.release();
+        Assert.assertFalse(channel.finish());
+    }
+
+    private static ByteBuf body(String data) {
+        return Unpooled.copiedBuffer(data, StandardCharsets.UTF_8);
+    }
+}
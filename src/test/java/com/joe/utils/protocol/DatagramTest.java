@@ -1,8 +1,20 @@
 package com.joe.utils.protocol;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.joe.utils.protocol.exception.ProtocolException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+
 /**
  * @author JoeKerouac
  * @version 2019年11月19日 11:17
@@ -20,4 +32,78 @@ public class DatagramTest {
         // 判断数据是否一致
         Assert.assertEquals(str, new String(datagram.getBody()));
     }
+
+    @Test
+    public void doByteArray() {
+        byte[] data = "你好".getBytes();
+        Datagram datagram = DatagramUtil.build(data, DatagramConst.Type.MVC, DatagramConst.Version.V1);
+        byte[] content = datagram.getData();
+        Datagram decoded = DatagramUtil.decode(content);
+        Assert.assertEquals(Charset.defaultCharset().name(), decoded.getCharset());
+        Assert.assertEquals(DatagramConst.Type.MVC, decoded.getType());
+        Assert.assertEquals(data.length, decoded.getSize());
+        Assert.assertArrayEquals(datagram.getId(),
+            Arrays.copyOf(decoded.getId(), datagram.getId().length));
+        Assert.assertEquals(datagram.body(), decoded.body());
+
+        // 数据末尾有多余数据
+        byte[] longer = Arrays.copyOf(content, content.length + 1);
+        Assert.assertArrayEquals(content, DatagramUtil.decode(longer, true).getData());
+        try {
+            DatagramUtil.decode(longer);
+            Assert.fail("数据长度与报头不一致时应该抛出异常");
+        } catch (ProtocolException e) {
+            // 预期异常
+        }
+    }
+
+    @Test
+    public void doByteBuf() {
+        ByteBuf body = PooledByteBufAllocator.DEFAULT.buffer();
+        body.writeCharSequence("你好", StandardCharsets.UTF_8);
+
+        // 报头与body组合，不会合并
+        ByteBufDatagram datagram = DatagramUtil.encode(PooledByteBufAllocator.DEFAULT, body, DatagramConst.Type.FILE,
+            DatagramConst.Version.V1);
+        Assert.assertTrue(datagram.content() instanceof CompositeByteBuf);
+        Assert.assertEquals(2, ((CompositeByteBuf)datagram.content()).numComponents());
+        Assert.assertEquals("你好", datagram.body().toString(StandardCharsets.UTF_8));
+
+        // 同一个缓冲中连续写入两个数据报后依次解析
+        ByteBuf out = PooledByteBufAllocator.DEFAULT.buffer();
+        out.writeBytes(datagram.content(), datagram.content().readerIndex(), datagram.content().readableBytes());
+        DatagramUtil.encode(out, Unpooled.wrappedBuffer(new byte[] {1, 2, 3}), DatagramConst.Type.ACK,
+            DatagramConst.Version.V1);
+        out.writeByte(9);
+
+        ByteBufDatagram first = DatagramUtil.decode(out);
+        Assert.assertEquals(datagram.content(), first.content());
+        Assert.assertEquals(DatagramConst.Type.FILE, first.getType());
+        Assert.assertEquals(Charset.defaultCharset().name(), first.getCharset());
+        Assert.assertArrayEquals(datagram.getId(), first.getId());
+        Assert.assertTrue(first.ack());
+        ByteBufDatagram second = DatagramUtil.decode(out);
+        Assert.assertEquals(Unpooled.wrappedBuffer(new byte[] {1, 2, 3}), second.body());
+        Assert.assertEquals(DatagramConst.Type.ACK, second.getType());
+        Assert.assertEquals(1, out.readableBytes());
+        Assert.assertArrayEquals(ByteBufUtil.getBytes(second.content()), second.toDatagram().getData());
+
+        // 数据不完整时不会移动readerIndex
+        try {
+            DatagramUtil.decode(out);
+            Assert.fail("数据不完整时应该抛出异常");
+        } catch (ProtocolException e) {
+            Assert.assertEquals(1, out.readableBytes());
+        }
+
+        // 解析出的数据报持有独立的引用计数
+        Assert.assertTrue(datagram.release());
+        Assert.assertEquals(0, body.refCnt());
+        out.release();
+        Assert.assertEquals(1, first.refCnt());
+        Assert.assertEquals(DatagramConst.Type.FILE, first.content().getByte(DatagramConst.Position.TYPE_INDEX));
+        Assert.assertTrue(first.release());
+        Assert.assertTrue(second.release());
+        Assert.assertEquals(0, out.refCnt());
+    }
 }
@@ -0,0 +1,69 @@
+package com.joe.utils.reflect;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import lombok.Data;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 19:40 JoeKerouac Exp $
+ */
+public class BeanUtilsTest {
+
+    @Test
+    public void batchCopyTest() {
+        List<Source> sources = build(5000);
+        sources.add(100, null);
+
+        List<Target> serial = BeanUtils.batchCopy(sources, Target.class, false);
+        List<Target> parallel = BeanUtils.batchCopy(new LinkedList<>(sources), Target.class, new ForkJoinPool(4));
+        Assert.assertEquals(5000, serial.size());
+        Assert.assertEquals(5000, parallel.size());
+        for (int i = 0; i < 5000; i++) {
+            Assert.assertEquals("name" + i, serial.get(i).getName());
+            Assert.assertEquals(i, serial.get(i).getAge());
+            Assert.assertEquals(serial.get(i), parallel.get(i));
+        }
+
+        Assert.assertEquals(serial, BeanUtils.copy(sources, Target.class));
+    }
+
+    @Test
+    public void streamCopyTest() {
+        List<Source> sources = build(100);
+        List<Target> targets = BeanUtils.streamCopy(sources, Target.class).collect(Collectors.toList());
+        Assert.assertEquals(BeanUtils.batchCopy(sources, Target.class, false), targets);
+
+        Assert.assertEquals(targets,
+            BeanUtils.streamCopy(sources.parallelStream(), Target.class).collect(Collectors.toList()));
+    }
+
+    private static List<Source> build(int size) {
+        return IntStream.range(0, size).mapToObj(i -> {
+            Source source = new Source();
+            source.setName("name" + i);
+            source.setAge(i);
+            return source;
+        }).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    @Data
+    public static class Source {
+        private String name;
+        private Integer age;
+    }
+
+    @Data
+    public static class Target {
+        private String name;
+        private int age;
+    }
+}
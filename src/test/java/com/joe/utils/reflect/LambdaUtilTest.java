@@ -0,0 +1,85 @@
+package com.joe.utils.reflect;
+
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import lombok.Data;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 20:30 JoeKerouac Exp $
+ */
+public class LambdaUtilTest {
+
+    @Test
+    public void testMethodAccessor() throws Exception {
+        doTest(Bean.class);
+        // 非public类无法生成lambda，降级为反射
+        doTest(HiddenBean.class);
+    }
+
+    @Test
+    public void testFieldAccessor() throws Exception {
+        Field field = Bean.class.getDeclaredField("age");
+        Function<Object, Object> getter = LambdaUtil.createGetter(field);
+        BiConsumer<Object, Object> setter = LambdaUtil.createSetter(field);
+
+        Bean bean = new Bean();
+        setter.accept(bean, 20);
+        Assert.assertEquals(20, getter.apply(bean));
+
+        try {
+            setter.accept(bean, null);
+            Assert.fail("null不能写入基本类型字段");
+        } catch (RuntimeException e) {
+            Assert.assertEquals(20, bean.getAge());
+        }
+    }
+
+    @Test
+    public void testDescriptor() {
+        Bean bean = new Bean();
+        for (BeanUtils.CustomPropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(Bean.class)) {
+            if ("name".equals(descriptor.getName())) {
+                Assert.assertTrue(BeanUtils.setProperty(bean, descriptor, "joe"));
+                Assert.assertEquals("joe", BeanUtils.getProperty(bean, descriptor));
+            } else if ("age".equals(descriptor.getName())) {
+                Assert.assertFalse(BeanUtils.setProperty(bean, descriptor, null));
+                Assert.assertFalse(BeanUtils.setProperty(bean, descriptor, "18"));
+                Assert.assertTrue(BeanUtils.setProperty(bean, descriptor, 18));
+                Assert.assertEquals(Integer.valueOf(18), BeanUtils.getProperty(bean, descriptor));
+            }
+        }
+        Assert.assertEquals("joe", bean.getName());
+        Assert.assertEquals(18, bean.getAge());
+        Assert.assertEquals("joe", BeanUtils.convert(bean, null).get("name"));
+    }
+
+    private static <T extends AbstractBean> void doTest(Class<T> clazz) throws Exception {
+        T bean = clazz.newInstance();
+        Function<Object, Object> getter = LambdaUtil.createGetter(clazz.getMethod("getAge"));
+        BiConsumer<Object, Object> setter = LambdaUtil.createSetter(clazz.getMethod("setAge", int.class));
+        setter.accept(bean, 10);
+        Assert.assertEquals(10, getter.apply(bean));
+        Assert.assertEquals(10, bean.getAge());
+    }
+
+    public interface AbstractBean {
+        int getAge();
+    }
+
+    @Data
+    public static class Bean implements AbstractBean {
+        private String name;
+        private int age;
+    }
+
+    @Data
+    static class HiddenBean implements AbstractBean {
+        private int age;
+    }
+}
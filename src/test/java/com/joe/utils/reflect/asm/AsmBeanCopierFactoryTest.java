@@ -0,0 +1,111 @@
+package com.joe.utils.reflect.asm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.joe.utils.reflect.Alias;
+import com.joe.utils.reflect.BeanCopier;
+import com.joe.utils.reflect.BeanUtils;
+import com.joe.utils.reflect.ReflectBeanCopier;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 19:10 JoeKerouac Exp $
+ */
+public class AsmBeanCopierFactoryTest {
+
+    private AsmBeanCopierFactory factory = new AsmBeanCopierFactory();
+
+    @Test
+    public void testCopy() {
+        Source source = new Source();
+        source.setName("joe");
+        source.setAge(18);
+        source.setCount(3);
+        source.setScore(99);
+        source.setWeight(null);
+        source.setNick("nick");
+        source.setData("data");
+        source.hidden = "hidden";
+        source.open = 'c';
+
+        Target target = new Target();
+        target.setWeight(5);
+        BeanCopier copier = factory.create(Source.class, Target.class);
+        Assert.assertFalse(copier instanceof ReflectBeanCopier);
+        copier.copy(source, target);
+
+        Assert.assertEquals("joe", target.getName());
+        // int -> Integer装箱
+        Assert.assertEquals(Integer.valueOf(18), target.getAge());
+        // Integer -> long拆箱加拓宽
+        Assert.assertEquals(3L, target.getCount());
+        // int -> double拓宽
+        Assert.assertEquals(99.0, target.getScore(), 0);
+        // null不能设置到基本类型上，保留原值
+        Assert.assertEquals(5, target.getWeight());
+        // Alias
+        Assert.assertEquals("nick", target.getNickName());
+        // Object -> String运行时检查
+        Assert.assertEquals("data", target.getData());
+        // 没有public访问方法的字段使用反射复制
+        Assert.assertEquals("hidden", target.hidden);
+        // public字段
+        Assert.assertEquals('c', target.open);
+
+        // Object -> String类型不一致时跳过
+        source.setData(1);
+        target.setData("old");
+        copier.copy(source, target);
+        Assert.assertEquals("old", target.getData());
+    }
+
+    @Test
+    public void testBeanUtils() {
+        Source source = new Source();
+        source.setName("joe");
+        source.setNick("nick");
+
+        Target target = BeanUtils.copy(source, Target.class);
+        Assert.assertEquals("joe", target.getName());
+        Assert.assertEquals("nick", target.getNickName());
+        Assert.assertSame(BeanUtils.getCopier(Source.class, Target.class),
+            BeanUtils.getCopier(Source.class, Target.class));
+    }
+
+    @Data
+    public static class Source {
+        private String name;
+        private int age;
+        private Integer count;
+        private int score;
+        private Integer weight;
+        @Alias("nickName")
+        private String nick;
+        private Object data;
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private String hidden;
+        public char open;
+    }
+
+    @Data
+    public static class Target {
+        private String name;
+        private Integer age;
+        private long count;
+        private double score;
+        private int weight;
+        private String nickName;
+        private String data;
+        public char open;
+        @Getter(AccessLevel.NONE)
+        @Setter(AccessLevel.NONE)
+        private String hidden;
+    }
+}
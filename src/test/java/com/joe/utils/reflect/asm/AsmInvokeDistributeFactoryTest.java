@@ -105,8 +105,48 @@ public class AsmInvokeDistributeFactoryTest {
         Assert.assertEquals(user.sayHi(), invokeDistribute.invoke(hiMethodOwner, sayHiMethod, desc));
     }
 
+    /**
+     * 测试基本类型参数、返回值以及方法ID调用
+     *
+     * @throws NoSuchMethodException
+     *             NoSuchMethodException
+     */
+    @Test
+    public void testInvokeById() throws NoSuchMethodException {
+        User user = new User();
+        InvokeDistribute invokeDistribute = factory.build(user);
+
+        String addDesc = ByteCodeUtils.getDesc(long.class, int.class, long.class);
+        Assert.assertEquals(3L, invokeDistribute.invoke(owner, "add", addDesc, 1, 2L));
+
+        int id = invokeDistribute.methodId(owner, "add", addDesc);
+        Assert.assertTrue(id >= 0);
+        Assert.assertEquals(7L, invokeDistribute.invoke(id, 3, 4L));
+
+        int setId = invokeDistribute.methodId(owner, setMethod, setMethodDesc);
+        Assert.assertNull(invokeDistribute.invoke(setId, name));
+        Assert.assertEquals(name, user.getName());
+
+        Assert.assertEquals(-1, invokeDistribute.methodId(owner, "add", desc));
+        Assert.assertEquals(-1, invokeDistribute.methodId(helloMethodOwner, "add", addDesc));
+
+        NoSuchMethodException noSuchMethodException = null;
+        try {
+            invokeDistribute.invoke(Integer.MAX_VALUE);
+        } catch (NoSuchMethodException e) {
+            noSuchMethodException = e;
+        }
+        Assert.assertNotNull(noSuchMethodException);
+    }
+
+    /**
+     * 测试生成的Class缓存
+     */
     @Test
-    public void test() {}
+    public void testCache() {
+        Assert.assertSame(factory.build(User.class), new AsmInvokeDistributeFactory().build(User.class));
+        Assert.assertNotSame(factory.build(User.class), factory.build(User.class, null, new AsmDynamicClassLoader()));
+    }
 
     public static class User extends AbstractUser implements Hi {
         private String name;
@@ -119,6 +159,10 @@ public class AsmInvokeDistributeFactoryTest {
             this.name = name;
         }
 
+        public long add(int a, long b) {
+            return a + b;
+        }
+
         @Override
         public String talk() {
             return "talk by User";
@@ -1,7 +1,18 @@
 package com.joe.utils.secure;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Random;
+
 import org.junit.Assert;
 
+import com.joe.utils.codec.IBase64;
+
 /**
  * @author joe
  * @version 2018.07.11 21:55
@@ -18,4 +29,45 @@ public class CipherUtilTest {
     public static void checkCipher(CipherUtil cipher) {
         Assert.assertEquals(data, cipher.decrypt(cipher.encrypt(data)));
     }
+
+    /**
+     * 检查流式加解密是否能用
+     *
+     * @param cipher
+     *            加密器
+     * @throws IOException
+     *             IO异常
+     */
+    public static void checkStreamCipher(CipherUtil cipher) throws IOException {
+        byte[] content = new byte[10000];
+        new Random(1).nextBytes(content);
+
+        // 流式加密的结果可以使用普通接口解密
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        cipher.encrypt(new ByteArrayInputStream(content), encrypted);
+        Assert.assertArrayEquals(content, cipher.decrypt(IBase64.encrypt(encrypted.toByteArray())));
+
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        cipher.decrypt(new ByteArrayInputStream(encrypted.toByteArray()), decrypted);
+        Assert.assertArrayEquals(content, decrypted.toByteArray());
+
+        // channel分多次写入，包含direct buffer
+        ByteArrayOutputStream channelEncrypted = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = cipher.encrypt(Channels.newChannel(channelEncrypted))) {
+            channel.write(ByteBuffer.wrap(content, 0, 7));
+            ByteBuffer direct = ByteBuffer.allocateDirect(3000);
+            direct.put(content, 7, 3000).flip();
+            channel.write(direct);
+            channel.write(ByteBuffer.wrap(content, 3007, content.length - 3007));
+        }
+
+        decrypted.reset();
+        try (OutputStream out = cipher.decrypt(decrypted)) {
+            byte[] data = channelEncrypted.toByteArray();
+            for (int i = 0; i < data.length; i += 100) {
+                out.write(data, i, Math.min(100, data.length - i));
+            }
+        }
+        Assert.assertArrayEquals(content, decrypted.toByteArray());
+    }
 }
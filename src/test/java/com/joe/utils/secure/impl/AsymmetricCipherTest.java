@@ -53,4 +53,9 @@ public class AsymmetricCipherTest {
     public void doCipher() {
         CipherUtilTest.checkCipher(cipher);
     }
+
+    @Test
+    public void doStreamCipher() throws Exception {
+        CipherUtilTest.checkStreamCipher(cipher);
+    }
 }
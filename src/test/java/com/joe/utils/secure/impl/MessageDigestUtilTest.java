@@ -1,8 +1,20 @@
 package com.joe.utils.secure.impl;
 
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.List;
+
 import org.junit.Test;
 
 import com.joe.utils.common.Assert;
+import com.joe.utils.secure.CacheStrategy;
+import com.joe.utils.secure.Digester;
 import com.joe.utils.secure.MessageDigestUtil;
 
 /**
@@ -22,4 +34,139 @@ public class MessageDigestUtilTest {
             Assert.notNull(util.digest("你好啊"));
         }
     }
+
+    @Test
+    public void doStreamDigest() throws Exception {
+        byte[] data = new byte[100000];
+        new Random(1).nextBytes(data);
+
+        util = MessageDigestUtilImpl.buildInstance(MessageDigestUtil.Algorithms.SHA256);
+        byte[] expect = util.digest(data);
+
+        org.junit.Assert.assertArrayEquals(expect, util.digest(new ByteArrayInputStream(data)));
+        org.junit.Assert.assertArrayEquals(expect,
+            util.digest(Channels.newChannel(new ByteArrayInputStream(data))));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        org.junit.Assert.assertArrayEquals(expect, util.digest(direct));
+
+        Path file = Files.createTempFile("digest", ".tmp");
+        try {
+            Files.write(file, data);
+            org.junit.Assert.assertArrayEquals(expect, util.digest(file));
+        } finally {
+            Files.delete(file);
+        }
+
+        try (Digester digester = util.newDigester()) {
+            digester.update(data, 0, 10).update(ByteBuffer.wrap(data, 10, data.length - 10));
+            org.junit.Assert.assertArrayEquals(expect, digester.finish());
+        }
+
+        // 放弃计算后不能影响后续的摘要
+        try (Digester digester = util.newDigester()) {
+            digester.update(data);
+        }
+        org.junit.Assert.assertArrayEquals(expect, util.digest(data));
+    }
+
+    /**
+     * Digester在创建线程之外的线程使用、关闭，同时创建线程继续计算摘要
+     */
+    @Test
+    public void doCrossThreadDigester() throws Exception {
+        byte[] data = new byte[10000];
+        new Random(2).nextBytes(data);
+        for (CacheStrategy strategy : CacheStrategy.values()) {
+            util = MessageDigestUtilImpl.buildInstance(MessageDigestUtil.Algorithms.SHA256, strategy);
+            byte[] expect = util.digest(data);
+
+            Digester digester = util.newDigester();
+            Throwable[] error = new Throwable[1];
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < data.length; i += 100) {
+                        digester.update(data, i, 100);
+                        Thread.yield();
+                    }
+                    org.junit.Assert.assertArrayEquals(expect, digester.finish());
+                } catch (Throwable e) {
+                    error[0] = e;
+                } finally {
+                    digester.close();
+                }
+            });
+            thread.start();
+            while (thread.isAlive()) {
+                org.junit.Assert.assertArrayEquals(expect, util.digest(data));
+                try (Digester local = util.newDigester()) {
+                    org.junit.Assert.assertArrayEquals(expect, local.update(data, 0, data.length).finish());
+                }
+            }
+            thread.join();
+            if (error[0] != null) {
+                throw new AssertionError(error[0]);
+            }
+            org.junit.Assert.assertArrayEquals(expect, util.digest(data));
+        }
+    }
+
+    @Test
+    public void doBatchDigest() {
+        List<byte[]> datas = Arrays.asList("a".getBytes(), "b".getBytes(), new byte[0]);
+        for (CacheStrategy strategy : CacheStrategy.values()) {
+            util = MessageDigestUtilImpl.buildInstance(MessageDigestUtil.Algorithms.SHA256, strategy);
+            List<byte[]> digests = util.digest(datas);
+            org.junit.Assert.assertEquals(datas.size(), digests.size());
+            for (int i = 0; i < datas.size(); i++) {
+                org.junit.Assert.assertArrayEquals(util.digest(datas.get(i)), digests.get(i));
+            }
+        }
+    }
+
+    /**
+     * 没有关闭的Digester不能占用池中的MessageDigest，否则普通摘要会等待直到池耗尽异常
+     */
+    @Test(timeout = 5000)
+    public void doUnclosedDigester() {
+        util = MessageDigestUtilImpl.buildInstance(MessageDigestUtil.Algorithms.SHA256, CacheStrategy.POOLED);
+        byte[] expect = util.digest("123".getBytes());
+        List<Digester> digesters = new ArrayList<>();
+        for (int i = 0; i <= Runtime.getRuntime().availableProcessors() * 4; i++) {
+            digesters.add(util.newDigester().update("123".getBytes()));
+        }
+        org.junit.Assert.assertArrayEquals(expect, util.digest("123".getBytes()));
+        for (Digester digester : digesters) {
+            org.junit.Assert.assertArrayEquals(expect, digester.finish());
+        }
+    }
+
+    /**
+     * 只实现了抽象方法的MessageDigestUtil可以使用接口默认的Digester
+     */
+    @Test
+    public void doDefaultDigester() throws Exception {
+        MessageDigestUtil impl = MessageDigestUtilImpl.buildInstance(MessageDigestUtil.Algorithms.SHA256);
+        util = new MessageDigestUtil() {
+            @Override
+            public String digest(String data) {
+                return impl.digest(data);
+            }
+
+            @Override
+            public byte[] digest(byte[] data) {
+                return impl.digest(data);
+            }
+        };
+
+        byte[] data = new byte[10000];
+        new Random(3).nextBytes(data);
+        byte[] expect = impl.digest(data);
+        org.junit.Assert.assertArrayEquals(expect, util.digest(new ByteArrayInputStream(data)));
+        try (Digester digester = util.newDigester()) {
+            digester.update(data, 0, 10).update(ByteBuffer.wrap(data, 10, data.length - 10));
+            org.junit.Assert.assertArrayEquals(expect, digester.finish());
+        }
+    }
 }
@@ -1,10 +1,15 @@
 package com.joe.utils.secure.impl;
 
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.joe.utils.secure.CacheStrategy;
 import com.joe.utils.secure.SignatureUtil;
+import com.joe.utils.secure.exception.SecureException;
 
 /**
  * @author joe
@@ -12,6 +17,7 @@ import com.joe.utils.secure.SignatureUtil;
  */
 public class SignatureUtilImplTest {
     private SignatureUtil signatureUtil;
+    private SignatureUtil threadLocalUtil;
     private String data;
 
     @Before
@@ -47,11 +53,51 @@ public class SignatureUtilImplTest {
             + "Al2r/xabdsEm8WbnumeYKO1HOXhZQfDGpdlYozRo+snQO+NYL5avJkYLzgoL1t8qKgL4ZyQ4eq2lLHBI4Gp2ec5qdBoe2qn3wIDA"
             + "" + "QAB";
         signatureUtil = SignatureUtilImpl.buildInstance(privateKey, publicKey, SignatureUtil.Algorithms.SHA224withRSA);
+        threadLocalUtil = SignatureUtilImpl.buildInstance(privateKey, publicKey, SignatureUtil.Algorithms.SHA224withRSA,
+            CacheStrategy.THREAD_LOCAL);
         data = "这是测试签名";
     }
 
     @Test
     public void doSign() {
         Assert.assertTrue(signatureUtil.checkSign(data, signatureUtil.sign(data)));
+        Assert.assertTrue(threadLocalUtil.checkSign(data, signatureUtil.sign(data)));
+    }
+
+    @Test
+    public void doBatchSign() {
+        List<byte[]> contents = Arrays.asList("1".getBytes(), data.getBytes(), "3".getBytes());
+        List<byte[]> signs = threadLocalUtil.sign(contents.iterator());
+        Assert.assertEquals(contents.size(), signs.size());
+        for (int i = 0; i < contents.size(); i++) {
+            Assert.assertArrayEquals(signatureUtil.sign(contents.get(i)), signs.get(i));
+        }
+
+        Assert.assertEquals(Arrays.asList(true, true, true), signatureUtil.checkSign(contents, signs));
+        Assert.assertEquals(Arrays.asList(false, true, true),
+            threadLocalUtil.checkSign(contents, Arrays.asList(signs.get(1), signs.get(1), signs.get(2))));
+    }
+
+    @Test
+    public void doFailedCheckSign() {
+        List<byte[]> contents = Arrays.asList("1".getBytes(), data.getBytes());
+        List<byte[]> signs = threadLocalUtil.sign(contents.iterator());
+        // 第二个签名不是合法的BASE64，验签失败后Signature中不能残留第一个原文的数据
+        for (int i = 0; i < 2; i++) {
+            try {
+                threadLocalUtil.checkSign(contents, Arrays.asList(signs.get(0), "!".getBytes()));
+                Assert.fail("签名不是合法的BASE64时应该验签失败");
+            } catch (SecureException e) {
+                // 正常
+            }
+            try {
+                threadLocalUtil.checkSign(data.getBytes(), "!".getBytes());
+                Assert.fail("签名不是合法的BASE64时应该验签失败");
+            } catch (SecureException e) {
+                // 正常
+            }
+        }
+        Assert.assertTrue(threadLocalUtil.checkSign(contents.get(1), signs.get(1)));
+        Assert.assertEquals(Arrays.asList(true, true), threadLocalUtil.checkSign(contents, signs));
     }
 }
@@ -1,8 +1,17 @@
 package com.joe.utils.secure.impl;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.joe.utils.secure.CacheStrategy;
 import com.joe.utils.secure.CipherUtil;
 import com.joe.utils.secure.CipherUtilTest;
 
@@ -29,4 +38,99 @@ public class SymmetryCipherTest {
     public void doDesCipher() {
         CipherUtilTest.checkCipher(desCipher);
     }
+
+    @Test
+    public void doStreamCipher() throws Exception {
+        CipherUtilTest.checkStreamCipher(aesCipher);
+        CipherUtilTest.checkStreamCipher(desCipher);
+    }
+
+    @Test
+    public void doBatchCipher() {
+        List<byte[]> contents = Arrays.asList("123".getBytes(), "你好".getBytes(), new byte[0]);
+        for (CacheStrategy strategy : CacheStrategy.values()) {
+            CipherUtil cipher =
+                SymmetryCipher.buildInstance(AbstractCipher.Algorithms.AES, "1234567890123456".getBytes(), strategy);
+            CipherUtilTest.checkCipher(cipher);
+
+            List<byte[]> encrypted = cipher.encrypt(contents);
+            Assert.assertEquals(contents.size(), encrypted.size());
+            for (int i = 0; i < contents.size(); i++) {
+                Assert.assertArrayEquals(cipher.encrypt(contents.get(i)), encrypted.get(i));
+            }
+
+            List<byte[]> decrypted = cipher.decrypt(encrypted);
+            for (int i = 0; i < contents.size(); i++) {
+                Assert.assertArrayEquals(contents.get(i), decrypted.get(i));
+            }
+        }
+    }
+
+    /**
+     * 没有关闭的加解密流不能占用池中的Cipher，否则普通加解密会等待直到池耗尽异常
+     */
+    @Test(timeout = 5000)
+    public void doUnclosedStream() throws Exception {
+        CipherUtil cipher =
+            SymmetryCipher.buildInstance(AbstractCipher.Algorithms.AES, "1234567890123456".getBytes(), CacheStrategy.POOLED);
+        List<OutputStream> streams = new ArrayList<>();
+        for (int i = 0; i <= Runtime.getRuntime().availableProcessors() * 4; i++) {
+            OutputStream out = cipher.encrypt(new ByteArrayOutputStream());
+            out.write(new byte[] {1, 2, 3});
+            streams.add(out);
+        }
+        CipherUtilTest.checkCipher(cipher);
+        for (OutputStream out : streams) {
+            out.close();
+        }
+    }
+
+    /**
+     * 只实现了抽象方法的CipherUtil可以使用接口默认的流式加解密
+     */
+    @Test
+    public void doDefaultStreamCipher() throws Exception {
+        CipherUtil cipher = new CipherUtil() {
+            @Override
+            public String encrypt(String content) {
+                return aesCipher.encrypt(content);
+            }
+
+            @Override
+            public byte[] encrypt(byte[] content) {
+                return aesCipher.encrypt(content);
+            }
+
+            @Override
+            public String decrypt(String content) {
+                return aesCipher.decrypt(content);
+            }
+
+            @Override
+            public byte[] decrypt(byte[] content) {
+                return aesCipher.decrypt(content);
+            }
+
+            @Override
+            public Key getPrivateKey() {
+                return aesCipher.getPrivateKey();
+            }
+
+            @Override
+            public Key getPublicKey() {
+                return aesCipher.getPublicKey();
+            }
+
+            @Override
+            public String getId() {
+                return aesCipher.getId();
+            }
+
+            @Override
+            public Algorithms getAlgorithms() {
+                return aesCipher.getAlgorithms();
+            }
+        };
+        CipherUtilTest.checkStreamCipher(cipher);
+    }
 }
@@ -0,0 +1,55 @@
+package com.joe.utils.secure.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.joe.utils.pool.BoundedObjectPool;
+import com.joe.utils.pool.PooledObject;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月18日 22:30 JoeKerouac Exp $
+ */
+public class ThreadLocalPoolTest {
+
+    @Test
+    public void reentrantTest() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadLocalPool<Integer> pool = new ThreadLocalPool<>(counter::incrementAndGet, null);
+
+        Integer local;
+        try (PooledObject<Integer> first = pool.get()) {
+            local = first.get();
+            // 重入时使用新实例
+            try (PooledObject<Integer> second = pool.get()) {
+                Assert.assertNotEquals(local, second.get());
+            }
+        }
+
+        // 归还后同一线程使用同一个实例
+        try (PooledObject<Integer> obj = pool.get()) {
+            Assert.assertEquals(local, obj.get());
+        }
+
+        // 其他线程使用不同实例
+        Thread thread = new Thread(() -> pool.get().close());
+        thread.start();
+        thread.join();
+        Assert.assertEquals(3, counter.get());
+    }
+
+    @Test
+    public void overflowTest() {
+        BoundedObjectPool<Object> overflow = new BoundedObjectPool<>(Object::new);
+        ThreadLocalPool<Object> pool = new ThreadLocalPool<>(Object::new, overflow);
+
+        try (PooledObject<Object> first = pool.get(); PooledObject<Object> second = pool.get()) {
+            Assert.assertNotSame(first.get(), second.get());
+            Assert.assertEquals(1, overflow.activeSize());
+        }
+        Assert.assertEquals(1, overflow.idleSize());
+        Assert.assertEquals(1, overflow.getStats().getBorrowCount());
+    }
+}
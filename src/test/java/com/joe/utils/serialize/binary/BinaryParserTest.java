@@ -0,0 +1,173 @@
+package com.joe.utils.serialize.binary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.joe.utils.exception.NoSupportException;
+import com.joe.utils.serialize.SerializeException;
+import com.joe.utils.serialize.SerializerEnum;
+import com.joe.utils.serialize.SerializerFactory;
+import com.joe.utils.serialize.json.JsonParser;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 01:40 JoeKerouac Exp $
+ */
+public class BinaryParserTest {
+
+    private BinaryParser parser;
+
+    private Order order;
+
+    @Before
+    public void init() {
+        parser = BinaryParser.getInstance();
+
+        order = new Order();
+        order.setId(-1234567890123L);
+        order.setCount(-3);
+        order.setPaid(true);
+        order.setPrice(12.5f);
+        order.setRate(0.125);
+        order.setFlag('中');
+        order.setLevel((short)300);
+        order.setMark((byte)-7);
+        order.setName("订单😀\u0000abc");
+        order.setAmount(new BigDecimal("1234.5678"));
+        order.setBig(new BigInteger("-123456789012345678901234567890"));
+        order.setCreateTime(new Date(1500000000000L));
+        order.setStatus(Status.PAID);
+        order.setData(new byte[] {1, 2, 3, -1});
+        order.setCodes(new int[] {1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE});
+        order.setTags(new String[] {"a", null, "b"});
+        order.setItems(Arrays.asList(new Item("apple", 3), new Item("pear", 1), null));
+        Map<String, List<Integer>> attributes = new LinkedHashMap<>();
+        attributes.put("x", Arrays.asList(1, 2));
+        attributes.put("y", Collections.emptyList());
+        order.setAttributes(attributes);
+        order.setIds(new TreeSet<>(Arrays.asList(3L, 1L, 2L)));
+        order.setExtra(new Item("banana", 5));
+        order.setParent(new Order());
+    }
+
+    @Test
+    public void doRoundTrip() {
+        byte[] data = parser.write(order);
+        Order result = parser.read(data, Order.class);
+
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("count", 5);
+        extra.put("name", "banana");
+        Assert.assertEquals(extra, result.getExtra());
+        Assert.assertTrue(result.getIds() instanceof TreeSet);
+
+        // 声明为Object的pojo读取为Map，其余字段完全一致
+        result.setExtra(order.getExtra());
+        Assert.assertEquals(order, result);
+
+        result = parser.read(parser.writeToString(order), Order.class);
+        result.setExtra(order.getExtra());
+        Assert.assertEquals(order, result);
+        Assert.assertTrue("二进制数据应该比json小", data.length < JsonParser.getInstance().toJsonBytes(order, true).length);
+    }
+
+    @Test
+    public void doSimple() {
+        Assert.assertNull(parser.read(parser.write(null), Order.class));
+        Assert.assertEquals("中文", parser.read(parser.write("中文"), String.class));
+        Assert.assertEquals(Integer.valueOf(-1), parser.read(parser.write(-1), Integer.class));
+        Assert.assertEquals(Long.valueOf(-1), parser.read(parser.write(-1), long.class));
+        Assert.assertEquals(Status.NEW, parser.read(parser.write(Status.NEW), Status.class));
+        Assert.assertArrayEquals(new long[] {1, 2}, parser.read(parser.write(new long[] {1, 2}), long[].class));
+
+        // 动态类型
+        List<Object> list = Arrays.asList(1, "a", null, Status.NEW, new Item("apple", 1));
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("count", 1);
+        item.put("name", "apple");
+        Assert.assertEquals(Arrays.asList(1, "a", null, "NEW", item), parser.read(parser.write(list), List.class));
+        // 按照字段名绑定到pojo
+        Assert.assertEquals(new Item("apple", 1), parser.read(parser.write(item), Item.class));
+    }
+
+    @Test
+    public void doError() {
+        byte[] data = parser.write(order);
+        assertError(() -> parser.read(Arrays.copyOf(data, data.length - 1), Order.class));
+        assertError(() -> parser.read(Arrays.copyOf(data, data.length + 1), Order.class));
+        assertError(() -> parser.read(data, Item.class));
+        assertError(() -> parser.read(parser.write("a"), Integer.class));
+        assertError(() -> parser.read(new byte[] {99}, Object.class));
+        assertError(() -> parser.write(Collections.singletonList(Thread.currentThread())));
+    }
+
+    @Test
+    public void doFactory() {
+        Assert.assertSame(parser, SerializerFactory.getInstance(SerializerEnum.BINARY));
+        Assert.assertSame(parser, SerializerFactory.getInstance(" binary "));
+        Assert.assertSame(JsonParser.getInstance(), SerializerFactory.getInstance("json"));
+        try {
+            SerializerFactory.getInstance("yaml");
+            Assert.fail("不支持的序列化器应该抛出异常");
+        } catch (NoSupportException e) {
+            // 预期异常
+        }
+    }
+
+    private static void assertError(Runnable runnable) {
+        try {
+            runnable.run();
+            Assert.fail("应该抛出SerializeException");
+        } catch (SerializeException e) {
+            // 预期异常
+        }
+    }
+
+    public enum Status {
+        NEW, PAID
+    }
+
+    @Data
+    public static class Order {
+        private static final String IGNORE = "ignore";
+        private long id;
+        private int count;
+        private boolean paid;
+        private float price;
+        private double rate;
+        private char flag;
+        private short level;
+        private byte mark;
+        private String name;
+        private BigDecimal amount;
+        private BigInteger big;
+        private Date createTime;
+        private Status status;
+        private byte[] data;
+        private int[] codes;
+        private String[] tags;
+        private List<Item> items;
+        private Map<String, List<Integer>> attributes;
+        private SortedSet<Long> ids;
+        private Object extra;
+        private Order parent;
+        private transient String cache = "cache";
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String name;
+        private int count;
+    }
+}
@@ -0,0 +1,102 @@
+package com.joe.utils.serialize.form;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.joe.utils.serialize.SerializerEnum;
+import com.joe.utils.serialize.SerializerFactory;
+import com.joe.utils.serialize.binary.BinaryParser;
+
+import lombok.Data;
+
+/**
+ * @author JoeKerouac
+ * @version $Id: joe, v 0.1 2026年10月19日 02:00 JoeKerouac Exp $
+ */
+public class FormParserTest {
+
+    private final FormParser parser = new FormParser(true);
+
+    @Test
+    public void doRead() {
+        String data = "name=%E4%B8%AD+%E6%96%87&age=18&amount=1.5&status=PAID&unknown=1&count=&remark=a%26b";
+        Payment payment = parser.read(data, Payment.class);
+        Assert.assertEquals("中 文", payment.getName());
+        Assert.assertEquals(18, payment.getAge());
+        Assert.assertEquals(new BigDecimal("1.5"), payment.getAmount());
+        Assert.assertEquals(Status.PAID, payment.getStatus());
+        Assert.assertNull(payment.getCount());
+        Assert.assertEquals("a&b", payment.getRemark());
+        Assert.assertEquals("default", payment.getChannel());
+
+        Assert.assertEquals(payment, parser.read(data.getBytes(StandardCharsets.UTF_8), Payment.class));
+
+        Map<?, ?> map = parser.read(data, Map.class);
+        Assert.assertEquals("中 文", map.get("name"));
+        Assert.assertNull(map.get("count"));
+
+        Assert.assertEquals(Integer.valueOf(18), parser.read("age=18", Integer.class));
+    }
+
+    @Test
+    public void doRawRead() {
+        // 默认不做URL解码，'+'和%XY原样返回
+        FormParser raw = new FormParser();
+        String data = "sign=ab+c/d==&remark=a%26b";
+        Map<?, ?> map = raw.read(data, Map.class);
+        Assert.assertEquals("ab+c/d==", map.get("sign"));
+        Assert.assertEquals("a%26b", map.get("remark"));
+        Assert.assertEquals("a%26b", raw.read(data.getBytes(StandardCharsets.UTF_8), Payment.class).getRemark());
+    }
+
+    @Test
+    public void doFactory() {
+        Assert.assertSame(FormParser.getInstance(), SerializerFactory.getInstance(SerializerEnum.FORM));
+        // 序列化器名与默认Locale无关（土耳其语中i的大写是İ）
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            Assert.assertSame(FormParser.getInstance(), SerializerFactory.getInstance("form"));
+            Assert.assertSame(BinaryParser.getInstance(), SerializerFactory.getInstance("binary"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    @Test
+    public void doWrite() {
+        Payment payment = new Payment();
+        payment.setName("中 文");
+        payment.setAge(18);
+        payment.setRemark("a&b");
+        payment.setStatus(Status.NEW);
+        String data = parser.writeToString(payment);
+        Assert.assertEquals(
+            "age=18&amount=&channel=default&count=&name=%E4%B8%AD+%E6%96%87&remark=a%26b&status=NEW", data);
+        Assert.assertEquals("age=18&amount=&channel=default&count=&name=中 文&remark=a&b&status=NEW",
+            parser.writeToString(payment, true, false, null));
+
+        Payment result = parser.read(data, Payment.class);
+        Assert.assertEquals(payment, result);
+    }
+
+    public enum Status {
+        NEW, PAID
+    }
+
+    @Data
+    public static class Payment {
+        private String name;
+        private int age;
+        private BigDecimal amount;
+        private Status status;
+        private Integer count;
+        private String remark;
+        private String channel = "default";
+    }
+}
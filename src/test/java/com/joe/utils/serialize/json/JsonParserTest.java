@@ -1,8 +1,12 @@
 package com.joe.utils.serialize.json;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -27,6 +31,112 @@ public class JsonParserTest {
         Arrays.deepEquals(parser.readAsCollection(usersJson, ArrayList.class, User.class).toArray(), users.toArray());
     }
 
+    @Test
+    public void doBytes() {
+        byte[] data = parser.toJsonBytes(users, false);
+        Assert.assertArrayEquals(usersJson.getBytes(StandardCharsets.UTF_8), data);
+        Assert.assertEquals(users, parser.readAsCollection(data, ArrayList.class, User.class));
+        Assert.assertEquals(users, parser.readAsCollection(new ByteArrayInputStream(data), ArrayList.class, User.class));
+
+        ByteBuffer heap = ByteBuffer.allocate(data.length + 2);
+        heap.put((byte)' ').put(data).flip().position(1);
+        Assert.assertEquals(users, parser.readAsCollection(heap, ArrayList.class, User.class));
+        Assert.assertFalse(heap.hasRemaining());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        Assert.assertEquals(users, parser.readAsCollection(direct, ArrayList.class, User.class));
+
+        byte[] mapData = "{\"a\":1,\"b\":2}".getBytes(StandardCharsets.UTF_8);
+        Map<String, Integer> map = parser.readAsMap(mapData, HashMap.class, String.class, Integer.class);
+        Assert.assertEquals(Integer.valueOf(2), map.get("b"));
+        Assert.assertEquals(map, parser.readAsMap(ByteBuffer.wrap(mapData), HashMap.class, String.class, Integer.class));
+        Assert.assertNull(parser.readAsMap("{".getBytes(StandardCharsets.UTF_8), HashMap.class, String.class,
+            Integer.class));
+    }
+
+    @Test
+    public void doStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        parser.toJson(users, false, out);
+        // 输出流不会被关闭，可以继续写入
+        parser.toJson(users.get(0), true, out);
+        Assert.assertEquals(usersJson + "{\"name\":\"user-0\",\"age\":0,\"alias\":\"joe-0\"}",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        parser.toJson(users, false, buffer);
+        buffer.flip();
+        Assert.assertEquals(usersJson, parser.readAsObject(buffer, String.class));
+    }
+
+    @Test
+    public void doHandle() throws IOException {
+        JsonHandle<List<User>> handle = parser.getCollectionHandle(List.class, User.class, true);
+        Assert.assertEquals(usersJson, handle.writeToString(users));
+        Assert.assertEquals(users, handle.read(handle.write(users)));
+        Assert.assertEquals(users, handle.read(new ByteArrayInputStream(usersJson.getBytes(StandardCharsets.UTF_8))));
+
+        JsonHandle<User> userHandle = parser.getHandle(User.class, true);
+        User user = new User("joe", 18, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userHandle.write(user, out);
+        Assert.assertEquals("{\"name\":\"joe\",\"age\":18}", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertEquals(user, userHandle.read(ByteBuffer.wrap(out.toByteArray())));
+    }
+
+    @Test
+    public void doSequence() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonSequenceWriter<Object> writer = parser.writeAsSequence(out, JsonSequenceFormat.ARRAY, false)) {
+            writer.writeAll(users);
+        }
+        Assert.assertEquals(usersJson, new String(out.toByteArray(), StandardCharsets.UTF_8));
+        try (JsonSequenceReader<User> reader = parser.readAsSequence(new ByteArrayInputStream(out.toByteArray()),
+            User.class)) {
+            Assert.assertEquals(users, reader.stream().collect(Collectors.toList()));
+        }
+
+        out.reset();
+        JsonHandle<User> handle = parser.getHandle(User.class, true);
+        try (JsonSequenceWriter<User> writer = handle.writeSequence(out, JsonSequenceFormat.NDJSON)) {
+            for (User user : users) {
+                writer.write(user);
+            }
+        }
+        String ndjson = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        Assert.assertEquals(3, ndjson.split("\n").length);
+        Assert.assertTrue(ndjson.endsWith("}\n"));
+        try (JsonSequenceReader<User> reader = handle.readSequence(new ByteArrayInputStream(out.toByteArray()))) {
+            for (User user : users) {
+                Assert.assertTrue(reader.hasNext());
+                Assert.assertEquals(user, reader.next());
+            }
+            Assert.assertFalse(reader.hasNext());
+        }
+
+        // 空输入、空数组
+        Assert.assertFalse(parser.readAsSequence(new ByteArrayInputStream(new byte[0]), User.class).hasNext());
+        Assert.assertFalse(
+            parser.readAsSequence(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), User.class)
+                .hasNext());
+    }
+
+    @Test
+    public void doTypeCache() {
+        // 相同元素类型、不同raw类型或key类型的组合不能互相命中缓存
+        Assert.assertEquals(LinkedList.class,
+            parser.readAsCollection(usersJson, LinkedList.class, User.class).getClass());
+        Assert.assertEquals(HashSet.class, parser.readAsCollection(usersJson, HashSet.class, User.class).getClass());
+
+        String json = "{\"1\":1}";
+        Map<String, Integer> strKey = parser.readAsMap(json, HashMap.class, String.class, Integer.class);
+        Assert.assertEquals(Collections.singletonMap("1", 1), strKey);
+        Map<Integer, Integer> intKey = parser.readAsMap(json, TreeMap.class, Integer.class, Integer.class);
+        Assert.assertEquals(TreeMap.class, intKey.getClass());
+        Assert.assertEquals(Collections.singletonMap(1, 1), intKey);
+    }
+
     @Data
     @AllArgsConstructor
     @NoArgsConstructor
@@ -1,10 +1,24 @@
 package com.joe.utils.serialize.xml;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.dom4j.Element;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.joe.utils.serialize.xml.converter.StringConverter;
+import com.joe.utils.serialize.xml.converter.XmlConverter;
+
 import lombok.Data;
 
 /**
@@ -55,6 +69,153 @@ public class XmlParserTest {
         Assert.assertEquals(user, u2);
     }
 
+    @Test
+    public void doConcurrentParse() throws Exception {
+        User user = build();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        if (!user.equals(PARSER.parse(j % 2 == 0 ? NOTHASNULL : HASNULL, User.class))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void doEnableDTD() {
+        String xml = "<?xml version=\"1.0\"?><!DOCTYPE root [<!ENTITY name \"joe\">]><root>&name;</root>";
+        XmlParser parser = XmlParser.buildInstance();
+        // 默认禁用DTD
+        Assert.assertNull(parser.parse(xml));
+        Assert.assertNull(PARSER.parse(xml));
+
+        // 修改配置后当前线程的SAXReader会重新创建
+        parser.enableDTD(true);
+        Assert.assertEquals("joe", parser.parse(xml).get("root"));
+        parser.enableDTD(false);
+        Assert.assertNull(parser.parse(xml));
+    }
+
+    @Test
+    public void doStreamParse() {
+        User user = build();
+        Assert.assertEquals(user, PARSER.parse(new StringReader(NOTHASNULL), User.class));
+        Assert.assertEquals(user, PARSER.parse(new StringReader(HASNULL), User.class));
+        Assert.assertEquals(user, PARSER.parse(
+            new ByteArrayInputStream(NOTHASNULL.getBytes(StandardCharsets.UTF_8)), User.class));
+        Assert.assertNull(PARSER.parse(new StringReader("<USER><NAME>joe</USER>"), User.class));
+    }
+
+    @Test
+    public void doStreamParseAttribute() {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><order id=\"10\"><Status>closed</Status>"
+                     + "<item sku=\"a1\"><price>1.5</price></item><status>open</status><ignored><Status>x</Status>"
+                     + "</ignored><item sku=\"a2\"/><tag>t1</tag><Tag>t0</Tag><tag>t2</tag></order>";
+        Order dom = PARSER.parse(xml, Order.class);
+        Order stax = PARSER.parse(new StringReader(xml), Order.class);
+        Assert.assertEquals(dom, stax);
+        Assert.assertEquals(10, stax.getId());
+        Assert.assertEquals("open", stax.getStatus());
+        Assert.assertEquals("a1", stax.getSku());
+        Assert.assertEquals(Arrays.asList("t1", "t2"), stax.getTags());
+    }
+
+    @Test
+    public void doStreamEnableDTD() {
+        String xml = "<?xml version=\"1.0\"?><!DOCTYPE USER [<!ENTITY name \"joe\">]><USER><NAME>&name;</NAME>"
+                     + "</USER>";
+        XmlParser parser = XmlParser.buildInstance();
+        Assert.assertNull(parser.parse(new StringReader(xml), User.class));
+
+        parser.enableDTD(true);
+        Assert.assertEquals("joe", parser.parse(new StringReader(xml), User.class).getName());
+        parser.enableDTD(false);
+        Assert.assertNull(parser.parse(new StringReader(xml), User.class));
+    }
+
+    @Test
+    public void doConverterCached() {
+        String xml = "<root><value>1</value></root>";
+        int before = CountConverter.INSTANCES.get();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("1!", PARSER.parse(xml, Converted.class).getValue());
+            Assert.assertEquals("1!", PARSER.parse(new StringReader(xml), Converted.class).getValue());
+        }
+        // converter只在解析绑定计划时实例化一次
+        Assert.assertEquals(before + 1, CountConverter.INSTANCES.get());
+    }
+
+    @Test
+    public void doCustomXmlConverter() {
+        // 覆盖了read的XmlConverter在流式解析时同样会被调用
+        String xml = "<root><inner><name>joe</name></inner></root>";
+        Wrapper dom = PARSER.parse(xml, Wrapper.class);
+        Wrapper stax = PARSER.parse(new StringReader(xml), Wrapper.class);
+        Assert.assertEquals("joe", dom.getInner().getName());
+        Assert.assertEquals("converted", dom.getInner().getMark());
+        Assert.assertEquals(dom, stax);
+    }
+
+    @Test
+    public void doStreamToXml() throws IOException {
+        Payment payment = new Payment();
+        payment.setId("1\"");
+        payment.setMemo("a<b");
+        payment.setDesc("x&y>\u0001'");
+        payment.setCurrency("CNY");
+        String expected = "<pay id=\"1&quot;\"><amount currency=\"CNY\"/><memo><![CDATA[a<b]]></memo>"
+                          + "<desc>x&amp;y&gt;&#1;'</desc></pay>";
+        Assert.assertEquals(expected, PARSER.toXml(payment));
+
+        StringWriter writer = new StringWriter();
+        PARSER.toXml(payment, null, false, writer);
+        Assert.assertEquals(expected, writer.toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PARSER.toXml(build(), "USER", true, out, StandardCharsets.UTF_8);
+        Assert.assertEquals(HASNULL, new String(out.toByteArray(), StandardCharsets.UTF_8));
+
+        StringBuilder sb = new StringBuilder();
+        Map<String, Object> map = new HashMap<>();
+        map.put("test", "test");
+        map.put("user", build());
+        PARSER.toXml(map, null, false, sb);
+        Assert.assertEquals(MAP_XML, sb.toString());
+    }
+
+    @Test
+    public void doReuseBuffer() {
+        // 超过一个缓冲区大小的输出
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append((char)('a' + i % 26));
+        }
+        Map<String, Object> map = new HashMap<>();
+        map.put("text", text.toString());
+        String expected = "<root><text>" + text + "</text></root>";
+        Assert.assertEquals(expected, PARSER.toXml(map));
+        Assert.assertEquals(expected, PARSER.toXml(map));
+
+        // 序列化过程中（toString中）再次序列化不能共用缓冲
+        map.clear();
+        map.put("level", Level.NESTED);
+        Assert.assertEquals("<root><level>&lt;root&gt;&lt;inner&gt;x&lt;/inner&gt;&lt;/root&gt;</level></root>",
+            PARSER.toXml(map));
+        Assert.assertEquals("<root><level>x</level></root>", PARSER.toXml(Collections.singletonMap("level", "x")));
+    }
+
     private User build() {
         User user = new User();
         user.setName("joe");
@@ -77,6 +238,15 @@ public class XmlParserTest {
         return user;
     }
 
+    enum Level {
+        NESTED {
+            @Override
+            public String toString() {
+                return PARSER.toXml(Collections.singletonMap("inner", "x"));
+            }
+        }
+    }
+
     @Data
     static class User {
         @XmlNode(name = "NAME")
@@ -99,4 +269,73 @@ public class XmlParserTest {
         @XmlNode(general = User.class)
         private Set<User> userSet;
     }
+
+    @Data
+    static class Order {
+        @XmlNode(isAttribute = true)
+        private int id;
+        private String status;
+        @XmlNode(name = "item", isAttribute = true, attributeName = "sku")
+        private String sku;
+        @XmlNode(name = "tag", converter = StringConverter.class)
+        private List<String> tags;
+    }
+
+    @Data
+    static class Converted {
+        @XmlNode(converter = CountConverter.class)
+        private String value;
+    }
+
+    public static class CountConverter extends StringConverter {
+        static final AtomicInteger INSTANCES = new AtomicInteger();
+
+        public CountConverter() {
+            INSTANCES.incrementAndGet();
+        }
+
+        @Override
+        public String read(Element element, String attrName) {
+            return super.read(element, attrName) + "!";
+        }
+    }
+
+    @Data
+    static class Wrapper {
+        @XmlNode(converter = MarkConverter.class)
+        private Inner inner;
+    }
+
+    @Data
+    public static class Inner {
+        private String name;
+        @XmlNode(ignore = true)
+        private String mark;
+    }
+
+    public static class MarkConverter implements XmlConverter<Inner> {
+        @Override
+        public Inner read(Element element, String attrName) {
+            Inner inner = XmlConverter.super.read(element, attrName);
+            inner.setMark("converted");
+            return inner;
+        }
+
+        @Override
+        public Class<Inner> resolve() {
+            return Inner.class;
+        }
+    }
+
+    @Data
+    @XmlNode(name = "pay")
+    static class Payment {
+        @XmlNode(isAttribute = true)
+        private String id;
+        @XmlNode(isCDATA = true)
+        private String memo;
+        private String desc;
+        @XmlNode(name = "amount", isAttribute = true, attributeName = "currency")
+        private String currency;
+    }
 }